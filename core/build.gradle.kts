@@ -85,6 +85,8 @@ val mockitoKotlin = "2.2.0"
 val truth = "1.1.3"
 val testRunner = "1.5.2"
 val testRules = "1.5.0"
+val testCore = "1.5.0"
+val robolectric = "4.11.1"
 val equalsVerifier = "3.14"
 val flipper = "0.83.0"
 val soloader = "0.10.5"
@@ -132,6 +134,7 @@ android {
             java.srcDirs("build/generated/ksp/main/kotlin")
         }
         sourceSets.getByName("test") {
+            java.srcDirs("src/sharedTest/java")
             resources.srcDirs("src/sharedTest/resources")
         }
         sourceSets.getByName("androidTest") {
@@ -143,6 +146,18 @@ android {
     testOptions {
         unitTests.apply {
             isReturnDefaultValues = true
+
+            // Benchmarks are slow, so they only run on demand: ./gradlew :core:testDebugUnitTest -Pbenchmark
+            all { test ->
+                if (project.hasProperty("benchmark")) {
+                    test.filter.includeTestsMatching("org.hisp.dhis.android.localanalytics.benchmark.*")
+                    test.systemProperty("benchmark.sizeFactor", project.findProperty("benchmarkSizeFactor") ?: "1")
+                    test.systemProperty("benchmark.outputDir", layout.buildDirectory.dir("benchmark").get().asFile)
+                    test.maxHeapSize = "4g"
+                } else {
+                    test.exclude("org/hisp/dhis/android/localanalytics/benchmark/**")
+                }
+            }
         }
     }
 
@@ -216,6 +231,8 @@ dependencies {
     testImplementation("com.squareup.okhttp3:mockwebserver:$okHttp")
     testImplementation("androidx.test:runner:$testRunner")
     testImplementation("org.jetbrains.kotlinx:kotlinx-coroutines-test:$coroutines")
+    testImplementation("androidx.test:core:$testCore")
+    testImplementation("org.robolectric:robolectric:$robolectric")
 
     // Android test dependencies
     androidTestImplementation("org.mockito:mockito-core:$mockito")
@@ -91,6 +91,7 @@ import org.hisp.dhis.android.core.indicator.internal.IndicatorStoreImpl
 import org.hisp.dhis.android.core.indicator.internal.IndicatorTypeStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitGroupStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitLevelStoreImpl
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl
 import org.hisp.dhis.android.core.parser.internal.service.ExpressionService
 import org.hisp.dhis.android.core.period.internal.PeriodStoreImpl
@@ -131,7 +132,10 @@ internal open class BaseEvaluatorIntegrationShould : BaseMockIntegrationTestEmpt
         databaseAdapter,
     )
     protected val dataElementStore = DataElementStoreImpl(databaseAdapter)
-    protected val organisationUnitStore = OrganisationUnitStoreImpl(databaseAdapter)
+    protected val organisationUnitStore = OrganisationUnitStoreImpl(
+        databaseAdapter,
+        OrganisationUnitClosureStoreImpl(databaseAdapter),
+    )
     protected val organisationUnitLevelStore = OrganisationUnitLevelStoreImpl(databaseAdapter)
     protected val organisationUnitGroupStore = OrganisationUnitGroupStoreImpl(databaseAdapter)
     protected val periodStore = PeriodStoreImpl(databaseAdapter)
@@ -453,6 +453,38 @@ internal class DataElementSQLEvaluatorIntegrationShould : BaseEvaluatorIntegrati
         assertThat(dataElementEvaluator.evaluate(overrideEvaluationItem, metadata)).isEqualTo("5.5")
     }
 
+    @Test
+    fun should_evaluate_all_items_in_grouped_queries() {
+        createDataValue("3", orgunitUid = orgunitChild1.uid(), periodId = period201911.periodId()!!)
+        createDataValue("8", orgunitUid = orgunitChild2.uid(), periodId = period201911.periodId()!!)
+        createDataValue("5", orgunitUid = orgunitChild1.uid(), periodId = period201912.periodId()!!)
+
+        fun evaluationItem(orgunitUid: String, periodId: String, aggregationType: AggregationType) =
+            AnalyticsServiceEvaluationItem(
+                dimensionItems = listOf(
+                    DimensionItem.DataItem.DataElementItem(dataElement1.uid()),
+                    DimensionItem.PeriodItem.Absolute(periodId),
+                    DimensionItem.OrganisationUnitItem.Absolute(orgunitUid),
+                ),
+                filters = emptyList(),
+                aggregationType = aggregationType,
+            )
+
+        val evaluationItems = listOf(
+            evaluationItem(orgunitParent.uid(), period201911.periodId()!!, AggregationType.SUM),
+            evaluationItem(orgunitChild1.uid(), period2019Q4.periodId()!!, AggregationType.SUM),
+            evaluationItem(orgunitChild2.uid(), period201912.periodId()!!, AggregationType.SUM),
+            evaluationItem(orgunitParent.uid(), period2019Q4.periodId()!!, AggregationType.AVERAGE),
+            evaluationItem(orgunitChild2.uid(), period201912.periodId()!!, AggregationType.COUNT),
+            evaluationItem(orgunitParent.uid(), period2019Q4.periodId()!!, AggregationType.LAST),
+        )
+
+        val values = dataElementEvaluator.evaluateAll(evaluationItems, metadata)
+
+        assertThat(values).isEqualTo(evaluationItems.map { dataElementEvaluator.evaluate(it, metadata) })
+        assertThat(values).containsExactly("11", "8", null, "5.33333333333333", "0", "13").inOrder()
+    }
+
     private fun evaluateAggregation(
         periodId: String,
         aggregator: AggregationType,
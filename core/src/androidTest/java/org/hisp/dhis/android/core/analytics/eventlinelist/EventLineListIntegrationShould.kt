@@ -52,6 +52,7 @@ import org.hisp.dhis.android.core.analytics.linelist.LineListItem
 import org.hisp.dhis.android.core.category.internal.CategoryComboStoreImpl
 import org.hisp.dhis.android.core.category.internal.CategoryOptionComboStoreImpl
 import org.hisp.dhis.android.core.common.*
+import org.hisp.dhis.android.core.constant.internal.ConstantStoreImpl
 import org.hisp.dhis.android.core.dataelement.internal.DataElementStoreImpl
 import org.hisp.dhis.android.core.enrollment.internal.EnrollmentStoreImpl
 import org.hisp.dhis.android.core.event.Event
@@ -64,6 +65,7 @@ import org.hisp.dhis.android.core.legendset.internal.LegendStoreImpl
 import org.hisp.dhis.android.core.legendset.internal.ProgramIndicatorLegendSetLinkStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitLevelStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitOrganisationUnitGroupLinkStoreImpl
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl
 import org.hisp.dhis.android.core.period.PeriodType
 import org.hisp.dhis.android.core.period.internal.CalendarProviderFactory
@@ -72,7 +74,10 @@ import org.hisp.dhis.android.core.program.ProgramIndicator
 import org.hisp.dhis.android.core.program.internal.ProgramIndicatorStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStageStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStoreImpl
+import org.hisp.dhis.android.core.program.programindicatorengine.internal.ProgramIndicatorEngineImpl
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityDataValue
+import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityAttributeStoreImpl
+import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityAttributeValueStoreImpl
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityDataValueStoreImpl
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityInstanceStoreImpl
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityTypeStoreImpl
@@ -95,7 +100,10 @@ class EventLineListIntegrationShould : BaseMockIntegrationTestEmptyDispatcher()
     private val programStageStore = ProgramStageStoreImpl(databaseAdapter)
     private val dataElementStore = DataElementStoreImpl(databaseAdapter)
     private val dataElementLegendSetLinkStore = DataElementLegendSetLinkStoreImpl(databaseAdapter)
-    private val organisationUnitStore = OrganisationUnitStoreImpl(databaseAdapter)
+    private val organisationUnitStore = OrganisationUnitStoreImpl(
+        databaseAdapter,
+        OrganisationUnitClosureStoreImpl(databaseAdapter),
+    )
     private val userOrganisationUnitStore = UserOrganisationUnitLinkStoreImpl(databaseAdapter)
     private val organisationUnitGroupLinkStore = OrganisationUnitOrganisationUnitGroupLinkStoreImpl(databaseAdapter)
     private val organisationUnitLevelStore = OrganisationUnitLevelStoreImpl(databaseAdapter)
@@ -119,12 +127,21 @@ class EventLineListIntegrationShould : BaseMockIntegrationTestEmptyDispatcher()
 
     private val eventLineListService: EventLineListService = EventLineListServiceImpl(
         eventRepository = d2.eventModule().events(),
-        dataValueRepository = d2.trackedEntityModule().trackedEntityDataValues(),
         dataElementRepository = d2.dataElementModule().dataElements(),
         programIndicatorRepository = d2.programModule().programIndicators(),
         organisationUnitRepository = d2.organisationUnitModule().organisationUnits(),
         programStageRepository = d2.programModule().programStages(),
-        programIndicatorEngine = d2.programModule().programIndicatorEngine(),
+        programIndicatorEvaluator = ProgramIndicatorEngineImpl(
+            programIndicatorStore = programIndicatorStore,
+            dataElementStore = dataElementStore,
+            trackedEntityAttributeStore = TrackedEntityAttributeStoreImpl(databaseAdapter),
+            enrollmentStore = enrollmentStore,
+            eventRepository = d2.eventModule().events(),
+            programRepository = d2.programModule().programStages(),
+            trackedEntityAttributeValueStore = TrackedEntityAttributeValueStoreImpl(databaseAdapter),
+            constantStore = ConstantStoreImpl(databaseAdapter),
+            programStageStore = programStageStore,
+        ),
         periodHelper = d2.periodModule().periodHelper(),
         dateFilterPeriodHelper = dateFilterPeriodHelper,
         organisationUnitHelper = organisationUnitHelper,
@@ -34,14 +34,23 @@ import android.database.Cursor;
 import androidx.test.platform.app.InstrumentationRegistry;
 
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter;
+import org.hisp.dhis.android.core.arch.db.access.Transaction;
 import org.hisp.dhis.android.core.arch.storage.internal.InMemorySecureStore;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
 public class DatabaseAdapterFactoryIntegrationShould {
 
     private static final String DB_NAME = "database-adapter-factory-integration-should.db";
+    private static final String ENCRYPTED_DB_NAME = "database-adapter-factory-integration-should-encrypted.db";
     private static DatabaseAdapterFactory databaseAdapterFactory;
     
     @BeforeClass
@@ -54,6 +63,7 @@ public class DatabaseAdapterFactoryIntegrationShould {
     public static void tearDownClass() {
         Context context = InstrumentationRegistry.getInstrumentation().getContext();
         context.deleteDatabase(DB_NAME);
+        context.deleteDatabase(ENCRYPTED_DB_NAME);
     }
 
     @Test
@@ -99,4 +109,31 @@ public class DatabaseAdapterFactoryIntegrationShould {
         int count2 = cursor2.getCount();
         cursor2.close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void read_encrypted_db_without_waiting_for_transactions_in_other_threads() throws Exception {
+        DatabaseAdapter databaseAdapter = databaseAdapterFactory.newParentDatabaseAdapter();
+        databaseAdapterFactory.createOrOpenDatabase(databaseAdapter, ENCRYPTED_DB_NAME, true);
+
+        Transaction transaction = databaseAdapter.beginNewTransaction();
+        try {
+            databaseAdapter.execSQL("INSERT INTO Constant (uid, value) VALUES ('constant_uid', 1.0)");
+            assertThat(countConstants(databaseAdapter)).isEqualTo(1);
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            Future<Integer> countFromOtherThread = executor.submit(() -> countConstants(databaseAdapter));
+            assertThat(countFromOtherThread.get(5, TimeUnit.SECONDS)).isEqualTo(0);
+            executor.shutdown();
+        } finally {
+            transaction.end();
+        }
+
+        databaseAdapter.close();
+    }
+
+    private int countConstants(DatabaseAdapter databaseAdapter) {
+        try (Cursor cursor = databaseAdapter.rawQuery("SELECT * FROM Constant")) {
+            return cursor.getCount();
+        }
+    }
+}
@@ -73,8 +73,12 @@ class DatabaseFromMigrationsIntegrationShould {
 
         DatabaseMigrationExecutor.USE_SNAPSHOT = false
 
-        createDb(databaseAdapter, DB_NAME_2)
-        val schema2 = getSchema(databaseAdapter)
+        val schema2 = try {
+            createDb(databaseAdapter, DB_NAME_2)
+            getSchema(databaseAdapter)
+        } finally {
+            DatabaseMigrationExecutor.USE_SNAPSHOT = true
+        }
 
         databaseAdapter.close()
 
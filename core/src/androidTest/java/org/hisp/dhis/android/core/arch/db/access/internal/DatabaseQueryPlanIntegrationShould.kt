@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.db.access.internal
+
+import androidx.test.platform.app.InstrumentationRegistry
+import com.google.common.truth.Truth.assertWithMessage
+import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
+import org.hisp.dhis.android.core.arch.storage.internal.InMemorySecureStore
+import org.junit.AfterClass
+import org.junit.BeforeClass
+import org.junit.Test
+
+class DatabaseQueryPlanIntegrationShould {
+
+    companion object {
+        private const val DB_NAME = "database-query-plan-integration-should.db"
+
+        private val context = InstrumentationRegistry.getInstrumentation().context
+        private lateinit var databaseAdapter: DatabaseAdapter
+
+        private val hotQueries = listOf(
+            "SELECT * FROM Event WHERE enrollment = 'uid'",
+            "SELECT * FROM Event WHERE programStage = 'uid' AND organisationUnit IN ('uid1', 'uid2')",
+            "SELECT * FROM Enrollment WHERE trackedEntityInstance = 'uid'",
+            "SELECT * FROM Enrollment WHERE trackedEntityInstance = 'uid' AND program = 'uid'",
+            "SELECT * FROM TrackedEntityInstance WHERE organisationUnit IN ('uid1', 'uid2')",
+            "SELECT event FROM TrackedEntityDataValue WHERE dataElement = 'uid'",
+            "SELECT * FROM TrackedEntityDataValue WHERE event = 'uid'",
+            "SELECT * FROM TrackedEntityAttributeValue WHERE trackedEntityInstance = 'uid'",
+            "SELECT * FROM RelationshipItem WHERE relationship = 'uid'",
+            "SELECT * FROM RelationshipItem WHERE trackedEntityInstance = 'uid'",
+            "SELECT * FROM RelationshipItem WHERE enrollment = 'uid'",
+            "SELECT * FROM RelationshipItem WHERE event = 'uid'",
+            "SELECT * FROM DataValue WHERE dataElement IN ('uid1', 'uid2') AND period IN ('202301') " +
+                "AND organisationUnit IN ('uid')",
+            "SELECT * FROM DataValue WHERE syncState IN ('TO_POST', 'TO_UPDATE')",
+        )
+
+        @BeforeClass
+        @JvmStatic
+        fun setUpClass() {
+            context.deleteDatabase(DB_NAME)
+            val databaseAdapterFactory = DatabaseAdapterFactory.create(context, InMemorySecureStore())
+            databaseAdapter = databaseAdapterFactory.newParentDatabaseAdapter()
+            databaseAdapterFactory.createOrOpenDatabase(databaseAdapter, DB_NAME, false)
+        }
+
+        @AfterClass
+        @JvmStatic
+        fun tearDownClass() {
+            databaseAdapter.close()
+            context.deleteDatabase(DB_NAME)
+        }
+    }
+
+    @Test
+    fun not_use_full_table_scans_in_hot_queries() {
+        hotQueries.forEach { query ->
+            val fullScans = getQueryPlan(query).filter { isFullTableScan(it) }
+            assertWithMessage("Full table scan in query: $query").that(fullScans).isEmpty()
+        }
+    }
+
+    private fun getQueryPlan(query: String): List<String> {
+        return databaseAdapter.rawQuery("EXPLAIN QUERY PLAN $query").use { cursor ->
+            val detailIndex = cursor.getColumnIndex("detail")
+            val details = mutableListOf<String>()
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detailIndex))
+            }
+            details
+        }
+    }
+
+    private fun isFullTableScan(detail: String): Boolean {
+        return detail.startsWith("SCAN") && !detail.contains("INDEX") && !detail.contains("CONSTANT ROW")
+    }
+}
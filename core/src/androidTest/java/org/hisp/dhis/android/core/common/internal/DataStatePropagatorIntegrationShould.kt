@@ -88,6 +88,7 @@ class DataStatePropagatorIntegrationShould : BaseMockIntegrationTestFullDispatch
             relationshipItemStore,
             relationshipTypeStore,
             programOwnerStore,
+            DataStatePropagatorBulkHelper(d2.databaseAdapter()),
         )
     }
 
@@ -326,6 +327,59 @@ class DataStatePropagatorIntegrationShould : BaseMockIntegrationTestFullDispatch
         }
     }
 
+    @Test
+    @Throws(D2Error::class)
+    fun propagate_deferred_updates_at_the_end_of_the_block() {
+        val teiUid = createTEIWithState(State.SYNCED)
+        val enrolmentUid = createEnrollmentWithState(State.SYNCED, teiUid)
+        val eventUids = listOf(
+            createEventWithState(State.SYNCED, enrolmentUid),
+            createEventWithState(State.SYNCED, enrolmentUid),
+        )
+
+        propagator.deferPropagation {
+            eventUids.forEach {
+                propagator.propagateTrackedEntityDataValueUpdate(TrackedEntityDataValue.builder().event(it).build())
+            }
+            assertThat(trackedEntityInstanceStore.selectByUid(teiUid)!!.aggregatedSyncState())
+                .isEqualTo(State.SYNCED)
+        }
+
+        eventUids.forEach {
+            assertThat(eventStore.selectByUid(it)!!.syncState()).isEqualTo(State.TO_UPDATE)
+            assertThat(eventStore.selectByUid(it)!!.aggregatedSyncState()).isEqualTo(State.TO_UPDATE)
+        }
+        assertThat(enrollmentStore.selectByUid(enrolmentUid)!!.syncState()).isEqualTo(State.SYNCED)
+        assertThat(enrollmentStore.selectByUid(enrolmentUid)!!.aggregatedSyncState()).isEqualTo(State.TO_UPDATE)
+        assertThat(trackedEntityInstanceStore.selectByUid(teiUid)!!.syncState()).isEqualTo(State.SYNCED)
+        assertThat(trackedEntityInstanceStore.selectByUid(teiUid)!!.aggregatedSyncState()).isEqualTo(State.TO_UPDATE)
+
+        trackedEntityInstanceStore.delete(teiUid)
+    }
+
+    @Test
+    @Throws(D2Error::class)
+    fun apply_deferred_updates_made_before_the_block_fails() {
+        val teiUid = createTEIWithState(State.SYNCED)
+        val enrolmentUid = createEnrollmentWithState(State.SYNCED, teiUid)
+        val eventUid = createEventWithState(State.SYNCED, enrolmentUid)
+
+        try {
+            propagator.deferPropagation {
+                val dataValue = TrackedEntityDataValue.builder().event(eventUid).build()
+                propagator.propagateTrackedEntityDataValueUpdate(dataValue)
+                throw IllegalStateException("Failing block")
+            }
+        } catch (e: IllegalStateException) {
+            // Expected
+        }
+
+        assertThat(eventStore.selectByUid(eventUid)!!.syncState()).isEqualTo(State.TO_UPDATE)
+        assertThat(trackedEntityInstanceStore.selectByUid(teiUid)!!.aggregatedSyncState()).isEqualTo(State.TO_UPDATE)
+
+        trackedEntityInstanceStore.delete(teiUid)
+    }
+
     @Throws(D2Error::class)
     private fun assertThatSetTeiToUpdateWhenEnrollmentPropagation(state: State) {
         val teiUid = createTEIWithState(state)
@@ -125,6 +125,17 @@ abstract class IdentifiableObjectStoreAbstractIntegrationShould<M> internal cons
         assertThat(handleAction).isEqualTo(HandleAction.Update)
     }
 
+    @Test
+    fun update_or_insert_many_objects() {
+        store.updateOrInsertMany(listOf(`object`))
+        assertEqualsIgnoreId(store.selectFirst())
+
+        store.updateOrInsertMany(listOf(objectToUpdate))
+        val objects = store.selectAll()
+        assertThat(objects.size).isEqualTo(1)
+        assertEqualsIgnoreId(objects[0], objectToUpdate)
+    }
+
     @Test
     fun insert_same_object_simultaneously_and_transactionally() {
         val s1 = Single.fromCallable { store.updateOrInsert(`object`) }.subscribeOn(Schedulers.io())
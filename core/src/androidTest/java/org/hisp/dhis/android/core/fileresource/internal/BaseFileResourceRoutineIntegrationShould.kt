@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.category.internal.CategoryComboStoreImpl
 import org.hisp.dhis.android.core.dataelement.internal.DataElementStoreImpl
 import org.hisp.dhis.android.core.event.internal.EventStoreImpl
 import org.hisp.dhis.android.core.option.internal.OptionSetStoreImpl
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStageStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStoreImpl
@@ -57,7 +58,10 @@ internal open class BaseFileResourceRoutineIntegrationShould : BaseMockIntegrati
     protected val categoryComboStore = CategoryComboStoreImpl(databaseAdapter)
 
     protected val dataElementStore = DataElementStoreImpl(databaseAdapter)
-    protected val organisationUnitStore = OrganisationUnitStoreImpl(databaseAdapter)
+    protected val organisationUnitStore = OrganisationUnitStoreImpl(
+        databaseAdapter,
+        OrganisationUnitClosureStoreImpl(databaseAdapter),
+    )
 
     protected val trackedEntityTypeStore = TrackedEntityTypeStoreImpl(databaseAdapter)
     protected val trackedEntityAttributeStore = TrackedEntityAttributeStoreImpl(databaseAdapter)
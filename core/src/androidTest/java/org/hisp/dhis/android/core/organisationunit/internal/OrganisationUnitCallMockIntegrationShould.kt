@@ -85,7 +85,7 @@ class OrganisationUnitCallMockIntegrationShould : BaseMockIntegrationTestEmptyEn
         // inserting dataSets for creating OrgUnitDataSetLinks
         insertDataSet()
         val organisationUnitHandler = OrganisationUnitHandler(
-            OrganisationUnitStoreImpl(databaseAdapter),
+            OrganisationUnitStoreImpl(databaseAdapter, OrganisationUnitClosureStoreImpl(databaseAdapter)),
             UserOrganisationUnitLinkHandler(UserOrganisationUnitLinkStoreImpl(databaseAdapter)),
             OrganisationUnitProgramLinkHandler(OrganisationUnitProgramLinkStoreImpl(databaseAdapter)),
             DataSetOrganisationUnitLinkHandler(DataSetOrganisationUnitLinkStoreImpl(databaseAdapter)),
@@ -102,7 +102,7 @@ class OrganisationUnitCallMockIntegrationShould : BaseMockIntegrationTestEmptyEn
                 organisationUnitHandler,
                 pathTransformer,
                 UserOrganisationUnitLinkStoreImpl(databaseAdapter),
-                OrganisationUnitStoreImpl(databaseAdapter),
+                OrganisationUnitStoreImpl(databaseAdapter, OrganisationUnitClosureStoreImpl(databaseAdapter)),
                 organisationUnitCollectionCleaner,
             ).download(user)
         }
@@ -127,7 +127,10 @@ class OrganisationUnitCallMockIntegrationShould : BaseMockIntegrationTestEmptyEn
     @Test
     fun persist_organisation_unit_tree() = runTest {
         organisationUnitCall.invoke()
-        val organisationUnitStore = OrganisationUnitStoreImpl(databaseAdapter)
+        val organisationUnitStore = OrganisationUnitStoreImpl(
+            databaseAdapter,
+            OrganisationUnitClosureStoreImpl(databaseAdapter),
+        )
         val dbAfroArabicClinic = organisationUnitStore.selectByUid(expectedAfroArabicClinic.uid())
         val dbAdonkiaCHP = organisationUnitStore.selectByUid(expectedAdonkiaCHP.uid())
 
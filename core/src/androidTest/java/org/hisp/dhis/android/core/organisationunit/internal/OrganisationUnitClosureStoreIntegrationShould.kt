@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.organisationunit.internal
+
+import com.google.common.truth.Truth.assertThat
+import org.hisp.dhis.android.core.data.organisationunit.OrganisationUnitSamples
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitClosureTableInfo
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitTableInfo
+import org.hisp.dhis.android.core.utils.integration.mock.TestDatabaseAdapterFactory
+import org.hisp.dhis.android.core.utils.runner.D2JunitRunner
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(D2JunitRunner::class)
+class OrganisationUnitClosureStoreIntegrationShould {
+
+    private val databaseAdapter = TestDatabaseAdapterFactory.get()
+    private val organisationUnitStore = OrganisationUnitStoreImpl(
+        databaseAdapter,
+        OrganisationUnitClosureStoreImpl(databaseAdapter),
+    )
+
+    @After
+    fun tearDown() {
+        databaseAdapter.delete(OrganisationUnitClosureTableInfo.TABLE_INFO.name())
+        databaseAdapter.delete(OrganisationUnitTableInfo.TABLE_INFO.name())
+    }
+
+    @Test
+    fun insert_closure_rows_when_organisation_units_are_stored() {
+        organisationUnitStore.insert(
+            listOf(OrganisationUnitSamples.getAfroArabClinic(), OrganisationUnitSamples.getAdonkiaCHP()),
+        )
+
+        assertThat(selectDescendants(listOf("qtr8GGlm4gg"), maxDepth = 1))
+            .containsExactly("cDw53Ej8rju", "Rp268JB6Ne4")
+        assertThat(selectDescendants(listOf("ImspTQPwCqd"), maxDepth = 2)).isEmpty()
+        assertThat(selectDescendants(listOf("ImspTQPwCqd")))
+            .containsExactly("cDw53Ej8rju", "Rp268JB6Ne4")
+    }
+
+    @Test
+    fun replace_closure_rows_when_organisation_unit_is_moved() {
+        val clinic = OrganisationUnitSamples.getAfroArabClinic()
+        organisationUnitStore.insert(clinic)
+
+        organisationUnitStore.updateOrInsertMany(
+            listOf(clinic.toBuilder().path("/ImspTQPwCqd/O6uvpzGd5pu/cDw53Ej8rju").build()),
+        )
+
+        assertThat(selectDescendants(listOf("qtr8GGlm4gg"))).isEmpty()
+        assertThat(selectDescendants(listOf("O6uvpzGd5pu"), maxDepth = 1)).containsExactly("cDw53Ej8rju")
+    }
+
+    private fun selectDescendants(ancestorUids: List<String>, maxDepth: Int? = null): List<String> {
+        val query = OrganisationUnitClosureStore.descendantsOrSelfQuery(ancestorUids, maxDepth)
+        return databaseAdapter.rawQuery(query).use { cursor ->
+            val uids = mutableListOf<String>()
+            while (cursor.moveToNext()) {
+                uids.add(cursor.getString(0))
+            }
+            uids
+        }
+    }
+}
@@ -40,7 +40,8 @@ import org.junit.runner.RunWith;
 public class OrganisationUnitStoreIntegrationShould extends IdentifiableObjectStoreAbstractIntegrationShould<OrganisationUnit> {
 
     public OrganisationUnitStoreIntegrationShould() {
-        super(new OrganisationUnitStoreImpl(TestDatabaseAdapterFactory.get()),
+        super(new OrganisationUnitStoreImpl(TestDatabaseAdapterFactory.get(),
+                new OrganisationUnitClosureStoreImpl(TestDatabaseAdapterFactory.get())),
                 OrganisationUnitTableInfo.TABLE_INFO, TestDatabaseAdapterFactory.get());
     }
 
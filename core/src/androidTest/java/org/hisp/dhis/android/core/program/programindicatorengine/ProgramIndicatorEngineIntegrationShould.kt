@@ -33,13 +33,17 @@ import org.hisp.dhis.android.core.category.CategoryCombo
 import org.hisp.dhis.android.core.category.CategoryComboTableInfo
 import org.hisp.dhis.android.core.category.internal.CreateCategoryComboUtils
 import org.hisp.dhis.android.core.common.*
+import org.hisp.dhis.android.core.constant.internal.ConstantStoreImpl
 import org.hisp.dhis.android.core.dataelement.DataElement
 import org.hisp.dhis.android.core.dataelement.internal.DataElementStoreImpl
+import org.hisp.dhis.android.core.enrollment.internal.EnrollmentStoreImpl
 import org.hisp.dhis.android.core.maintenance.D2Error
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl
 import org.hisp.dhis.android.core.program.Program
 import org.hisp.dhis.android.core.program.ProgramStage
+import org.hisp.dhis.android.core.program.internal.ProgramIndicatorStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStageStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStoreImpl
 import org.hisp.dhis.android.core.program.programindicatorengine.BaseTrackerDataIntegrationHelper.Companion.att
@@ -47,9 +51,12 @@ import org.hisp.dhis.android.core.program.programindicatorengine.BaseTrackerData
 import org.hisp.dhis.android.core.program.programindicatorengine.BaseTrackerDataIntegrationHelper.Companion.today
 import org.hisp.dhis.android.core.program.programindicatorengine.BaseTrackerDataIntegrationHelper.Companion.twoDaysBefore
 import org.hisp.dhis.android.core.program.programindicatorengine.BaseTrackerDataIntegrationHelper.Companion.`var`
+import org.hisp.dhis.android.core.program.programindicatorengine.internal.EventProgramIndicatorEvaluator
+import org.hisp.dhis.android.core.program.programindicatorengine.internal.ProgramIndicatorEngineImpl
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttribute
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityType
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityAttributeStoreImpl
+import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityAttributeValueStoreImpl
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityTypeStoreImpl
 import org.hisp.dhis.android.core.utils.integration.mock.BaseMockIntegrationTestEmptyDispatcher
 import org.junit.*
@@ -65,6 +72,18 @@ class ProgramIndicatorEngineIntegrationShould : BaseMockIntegrationTestEmptyDisp
 
     private val helper = BaseTrackerDataIntegrationHelper(databaseAdapter)
 
+    private val eventProgramIndicatorEvaluator: EventProgramIndicatorEvaluator = ProgramIndicatorEngineImpl(
+        programIndicatorStore = ProgramIndicatorStoreImpl(databaseAdapter),
+        dataElementStore = DataElementStoreImpl(databaseAdapter),
+        trackedEntityAttributeStore = TrackedEntityAttributeStoreImpl(databaseAdapter),
+        enrollmentStore = EnrollmentStoreImpl(databaseAdapter),
+        eventRepository = d2.eventModule().events(),
+        programRepository = d2.programModule().programStages(),
+        trackedEntityAttributeValueStore = TrackedEntityAttributeValueStoreImpl(databaseAdapter),
+        constantStore = ConstantStoreImpl(databaseAdapter),
+        programStageStore = ProgramStageStoreImpl(databaseAdapter),
+    )
+
     companion object Factory {
 
         private const val teiUid = "H87GEVeG3JH"
@@ -76,6 +95,7 @@ class ProgramIndicatorEngineIntegrationShould : BaseMockIntegrationTestEmptyDisp
         private const val dataElement2 = "Kb9hZ428FyH"
         private const val attribute1 = "Kmtdopp5GC1"
         private const val programIndicatorUid = "rg3JkCv0skl"
+        private const val programIndicatorUid2 = "GxdhnY5wmHq"
 
         // Auxiliary variables
         private const val orgunitUid = "orgunit_uid"
@@ -91,7 +111,10 @@ class ProgramIndicatorEngineIntegrationShould : BaseMockIntegrationTestEmptyDisp
             setUpClass()
 
             val orgunit = OrganisationUnit.builder().uid(orgunitUid).build()
-            OrganisationUnitStoreImpl(databaseAdapter).insert(orgunit)
+            OrganisationUnitStoreImpl(
+                databaseAdapter,
+                OrganisationUnitClosureStoreImpl(databaseAdapter),
+            ).insert(orgunit)
 
             val trackedEntityType = TrackedEntityType.builder().uid(teiTypeUid).build()
             TrackedEntityTypeStoreImpl(databaseAdapter).insert(trackedEntityType)
@@ -318,6 +341,36 @@ class ProgramIndicatorEngineIntegrationShould : BaseMockIntegrationTestEmptyDisp
         assertThat(result).isEqualTo("7")
     }
 
+    @Test
+    fun evaluate_event_values_in_bulk_as_one_by_one() {
+        createEnrollment()
+        createTrackerEvent(event1, programStage1)
+        createTrackerEvent(event2, programStage2)
+        insertTrackedEntityDataValue(event1, dataElement1, "5")
+        insertTrackedEntityDataValue(event2, dataElement2, "1.5")
+        insertTrackedEntityAttributeValue(attribute1, "2")
+        setProgramIndicatorExpression(
+            "(${de(programStage1, dataElement1)} + ${de(programStage2, dataElement2)})" +
+                " / ${att(attribute1)}",
+        )
+        helper.setProgramIndicatorExpression(programIndicatorUid2, programUid, "${att(attribute1)} * 3")
+
+        val programIndicatorUids = listOf(programIndicatorUid, programIndicatorUid2)
+        val events = d2.eventModule().events()
+            .withTrackedEntityDataValues()
+            .byUid().`in`(event1, event2)
+            .blockingGet()
+
+        val bulkValues = eventProgramIndicatorEvaluator.getEventProgramIndicatorValues(events, programIndicatorUids)
+        val singleValues = listOf(event1, event2).associateWith { eventUid ->
+            programIndicatorUids.associateWith { programIndicatorEngine.getEventProgramIndicatorValue(eventUid, it) }
+        }
+
+        assertThat(bulkValues).isEqualTo(singleValues)
+        assertThat(bulkValues[event1]!![programIndicatorUid]).isEqualTo("2.5")
+        assertThat(bulkValues[event2]!![programIndicatorUid2]).isEqualTo("6")
+    }
+
     private fun createEnrollment(enrollmentDate: Date? = null, incidentDate: Date? = null) {
         helper.createEnrollment(teiUid, enrollmentUid, programUid, orgunitUid, enrollmentDate, incidentDate)
     }
@@ -43,6 +43,7 @@ import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitProgramLink
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitProgramLinkStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStore
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl
 import org.hisp.dhis.android.core.program.Program
 import org.hisp.dhis.android.core.program.ProgramTrackedEntityAttribute
@@ -93,7 +94,7 @@ internal class TrackedEntityAttributeReservedValueManagerRealIntegrationShould :
         login()
         store = TrackedEntityAttributeReservedValueStoreImpl(d2.databaseAdapter())
         val organisationUnitStore: OrganisationUnitStore =
-            OrganisationUnitStoreImpl(d2.databaseAdapter())
+            OrganisationUnitStoreImpl(d2.databaseAdapter(), OrganisationUnitClosureStoreImpl(d2.databaseAdapter()))
         val trackedEntityAttributeStore: TrackedEntityAttributeStore =
             TrackedEntityAttributeStoreImpl(d2.databaseAdapter())
         manager = d2.trackedEntityModule().reservedValueManager()
@@ -43,6 +43,7 @@ import org.hisp.dhis.android.core.event.internal.EventStore
 import org.hisp.dhis.android.core.event.internal.EventStoreImpl
 import org.hisp.dhis.android.core.maintenance.D2Error
 import org.hisp.dhis.android.core.maintenance.internal.ForeignKeyCleanerImpl
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStageStoreImpl
 import org.hisp.dhis.android.core.program.internal.ProgramStore
@@ -79,7 +80,10 @@ open class BasePayloadGeneratorMockIntegration : BaseMockIntegrationTestMetadata
     }
 
     protected fun storeTrackerData() {
-        val orgUnit = OrganisationUnitStoreImpl(databaseAdapter).selectFirst()!!
+        val orgUnit = OrganisationUnitStoreImpl(
+            databaseAdapter,
+            OrganisationUnitClosureStoreImpl(databaseAdapter),
+        ).selectFirst()!!
         val teiType = TrackedEntityTypeStoreImpl(databaseAdapter).selectFirst()!!
         val program = d2.programModule().programs().one().blockingGet()!!
         val programStage = ProgramStageStoreImpl(databaseAdapter).selectFirst()!!
@@ -187,7 +191,10 @@ open class BasePayloadGeneratorMockIntegration : BaseMockIntegrationTestMetadata
     }
 
     protected fun storeSimpleTrackedEntityInstance(teiUid: String, state: State) {
-        val orgUnit = OrganisationUnitStoreImpl(databaseAdapter).selectFirst()
+        val orgUnit = OrganisationUnitStoreImpl(
+            databaseAdapter,
+            OrganisationUnitClosureStoreImpl(databaseAdapter),
+        ).selectFirst()
         val teiType = TrackedEntityTypeStoreImpl(databaseAdapter).selectFirst()
         TrackedEntityInstanceStoreImpl(databaseAdapter).insert(
             TrackedEntityInstanceSamples.get().toBuilder()
@@ -34,6 +34,7 @@ import static org.hisp.dhis.android.core.data.utils.FillPropertiesTestUtils.pars
 import org.hisp.dhis.android.core.BaseIntegrationTestWithDatabase;
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit;
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStore;
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl;
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl;
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeReservedValue;
 import org.junit.After;
@@ -72,7 +73,8 @@ public class TrackedEntityAttributeReservedValueStoreIntegrationShould extends B
         Date notExpiredDate = parseDate("2018-05-17T12:35:36.743");
 
         OrganisationUnit organisationUnit = OrganisationUnit.builder().uid(orgUnitUid).build();
-        organisationUnitStore = new OrganisationUnitStoreImpl(databaseAdapter());
+        organisationUnitStore = new OrganisationUnitStoreImpl(databaseAdapter(),
+                new OrganisationUnitClosureStoreImpl(databaseAdapter()));
         organisationUnitStore.insert(organisationUnit);
 
         TrackedEntityAttributeReservedValue.Builder builder = TrackedEntityAttributeReservedValue.builder()
@@ -36,6 +36,7 @@ import org.hisp.dhis.android.core.enrollment.EnrollmentStatus;
 import org.hisp.dhis.android.core.maintenance.D2Error;
 import org.hisp.dhis.android.core.maintenance.D2ErrorCode;
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit;
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl;
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl;
 import org.hisp.dhis.android.core.utils.integration.mock.BaseMockIntegrationTestFullDispatcher;
 import org.hisp.dhis.android.core.utils.runner.D2JunitRunner;
@@ -53,7 +54,9 @@ public class EnrollmentObjectRepositoryMockIntegrationShould extends BaseMockInt
     @Test
     public void update_organisation_unit() throws D2Error {
         String orgUnitUid = "new_org_unit";
-        new OrganisationUnitStoreImpl(databaseAdapter).insert(OrganisationUnit.builder().uid(orgUnitUid).build());
+        new OrganisationUnitStoreImpl(databaseAdapter,
+                new OrganisationUnitClosureStoreImpl(databaseAdapter))
+                .insert(OrganisationUnit.builder().uid(orgUnitUid).build());
 
         EnrollmentObjectRepository repository = objectRepository();
 
@@ -61,7 +64,8 @@ public class EnrollmentObjectRepositoryMockIntegrationShould extends BaseMockInt
         assertThat(repository.blockingGet().organisationUnit()).isEqualTo(orgUnitUid);
 
         repository.blockingDelete();
-        new OrganisationUnitStoreImpl(databaseAdapter).delete(orgUnitUid);
+        new OrganisationUnitStoreImpl(databaseAdapter,
+                new OrganisationUnitClosureStoreImpl(databaseAdapter)).delete(orgUnitUid);
     }
 
     @Test(expected = D2Error.class)
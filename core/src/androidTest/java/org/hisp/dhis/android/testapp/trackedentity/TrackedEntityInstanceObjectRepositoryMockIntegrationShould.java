@@ -33,6 +33,7 @@ import org.hisp.dhis.android.core.common.Geometry;
 import org.hisp.dhis.android.core.maintenance.D2Error;
 import org.hisp.dhis.android.core.maintenance.D2ErrorCode;
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit;
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl;
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl;
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceCreateProjection;
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceObjectRepository;
@@ -50,7 +51,9 @@ public class TrackedEntityInstanceObjectRepositoryMockIntegrationShould extends
     @Test
     public void update_organisation_unit() throws D2Error {
         String orgUnitUid = "new_org_unit";
-        new OrganisationUnitStoreImpl(databaseAdapter).insert(OrganisationUnit.builder().uid(orgUnitUid).build());
+        new OrganisationUnitStoreImpl(databaseAdapter,
+                new OrganisationUnitClosureStoreImpl(databaseAdapter))
+                .insert(OrganisationUnit.builder().uid(orgUnitUid).build());
 
         TrackedEntityInstanceObjectRepository repository = objectRepository();
 
@@ -58,7 +61,8 @@ public class TrackedEntityInstanceObjectRepositoryMockIntegrationShould extends
         assertThat(repository.blockingGet().organisationUnit()).isEqualTo(orgUnitUid);
 
         repository.blockingDelete();
-        new OrganisationUnitStoreImpl(databaseAdapter).delete(orgUnitUid);
+        new OrganisationUnitStoreImpl(databaseAdapter,
+                new OrganisationUnitClosureStoreImpl(databaseAdapter)).delete(orgUnitUid);
     }
 
     @Test(expected = D2Error.class)
@@ -0,0 +1,16 @@
+# Add secondary indexes for tracker, relationship and aggregated data access paths
+
+CREATE INDEX event_enrollment ON Event(enrollment);
+CREATE INDEX event_program_stage ON Event(programStage, organisationUnit);
+CREATE INDEX event_aggregated_sync_state ON Event(aggregatedSyncState);
+CREATE INDEX enrollment_tracked_entity_instance ON Enrollment(trackedEntityInstance, program);
+CREATE INDEX enrollment_aggregated_sync_state ON Enrollment(aggregatedSyncState);
+CREATE INDEX tracked_entity_instance_organisation_unit ON TrackedEntityInstance(organisationUnit, trackedEntityType);
+CREATE INDEX tracked_entity_instance_aggregated_sync_state ON TrackedEntityInstance(aggregatedSyncState);
+CREATE INDEX tracked_entity_data_value_data_element ON TrackedEntityDataValue(dataElement, event);
+CREATE INDEX tracked_entity_attribute_value_attribute ON TrackedEntityAttributeValue(trackedEntityAttribute, value);
+CREATE INDEX relationship_item_relationship ON RelationshipItem(relationship);
+CREATE INDEX relationship_item_tracked_entity_instance ON RelationshipItem(trackedEntityInstance);
+CREATE INDEX relationship_item_enrollment ON RelationshipItem(enrollment);
+CREATE INDEX relationship_item_event ON RelationshipItem(event);
+CREATE INDEX data_value_sync_state ON DataValue(syncState);
@@ -0,0 +1,5 @@
+# Add OrganisationUnitClosure table with the ancestors of every organisation unit, derived from its path
+
+CREATE TABLE OrganisationUnitClosure (_id INTEGER PRIMARY KEY AUTOINCREMENT, organisationUnit TEXT NOT NULL, ancestor TEXT NOT NULL, depth INTEGER NOT NULL, FOREIGN KEY (organisationUnit) REFERENCES OrganisationUnit (uid) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED, UNIQUE (ancestor, organisationUnit));
+CREATE INDEX organisation_unit_closure_organisation_unit ON OrganisationUnitClosure(organisationUnit);
+WITH RECURSIVE fullPath(organisationUnit, path) AS (SELECT uid, CASE WHEN trim(COALESCE(path, ''), '/') = uid OR trim(COALESCE(path, ''), '/') LIKE '%/' || uid THEN trim(path, '/') ELSE trim(COALESCE(path, ''), '/') || '/' || uid END FROM OrganisationUnit), split(organisationUnit, ancestor, rest, position) AS (SELECT organisationUnit, NULL, path || '/', 0 FROM fullPath UNION ALL SELECT organisationUnit, substr(rest, 1, instr(rest, '/') - 1), substr(rest, instr(rest, '/') + 1), position + 1 FROM split WHERE rest <> '') INSERT OR IGNORE INTO OrganisationUnitClosure (organisationUnit, ancestor, depth) SELECT s.organisationUnit, s.ancestor, m.maxPosition - s.position FROM split s JOIN (SELECT organisationUnit, MAX(position) AS maxPosition FROM split GROUP BY organisationUnit) m ON s.organisationUnit = m.organisationUnit WHERE s.ancestor IS NOT NULL AND s.ancestor <> '';
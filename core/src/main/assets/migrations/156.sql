@@ -0,0 +1,4 @@
+# Add TrackerDownloadCheckpoint and TrackerDownloadRelative tables with the progress of the interrupted tracker downloads
+
+CREATE TABLE TrackerDownloadCheckpoint (_id INTEGER PRIMARY KEY AUTOINCREMENT, bundle TEXT NOT NULL, lastUpdated TEXT, organisationUnit TEXT NOT NULL, program TEXT NOT NULL, downloadedCount INTEGER NOT NULL, completed INTEGER NOT NULL, UNIQUE (bundle, organisationUnit, program));
+CREATE TABLE TrackerDownloadRelative (_id INTEGER PRIMARY KEY AUTOINCREMENT, downloader TEXT NOT NULL, elementType TEXT NOT NULL, elementUid TEXT NOT NULL, UNIQUE (downloader, elementType, elementUid));
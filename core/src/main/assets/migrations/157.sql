@@ -0,0 +1,4 @@
+# Add TrackerDownloadRelationshipItem table with the relationship items whose targets are not downloaded yet, and the server date of the first run to TrackerDownloadCheckpoint
+
+CREATE TABLE TrackerDownloadRelationshipItem (_id INTEGER PRIMARY KEY AUTOINCREMENT, downloader TEXT NOT NULL, relationship TEXT NOT NULL, relationshipItemType TEXT NOT NULL, trackedEntityInstance TEXT, enrollment TEXT, event TEXT, UNIQUE (downloader, relationship, relationshipItemType));
+ALTER TABLE TrackerDownloadCheckpoint ADD COLUMN serverDate TEXT;
@@ -0,0 +1,6 @@
+# Drop the secondary indexes whose write cost on the tracker tables is not paid back by the lookups they serve
+
+DROP INDEX IF EXISTS event_aggregated_sync_state;
+DROP INDEX IF EXISTS enrollment_aggregated_sync_state;
+DROP INDEX IF EXISTS tracked_entity_instance_aggregated_sync_state;
+DROP INDEX IF EXISTS tracked_entity_attribute_value_attribute;
@@ -66,6 +66,12 @@ public abstract class D2Configuration {
     @NonNull
     public abstract Context context();
 
+    @Nullable
+    public abstract Boolean compressRequests();
+
+    @Nullable
+    public abstract Long httpCacheSizeInBytes();
+
     public abstract Builder toBuilder();
 
     public static Builder builder() {
@@ -96,6 +102,17 @@ public abstract class D2Configuration {
 
         public abstract Builder networkInterceptors(List<Interceptor> networkInterceptors);
 
+        /**
+         * Gzip-encode JSON request bodies. Only enable it if the server (or a proxy in front of it) accepts
+         * compressed requests. Servers answering 415 Unsupported Media Type get uncompressed requests again.
+         */
+        public abstract Builder compressRequests(Boolean compressRequests);
+
+        /**
+         * Size of the on-disk cache used to revalidate metadata responses with ETag. Disabled if null or 0.
+         */
+        public abstract Builder httpCacheSizeInBytes(Long httpCacheSizeInBytes);
+
         public abstract D2Configuration build();
     }
 }
\ No newline at end of file
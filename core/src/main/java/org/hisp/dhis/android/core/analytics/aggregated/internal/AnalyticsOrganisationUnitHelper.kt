@@ -34,6 +34,7 @@ import org.hisp.dhis.android.core.common.RelativeOrganisationUnit
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitOrganisationUnitGroupLinkTableInfo
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitTableInfo
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStore
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitLevelStore
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitOrganisationUnitGroupLinkStore
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStore
@@ -101,18 +102,25 @@ internal class AnalyticsOrganisationUnitHelper(
     }
 
     private fun queryChildrenOrganisationUnitUids(parentUids: List<String>): List<String> {
-        return getChildrenOrganisationUnitUids(parentUids)
+        return getDescendantOrganisationUnitUids(parentUids, depth = 1)
     }
 
     private fun queryGrandChildrenOrganisationUnitUids(parentUids: List<String>): List<String> {
-        return getChildrenOrganisationUnitUids(queryChildrenOrganisationUnitUids(parentUids))
+        return getDescendantOrganisationUnitUids(parentUids, depth = 2)
     }
 
-    private fun getChildrenOrganisationUnitUids(parentUids: List<String>): List<String> {
-        val childrenClause = WhereClauseBuilder()
-            .appendInKeyStringValues(OrganisationUnitTableInfo.Columns.PARENT, parentUids)
+    private fun getDescendantOrganisationUnitUids(ancestorUids: List<String>, depth: Int): List<String> {
+        if (ancestorUids.isEmpty()) {
+            return emptyList()
+        }
+
+        val descendantsClause = WhereClauseBuilder()
+            .appendInSubQuery(
+                OrganisationUnitTableInfo.Columns.UID,
+                OrganisationUnitClosureStore.descendantsAtDepthQuery(ancestorUids, depth),
+            )
             .build()
 
-        return organisationUnitStore.selectUidsWhere(childrenClause)
+        return organisationUnitStore.selectUidsWhere(descendantsClause)
     }
 }
@@ -64,9 +64,11 @@ internal class AnalyticsService(
 
             val metadata = analyticsServiceMetadataHelper.getMetadata(evaluationItems)
 
-            val values = evaluationItems.map {
-                analyticsServiceEvaluatorHelper.evaluate(it, metadata, params.analyticsLegendStrategy)
-            }
+            val values = analyticsServiceEvaluatorHelper.evaluate(
+                evaluationItems,
+                metadata,
+                params.analyticsLegendStrategy,
+            )
 
             val legends = values.filter { it.legend != null }.map { it.legend!! }
             val finalMetadata = analyticsServiceMetadataHelper.includeLegendsToMetadata(metadata, legends)
@@ -60,6 +60,39 @@ internal class AnalyticsServiceEvaluatorHelper(
 
         val value = evaluator.evaluate(evaluationItem, metadata)
 
+        return buildDimensionalValue(evaluationItem, value, legendStrategy)
+    }
+
+    /**
+     * Evaluates the items in bulk, letting each evaluator resolve all its items at once. The returned values keep the
+     * order of the evaluation items.
+     */
+    fun evaluate(
+        evaluationItems: List<AnalyticsServiceEvaluationItem>,
+        metadata: Map<String, MetadataItem>,
+        legendStrategy: AnalyticsLegendStrategy,
+    ): List<DimensionalValue> {
+        val values = arrayOfNulls<String>(evaluationItems.size)
+
+        evaluationItems.withIndex()
+            .groupBy { getEvaluator(it.value) }
+            .forEach { (evaluator, indexedItems) ->
+                val evaluatorValues = evaluator.evaluateAll(indexedItems.map { it.value }, metadata)
+                indexedItems.zip(evaluatorValues).forEach { (indexedItem, value) ->
+                    values[indexedItem.index] = value
+                }
+            }
+
+        return evaluationItems.mapIndexed { index, item ->
+            buildDimensionalValue(item, values[index], legendStrategy)
+        }
+    }
+
+    private fun buildDimensionalValue(
+        evaluationItem: AnalyticsServiceEvaluationItem,
+        value: String?,
+        legendStrategy: AnalyticsLegendStrategy,
+    ): DimensionalValue {
         val legend = when (legendStrategy) {
             is AnalyticsLegendStrategy.Fixed -> legendEvaluator.getLegendByLegendSet(legendStrategy.legendSetUid, value)
             is AnalyticsLegendStrategy.ByDataItem -> getLegendFromDataDimension(evaluationItem, value)
@@ -40,6 +40,13 @@ internal interface AnalyticsEvaluator {
         queryMods: QueryMods? = null,
     ): String?
 
+    fun evaluateAll(
+        evaluationItems: List<AnalyticsServiceEvaluationItem>,
+        metadata: Map<String, MetadataItem>,
+    ): List<String?> {
+        return evaluationItems.map { evaluate(it, metadata) }
+    }
+
     fun getSql(
         evaluationItem: AnalyticsServiceEvaluationItem,
         metadata: Map<String, MetadataItem>,
@@ -34,7 +34,7 @@ import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuil
 import org.hisp.dhis.android.core.arch.helpers.DateUtils
 import org.hisp.dhis.android.core.category.CategoryDataDimensionType
 import org.hisp.dhis.android.core.common.AggregationType
-import org.hisp.dhis.android.core.organisationunit.OrganisationUnitTableInfo
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStore
 import org.hisp.dhis.android.core.parser.internal.expression.QueryMods
 import org.hisp.dhis.android.core.period.Period
 import org.hisp.dhis.android.core.period.PeriodTableInfo
@@ -207,17 +207,11 @@ internal object AnalyticsEvaluatorHelper {
     }
 
     private fun getOrgunitClause(orgunitUid: String): String {
-        return "SELECT ${OrganisationUnitTableInfo.Columns.UID} " +
-            "FROM ${OrganisationUnitTableInfo.TABLE_INFO.name()} " +
-            "WHERE " +
-            "${OrganisationUnitTableInfo.Columns.PATH} LIKE '%$orgunitUid%'"
+        return OrganisationUnitClosureStore.descendantsOrSelfQuery(listOf(orgunitUid))
     }
 
     private fun getOrgunitListClause(orgunitUids: List<String>): String {
-        return "SELECT ${OrganisationUnitTableInfo.Columns.UID} " +
-            "FROM ${OrganisationUnitTableInfo.TABLE_INFO.name()} " +
-            "WHERE " +
-            orgunitUids.joinToString(" OR ") { "${OrganisationUnitTableInfo.Columns.PATH} LIKE '%$it%'" }
+        return OrganisationUnitClosureStore.descendantsOrSelfQuery(orgunitUids)
     }
 
     fun appendCategoryWhereClause(
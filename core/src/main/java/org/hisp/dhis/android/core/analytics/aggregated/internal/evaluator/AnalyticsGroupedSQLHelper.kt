@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.analytics.aggregated.internal.evaluator
+
+import org.hisp.dhis.android.core.analytics.aggregated.internal.AnalyticsServiceEvaluationItem
+import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
+import org.hisp.dhis.android.core.common.AggregationType
+
+internal data class AnalyticsSQLQueryParts(
+    val aggregator: AggregationType,
+    val valueColumn: String,
+    val fromClause: String,
+    val whereClause: String,
+)
+
+/**
+ * Evaluates a list of evaluation items issuing one query per aggregation type and source table instead of one query
+ * per item. The query reads the rows matching any of the items once and aggregates them into one column per item with
+ * a conditional aggregate, so a row shared by several items counts in each of them and the values are exactly the same
+ * as evaluating the items one by one. Items that need a nested aggregation (first, last, average by orgunit, etc.) are
+ * evaluated individually.
+ */
+internal object AnalyticsGroupedSQLHelper {
+
+    // Keeps the result width and the statement length far below SQLITE_MAX_COLUMN and SQLITE_MAX_SQL_LENGTH
+    private const val maxItemsPerQuery = 200
+
+    private val groupableAggregators = setOf(
+        AggregationType.AVERAGE,
+        AggregationType.SUM,
+        AggregationType.COUNT,
+        AggregationType.MIN,
+        AggregationType.MAX,
+    )
+
+    fun evaluate(
+        databaseAdapter: DatabaseAdapter,
+        evaluationItems: List<AnalyticsServiceEvaluationItem>,
+        getQueryParts: (AnalyticsServiceEvaluationItem) -> AnalyticsSQLQueryParts,
+        evaluateSingle: (AnalyticsServiceEvaluationItem) -> String?,
+    ): List<String?> {
+        val values = arrayOfNulls<String>(evaluationItems.size)
+
+        val groupableQueries = evaluationItems.withIndex().mapNotNull { (index, item) ->
+            val queryParts = getQueryParts(item)
+            if (groupableAggregators.contains(queryParts.aggregator)) {
+                IndexedValue(index, queryParts)
+            } else {
+                values[index] = evaluateSingle(item)
+                null
+            }
+        }
+
+        groupableQueries
+            .groupBy { Triple(it.value.aggregator, it.value.valueColumn, it.value.fromClause) }
+            .values
+            .forEach { queries ->
+                queries.chunked(maxItemsPerQuery).forEach { chunk ->
+                    databaseAdapter.rawQuery(getGroupedSql(chunk)).use { c ->
+                        if (c.moveToFirst()) {
+                            chunk.forEachIndexed { column, query -> values[query.index] = c.getString(column) }
+                        }
+                    }
+                }
+            }
+
+        return values.toList()
+    }
+
+    private fun getGroupedSql(queries: List<IndexedValue<AnalyticsSQLQueryParts>>): String {
+        val (aggregator, valueColumn, fromClause) = queries.first().value
+
+        val itemColumns = queries.joinToString(", ") { (_, query) ->
+            "${aggregator.sql}(CASE WHEN ${query.whereClause} THEN $valueColumn END)"
+        }
+        val anyItemClause = queries.joinToString(" OR ") { (_, query) -> "(${query.whereClause})" }
+
+        return "SELECT $itemColumns " +
+            "FROM $fromClause " +
+            "WHERE $anyItemClause"
+    }
+}
@@ -61,28 +61,25 @@ internal class DataElementSQLEvaluator(
         }
     }
 
+    override fun evaluateAll(
+        evaluationItems: List<AnalyticsServiceEvaluationItem>,
+        metadata: Map<String, MetadataItem>,
+    ): List<String?> {
+        return AnalyticsGroupedSQLHelper.evaluate(
+            databaseAdapter = databaseAdapter,
+            evaluationItems = evaluationItems,
+            getQueryParts = { getQueryParts(it, metadata, null) },
+            evaluateSingle = { evaluate(it, metadata, null) },
+        )
+    }
+
     @Suppress("LongMethod")
     override fun getSql(
         evaluationItem: AnalyticsServiceEvaluationItem,
         metadata: Map<String, MetadataItem>,
         queryMods: QueryMods?,
     ): String {
-        val items = AnalyticsDimensionHelper.getItemsByDimension(evaluationItem)
-
-        val aggregator = getAggregator(evaluationItem, metadata, queryMods)
-
-        val whereClause = WhereClauseBuilder().apply {
-            items.entries.forEach { entry ->
-                when (entry.key) {
-                    is Dimension.Data -> appendDataWhereClause(entry.value, this)
-                    is Dimension.Period -> appendPeriodWhereClause(entry.value, this, metadata, aggregator, queryMods)
-                    is Dimension.OrganisationUnit -> appendOrgunitWhereClause(entry.value, this, metadata)
-                    is Dimension.Category -> appendCategoryWhereClause(entry.value, this, metadata)
-                }
-            }
-            appendDateQueryMods(queryMods, this)
-            appendKeyNumberValue(DataValueTableInfo.Columns.DELETED, 0)
-        }.build()
+        val (aggregator, _, _, whereClause) = getQueryParts(evaluationItem, metadata, queryMods)
 
         return when (aggregator) {
             AggregationType.AVERAGE,
@@ -138,6 +135,36 @@ internal class DataElementSQLEvaluator(
         }
     }
 
+    private fun getQueryParts(
+        evaluationItem: AnalyticsServiceEvaluationItem,
+        metadata: Map<String, MetadataItem>,
+        queryMods: QueryMods?,
+    ): AnalyticsSQLQueryParts {
+        val items = AnalyticsDimensionHelper.getItemsByDimension(evaluationItem)
+
+        val aggregator = getAggregator(evaluationItem, metadata, queryMods)
+
+        val whereClause = WhereClauseBuilder().apply {
+            items.entries.forEach { entry ->
+                when (entry.key) {
+                    is Dimension.Data -> appendDataWhereClause(entry.value, this)
+                    is Dimension.Period -> appendPeriodWhereClause(entry.value, this, metadata, aggregator, queryMods)
+                    is Dimension.OrganisationUnit -> appendOrgunitWhereClause(entry.value, this, metadata)
+                    is Dimension.Category -> appendCategoryWhereClause(entry.value, this, metadata)
+                }
+            }
+            appendDateQueryMods(queryMods, this)
+            appendKeyNumberValue(DataValueTableInfo.Columns.DELETED, 0)
+        }.build()
+
+        return AnalyticsSQLQueryParts(
+            aggregator = aggregator,
+            valueColumn = dvColumns.VALUE,
+            fromClause = DataValueTableInfo.TABLE_INFO.name(),
+            whereClause = whereClause,
+        )
+    }
+
     private fun firstOrLastValueClauseByOrgunit(whereClause: String, minOrMax: String): String {
         val orderColumn = "SELECT ${peColumns.START_DATE} || ${peColumns.END_DATE} " +
             "FROM ${PeriodTableInfo.TABLE_INFO.name()} pe " +
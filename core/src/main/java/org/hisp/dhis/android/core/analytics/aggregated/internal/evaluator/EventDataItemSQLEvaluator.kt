@@ -63,29 +63,25 @@ internal class EventDataItemSQLEvaluator(
         }
     }
 
+    override fun evaluateAll(
+        evaluationItems: List<AnalyticsServiceEvaluationItem>,
+        metadata: Map<String, MetadataItem>,
+    ): List<String?> {
+        return AnalyticsGroupedSQLHelper.evaluate(
+            databaseAdapter = databaseAdapter,
+            evaluationItems = evaluationItems,
+            getQueryParts = { getQueryParts(it, metadata, null) },
+            evaluateSingle = { evaluate(it, metadata, null) },
+        )
+    }
+
     @Suppress("LongMethod")
     override fun getSql(
         evaluationItem: AnalyticsServiceEvaluationItem,
         metadata: Map<String, MetadataItem>,
         queryMods: QueryMods?,
     ): String {
-        val items = AnalyticsDimensionHelper.getItemsByDimension(evaluationItem)
-
-        val eventDataItem = getEventDataItems(evaluationItem)[0]
-        val aggregator = getAggregator(evaluationItem, eventDataItem, metadata, queryMods)
-        val (valueColumn, fromClause) = getEventDataItemSQLItems(eventDataItem)
-
-        val whereClause = WhereClauseBuilder().apply {
-            items.entries.forEach { entry ->
-                when (entry.key) {
-                    is Dimension.Data -> appendDataWhereClause(entry.value, this)
-                    is Dimension.Period -> appendPeriodWhereClause(entry.value, this, metadata, aggregator, queryMods)
-                    is Dimension.OrganisationUnit -> appendOrgunitWhereClause(entry.value, this, metadata)
-                    is Dimension.Category -> appendCategoryWhereClause(entry.value, this, metadata)
-                }
-            }
-            appendKeyNumberValue("$eventAlias.${EventTableInfo.Columns.DELETED}", 0)
-        }.build()
+        val (aggregator, valueColumn, fromClause, whereClause) = getQueryParts(evaluationItem, metadata, queryMods)
 
         return when (aggregator) {
             AggregationType.AVERAGE,
@@ -141,6 +137,37 @@ internal class EventDataItemSQLEvaluator(
         }
     }
 
+    private fun getQueryParts(
+        evaluationItem: AnalyticsServiceEvaluationItem,
+        metadata: Map<String, MetadataItem>,
+        queryMods: QueryMods?,
+    ): AnalyticsSQLQueryParts {
+        val items = AnalyticsDimensionHelper.getItemsByDimension(evaluationItem)
+
+        val eventDataItem = getEventDataItems(evaluationItem)[0]
+        val aggregator = getAggregator(evaluationItem, eventDataItem, metadata, queryMods)
+        val (valueColumn, fromClause) = getEventDataItemSQLItems(eventDataItem)
+
+        val whereClause = WhereClauseBuilder().apply {
+            items.entries.forEach { entry ->
+                when (entry.key) {
+                    is Dimension.Data -> appendDataWhereClause(entry.value, this)
+                    is Dimension.Period -> appendPeriodWhereClause(entry.value, this, metadata, aggregator, queryMods)
+                    is Dimension.OrganisationUnit -> appendOrgunitWhereClause(entry.value, this, metadata)
+                    is Dimension.Category -> appendCategoryWhereClause(entry.value, this, metadata)
+                }
+            }
+            appendKeyNumberValue("$eventAlias.${EventTableInfo.Columns.DELETED}", 0)
+        }.build()
+
+        return AnalyticsSQLQueryParts(
+            aggregator = aggregator,
+            valueColumn = valueColumn,
+            fromClause = fromClause,
+            whereClause = whereClause,
+        )
+    }
+
     private fun getEventDataItemSQLItems(
         eventDataItem: DimensionItem.DataItem.EventDataItem,
     ): Pair<String, String> {
@@ -41,20 +41,18 @@ import org.hisp.dhis.android.core.period.PeriodType
 import org.hisp.dhis.android.core.period.internal.PeriodHelper
 import org.hisp.dhis.android.core.program.ProgramIndicatorCollectionRepository
 import org.hisp.dhis.android.core.program.ProgramStageCollectionRepository
-import org.hisp.dhis.android.core.program.programindicatorengine.ProgramIndicatorEngine
-import org.hisp.dhis.android.core.trackedentity.TrackedEntityDataValueCollectionRepository
+import org.hisp.dhis.android.core.program.programindicatorengine.internal.EventProgramIndicatorEvaluator
 import org.koin.core.annotation.Singleton
 
 @Singleton
 @Suppress("LongParameterList")
 internal class EventLineListServiceImpl(
     private val eventRepository: EventCollectionRepository,
-    private val dataValueRepository: TrackedEntityDataValueCollectionRepository,
     private val dataElementRepository: DataElementCollectionRepository,
     private val programIndicatorRepository: ProgramIndicatorCollectionRepository,
     private val organisationUnitRepository: OrganisationUnitCollectionRepository,
     private val programStageRepository: ProgramStageCollectionRepository,
-    private val programIndicatorEngine: ProgramIndicatorEngine,
+    private val programIndicatorEvaluator: EventProgramIndicatorEvaluator,
     private val periodHelper: PeriodHelper,
     private val dateFilterPeriodHelper: DateFilterPeriodHelper,
     private val organisationUnitHelper: AnalyticsOrganisationUnitHelper,
@@ -76,22 +74,27 @@ internal class EventLineListServiceImpl(
             events.map { it.organisationUnit()!! }.toHashSet(),
         )
 
-        val dataElementValues = if (params.dataElements.isNotEmpty()) {
-            dataValueRepository
-                .byEvent().`in`(events.map { it.uid() })
-                .byDataElement().`in`(params.dataElements.map { it.uid })
-                .blockingGet()
+        val dataValuesByEvent = events.associate { event ->
+            event.uid() to (event.trackedEntityDataValues() ?: emptyList()).associateBy { it.dataElement() }
+        }
+
+        val programIndicatorValues = if (params.programIndicators.isNotEmpty()) {
+            programIndicatorEvaluator.getEventProgramIndicatorValues(events, params.programIndicators.map { it.uid })
         } else {
-            listOf()
+            mapOf()
         }
 
+        val periodsByDate = periodHelper.blockingGetPeriodsForPeriodTypeAndDates(
+            programStage?.periodType() ?: PeriodType.Daily,
+            events.mapNotNull { it.eventDate() ?: it.dueDate() },
+        )
+
         return events.mapNotNull {
             (it.eventDate() ?: it.dueDate())?.let { referenceDate ->
-                val periodType = programStage?.periodType() ?: PeriodType.Daily
-                val eventPeriod = periodHelper.blockingGetPeriodForPeriodTypeAndDate(periodType, referenceDate)
+                val eventPeriod = periodsByDate.getValue(referenceDate)
 
                 val eventDataValues = params.dataElements.map { de ->
-                    val dv = dataElementValues.find { dv -> dv.event() == it.uid() && dv.dataElement() == de.uid }
+                    val dv = dataValuesByEvent[it.uid()]?.get(de.uid)
 
                     val legend = when (params.analyticsLegendStrategy) {
                         is AnalyticsLegendStrategy.None -> null
@@ -113,9 +116,9 @@ internal class EventLineListServiceImpl(
                     )
                 }
 
-                val programIndicatorValues = params.programIndicators.map { pi ->
+                val eventProgramIndicatorValues = params.programIndicators.map { pi ->
 
-                    val value = programIndicatorEngine.getEventProgramIndicatorValue(it.uid(), pi.uid)
+                    val value = programIndicatorValues[it.uid()]?.get(pi.uid)
 
                     val legend = when (params.analyticsLegendStrategy) {
                         is AnalyticsLegendStrategy.None -> null
@@ -143,7 +146,7 @@ internal class EventLineListServiceImpl(
                     period = eventPeriod,
                     organisationUnit = it.organisationUnit()!!,
                     organisationUnitName = metadataMap[it.organisationUnit()!!] ?: it.organisationUnit()!!,
-                    values = eventDataValues + programIndicatorValues,
+                    values = eventDataValues + eventProgramIndicatorValues,
                 )
             }
         }
@@ -155,6 +158,10 @@ internal class EventLineListServiceImpl(
             .orderByTimeline(RepositoryScope.OrderByDirection.ASC)
             .byDeleted().isFalse
 
+        if (params.dataElements.isNotEmpty() || params.programIndicators.isNotEmpty()) {
+            repoBuilder = repoBuilder.withTrackedEntityDataValues()
+        }
+
         if (params.trackedEntityInstance != null) {
             repoBuilder = repoBuilder.byTrackedEntityInstanceUids(listOf(params.trackedEntityInstance))
         }
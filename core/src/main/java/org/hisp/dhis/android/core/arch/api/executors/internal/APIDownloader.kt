@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.android.core.arch.api.executors.internal
 
+import kotlinx.coroutines.flow.Flow
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
 import org.hisp.dhis.android.core.arch.handlers.internal.Handler
 import org.hisp.dhis.android.core.arch.handlers.internal.LinkHandler
@@ -57,6 +58,19 @@ internal interface APIDownloader {
         pageDownloader: suspend(Set<String>) -> Payload<P>,
     ): List<P>
 
+    /**
+     * Like [downloadPartitioned], but each partition is passed to the handler as soon as it arrives, so persisting a
+     * partition overlaps with downloading the next ones. Only valid for handlers that do not need the whole
+     * collection at once (for example, handlers that delete the objects not present in the collection).
+     */
+    suspend fun <P> downloadPartitionedIncrementally(
+        uids: Set<String>,
+        pageSize: Int,
+        handler: Handler<P>,
+        maxConcurrentPartitions: Int = MAX_CONCURRENT_PARTITIONS,
+        pageDownloader: suspend(Set<String>) -> Payload<P>,
+    ): List<P>
+
     suspend fun <K, V> downloadPartitionedMap(
         uids: Set<String>,
         pageSize: Int,
@@ -87,4 +101,17 @@ internal interface APIDownloader {
         pageSize: Int,
         downloader: suspend(page: Int, pageSize: Int) -> Payload<P>,
     ): Payload<P>
+
+    /**
+     * Cold flow emitting one page at a time. The next page is not requested until the collector has processed the
+     * previous one, so only a single page is kept in memory regardless of the size of the full collection.
+     */
+    fun <P> downloadPagedFlow(
+        pageSize: Int,
+        downloader: suspend(page: Int, pageSize: Int) -> Payload<P>,
+    ): Flow<List<P>>
+
+    companion object {
+        const val MAX_CONCURRENT_PARTITIONS = 4
+    }
 }
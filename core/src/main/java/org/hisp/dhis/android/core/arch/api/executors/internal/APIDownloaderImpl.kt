@@ -28,6 +28,13 @@
 package org.hisp.dhis.android.core.arch.api.executors.internal
 
 import androidx.annotation.VisibleForTesting
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
 import org.hisp.dhis.android.core.arch.handlers.internal.Handler
 import org.hisp.dhis.android.core.arch.handlers.internal.LinkHandler
@@ -72,6 +79,23 @@ internal class APIDownloaderImpl(private val resourceHandler: ResourceHandler) :
         )
     }
 
+    override suspend fun <P> downloadPartitionedIncrementally(
+        uids: Set<String>,
+        pageSize: Int,
+        handler: Handler<P>,
+        maxConcurrentPartitions: Int,
+        pageDownloader: suspend (Set<String>) -> Payload<P>,
+    ): List<P> {
+        return downloadPartitionedWithoutHandling(
+            uids = uids,
+            pageSize = pageSize,
+            pageDownloader = pageDownloader,
+            transform = { it },
+            maxConcurrentPartitions = maxConcurrentPartitions,
+            partitionHandler = { handler.handleMany(it) },
+        )
+    }
+
     override suspend fun <P> downloadPartitioned(
         uids: Set<String>,
         pageSize: Int,
@@ -85,22 +109,33 @@ internal class APIDownloaderImpl(private val resourceHandler: ResourceHandler) :
         )
     }
 
+    /**
+     * Downloads up to [maxConcurrentPartitions] partitions at the same time. Results are returned (and passed to the
+     * [partitionHandler]) in partition order, each partition as soon as it and the previous ones have arrived. The
+     * first failing partition cancels the rest and its error is thrown.
+     */
     private suspend fun <P, O> downloadPartitionedWithoutHandling(
         uids: Set<String>,
         pageSize: Int,
         pageDownloader: suspend (Set<String>) -> Payload<O>,
         transform: (O) -> P,
-    ): List<P> {
+        maxConcurrentPartitions: Int = APIDownloader.MAX_CONCURRENT_PARTITIONS,
+        partitionHandler: ((List<P>) -> Unit)? = null,
+    ): List<P> = coroutineScope {
         val partitions = CollectionsHelper.setPartition(uids, pageSize)
+        val semaphore = Semaphore(maxConcurrentPartitions)
 
-        val results = mutableListOf<P>()
-
-        partitions.forEach { partition ->
-            val transformedItems = pageDownloader(partition).items().map { transform(it) }
-            results.addAll(transformedItems)
+        val pages = partitions.map { partition ->
+            async {
+                semaphore.withPermit {
+                    pageDownloader(partition).items().map { transform(it) }
+                }
+            }
         }
 
-        return results
+        pages.flatMap { page ->
+            page.await().also { items -> partitionHandler?.invoke(items) }
+        }
     }
 
     private suspend fun <P, O> downloadPartitionedWithCustomHandling(
@@ -125,17 +160,18 @@ internal class APIDownloaderImpl(private val resourceHandler: ResourceHandler) :
         pageSize: Int,
         handler: (Map<K, V>) -> Any,
         pageDownloader: suspend (Set<String>) -> Map<K, V>,
-    ): Map<K, V> {
+    ): Map<K, V> = coroutineScope {
         val partitions = CollectionsHelper.setPartition(uids, pageSize)
+        val semaphore = Semaphore(APIDownloader.MAX_CONCURRENT_PARTITIONS)
 
         val results = partitions.map { partition ->
-            pageDownloader(partition)
-        }
+            async { semaphore.withPermit { pageDownloader(partition) } }
+        }.awaitAll()
         val resultsMap = results.fold(mapOf<K, V>()) { acc, map ->
             acc + map
         }
         handler(resultsMap)
-        return resultsMap
+        resultsMap
     }
 
     override suspend fun <P, O : CoreObject> downloadLink(
@@ -183,21 +219,26 @@ internal class APIDownloaderImpl(private val resourceHandler: ResourceHandler) :
         pageSize: Int,
         downloader: suspend (page: Int, pageSize: Int) -> Payload<P>,
     ): Payload<P> {
-        var page = 1
-
         val itemsList = mutableListOf<P>()
 
-        while (true) {
-            val payload = downloader(page++, pageSize)
-            val items = payload.items()
-
+        downloadPagedFlow(pageSize, downloader).collect { items ->
             itemsList.addAll(items)
-
-            if (items.size < pageSize) {
-                break
-            }
         }
 
         return Payload(itemsList)
     }
+
+    override fun <P> downloadPagedFlow(
+        pageSize: Int,
+        downloader: suspend (page: Int, pageSize: Int) -> Payload<P>,
+    ): Flow<List<P>> = flow {
+        var page = 1
+
+        do {
+            val items = downloader(page++, pageSize).items()
+            if (items.isNotEmpty()) {
+                emit(items)
+            }
+        } while (items.size >= pageSize)
+    }
 }
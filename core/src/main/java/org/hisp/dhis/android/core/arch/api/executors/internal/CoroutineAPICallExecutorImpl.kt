@@ -31,7 +31,7 @@ import kotlinx.coroutines.*
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.access.Transaction
 import org.hisp.dhis.android.core.arch.helpers.Result
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.maintenance.D2Error
 import org.hisp.dhis.android.core.maintenance.internal.D2ErrorStore
 import org.hisp.dhis.android.core.maintenance.internal.ForeignKeyCleaner
@@ -75,7 +75,7 @@ internal class CoroutineAPICallExecutorImpl(
                     )
                 } else if (errorClass != null && acceptedErrorCodes?.contains(response.code()) == true) {
                     Result.Success(
-                        ObjectMapperFactory.objectMapper().readValue(errorBody, errorClass),
+                        ObjectMapperRegistry.reader(errorClass).readValue<P>(errorBody),
                     )
                 } else if (errorCatcher != null) {
                     Result.Failure(
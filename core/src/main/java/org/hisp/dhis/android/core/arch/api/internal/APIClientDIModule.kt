@@ -39,8 +39,12 @@ import retrofit2.Retrofit
 @Module
 internal class APIClientDIModule {
     @Singleton
-    fun okHttpClient(d2Configuration: D2Configuration, authenticator: ParentAuthenticator): OkHttpClient {
-        return OkHttpClientFactory.okHttpClient(d2Configuration, authenticator)
+    fun okHttpClient(
+        d2Configuration: D2Configuration,
+        authenticator: ParentAuthenticator,
+        httpCacheHelper: HttpCacheHelper,
+    ): OkHttpClient {
+        return OkHttpClientFactory.okHttpClient(d2Configuration, authenticator, httpCacheHelper.cache)
     }
 
     @Singleton
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.internal
+
+import okhttp3.Interceptor
+import okhttp3.Request
+import okhttp3.RequestBody
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.Response
+import okio.Buffer
+import okio.GzipSink
+import okio.buffer
+import java.net.HttpURLConnection.HTTP_UNSUPPORTED_MEDIA_TYPE
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Gzip-encodes the JSON bodies of POST and PUT requests. If a server rejects them with 415, the request is sent
+ * again uncompressed and that server is not sent compressed bodies anymore.
+ */
+internal class GzipRequestInterceptor : Interceptor {
+
+    private val unsupportedHosts: MutableSet<String> = Collections.newSetFromMap(ConcurrentHashMap())
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val body = request.body
+
+        return if (body != null && shouldCompress(request, body)) {
+            val compressedRequest = request.newBuilder()
+                .header(CONTENT_ENCODING, GZIP)
+                .method(request.method, gzip(body))
+                .build()
+
+            val response = chain.proceed(compressedRequest)
+            if (response.code == HTTP_UNSUPPORTED_MEDIA_TYPE) {
+                unsupportedHosts.add(request.url.host)
+                response.close()
+                chain.proceed(request)
+            } else {
+                response
+            }
+        } else {
+            chain.proceed(request)
+        }
+    }
+
+    private fun shouldCompress(request: Request, body: RequestBody): Boolean {
+        return (request.method == "POST" || request.method == "PUT") &&
+            request.header(CONTENT_ENCODING) == null &&
+            body.contentType()?.subtype == "json" &&
+            body.contentLength() >= MIN_COMPRESSED_LENGTH &&
+            !unsupportedHosts.contains(request.url.host)
+    }
+
+    private fun gzip(body: RequestBody): RequestBody {
+        val buffer = Buffer()
+        GzipSink(buffer).buffer().use { body.writeTo(it) }
+        return buffer.readByteString().toRequestBody(body.contentType())
+    }
+
+    companion object {
+        private const val CONTENT_ENCODING = "Content-Encoding"
+        private const val GZIP = "gzip"
+        private const val MIN_COMPRESSED_LENGTH = 1024L
+    }
+}
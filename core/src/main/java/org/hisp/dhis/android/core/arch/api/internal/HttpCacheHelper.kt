@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.internal
+
+import android.util.Log
+import okhttp3.Cache
+import org.hisp.dhis.android.core.D2Configuration
+import org.hisp.dhis.android.core.configuration.internal.DatabaseAccount
+import org.koin.core.annotation.Singleton
+import java.io.File
+import java.io.IOException
+
+/**
+ * Owns the on-disk HTTP cache. Responses revalidated with 304 are still handled, so the cache only saves bandwidth,
+ * and it is dropped together with the data it was downloaded for: after wiping metadata, when a different account is
+ * loaded and whenever an account database is created or deleted.
+ */
+@Singleton
+internal class HttpCacheHelper(d2Configuration: D2Configuration) {
+
+    val cache: Cache? = d2Configuration.httpCacheSizeInBytes()?.takeIf { it > 0 }?.let { size ->
+        Cache(File(d2Configuration.context().cacheDir, CACHE_DIRECTORY), size)
+    }
+
+    fun evictAll() {
+        try {
+            cache?.evictAll()
+        } catch (e: IOException) {
+            Log.e(HttpCacheHelper::class.java.simpleName, "Unable to evict HTTP cache", e)
+        }
+    }
+
+    fun onAccountLoaded(account: DatabaseAccount) {
+        accountFile()?.let { accountFile ->
+            if (!accountFile.exists() || accountFile.readText() != accountKey(account)) {
+                evictAll()
+                accountFile.writeText(accountKey(account))
+            }
+        }
+    }
+
+    fun onDatabaseCreated(account: DatabaseAccount) {
+        evictAll()
+        accountFile()?.writeText(accountKey(account))
+    }
+
+    fun onAccountDeleted() {
+        evictAll()
+        accountFile()?.delete()
+    }
+
+    private fun accountFile(): File? {
+        return cache?.let { File(it.directory.parentFile, "$CACHE_DIRECTORY.account") }
+    }
+
+    private fun accountKey(account: DatabaseAccount): String {
+        return "${account.serverUrl()}|${account.username()}"
+    }
+
+    companion object {
+        private const val CACHE_DIRECTORY = "http_cache"
+    }
+}
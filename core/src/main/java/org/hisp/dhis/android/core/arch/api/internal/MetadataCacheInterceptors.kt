@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.internal
+
+import okhttp3.Interceptor
+import okhttp3.Request
+import okhttp3.Response
+
+/**
+ * Keeps the HTTP cache restricted to metadata. Any other request is marked as no-store, so data values, tracker data
+ * or credentials never end up on disk.
+ */
+internal class MetadataCacheInterceptor : Interceptor {
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+
+        return if (MetadataCachePolicy.isCacheable(request) || request.header(CACHE_CONTROL) != null) {
+            chain.proceed(request)
+        } else {
+            chain.proceed(request.newBuilder().header(CACHE_CONTROL, NO_STORE).build())
+        }
+    }
+}
+
+/**
+ * Stores metadata responses that carry an ETag and forces their revalidation with If-None-Match every time they are
+ * requested, whatever caching headers the server sent. Stale metadata is never served.
+ */
+internal class MetadataCacheNetworkInterceptor : Interceptor {
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val response = chain.proceed(request)
+
+        return if (MetadataCachePolicy.isCacheable(request) && response.header(ETAG) != null) {
+            response.newBuilder()
+                .header(CACHE_CONTROL, NO_CACHE)
+                .removeHeader(PRAGMA)
+                .removeHeader(EXPIRES)
+                .build()
+        } else {
+            response
+        }
+    }
+}
+
+internal object MetadataCachePolicy {
+    private val metadataResources = setOf(
+        "attributes",
+        "categories",
+        "categoryCombos",
+        "categoryOptionCombos",
+        "categoryOptions",
+        "constants",
+        "dataElements",
+        "dataSets",
+        "indicatorTypes",
+        "indicators",
+        "legendSets",
+        "optionGroups",
+        "optionSets",
+        "options",
+        "organisationUnitLevels",
+        "programIndicators",
+        "programRuleVariables",
+        "programRules",
+        "programStages",
+        "programs",
+        "relationshipTypes",
+        "trackedEntityAttributes",
+        "trackedEntityTypes",
+        "validationRules",
+    )
+
+    fun isCacheable(request: Request): Boolean {
+        return request.method == "GET" && getResource(request.url.pathSegments) in metadataResources
+    }
+
+    private fun getResource(pathSegments: List<String>): String? {
+        val apiIndex = pathSegments.indexOf("api")
+        val resourceIndex = if (pathSegments.getOrNull(apiIndex + 1)?.all { it.isDigit() } == true) {
+            apiIndex + 2
+        } else {
+            apiIndex + 1
+        }
+        return if (apiIndex >= 0) pathSegments.getOrNull(resourceIndex) else null
+    }
+}
+
+private const val CACHE_CONTROL = "Cache-Control"
+private const val PRAGMA = "Pragma"
+private const val EXPIRES = "Expires"
+private const val ETAG = "ETag"
+private const val NO_STORE = "no-store"
+private const val NO_CACHE = "no-cache"
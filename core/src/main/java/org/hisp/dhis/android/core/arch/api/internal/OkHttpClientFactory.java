@@ -45,6 +45,8 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 
+import androidx.annotation.Nullable;
+import okhttp3.Cache;
 import okhttp3.CipherSuite;
 import okhttp3.ConnectionSpec;
 import okhttp3.Interceptor;
@@ -55,7 +57,8 @@ import okhttp3.TlsVersion;
 final class OkHttpClientFactory {
 
     static OkHttpClient okHttpClient(D2Configuration d2Configuration,
-                                     Interceptor authenticator) {
+                                     Interceptor authenticator,
+                                     @Nullable Cache cache) {
 
         OkHttpClient.Builder client = new OkHttpClient.Builder()
                 .addInterceptor(new DynamicServerURLInterceptor())
@@ -74,6 +77,16 @@ final class OkHttpClientFactory {
                 .writeTimeout(d2Configuration.writeTimeoutInSeconds(), TimeUnit.SECONDS)
                 .followRedirects(false);
 
+        if (Boolean.TRUE.equals(d2Configuration.compressRequests())) {
+            client.addInterceptor(new GzipRequestInterceptor());
+        }
+
+        if (cache != null) {
+            client.cache(cache)
+                    .addInterceptor(new MetadataCacheInterceptor())
+                    .addNetworkInterceptor(new MetadataCacheNetworkInterceptor());
+        }
+
         for (Interceptor interceptor : d2Configuration.networkInterceptors()) {
             client.addNetworkInterceptor(interceptor);
         }
@@ -28,8 +28,11 @@
 
 package org.hisp.dhis.android.core.arch.api.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.hisp.dhis.android.core.arch.api.fields.internal.FieldsConverterFactory;
 import org.hisp.dhis.android.core.arch.api.filters.internal.FilterConverterFactory;
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStreamConverterFactory;
 import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory;
 import org.hisp.dhis.android.core.configuration.internal.ServerUrlParser;
 import org.hisp.dhis.android.core.maintenance.D2Error;
@@ -42,13 +45,16 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
 final class RetrofitFactory {
 
     static Retrofit retrofit(OkHttpClient okHttpClient) throws D2Error {
+        ObjectMapper objectMapper = ObjectMapperFactory.objectMapper();
+
         return new Retrofit.Builder()
                 // Actual baseUrl will be set later during logIn through DynamicServerURLInterceptor. But it's mandatory
                 // to create Retrofit
                 .baseUrl(ServerUrlParser.parse("https://temporary-dhis-url.org/"))
 
                 .client(okHttpClient)
-                .addConverterFactory(JacksonConverterFactory.create(ObjectMapperFactory.objectMapper()))
+                .addConverterFactory(PayloadStreamConverterFactory.create(objectMapper))
+                .addConverterFactory(JacksonConverterFactory.create(objectMapper))
                 .addConverterFactory(FilterConverterFactory.create())
                 .addConverterFactory(FieldsConverterFactory.create())
                 .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.payload.internal
+
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import com.fasterxml.jackson.databind.ObjectReader
+import okhttp3.ResponseBody
+import java.io.IOException
+
+/**
+ * Reads the items of a paged payload token by token. Both the legacy payload ({"pager": {...}, "events": [...]}) and
+ * the new tracker one ({"page": 1, "pageSize": 50, "instances": [...]}) wrap the items in the first array property
+ * of the root object, so the rest of the properties are skipped.
+ */
+internal class JsonPayloadStream<T>(
+    private val body: ResponseBody,
+    private val itemReader: ObjectReader,
+) : PayloadStream<T> {
+
+    private val parser: JsonParser = itemReader.factory.createParser(body.byteStream())
+    private var insideItems = false
+    private var exhausted = false
+
+    @Throws(IOException::class)
+    override fun nextItems(maxCount: Int): List<T> {
+        val items = mutableListOf<T>()
+        while (items.size < maxCount && moveToNextItem()) {
+            items.add(itemReader.readValue(parser))
+        }
+        return items
+    }
+
+    private fun moveToNextItem(): Boolean {
+        if (!exhausted && !insideItems) {
+            insideItems = moveToItemsArray()
+            exhausted = !insideItems
+        }
+        if (!exhausted) {
+            val token = parser.nextToken()
+            exhausted = token == null || token == JsonToken.END_ARRAY
+        }
+        return !exhausted
+    }
+
+    private fun moveToItemsArray(): Boolean {
+        var found = parser.nextToken() == JsonToken.START_ARRAY
+        if (!found && parser.currentToken() == JsonToken.START_OBJECT) {
+            while (!found && parser.nextToken() == JsonToken.FIELD_NAME) {
+                found = parser.nextToken() == JsonToken.START_ARRAY
+                if (!found) {
+                    parser.skipChildren()
+                }
+            }
+        }
+        return found
+    }
+
+    override fun close() {
+        parser.close()
+        body.close()
+    }
+}
@@ -48,7 +48,7 @@ internal val javaDIClasses = module {
     single<ForeignKeyCleaner> { ForeignKeyCleanerImpl(get(), get()) }
     single { FileResourceCleaner(get(), get(), get()) }
     single { NoteUniquenessManager(get()) }
-    single { PeriodHelper(get(), get(), get(), get(), get()) }
+    single { PeriodHelper(get(), get(), get(), get(), get(), get()) }
     single { PeriodParser(get()) }
     single { DatabaseEncryptionPasswordManager(get(), get()) }
     single { DatabaseEncryptionPasswordGenerator() }
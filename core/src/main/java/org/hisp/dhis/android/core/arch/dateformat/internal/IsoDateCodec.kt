@@ -0,0 +1,221 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.dateformat.internal
+
+import java.util.Calendar
+import java.util.Date
+import java.util.GregorianCalendar
+import java.util.Locale
+import java.util.TimeZone
+
+/**
+ * Parser and formatter for the ISO-8601 dates exchanged with the server and stored in the database. The layout is
+ * sniffed from the separators and the fields are read in place from the characters, so there is no need to try a
+ * list of SimpleDateFormat patterns until one of them does not throw.
+ *
+ * Supported layouts are "yyyy-MM-dd", optionally followed by "'T'HH:mm", ":ss" and ".SSS", with an optional trailing
+ * zone designator which is ignored. Dates are interpreted in the default time zone, as the SimpleDateFormat patterns
+ * do. Inputs out of these layouts return null so the caller can fall back to a lenient SimpleDateFormat.
+ */
+@Suppress("MagicNumber")
+object IsoDateCodec {
+    private const val INVALID = Long.MIN_VALUE
+
+    private const val DATE_END = 10
+    private const val MINUTES_END = 16
+    private const val SECONDS_END = 19
+    private const val MAX_FRACTION_DIGITS = 9
+    private const val FORMATTED_LENGTH = 23
+
+    private const val MIN_YEAR = 1583
+    private const val MAX_YEAR = 9999
+
+    private const val MILLIS_PER_SECOND = 1000L
+    private const val MILLIS_PER_DAY = 86_400_000L
+    private const val TRANSITION_WINDOW = 6 * 3_600_000L
+
+    private val transitionCalendar = object : ThreadLocal<Calendar>() {
+        override fun initialValue(): Calendar = GregorianCalendar(Locale.US)
+    }
+
+    @JvmStatic
+    fun parse(text: CharSequence): Date? {
+        return toDate(parseMillis(text.length) { text[it] })
+    }
+
+    @JvmStatic
+    fun parse(chars: CharArray, offset: Int, length: Int): Date? {
+        return toDate(parseMillis(length) { chars[offset + it] })
+    }
+
+    /**
+     * Formats the date as "yyyy-MM-dd'T'HH:mm:ss.SSS" in the default time zone, or returns null if the year cannot be
+     * written in that layout.
+     */
+    @JvmStatic
+    fun format(date: Date): String? {
+        val time = date.time
+        val localMillis = time + TimeZone.getDefault().getOffset(time)
+        val millisOfDay = localMillis.mod(MILLIS_PER_DAY).toInt()
+
+        val z = localMillis.floorDiv(MILLIS_PER_DAY) + 719_468
+        val era = z.floorDiv(146_097).toInt()
+        val doe = (z - era * 146_097L).toInt()
+        val yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365
+        val doy = doe - (365 * yoe + yoe / 4 - yoe / 100)
+        val mp = (5 * doy + 2) / 153
+        val day = doy - (153 * mp + 2) / 5 + 1
+        val month = if (mp < 10) mp + 3 else mp - 9
+        val year = era * 400 + yoe + if (month <= 2) 1 else 0
+
+        return if (year in MIN_YEAR..MAX_YEAR) {
+            val chars = CharArray(FORMATTED_LENGTH)
+            writeDigits(chars, 0, year, 4)
+            chars[4] = '-'
+            writeDigits(chars, 5, month, 2)
+            chars[7] = '-'
+            writeDigits(chars, 8, day, 2)
+            chars[10] = 'T'
+            writeDigits(chars, 11, millisOfDay / 3_600_000, 2)
+            chars[13] = ':'
+            writeDigits(chars, 14, millisOfDay / 60_000 % 60, 2)
+            chars[16] = ':'
+            writeDigits(chars, 17, millisOfDay / 1000 % 60, 2)
+            chars[19] = '.'
+            writeDigits(chars, 20, millisOfDay % 1000, 3)
+            String(chars)
+        } else {
+            null
+        }
+    }
+
+    @Suppress("ComplexMethod", "ComplexCondition")
+    private inline fun parseMillis(length: Int, charAt: (Int) -> Char): Long {
+        val hasDate = length >= DATE_END && charAt(4) == '-' && charAt(7) == '-'
+        val hasTime = hasDate && length >= MINUTES_END && charAt(10) == 'T' && charAt(13) == ':'
+        val hasSeconds = hasTime && length >= SECONDS_END && charAt(16) == ':'
+        val hasFraction = hasSeconds && length > SECONDS_END && charAt(SECONDS_END) == '.'
+
+        var end = when {
+            hasSeconds -> SECONDS_END
+            hasTime -> MINUTES_END
+            else -> DATE_END
+        }
+
+        // The fraction is read as a number of milliseconds, as the lenient "SSS" pattern does
+        var millis = 0
+        if (hasFraction) {
+            end = SECONDS_END + 1
+            while (end < length && end - SECONDS_END <= MAX_FRACTION_DIGITS && charAt(end) in '0'..'9') {
+                millis = millis * 10 + (charAt(end) - '0')
+                end++
+            }
+        }
+
+        if (!hasDate || hasFraction && end == SECONDS_END + 1 || !isZoneDesignatorOrEnd(end, length, charAt)) {
+            return INVALID
+        }
+
+        val year = readDigits(0, 4, charAt)
+        val month = readDigits(5, 2, charAt)
+        val day = readDigits(8, 2, charAt)
+        val hour = if (hasTime) readDigits(11, 2, charAt) else 0
+        val minute = if (hasTime) readDigits(14, 2, charAt) else 0
+        val second = if (hasSeconds) readDigits(17, 2, charAt) else 0
+
+        val validFields = year in MIN_YEAR..MAX_YEAR && month in 1..12 && day in 1..31 &&
+            hour in 0..23 && minute in 0..59 && second in 0..59
+
+        return if (validFields) toEpochMillis(year, month, day, hour, minute, second, millis) else INVALID
+    }
+
+    private inline fun readDigits(start: Int, count: Int, charAt: (Int) -> Char): Int {
+        var value = 0
+        var index = start
+        while (index < start + count && value >= 0) {
+            val digit = charAt(index) - '0'
+            value = if (digit in 0..9) value * 10 + digit else -1
+            index++
+        }
+        return value
+    }
+
+    private inline fun isZoneDesignatorOrEnd(start: Int, length: Int, charAt: (Int) -> Char): Boolean {
+        return when {
+            start == length -> true
+            charAt(start) == 'Z' -> start + 1 == length
+            charAt(start) == '+' || charAt(start) == '-' -> {
+                var index = start + 1
+                while (index < length && charAt(index).let { it in '0'..'9' || it == ':' }) {
+                    index++
+                }
+                index == length && index > start + 1
+            }
+            else -> false
+        }
+    }
+
+    @Suppress("LongParameterList")
+    private fun toEpochMillis(year: Int, month: Int, day: Int, hour: Int, minute: Int, second: Int, millis: Int): Long {
+        val y = if (month <= 2) year - 1 else year
+        val era = y / 400
+        val yoe = y - era * 400
+        val doy = (153 * (if (month > 2) month - 3 else month + 9) + 2) / 5 + day - 1
+        val doe = yoe * 365 + yoe / 4 - yoe / 100 + doy
+        val days = era * 146_097L + doe - 719_468
+
+        val localMillis = days * MILLIS_PER_DAY + ((hour * 60L + minute) * 60L + second) * MILLIS_PER_SECOND + millis
+        val zone = TimeZone.getDefault()
+        val time = localMillis - zone.getOffset(localMillis - zone.getOffset(localMillis))
+
+        // Local times close to an offset transition can be skipped or repeated: resolve them as SimpleDateFormat does
+        return if (zone.getOffset(time - TRANSITION_WINDOW) == zone.getOffset(time + TRANSITION_WINDOW)) {
+            time
+        } else {
+            transitionCalendar.get()!!.run {
+                timeZone = zone
+                clear()
+                set(year, month - 1, day, hour, minute, second)
+                set(Calendar.MILLISECOND, millis)
+                timeInMillis
+            }
+        }
+    }
+
+    private fun writeDigits(chars: CharArray, start: Int, value: Int, count: Int) {
+        var remaining = value
+        for (index in start + count - 1 downTo start) {
+            chars[index] = '0' + remaining % 10
+            remaining /= 10
+        }
+    }
+
+    private fun toDate(millis: Long): Date? {
+        return if (millis == INVALID) null else Date(millis)
+    }
+}
@@ -35,23 +35,57 @@ import java.util.Date;
 import java.util.Locale;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 public class SafeDateFormat {
 
+    private static final String ISO_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS";
+    private static final int ISO_LENGTH = 23;
+    private static final int ISO_FRACTION_SEPARATOR = 19;
+
     @NonNull
     private final ThreadSafeDateFormat dateFormat;
 
+    /* Whether parsing and formatting can be delegated to IsoDateCodec instead of SimpleDateFormat */
+    private final boolean isoPattern;
+
     public SafeDateFormat(@NonNull String pattern) {
         this.dateFormat = new ThreadSafeDateFormat(pattern);
+        this.isoPattern = ISO_PATTERN.equals(pattern);
     }
 
     @NonNull
     public Date parse(@NonNull String pattern) throws ParseException {
+        if (isoPattern && pattern.length() == ISO_LENGTH && pattern.charAt(ISO_FRACTION_SEPARATOR) == '.') {
+            Date date = IsoDateCodec.parse(pattern);
+            if (date != null) {
+                return date;
+            }
+        }
         return dateFormat.get().parse(pattern);
     }
 
+    /**
+     * Parses the characters without building a string if the pattern is the ISO one and they match it.
+     *
+     * @return the parsed date, or null if the characters have to be parsed with {@link #parse(String)}
+     */
+    @Nullable
+    public Date parseOrNull(@NonNull char[] chars, int length) {
+        if (isoPattern && length == ISO_LENGTH && chars[ISO_FRACTION_SEPARATOR] == '.') {
+            return IsoDateCodec.parse(chars, 0, length);
+        }
+        return null;
+    }
+
     @NonNull
     public String format(@NonNull Date date) {
+        if (isoPattern) {
+            String formatted = IsoDateCodec.format(date);
+            if (formatted != null) {
+                return formatted;
+            }
+        }
         return dateFormat.get().format(date);
     }
 
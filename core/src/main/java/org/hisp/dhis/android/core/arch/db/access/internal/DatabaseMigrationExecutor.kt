@@ -39,6 +39,14 @@ internal class DatabaseMigrationExecutor(private val databaseAdapter: DatabaseAd
     companion object {
         private val MIGRATIONS_ACCEPTING_ERRORS = setOf(98)
 
+        /**
+         * Version of the schema in assets/snapshots/snapshot.sql. New databases are created from the snapshot and only
+         * the migrations after this version are replayed, so adding a migration does not require regenerating the
+         * snapshot at the same time.
+         */
+        @VisibleForTesting
+        const val SNAPSHOT_VERSION = 153
+
         @VisibleForTesting
         var USE_SNAPSHOT = true
     }
@@ -46,7 +54,7 @@ internal class DatabaseMigrationExecutor(private val databaseAdapter: DatabaseAd
     fun upgradeFromTo(oldVersion: Int, newVersion: Int) {
         val transaction = databaseAdapter.beginNewTransaction()
         try {
-            val initialMigrationVersion = if (USE_SNAPSHOT) performSnapshotIfRequired(oldVersion) else 0
+            val initialMigrationVersion = if (USE_SNAPSHOT) performSnapshotIfRequired(oldVersion, newVersion) else 0
             val migrations = parser.parseMigrations(initialMigrationVersion, newVersion)
             migrations.forEach {
                 executeSQLMigration(it)
@@ -61,10 +69,10 @@ internal class DatabaseMigrationExecutor(private val databaseAdapter: DatabaseAd
     }
 
     @Throws(IOException::class)
-    private fun performSnapshotIfRequired(oldVersion: Int): Int {
-        return if (oldVersion == 0) {
+    private fun performSnapshotIfRequired(oldVersion: Int, newVersion: Int): Int {
+        return if (oldVersion == 0 && newVersion >= SNAPSHOT_VERSION) {
             executeFileSQL(parser.parseSnapshot())
-            BaseDatabaseOpenHelper.VERSION
+            SNAPSHOT_VERSION
         } else {
             oldVersion
         }
@@ -32,6 +32,7 @@ import android.content.ContentValues;
 import android.database.Cursor;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import net.sqlcipher.database.SQLiteDatabase;
 
@@ -43,13 +44,32 @@ class EncryptedDatabaseAdapter implements DatabaseAdapter {
 
     private final SQLiteDatabase database;
     private final String databaseName;
+    private final EncryptedReaderConnectionPool readerPool;
 
     EncryptedDatabaseAdapter(@NonNull SQLiteDatabase database, @NonNull String databaseName) {
+        this(database, databaseName, null);
+    }
+
+    EncryptedDatabaseAdapter(@NonNull SQLiteDatabase database, @NonNull String databaseName,
+                             @Nullable EncryptedReaderConnectionPool readerPool) {
         if (database == null) {
             throw new IllegalArgumentException("database == null");
         }
         this.database = database;
         this.databaseName = databaseName;
+        this.readerPool = readerPool;
+    }
+
+    /**
+     * Queries run inside a transaction of the current thread must see its uncommitted changes, so they use the
+     * writable connection. Any other query goes to the reader pool.
+     */
+    private SQLiteDatabase readableDatabase() {
+        if (readerPool == null || database.isDbLockedByCurrentThread()) {
+            return database;
+        } else {
+            return readerPool.acquire();
+        }
     }
 
     @Override
@@ -80,17 +100,17 @@ class EncryptedDatabaseAdapter implements DatabaseAdapter {
 
     @Override
     public Cursor rawQuery(String sql, String... selectionArgs) {
-        return database.rawQuery(sql, selectionArgs);
+        return readableDatabase().rawQuery(sql, selectionArgs);
     }
 
     @Override
     public Cursor query(String sql, String[] columns) {
-        return database.query(sql, columns, null, null, null, null, null);
+        return readableDatabase().query(sql, columns, null, null, null, null, null);
     }
 
     @Override
     public Cursor query(String table, String[] columns, String selection, String[] selectionArgs) {
-        return database.query(table, columns, selection, selectionArgs, null, null, null);
+        return readableDatabase().query(table, columns, selection, selectionArgs, null, null, null);
     }
 
     @Override
@@ -140,6 +160,9 @@ class EncryptedDatabaseAdapter implements DatabaseAdapter {
 
     @Override
     public void close() {
+        if (readerPool != null) {
+            readerPool.close();
+        }
         database.close();
     }
 
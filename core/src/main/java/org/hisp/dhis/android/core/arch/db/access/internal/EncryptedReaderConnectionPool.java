@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.hisp.dhis.android.core.arch.db.access.internal;
+
+import net.sqlcipher.database.SQLiteDatabase;
+
+/**
+ * Read-only connections to an encrypted database. SQLCipher serializes every access to a SQLiteDatabase instance,
+ * so queries running on the writable connection wait for any ongoing transaction. Queries sent to these connections
+ * read the last committed state (the database runs in WAL mode) without waiting for the writer.
+ * Connections are opened lazily and handed out in round-robin.
+ */
+class EncryptedReaderConnectionPool {
+
+    private static final int POOL_SIZE = 3;
+
+    private final String path;
+    private final String password;
+    private final SQLiteDatabase[] connections = new SQLiteDatabase[POOL_SIZE];
+    private int next;
+
+    EncryptedReaderConnectionPool(String path, String password) {
+        this.path = path;
+        this.password = password;
+    }
+
+    synchronized SQLiteDatabase acquire() {
+        int index = next;
+        next = (next + 1) % POOL_SIZE;
+
+        SQLiteDatabase connection = connections[index];
+        if (connection == null || !connection.isOpen()) {
+            connection = SQLiteDatabase.openDatabase(path, password, null, SQLiteDatabase.OPEN_READONLY,
+                    EncryptedDatabaseOpenHelper.hook);
+            connections[index] = connection;
+        }
+        return connection;
+    }
+
+    synchronized void close() {
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (connections[i] != null) {
+                connections[i].close();
+                connections[i] = null;
+            }
+        }
+    }
+}
@@ -27,7 +27,7 @@
  */
 package org.hisp.dhis.android.core.arch.db.adapters.custom.internal
 
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.common.DateFilterPeriod
 
 internal class DateFilterPeriodColumnAdapter : JSONObjectColumnAdapter<DateFilterPeriod>() {
@@ -40,7 +40,7 @@ internal class DateFilterPeriodColumnAdapter : JSONObjectColumnAdapter<DateFilte
     companion object {
         fun serialize(o: DateFilterPeriod?): String? {
             return o?.let {
-                ObjectMapperFactory.objectMapper().writeValueAsString(it)
+                ObjectMapperRegistry.writer().writeValueAsString(it)
             }
         }
     }
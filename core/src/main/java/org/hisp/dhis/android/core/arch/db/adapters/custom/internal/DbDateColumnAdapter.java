@@ -29,8 +29,11 @@
 package org.hisp.dhis.android.core.arch.db.adapters.custom.internal;
 
 import android.content.ContentValues;
+import android.database.CharArrayBuffer;
 import android.database.Cursor;
 
+import androidx.annotation.Nullable;
+
 import com.gabrielittner.auto.value.cursor.ColumnTypeAdapter;
 
 import org.hisp.dhis.android.core.arch.helpers.DateUtils;
@@ -40,25 +43,50 @@ import java.util.Date;
 
 public final class DbDateColumnAdapter implements ColumnTypeAdapter<Date> {
 
+    private static final int BUFFER_SIZE = 32;
+
+    /* Reused across rows so dates are parsed from the cursor window without allocating an intermediate string */
+    private static final ThreadLocal<CharArrayBuffer> BUFFER = new ThreadLocal<CharArrayBuffer>() {
+        @Override
+        protected CharArrayBuffer initialValue() {
+            return new CharArrayBuffer(BUFFER_SIZE);
+        }
+    };
+
     @Override
     public Date fromCursor(Cursor cursor, String columnName) {
         // infer index from column name
         int columnIndex = cursor.getColumnIndex(columnName);
-        String sourceDate = cursor.getString(columnIndex);
-
-        Date date = null;
-        if (sourceDate != null) {
-            try {
-                date = DateUtils.DATE_FORMAT.parse(sourceDate);
-            } catch (ParseException parseException) {
-                // wrap checked exception into unchecked
-                throw new RuntimeException(parseException);
+
+        Date date = parseFromBuffer(cursor, columnIndex);
+        if (date == null) {
+            String sourceDate = cursor.getString(columnIndex);
+            if (sourceDate != null) {
+                try {
+                    date = DateUtils.DATE_FORMAT.parse(sourceDate);
+                } catch (ParseException parseException) {
+                    // wrap checked exception into unchecked
+                    throw new RuntimeException(parseException);
+                }
             }
         }
 
         return date;
     }
 
+    @Nullable
+    private static Date parseFromBuffer(Cursor cursor, int columnIndex) {
+        if (cursor.isNull(columnIndex)) {
+            return null;
+        }
+
+        CharArrayBuffer buffer = BUFFER.get();
+        buffer.sizeCopied = 0;
+        cursor.copyStringToBuffer(columnIndex, buffer);
+
+        return DateUtils.DATE_FORMAT.parseOrNull(buffer.data, buffer.sizeCopied);
+    }
+
     @Override
     public void toContentValues(ContentValues contentValues, String columnName, Date date) {
         if (date != null) {
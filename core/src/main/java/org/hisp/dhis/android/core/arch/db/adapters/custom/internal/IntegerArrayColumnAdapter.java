@@ -32,10 +32,11 @@ import android.content.ContentValues;
 import android.database.Cursor;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.gabrielittner.auto.value.cursor.ColumnTypeAdapter;
 
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry;
+
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
@@ -43,6 +44,8 @@ import java.util.List;
 @SuppressWarnings({"PMD.PreserveStackTrace"})
 public class IntegerArrayColumnAdapter implements ColumnTypeAdapter<List<Integer>> {
 
+    private static final TypeReference<List<Integer>> LIST_TYPE = new TypeReference<List<Integer>>() {};
+
     @Override
     public List<Integer> fromCursor(Cursor cursor, String columnName) {
         int columnIndex = cursor.getColumnIndex(columnName);
@@ -51,11 +54,8 @@ public class IntegerArrayColumnAdapter implements ColumnTypeAdapter<List<Integer
         if (sourceValue == null || sourceValue.equals("")) {
             return Collections.emptyList();
         } else {
-            ObjectMapper objectMapper  = new ObjectMapper();
-            TypeFactory typeFactory = objectMapper.getTypeFactory();
             try {
-                return objectMapper.readValue(sourceValue,
-                        typeFactory.constructCollectionType(List.class, Integer.class));
+                return ObjectMapperRegistry.reader(LIST_TYPE).readValue(sourceValue);
             } catch (IOException e) {
                 throw new RuntimeException("Couldn't deserialize integer array");
             }
@@ -69,7 +69,7 @@ public class IntegerArrayColumnAdapter implements ColumnTypeAdapter<List<Integer
 
     public static String serialize(List<Integer> value) {
         try {
-            return new ObjectMapper().writeValueAsString(value);
+            return ObjectMapperRegistry.writer().writeValueAsString(value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Couldn't serialize integer array");
         }
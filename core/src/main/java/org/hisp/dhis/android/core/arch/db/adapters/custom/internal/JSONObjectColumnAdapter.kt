@@ -32,7 +32,7 @@ import android.database.Cursor
 import com.fasterxml.jackson.core.JsonProcessingException
 import com.fasterxml.jackson.databind.JsonMappingException
 import com.gabrielittner.auto.value.cursor.ColumnTypeAdapter
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 
 internal abstract class JSONObjectColumnAdapter<O> : ColumnTypeAdapter<O> {
     protected abstract fun getEnumClass(): Class<O>
@@ -41,7 +41,7 @@ internal abstract class JSONObjectColumnAdapter<O> : ColumnTypeAdapter<O> {
         val columnIndex = cursor.getColumnIndex(columnName)
         val str = cursor.getString(columnIndex)
         return try {
-            ObjectMapperFactory.objectMapper().readValue(str, getEnumClass())
+            ObjectMapperRegistry.reader(getEnumClass()).readValue<O>(str)
         } catch (e: JsonProcessingException) {
             null
         } catch (e: JsonMappingException) {
@@ -32,7 +32,7 @@ import android.database.Cursor
 import com.fasterxml.jackson.core.JsonProcessingException
 import com.fasterxml.jackson.databind.JsonMappingException
 import com.gabrielittner.auto.value.cursor.ColumnTypeAdapter
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 
 internal abstract class JSONObjectListColumnAdapter<O> : ColumnTypeAdapter<List<O>> {
     protected abstract fun getObjectClass(): Class<List<O>>
@@ -41,7 +41,7 @@ internal abstract class JSONObjectListColumnAdapter<O> : ColumnTypeAdapter<List<
         val columnIndex = cursor.getColumnIndex(columnName)
         val str = cursor.getString(columnIndex)
         return try {
-            ObjectMapperFactory.objectMapper().readValue(str, getObjectClass())
+            ObjectMapperRegistry.reader(getObjectClass()).readValue<List<O>>(str)
         } catch (e: JsonProcessingException) {
             listOf()
         } catch (e: JsonMappingException) {
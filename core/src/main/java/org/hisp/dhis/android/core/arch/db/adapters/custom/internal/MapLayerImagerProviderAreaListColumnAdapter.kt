@@ -27,7 +27,7 @@
  */
 package org.hisp.dhis.android.core.arch.db.adapters.custom.internal
 
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.map.layer.MapLayerImageryProviderArea
 
 internal class MapLayerImagerProviderAreaListColumnAdapter :
@@ -42,7 +42,7 @@ internal class MapLayerImagerProviderAreaListColumnAdapter :
     companion object {
         fun serialize(o: List<MapLayerImageryProviderArea>?): String? {
             return o?.let {
-                ObjectMapperFactory.objectMapper().writeValueAsString(it)
+                ObjectMapperRegistry.writer().writeValueAsString(it)
             }
         }
     }
@@ -32,10 +32,11 @@ import android.content.ContentValues;
 import android.database.Cursor;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.gabrielittner.auto.value.cursor.ColumnTypeAdapter;
 
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry;
+
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
@@ -44,6 +45,8 @@ import java.util.List;
 @SuppressWarnings({"PMD.PreserveStackTrace"})
 public class StringArrayColumnAdapter implements ColumnTypeAdapter<List<String>> {
 
+    private static final TypeReference<List<String>> LIST_TYPE = new TypeReference<List<String>>() {};
+
     @Override
     public List<String> fromCursor(Cursor cursor, String columnName) {
         int columnIndex = cursor.getColumnIndex(columnName);
@@ -54,11 +57,8 @@ public class StringArrayColumnAdapter implements ColumnTypeAdapter<List<String>>
         } else if (sourceValue.charAt(0) == '/') {
             return Arrays.asList(sourceValue.substring(1).split("/"));
         } else {
-            ObjectMapper objectMapper  = new ObjectMapper();
-            TypeFactory typeFactory = objectMapper.getTypeFactory();
             try {
-                return objectMapper.readValue(sourceValue, typeFactory.constructCollectionType(List.class,
-                        String.class));
+                return ObjectMapperRegistry.reader(LIST_TYPE).readValue(sourceValue);
             } catch (IOException e) {
                 throw new RuntimeException("Couldn't deserialize string array");
             }
@@ -72,7 +72,7 @@ public class StringArrayColumnAdapter implements ColumnTypeAdapter<List<String>>
 
     public static String serialize(List<String> value) {
         try {
-            return new ObjectMapper().writeValueAsString(value);
+            return ObjectMapperRegistry.writer().writeValueAsString(value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Couldn't serialize string array");
         }
@@ -27,7 +27,7 @@
  */
 package org.hisp.dhis.android.core.arch.db.adapters.custom.internal
 
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 
 internal class StringListColumnAdapter : JSONObjectListColumnAdapter<String>() {
     override fun getObjectClass(): Class<List<String>> {
@@ -39,7 +39,7 @@ internal class StringListColumnAdapter : JSONObjectListColumnAdapter<String>() {
     companion object {
         fun serialize(o: List<String>?): String? {
             return o?.let {
-                ObjectMapperFactory.objectMapper().writeValueAsString(it)
+                ObjectMapperRegistry.writer().writeValueAsString(it)
             }
         }
     }
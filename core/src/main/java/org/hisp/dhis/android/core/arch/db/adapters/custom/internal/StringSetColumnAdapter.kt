@@ -27,7 +27,7 @@
  */
 package org.hisp.dhis.android.core.arch.db.adapters.custom.internal
 
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import java.util.*
 
 internal class StringSetColumnAdapter : JSONObjectSetColumnAdapter<String>() {
@@ -40,7 +40,7 @@ internal class StringSetColumnAdapter : JSONObjectSetColumnAdapter<String>() {
     companion object {
         fun serialize(o: Set<String>?): String? {
             return o?.let {
-                ObjectMapperFactory.objectMapper().writeValueAsString(it)
+                ObjectMapperRegistry.writer().writeValueAsString(it)
             }
         }
     }
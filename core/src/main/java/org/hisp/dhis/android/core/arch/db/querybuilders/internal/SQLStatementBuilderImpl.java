@@ -33,8 +33,13 @@ import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableC
 import org.hisp.dhis.android.core.arch.db.tableinfos.TableInfo;
 import org.hisp.dhis.android.core.common.CoreColumns;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import static org.hisp.dhis.android.core.arch.db.tableinfos.TableInfo.SORT_ORDER;
 import static org.hisp.dhis.android.core.arch.helpers.CollectionsHelper.commaAndSpaceSeparatedArrayValues;
+import static org.hisp.dhis.android.core.arch.helpers.CollectionsHelper.withSingleQuotationMarksArray;
 import static org.hisp.dhis.android.core.common.IdentifiableColumns.UID;
 
 public class SQLStatementBuilderImpl implements SQLStatementBuilder {
@@ -51,6 +56,8 @@ public class SQLStatementBuilderImpl implements SQLStatementBuilder {
     private final static String AND = " AND ";
     private final static String ORDER_BY = " ORDER BY ";
 
+    public final static String PARENT_UID_ALIAS = "parentUid";
+
     @SuppressWarnings("PMD.UseVarargs")
     SQLStatementBuilderImpl(String tableName, String[] columns, String[] updateWhereColumns, boolean hasSortOrder) {
         this.tableName = tableName;
@@ -110,6 +117,43 @@ public class SQLStatementBuilderImpl implements SQLStatementBuilder {
                 "VALUES (" + commaSeparatedInterrogationMarks() + ");";
     }
 
+    @Override
+    public String insertMany(int rows) {
+        return "INSERT INTO " + tableName + " (" + commaSeparatedColumns() + ") " +
+                "VALUES " + commaSeparatedRowsOfInterrogationMarks(rows) + ";";
+    }
+
+    /**
+     * Multi-row insert that updates the existing row when the uid is already present. The row keeps its _id, so
+     * unlike INSERT OR REPLACE it does not trigger cascade deletions. It requires SQLite 3.24.0 and a unique
+     * constraint on the uid column: the statement fails to compile otherwise.
+     */
+    @Override
+    public String upsertMany(int rows) {
+        return "INSERT INTO " + tableName + " (" + commaSeparatedColumns() + ") " +
+                "VALUES " + commaSeparatedRowsOfInterrogationMarks(rows) +
+                " ON CONFLICT(" + UID + ") DO UPDATE SET " + commaSeparatedColumnEqualExcluded() + ";";
+    }
+
+    private String commaSeparatedRowsOfInterrogationMarks(int rows) {
+        String[] array = new String[rows];
+        String row = "(" + commaSeparatedInterrogationMarks() + ")";
+        for (int i = 0; i < rows; i++) {
+            array[i] = row;
+        }
+        return commaAndSpaceSeparatedArrayValues(array);
+    }
+
+    private String commaSeparatedColumnEqualExcluded() {
+        List<String> list = new ArrayList<>(columns.length);
+        for (String column : columns) {
+            if (!UID.equals(column)) {
+                list.add(column + "=excluded." + column);
+            }
+        }
+        return commaAndSpaceSeparatedArrayValues(list.toArray(new String[0]));
+    }
+
     @Override
     public String deleteById() {
         return "DELETE" + FROM + tableName + WHERE + UID + "=?;";
@@ -155,6 +199,22 @@ public class SQLStatementBuilderImpl implements SQLStatementBuilder {
                 orderBySortOrderClause() + ";";
     }
 
+    /**
+     * Selects the children of several parents in a single statement. Each row contains the child columns plus the
+     * uid of its parent under the {@link #PARENT_UID_ALIAS} column, so the caller can group them in memory.
+     */
+    public String selectChildrenWithLinkTableForParents(LinkTableChildProjection projection,
+                                                        Collection<String> parentUids) {
+        String parentUidsStr = commaAndSpaceSeparatedArrayValues(withSingleQuotationMarksArray(parentUids));
+
+        return SELECT + "l." + projection.parentColumn + " AS " + PARENT_UID_ALIAS + ", c.*" +
+                FROM + tableName + " AS l, " +
+                projection.childTableInfo.name() + " AS c" +
+                WHERE + "l." + projection.childColumn + "=" + "c." + UID +
+                AND + "l." + projection.parentColumn + " IN (" + parentUidsStr + ")" +
+                orderBySortOrderClause() + ";";
+    }
+
     private String orderBySortOrderClause() {
         return hasSortOrder ? ORDER_BY + SORT_ORDER : "";
     }
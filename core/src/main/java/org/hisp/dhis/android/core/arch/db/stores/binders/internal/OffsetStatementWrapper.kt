@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.db.stores.binders.internal
+
+import java.util.Date
+
+/**
+ * Shifts the bind indexes of the wrapped statement, so a [StatementBinder] can bind one row of a multi-row
+ * statement.
+ */
+internal class OffsetStatementWrapper(
+    private val w: StatementWrapper,
+    private val offset: Int,
+) : StatementWrapper {
+
+    override fun bindNull(index: Int) {
+        w.bindNull(index + offset)
+    }
+
+    override fun bind(index: Int, arg: String?) {
+        w.bind(index + offset, arg)
+    }
+
+    override fun bind(index: Int, arg: Boolean?) {
+        w.bind(index + offset, arg)
+    }
+
+    override fun bind(index: Int, arg: Int?) {
+        w.bind(index + offset, arg)
+    }
+
+    override fun bind(index: Int, arg: Date?) {
+        w.bind(index + offset, arg)
+    }
+
+    override fun bind(index: Int, arg: Enum<*>?) {
+        w.bind(index + offset, arg)
+    }
+
+    override fun bind(index: Int, arg: Double?) {
+        w.bind(index + offset, arg)
+    }
+
+    override fun bind(index: Int, arg: Long?) {
+        w.bind(index + offset, arg)
+    }
+
+    override fun clearBindings() {
+        w.clearBindings()
+    }
+
+    override fun executeInsert(): Long {
+        return w.executeInsert()
+    }
+
+    override fun executeUpdateDelete(): Int {
+        return w.executeUpdateDelete()
+    }
+
+    override fun close() {
+        w.close()
+    }
+}
@@ -43,6 +43,9 @@ internal interface IdentifiableObjectStore<O : ObjectWithUidInterface> : ObjectS
     @Throws(RuntimeException::class)
     fun updateOrInsert(o: O): HandleAction
 
+    @Throws(RuntimeException::class)
+    fun updateOrInsertMany(objects: Collection<O>)
+
     @Throws(RuntimeException::class)
     fun selectUids(): List<String>
 
@@ -63,6 +63,7 @@ internal open class IdentifiableObjectStoreImpl<O>(
 
     private var updateStatement: StatementWrapper? = null
     private var deleteStatement: StatementWrapper? = null
+    private var bulkUpsertSupported: Boolean? = null
     private var adapterHashCode: Int? = null
 
     @Throws(RuntimeException::class)
@@ -100,6 +101,7 @@ internal open class IdentifiableObjectStoreImpl<O>(
             deleteStatement!!.close()
             updateStatement = null
             deleteStatement = null
+            bulkUpsertSupported = null
         }
     }
 
@@ -137,6 +139,34 @@ internal open class IdentifiableObjectStoreImpl<O>(
         }
     }
 
+    /**
+     * Persists the objects with multi-row upserts. Falls back to [updateOrInsert] for each object when the upsert
+     * syntax is not available (SQLite older than 3.24.0) or the table has no unique constraint on the uid column.
+     */
+    @Throws(RuntimeException::class)
+    @Synchronized
+    override fun updateOrInsertMany(objects: Collection<O>) {
+        if (objects.isEmpty()) {
+            return
+        }
+        if (isBulkUpsertSupported()) {
+            executeInBulk(objects) { rows -> builder.upsertMany(rows) }
+        } else {
+            objects.forEach { updateOrInsert(it) }
+        }
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun isBulkUpsertSupported(): Boolean {
+        compileStatements()
+        return bulkUpsertSupported ?: try {
+            databaseAdapter.compileStatement(builder.upsertMany(1)).close()
+            true
+        } catch (e: RuntimeException) {
+            false
+        }.also { bulkUpsertSupported = it }
+    }
+
     @Throws(RuntimeException::class)
     override fun selectUids(): List<String> {
         val cursor = databaseAdapter.rawQuery(builder.selectUids())
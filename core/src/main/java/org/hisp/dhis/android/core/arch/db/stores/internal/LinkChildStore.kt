@@ -32,4 +32,5 @@ import org.hisp.dhis.android.core.common.ObjectWithUidInterface
 internal interface LinkChildStore<P : ObjectWithUidInterface, C : ObjectWithUidInterface> {
     fun getChildren(p: P): List<C>
     fun getChildrenWhere(p: P, whereClause: String?): List<C>
+    fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<C>>
 }
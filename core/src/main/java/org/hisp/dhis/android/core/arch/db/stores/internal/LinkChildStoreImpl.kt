@@ -27,9 +27,11 @@
  */
 package org.hisp.dhis.android.core.arch.db.stores.internal
 
+import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
-import org.hisp.dhis.android.core.arch.db.cursors.internal.CursorExecutor
+import org.hisp.dhis.android.core.arch.db.cursors.internal.CursorExecutorImpl
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.SQLStatementBuilder
+import org.hisp.dhis.android.core.arch.db.querybuilders.internal.SQLStatementBuilderImpl
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
 import org.hisp.dhis.android.core.common.ObjectWithUidInterface
 
@@ -37,9 +39,11 @@ internal class LinkChildStoreImpl<P : ObjectWithUidInterface, C : ObjectWithUidI
     private val linkTableChildProjection: LinkTableChildProjection,
     private val databaseAdapter: DatabaseAdapter,
     private val statementBuilder: SQLStatementBuilder,
-    private val cursorExecutor: CursorExecutor<C>,
+    private val childFactory: (Cursor) -> C,
 ) : LinkChildStore<P, C> {
 
+    private val cursorExecutor = CursorExecutorImpl(childFactory)
+
     override fun getChildren(p: P): List<C> {
         return getChildrenWhere(p, null)
     }
@@ -52,4 +56,20 @@ internal class LinkChildStoreImpl<P : ObjectWithUidInterface, C : ObjectWithUidI
         )
         return cursorExecutor.getObjects(databaseAdapter.rawQuery(selectStatement))
     }
+
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<C>> {
+        if (parentUids.isEmpty()) {
+            return emptyMap()
+        }
+        val selectStatement = statementBuilder.selectChildrenWithLinkTableForParents(
+            linkTableChildProjection,
+            parentUids,
+        )
+        val parentChildCursorExecutor = CursorExecutorImpl { cursor: Cursor ->
+            val parentUidIndex = cursor.getColumnIndex(SQLStatementBuilderImpl.PARENT_UID_ALIAS)
+            cursor.getString(parentUidIndex) to childFactory(cursor)
+        }
+        return parentChildCursorExecutor.getObjects(databaseAdapter.rawQuery(selectStatement))
+            .groupBy({ it.first }, { it.second })
+    }
 }
@@ -32,6 +32,7 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.SQLStatementBuilder
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.SQLStatementBuilderImpl
+import org.hisp.dhis.android.core.arch.db.stores.binders.internal.OffsetStatementWrapper
 import org.hisp.dhis.android.core.arch.db.stores.binders.internal.StatementBinder
 import org.hisp.dhis.android.core.arch.db.stores.binders.internal.StatementWrapper
 import org.hisp.dhis.android.core.arch.db.tableinfos.TableInfo
@@ -78,8 +79,31 @@ internal open class ObjectStoreImpl<O : CoreObject> internal constructor(
 
     @Throws(RuntimeException::class)
     override fun insert(objects: Collection<O>) {
-        for (m in objects) {
-            insert(m)
+        executeInBulk(objects) { rows -> builder.insertMany(rows) }
+    }
+
+    /**
+     * Binds the objects in multi-row statements, so a large collection is persisted with one statement execution per
+     * chunk instead of one per object. Chunks are sized to stay below the SQLite host parameter limit.
+     */
+    @Throws(RuntimeException::class)
+    @Suppress("TooGenericExceptionThrown")
+    protected fun executeInBulk(objects: Collection<O>, multiRowStatement: (rows: Int) -> String) {
+        val columnCount = builder.columns.size
+        val rowsPerStatement = maxOf(1, MAX_BULK_VARIABLES / columnCount)
+
+        objects.chunked(rowsPerStatement).forEach { chunk ->
+            val statement = databaseAdapter.compileStatement(multiRowStatement(chunk.size))
+            try {
+                chunk.forEachIndexed { row, o ->
+                    binder.bindToStatement(o, OffsetStatementWrapper(statement, row * columnCount))
+                }
+                if (databaseAdapter.executeInsert(statement) == -1L) {
+                    throw RuntimeException("Nothing was inserted.")
+                }
+            } finally {
+                statement.close()
+            }
         }
     }
 
@@ -158,4 +182,11 @@ internal open class ObjectStoreImpl<O : CoreObject> internal constructor(
 
     override val isReady: Boolean
         get() = databaseAdapter.isReady
+
+    companion object {
+        /**
+         * Default SQLITE_MAX_VARIABLE_NUMBER in SQLite versions prior to 3.32.0.
+         */
+        private const val MAX_BULK_VARIABLES = 999
+    }
 }
@@ -32,4 +32,5 @@ import org.hisp.dhis.android.core.common.ObjectWithUidInterface
 
 internal interface ObjectWithUidChildStore<P : ObjectWithUidInterface> {
     fun getChildren(p: P): List<ObjectWithUid>
+    fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>>
 }
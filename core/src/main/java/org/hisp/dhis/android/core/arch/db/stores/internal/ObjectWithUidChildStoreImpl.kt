@@ -53,4 +53,21 @@ internal class ObjectWithUidChildStoreImpl<P : ObjectWithUidInterface>(
         }
         return cursorExecutor.getObjects(databaseAdapter.rawQuery(selectStatement))
     }
+
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>> {
+        if (parentUids.isEmpty()) {
+            return emptyMap()
+        }
+        val whereClause = WhereClauseBuilder()
+            .appendInKeyStringValues(linkTableChildProjection.parentColumn, parentUids)
+            .build()
+        val selectStatement = statementBuilder.selectWhere(whereClause)
+        val cursorExecutor = CursorExecutorImpl { cursor: Cursor ->
+            val parentColumnIndex = cursor.getColumnIndex(linkTableChildProjection.parentColumn)
+            val idColumnIndex = cursor.getColumnIndex(linkTableChildProjection.childColumn)
+            cursor.getString(parentColumnIndex) to ObjectWithUid.create(cursor.getString(idColumnIndex))
+        }
+        return cursorExecutor.getObjects(databaseAdapter.rawQuery(selectStatement))
+            .groupBy({ it.first }, { it.second })
+    }
 }
@@ -31,4 +31,5 @@ import org.hisp.dhis.android.core.common.ObjectWithUidInterface
 
 internal interface SingleParentChildStore<P : ObjectWithUidInterface, C> {
     fun getChildren(p: P): List<C>
+    fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<C>>
 }
@@ -27,8 +27,9 @@
  */
 package org.hisp.dhis.android.core.arch.db.stores.internal
 
+import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
-import org.hisp.dhis.android.core.arch.db.cursors.internal.CursorExecutor
+import org.hisp.dhis.android.core.arch.db.cursors.internal.CursorExecutorImpl
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.SQLStatementBuilder
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.SingleParentChildProjection
@@ -38,9 +39,11 @@ internal class SingleParentChildStoreImpl<P : ObjectWithUidInterface, C>(
     private val childProjection: SingleParentChildProjection,
     private val databaseAdapter: DatabaseAdapter,
     private val statementBuilder: SQLStatementBuilder,
-    private val cursorExecutor: CursorExecutor<C>,
+    private val childFactory: (Cursor) -> C,
 ) : SingleParentChildStore<P, C> {
 
+    private val cursorExecutor = CursorExecutorImpl(childFactory)
+
     override fun getChildren(p: P): List<C> {
         val whereClause = WhereClauseBuilder()
             .appendKeyStringValue(childProjection.parentColumn, p.uid())
@@ -48,4 +51,20 @@ internal class SingleParentChildStoreImpl<P : ObjectWithUidInterface, C>(
         val selectStatement = statementBuilder.selectWhere(whereClause)
         return cursorExecutor.getObjects(databaseAdapter.rawQuery(selectStatement))
     }
+
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<C>> {
+        if (parentUids.isEmpty()) {
+            return emptyMap()
+        }
+        val whereClause = WhereClauseBuilder()
+            .appendInKeyStringValues(childProjection.parentColumn, parentUids)
+            .build()
+        val selectStatement = statementBuilder.selectWhere(whereClause)
+        val parentChildCursorExecutor = CursorExecutorImpl { cursor: Cursor ->
+            val parentUidIndex = cursor.getColumnIndex(childProjection.parentColumn)
+            cursor.getString(parentUidIndex) to childFactory(cursor)
+        }
+        return parentChildCursorExecutor.getObjects(databaseAdapter.rawQuery(selectStatement))
+            .groupBy({ it.first }, { it.second })
+    }
 }
@@ -29,7 +29,6 @@ package org.hisp.dhis.android.core.arch.db.stores.internal
 
 import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
-import org.hisp.dhis.android.core.arch.db.cursors.internal.CursorExecutorImpl
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.SQLStatementBuilderImpl
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.SingleParentChildProjection
@@ -49,7 +48,7 @@ internal object StoreFactory {
             linkTableChildProjection,
             databaseAdapter,
             SQLStatementBuilderImpl(linkTableInfo),
-            CursorExecutorImpl(childFactory),
+            childFactory,
         )
     }
 
@@ -63,7 +62,7 @@ internal object StoreFactory {
             childProjection,
             databaseAdapter,
             SQLStatementBuilderImpl(childProjection.childTableInfo),
-            CursorExecutorImpl(childFactory),
+            childFactory,
         )
     }
 
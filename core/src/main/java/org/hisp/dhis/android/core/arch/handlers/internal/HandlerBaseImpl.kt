@@ -66,8 +66,12 @@ internal abstract class HandlerBaseImpl<O> : HandlerWithTransformer<O> {
     override fun handleMany(oCollection: Collection<O>?) {
         if (oCollection != null) {
             val preHandledCollection = beforeCollectionHandled(oCollection)
-            for (o in preHandledCollection) {
-                handle(o)
+            if (supportsBulkPersistence) {
+                persistInBulk(preHandledCollection)
+            } else {
+                for (o in preHandledCollection) {
+                    handle(o)
+                }
             }
             afterCollectionHandled(preHandledCollection)
         }
@@ -78,8 +82,13 @@ internal abstract class HandlerBaseImpl<O> : HandlerWithTransformer<O> {
         if (oCollection != null) {
             val preHandledCollection = beforeCollectionHandled(oCollection)
             val oTransformedCollection: MutableList<O> = ArrayList(oCollection.size)
-            for (o in preHandledCollection) {
-                handle(o, transformer, oTransformedCollection)
+            if (supportsBulkPersistence) {
+                preHandledCollection.mapTo(oTransformedCollection, transformer)
+                persistInBulk(oTransformedCollection)
+            } else {
+                for (o in preHandledCollection) {
+                    handle(o, transformer, oTransformedCollection)
+                }
             }
             afterCollectionHandled(oTransformedCollection)
         }
@@ -87,6 +96,24 @@ internal abstract class HandlerBaseImpl<O> : HandlerWithTransformer<O> {
 
     protected abstract fun deleteOrPersist(o: O): HandleAction
 
+    /**
+     * Whether [handleMany] can persist the whole collection with [persistInBulk] instead of handling the objects one
+     * by one. Handlers opt in explicitly, and only if they do not rely on the per-object hooks.
+     */
+    protected open val supportsBulkPersistence: Boolean = false
+
+    /**
+     * Persists the collection object by object by default. Handlers whose store can write many objects at once
+     * override it.
+     */
+    @JvmSuppressWildcards
+    protected open fun persistInBulk(oCollection: Collection<O>) {
+        for (o in oCollection) {
+            val action = deleteOrPersist(o)
+            afterObjectHandled(o, action)
+        }
+    }
+
     protected open fun beforeObjectHandled(o: O): O {
         return o
     }
@@ -137,6 +137,7 @@ internal abstract class IdentifiableDataHandlerImpl<O>(
         val ownedRelationships = relationshipVersionManager.getOwnedRelationships(relationships, parent.uid())
 
         if (relatives != null) {
+            ownedRelationships.forEach { relationship -> relationship.uid()?.let { relatives.addRelationship(it) } }
             relationshipVersionManager.saveRelativesIfNotExist(
                 ownedRelationships,
                 parent.uid(),
@@ -48,4 +48,10 @@ internal open class IdentifiableHandlerImpl<O>(protected val store: Identifiable
     protected open fun deleteIfCondition(o: O): Boolean {
         return false
     }
+
+    override fun persistInBulk(oCollection: Collection<O>) {
+        val (deleted, persisted) = oCollection.partition { CollectionsHelper.isDeleted(it) && it.uid() != null }
+        deleted.forEach { store.deleteIfExists(it.uid()) }
+        store.updateOrInsertMany(persisted)
+    }
 }
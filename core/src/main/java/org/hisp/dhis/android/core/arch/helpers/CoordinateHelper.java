@@ -28,8 +28,8 @@
 package org.hisp.dhis.android.core.arch.helpers;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry;
 import org.hisp.dhis.android.core.common.Coordinates;
 import org.hisp.dhis.android.core.common.FeatureType;
 import org.hisp.dhis.android.core.common.Geometry;
@@ -50,11 +50,10 @@ public final class CoordinateHelper {
      */
     public static Coordinates getCoordinatesFromGeometry(Geometry geometry) {
         if (geometry.type() == FeatureType.POINT && geometry.coordinates() != null) {
-            ObjectMapper mapper = new ObjectMapper();
             List<Double> coordinateTokens;
             try {
-                coordinateTokens = mapper.readValue(geometry.coordinates(),
-                        new TypeReference<List<Double>>(){});
+                coordinateTokens = ObjectMapperRegistry.reader(new TypeReference<List<Double>>(){})
+                        .readValue(geometry.coordinates());
             } catch (IOException e) {
                 return null;
             }
@@ -30,8 +30,8 @@ package org.hisp.dhis.android.core.arch.helpers;
 import androidx.annotation.Nullable;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry;
 import org.hisp.dhis.android.core.common.FeatureType;
 import org.hisp.dhis.android.core.common.Geometry;
 import org.hisp.dhis.android.core.maintenance.D2Error;
@@ -219,7 +219,7 @@ public final class GeometryHelper {
         }
 
         try {
-            return new ObjectMapper().readValue(geometry.coordinates(), typeReference);
+            return ObjectMapperRegistry.reader(typeReference).readValue(geometry.coordinates());
         } catch (IOException e) {
             throw d2Error(e, "It has not been possible to generate a " + type.getGeometryType() +
                     " from geometry coordinates: " + geometry.coordinates() + ".");
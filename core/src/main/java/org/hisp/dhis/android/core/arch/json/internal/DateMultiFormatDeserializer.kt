@@ -30,9 +30,11 @@ package org.hisp.dhis.android.core.arch.json.internal
 import com.fasterxml.jackson.core.JsonParseException
 import com.fasterxml.jackson.core.JsonParser
 import com.fasterxml.jackson.core.JsonProcessingException
+import com.fasterxml.jackson.core.JsonToken
 import com.fasterxml.jackson.databind.DeserializationContext
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer
+import org.hisp.dhis.android.core.arch.dateformat.internal.IsoDateCodec
 import java.io.IOException
 import java.text.ParseException
 import java.text.SimpleDateFormat
@@ -42,6 +44,17 @@ import java.util.Locale
 class DateMultiFormatDeserializer @JvmOverloads constructor(vc: Class<*>? = null) : StdDeserializer<Date>(vc) {
     @Throws(IOException::class, JsonProcessingException::class)
     override fun deserialize(jp: JsonParser, ctxt: DeserializationContext): Date {
+        val isoDate = if (jp.hasToken(JsonToken.VALUE_STRING)) {
+            IsoDateCodec.parse(jp.textCharacters, jp.textOffset, jp.textLength)
+        } else {
+            null
+        }
+
+        return isoDate ?: deserializeWithFormats(jp)
+    }
+
+    @Throws(IOException::class, JsonProcessingException::class)
+    private fun deserializeWithFormats(jp: JsonParser): Date {
         val node = jp.codec.readTree<JsonNode>(jp)
         val date = node.textValue()
         for (DATE_FORMAT in DATE_FORMATS) {
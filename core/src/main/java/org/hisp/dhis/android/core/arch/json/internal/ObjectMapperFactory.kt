@@ -37,10 +37,14 @@ import java.util.Date
 
 internal object ObjectMapperFactory {
 
+    /**
+     * Builds a new mapper. Prefer the shared readers and writers in [ObjectMapperRegistry] for (de)serialization.
+     */
     @JvmStatic
     fun objectMapper(): ObjectMapper {
         val dateModule = SimpleModule()
         dateModule.addDeserializer(Date::class.java, DateMultiFormatDeserializer())
+        dateModule.addSerializer(Date::class.java, IsoDateSerializer())
 
         return ObjectMapper()
             .registerModule(dateModule)
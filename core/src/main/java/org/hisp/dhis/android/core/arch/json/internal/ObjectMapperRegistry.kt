@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.json.internal
+
+import com.fasterxml.jackson.core.type.TypeReference
+import com.fasterxml.jackson.databind.JavaType
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.ObjectReader
+import com.fasterxml.jackson.databind.ObjectWriter
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Process-wide readers and writers built from a single [ObjectMapperFactory] mapper. Building an [ObjectMapper]
+ * is expensive, so code that (de)serializes per row or per entry must go through this registry instead of
+ * creating a new mapper. [ObjectReader] and [ObjectWriter] are immutable and thread-safe, and readers are cached
+ * per target type with their root deserializer already resolved.
+ */
+internal object ObjectMapperRegistry {
+
+    private val objectMapper: ObjectMapper = ObjectMapperFactory.objectMapper()
+    private val writer: ObjectWriter = objectMapper.writer()
+    private val readers = ConcurrentHashMap<JavaType, ObjectReader>()
+
+    @JvmStatic
+    fun reader(type: Class<*>): ObjectReader {
+        return reader(objectMapper.typeFactory.constructType(type))
+    }
+
+    @JvmStatic
+    fun reader(typeReference: TypeReference<*>): ObjectReader {
+        return reader(objectMapper.typeFactory.constructType(typeReference))
+    }
+
+    @JvmStatic
+    fun reader(type: JavaType): ObjectReader {
+        return readers.getOrPut(type) { objectMapper.readerFor(type) }
+    }
+
+    @JvmStatic
+    fun treeReader(): ObjectReader {
+        return reader(JsonNode::class.java)
+    }
+
+    @JvmStatic
+    fun writer(): ObjectWriter {
+        return writer
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.repositories.children.internal
+
+import org.hisp.dhis.android.core.arch.helpers.CollectionsHelper
+import org.hisp.dhis.android.core.common.ObjectWithUidInterface
+
+/**
+ * Children appender that loads the children of the whole parent collection in [prepareChildren], running one
+ * query per chunk of parent uids instead of one query per parent. The children are kept grouped by parent uid and
+ * attached to each parent in [appendChildren].
+ */
+internal abstract class BatchedChildrenAppender<M : ObjectWithUidInterface, C> : ChildrenAppender<M>() {
+
+    private var childrenByParent: Map<String, List<C>>? = null
+
+    protected abstract fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<C>>
+
+    protected abstract fun appendChildren(m: M, children: List<C>): M
+
+    override fun prepareChildren(collection: Collection<M>) {
+        val parentUids = collection.mapNotNull { it.uid() }.toSet()
+        childrenByParent = CollectionsHelper.setPartition(parentUids, QUERY_CHUNK_SIZE)
+            .map { getChildrenByParentUids(it) }
+            .fold(mutableMapOf<String, List<C>>()) { acc, chunk -> acc.apply { putAll(chunk) } }
+    }
+
+    override fun appendChildren(m: M): M {
+        val uid = m.uid()
+        val children = when {
+            uid == null -> emptyList()
+            childrenByParent != null -> childrenByParent!![uid]
+            else -> getChildrenByParentUids(setOf(uid))[uid]
+        }
+        return appendChildren(m, children ?: emptyList())
+    }
+
+    companion object {
+        const val QUERY_CHUNK_SIZE = 500
+    }
+}
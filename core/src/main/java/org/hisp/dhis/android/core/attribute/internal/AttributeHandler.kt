@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class AttributeHandler(
     store: AttributeStore,
-) : IdentifiableHandlerImpl<Attribute>(store)
+) : IdentifiableHandlerImpl<Attribute>(store) {
+
+    override val supportsBulkPersistence = true
+}
@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.category.Category
 import org.hisp.dhis.android.core.category.CategoryCategoryComboLinkTableInfo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.category.CategoryTableInfo
 
 internal class CategoryCategoryComboChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<CategoryCombo, Category>,
-) : ChildrenAppender<CategoryCombo>() {
-    override fun appendChildren(categoryCombo: CategoryCombo): CategoryCombo {
+) : BatchedChildrenAppender<CategoryCombo, Category>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<Category>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(categoryCombo: CategoryCombo, children: List<Category>): CategoryCombo {
         val builder = categoryCombo.toBuilder()
-        builder.categories(linkChildStore.getChildren(categoryCombo))
+        builder.categories(children)
         return builder.build()
     }
 
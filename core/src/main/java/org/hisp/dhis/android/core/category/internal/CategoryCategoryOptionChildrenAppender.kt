@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.category.Category
 import org.hisp.dhis.android.core.category.CategoryCategoryOptionLinkTableInfo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.category.CategoryOptionTableInfo
 
 internal class CategoryCategoryOptionChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<Category, CategoryOption>,
-) : ChildrenAppender<Category>() {
-    override fun appendChildren(category: Category): Category {
+) : BatchedChildrenAppender<Category, CategoryOption>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<CategoryOption>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(category: Category, children: List<CategoryOption>): Category {
         val builder = category.toBuilder()
-        builder.categoryOptions(linkChildStore.getChildren(category))
+        builder.categoryOptions(children)
         return builder.build()
     }
 
@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class CategoryHandler(
     store: CategoryStore,
-) : IdentifiableHandlerImpl<Category>(store)
+) : IdentifiableHandlerImpl<Category>(store) {
+
+    override val supportsBulkPersistence = true
+}
@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.category.CategoryOption
 import org.hisp.dhis.android.core.category.CategoryOptionCombo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.category.CategoryOptionTableInfo
 
 internal class CategoryOptionComboCategoryOptionChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<CategoryOptionCombo, CategoryOption>,
-) : ChildrenAppender<CategoryOptionCombo>() {
-    override fun appendChildren(optionCombo: CategoryOptionCombo): CategoryOptionCombo {
+) : BatchedChildrenAppender<CategoryOptionCombo, CategoryOption>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<CategoryOption>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(optionCombo: CategoryOptionCombo, children: List<CategoryOption>): CategoryOptionCombo {
         val builder = optionCombo.toBuilder()
-        builder.categoryOptions(linkChildStore.getChildren(optionCombo))
+        builder.categoryOptions(children)
         return builder.build()
     }
 
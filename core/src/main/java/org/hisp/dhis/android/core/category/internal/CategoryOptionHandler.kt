@@ -34,4 +34,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class CategoryOptionHandler constructor(
     categoryOptionStore: CategoryOptionStore,
-) : IdentifiableHandlerImpl<CategoryOption>(categoryOptionStore)
+) : IdentifiableHandlerImpl<CategoryOption>(categoryOptionStore) {
+
+    override val supportsBulkPersistence = true
+}
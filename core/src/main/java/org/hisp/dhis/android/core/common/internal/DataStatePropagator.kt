@@ -67,6 +67,14 @@ internal interface DataStatePropagator {
 
     fun refreshAggregatedSyncStates(uidHolder: DataStateUidHolder)
 
+    /**
+     * Runs the block collecting the propagations and aggregated state refreshes it triggers and applies them at the
+     * end in set-based statements, so every affected row is refreshed once no matter how many times it is touched.
+     * Nested calls join the outermost one. Pending propagations are also applied if the block throws, as its writes
+     * are kept unless the enclosing transaction is rolled back, which discards both.
+     */
+    fun <T> deferPropagation(block: () -> T): T
+
     fun getRelatedUids(
         trackedEntityInstanceUids: List<String>,
         enrollmentUids: List<String>,
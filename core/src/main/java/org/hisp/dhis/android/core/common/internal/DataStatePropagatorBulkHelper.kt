@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.common.internal
+
+import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
+import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
+import org.hisp.dhis.android.core.arch.helpers.DateUtils
+import org.hisp.dhis.android.core.common.DataColumns
+import org.hisp.dhis.android.core.common.IdentifiableColumns
+import org.hisp.dhis.android.core.common.State
+import org.hisp.dhis.android.core.enrollment.EnrollmentTableInfo
+import org.hisp.dhis.android.core.event.EventTableInfo
+import org.hisp.dhis.android.core.relationship.RelationshipConstraintType
+import org.hisp.dhis.android.core.relationship.RelationshipItemTableInfo
+import org.hisp.dhis.android.core.relationship.RelationshipTableInfo
+import org.hisp.dhis.android.core.relationship.RelationshipTypeTableInfo
+import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceTableInfo
+import org.hisp.dhis.android.core.trackedentity.ownership.ProgramOwnerTableInfo
+import org.koin.core.annotation.Singleton
+import java.util.Date
+
+/**
+ * Set-based counterpart of the row-by-row refreshes in [DataStatePropagatorImpl]. Every method runs one statement
+ * per chunk of uids, so the cost does not depend on the number of rows being refreshed.
+ */
+@Singleton
+internal class DataStatePropagatorBulkHelper(
+    private val databaseAdapter: DatabaseAdapter,
+) {
+
+    fun setSyncStateForUpdate(tableName: String, uids: Collection<String>) {
+        val keptStates = listOf(State.TO_POST, State.RELATIONSHIP).joinToString(", ") { "'${it.name}'" }
+        forEachChunk(uids) { whereClause ->
+            databaseAdapter.execSQL(
+                "UPDATE $tableName SET $SYNC_STATE = " +
+                    "CASE WHEN $SYNC_STATE IN ($keptStates) THEN $SYNC_STATE ELSE '${State.TO_UPDATE.name}' END " +
+                    "WHERE $whereClause",
+            )
+        }
+    }
+
+    fun refreshLastUpdated(tableName: String, uids: Collection<String>, now: Date) {
+        val nowStr = DateUtils.DATE_FORMAT.format(now)
+        forEachChunk(uids) { whereClause ->
+            databaseAdapter.execSQL(
+                "UPDATE $tableName SET " +
+                    "$LAST_UPDATED = MAX(IFNULL($LAST_UPDATED, ''), '$nowStr'), " +
+                    "$LAST_UPDATED_AT_CLIENT = MAX(IFNULL($LAST_UPDATED_AT_CLIENT, ''), '$nowStr') " +
+                    "WHERE $whereClause",
+            )
+        }
+    }
+
+    fun getParentUids(tableName: String, parentColumn: String, uids: Collection<String>): Set<String> {
+        val parentUids = mutableSetOf<String>()
+        forEachChunk(uids) { whereClause ->
+            databaseAdapter.rawQuery(
+                "SELECT DISTINCT $parentColumn FROM $tableName WHERE $whereClause AND $parentColumn IS NOT NULL",
+            ).use { cursor ->
+                if (cursor.count > 0) {
+                    cursor.moveToFirst()
+                    do {
+                        parentUids.add(cursor.getString(0))
+                    } while (cursor.moveToNext())
+                }
+            }
+        }
+        return parentUids
+    }
+
+    fun refreshEventAggregatedSyncStates(eventUids: Collection<String>) {
+        val table = EventTableInfo.TABLE_INFO.name()
+        refreshAggregatedSyncStates(
+            table,
+            eventUids,
+            listOf(relationshipsRank(RelationshipItemTableInfo.Columns.EVENT, table)),
+        )
+    }
+
+    fun refreshEnrollmentAggregatedSyncStates(enrollmentUids: Collection<String>) {
+        val table = EnrollmentTableInfo.TABLE_INFO.name()
+        refreshAggregatedSyncStates(
+            table,
+            enrollmentUids,
+            listOf(
+                childrenRank(
+                    EventTableInfo.TABLE_INFO.name(),
+                    AGGREGATED_SYNC_STATE,
+                    EventTableInfo.Columns.ENROLLMENT,
+                    table,
+                ),
+                relationshipsRank(RelationshipItemTableInfo.Columns.ENROLLMENT, table),
+            ),
+        )
+    }
+
+    fun refreshTrackedEntityInstanceAggregatedSyncStates(trackedEntityInstanceUids: Collection<String>) {
+        val table = TrackedEntityInstanceTableInfo.TABLE_INFO.name()
+        refreshAggregatedSyncStates(
+            table,
+            trackedEntityInstanceUids,
+            listOf(
+                childrenRank(
+                    EnrollmentTableInfo.TABLE_INFO.name(),
+                    AGGREGATED_SYNC_STATE,
+                    EnrollmentTableInfo.Columns.TRACKED_ENTITY_INSTANCE,
+                    table,
+                ),
+                relationshipsRank(RelationshipItemTableInfo.Columns.TRACKED_ENTITY_INSTANCE, table),
+                childrenRank(
+                    ProgramOwnerTableInfo.TABLE_INFO.name(),
+                    SYNC_STATE,
+                    ProgramOwnerTableInfo.Columns.TRACKED_ENTITY_INSTANCE,
+                    table,
+                ),
+            ),
+        )
+    }
+
+    private fun refreshAggregatedSyncStates(tableName: String, uids: Collection<String>, childRanks: List<String>) {
+        val ranks = (listOf(rankOf(SYNC_STATE)) + childRanks.map { "IFNULL($it, $DEFAULT_RANK)" })
+            .joinToString(", ")
+        forEachChunk(uids) { whereClause ->
+            databaseAdapter.execSQL(
+                "UPDATE $tableName SET $AGGREGATED_SYNC_STATE = ${stateOf("MIN($ranks)")} WHERE $whereClause",
+            )
+        }
+    }
+
+    private fun childrenRank(childTable: String, stateColumn: String, parentColumn: String, parentTable: String) =
+        "(SELECT MIN(${rankOf("c.$stateColumn")}) FROM $childTable c WHERE c.$parentColumn = $parentTable.$UID)"
+
+    /**
+     * Mirrors DataStatePropagatorImpl.getRelationshipsByItem: a relationship counts when it has a type and either
+     * the type is bidirectional or the element is in the FROM end.
+     */
+    private fun relationshipsRank(itemColumn: String, parentTable: String): String {
+        return "(SELECT MIN(${rankOf("r.$SYNC_STATE")}) " +
+            "FROM ${RelationshipItemTableInfo.TABLE_INFO.name()} ri " +
+            "JOIN ${RelationshipTableInfo.TABLE_INFO.name()} r " +
+            "ON r.$UID = ri.${RelationshipItemTableInfo.Columns.RELATIONSHIP} " +
+            "LEFT JOIN ${RelationshipTypeTableInfo.TABLE_INFO.name()} rt " +
+            "ON rt.$UID = r.${RelationshipTableInfo.Columns.RELATIONSHIP_TYPE} " +
+            "WHERE ri.$itemColumn = $parentTable.$UID " +
+            "AND r.${RelationshipTableInfo.Columns.RELATIONSHIP_TYPE} IS NOT NULL " +
+            "AND (rt.${RelationshipTypeTableInfo.Columns.BIDIRECTIONAL} = 1 OR " +
+            "ri.${RelationshipItemTableInfo.Columns.RELATIONSHIP_ITEM_TYPE} = '${RelationshipConstraintType.FROM}'))"
+    }
+
+    private fun forEachChunk(uids: Collection<String>, action: (String) -> Unit) {
+        uids.distinct().chunked(QUERY_CHUNK_SIZE).forEach { chunk ->
+            action(WhereClauseBuilder().appendInKeyStringValues(UID, chunk).build())
+        }
+    }
+
+    companion object {
+        private const val QUERY_CHUNK_SIZE = 500
+
+        private const val UID = IdentifiableColumns.UID
+        private const val SYNC_STATE = DataColumns.SYNC_STATE
+        private const val AGGREGATED_SYNC_STATE = DataColumns.AGGREGATED_SYNC_STATE
+        private const val LAST_UPDATED = EventTableInfo.Columns.LAST_UPDATED
+        private const val LAST_UPDATED_AT_CLIENT = EventTableInfo.Columns.LAST_UPDATED_AT_CLIENT
+
+        /**
+         * Aggregated states ordered by precedence, each one with the source states it absorbs. It must stay aligned
+         * with DataStatePropagatorImpl.getAggregatedSyncState.
+         */
+        private val aggregatedStatePrecedence = listOf(
+            State.RELATIONSHIP to listOf(State.RELATIONSHIP),
+            State.ERROR to listOf(State.ERROR),
+            State.WARNING to listOf(State.WARNING),
+            State.TO_UPDATE to listOf(State.UPLOADING, State.TO_POST, State.TO_UPDATE),
+            State.SENT_VIA_SMS to listOf(State.SENT_VIA_SMS),
+            State.SYNCED_VIA_SMS to listOf(State.SYNCED_VIA_SMS),
+        )
+
+        private val DEFAULT_RANK = aggregatedStatePrecedence.size
+
+        private fun rankOf(column: String): String {
+            val cases = aggregatedStatePrecedence.flatMapIndexed { rank, (_, sourceStates) ->
+                sourceStates.map { "WHEN '${it.name}' THEN $rank" }
+            }
+            return "CASE $column ${cases.joinToString(" ")} ELSE $DEFAULT_RANK END"
+        }
+
+        private fun stateOf(rank: String): String {
+            val cases = aggregatedStatePrecedence.mapIndexed { index, (state, _) -> "WHEN $index THEN '${state.name}'" }
+            return "CASE $rank ${cases.joinToString(" ")} ELSE '${State.SYNCED.name}' END"
+        }
+    }
+}
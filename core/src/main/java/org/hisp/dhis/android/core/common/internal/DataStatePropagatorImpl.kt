@@ -43,6 +43,7 @@ import org.hisp.dhis.android.core.relationship.internal.RelationshipTypeStore
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeValue
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityDataValue
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstance
+import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceTableInfo
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityInstanceStore
 import org.hisp.dhis.android.core.trackedentity.ownership.ProgramOwner
 import org.hisp.dhis.android.core.trackedentity.ownership.ProgramOwnerStore
@@ -60,17 +61,55 @@ internal class DataStatePropagatorImpl(
     private val relationshipItemStore: RelationshipItemStore,
     private val relationshipTypeStore: RelationshipTypeStore,
     private val programOwner: ProgramOwnerStore,
+    private val bulkHelper: DataStatePropagatorBulkHelper,
 ) : DataStatePropagator {
 
+    private val pendingPropagation = ThreadLocal<PendingPropagation?>()
+
+    @Suppress("TooGenericExceptionCaught")
+    override fun <T> deferPropagation(block: () -> T): T {
+        if (pendingPropagation.get() != null) {
+            return block()
+        }
+        val pending = PendingPropagation()
+        pendingPropagation.set(pending)
+
+        val result = try {
+            block()
+        } catch (e: Throwable) {
+            pendingPropagation.remove()
+            try {
+                flush(pending)
+            } catch (flushError: Throwable) {
+                e.addSuppressed(flushError)
+            }
+            throw e
+        }
+
+        pendingPropagation.remove()
+        flush(pending)
+        return result
+    }
+
     override fun propagateTrackedEntityInstanceUpdate(tei: TrackedEntityInstance?) {
+        val pending = pendingPropagation.get()
         tei?.let {
+            if (pending != null) {
+                pending.trackedEntityInstances.add(it.uid())
+                return
+            }
             refreshTrackedEntityInstanceAggregatedSyncState(it.uid())
             refreshTrackedEntityInstanceLastUpdated(it.uid())
         }
     }
 
     override fun propagateEnrollmentUpdate(enrollment: Enrollment?) {
+        val pending = pendingPropagation.get()
         enrollment?.let {
+            if (pending != null) {
+                pending.enrollments.add(it.uid())
+                return
+            }
             refreshEnrollmentAggregatedSyncState(it.uid())
             refreshEnrollmentLastUpdated(it.uid())
 
@@ -80,7 +119,12 @@ internal class DataStatePropagatorImpl(
     }
 
     override fun propagateEventUpdate(event: Event?) {
+        val pending = pendingPropagation.get()
         event?.let {
+            if (pending != null) {
+                pending.events.add(it.uid())
+                return
+            }
             refreshEventAggregatedSyncState(it.uid())
             refreshEventLastUpdated(it.uid())
 
@@ -101,10 +145,15 @@ internal class DataStatePropagatorImpl(
                 trackedEntityInstanceUid,
                 trackedEntityAttributeValue.trackedEntityAttribute()!!,
             )
+            val pending = pendingPropagation.get()
             enrollments.forEach {
-                enrollmentStore.setSyncState(it.uid(), getStateForUpdate(it.syncState()))
-                refreshEnrollmentAggregatedSyncState(it.uid())
-                refreshEnrollmentLastUpdated(it.uid())
+                if (pending != null) {
+                    pending.enrollmentsToUpdate.add(it.uid())
+                } else {
+                    enrollmentStore.setSyncState(it.uid(), getStateForUpdate(it.syncState()))
+                    refreshEnrollmentAggregatedSyncState(it.uid())
+                    refreshEnrollmentLastUpdated(it.uid())
+                }
             }
             setTeiSyncState(trackedEntityInstanceUid, getStateForUpdate)
         }
@@ -139,7 +188,14 @@ internal class DataStatePropagatorImpl(
     }
 
     private fun propagateRelationshipUpdate(item: RelationshipItem?) {
-        if (item != null) {
+        val pending = pendingPropagation.get()
+        if (item != null && pending != null) {
+            when {
+                item.hasTrackedEntityInstance() -> pending.trackedEntityInstances.add(item.elementUid())
+                item.hasEnrollment() -> pending.enrollments.add(item.elementUid())
+                item.hasEvent() -> pending.events.add(item.elementUid())
+            }
+        } else if (item != null) {
             if (item.hasTrackedEntityInstance()) {
                 val tei = trackedEntityInstanceStore.selectByUid(item.elementUid())
                 propagateTrackedEntityInstanceUpdate(tei)
@@ -154,6 +210,10 @@ internal class DataStatePropagatorImpl(
     }
 
     private fun setTeiSyncState(trackedEntityInstanceUid: String?, getState: (State?) -> State) {
+        pendingPropagation.get()?.let {
+            it.trackedEntityInstancesToUpdate.add(trackedEntityInstanceUid!!)
+            return
+        }
         trackedEntityInstanceStore.selectByUid(trackedEntityInstanceUid!!)?.let { instance ->
             trackedEntityInstanceStore.setSyncState(trackedEntityInstanceUid, getState(instance.syncState()))
             propagateTrackedEntityInstanceUpdate(instance)
@@ -161,6 +221,10 @@ internal class DataStatePropagatorImpl(
     }
 
     private fun setEnrollmentSyncState(enrollmentUid: String, getState: (State?) -> State) {
+        pendingPropagation.get()?.let {
+            it.enrollmentsToUpdate.add(enrollmentUid)
+            return
+        }
         enrollmentStore.selectByUid(enrollmentUid)?.let { enrollment ->
             enrollmentStore.setSyncState(enrollmentUid, getState(enrollment.syncState()))
             propagateEnrollmentUpdate(enrollment)
@@ -168,6 +232,10 @@ internal class DataStatePropagatorImpl(
     }
 
     private fun setEventSyncState(eventUid: String, getState: (State?) -> State) {
+        pendingPropagation.get()?.let {
+            it.eventsToUpdate.add(eventUid)
+            return
+        }
         eventStore.selectByUid(eventUid)?.let { event ->
             eventStore.setSyncState(eventUid, getState(event.syncState()))
             propagateEventUpdate(event)
@@ -257,6 +325,10 @@ internal class DataStatePropagatorImpl(
     }
 
     override fun refreshTrackedEntityInstanceAggregatedSyncState(trackedEntityInstanceUid: String) {
+        pendingPropagation.get()?.let {
+            it.trackedEntityInstancesToRefresh.add(trackedEntityInstanceUid)
+            return
+        }
         trackedEntityInstanceStore.selectByUid(trackedEntityInstanceUid)?.let { instance ->
             val whereClause = WhereClauseBuilder()
                 .appendKeyStringValue(EnrollmentTableInfo.Columns.TRACKED_ENTITY_INSTANCE, trackedEntityInstanceUid)
@@ -283,6 +355,10 @@ internal class DataStatePropagatorImpl(
     }
 
     override fun refreshEnrollmentAggregatedSyncState(enrollmentUid: String) {
+        pendingPropagation.get()?.let {
+            it.enrollmentsToRefresh.add(enrollmentUid)
+            return
+        }
         enrollmentStore.selectByUid(enrollmentUid)?.let { enrollment ->
             val whereClause = WhereClauseBuilder()
                 .appendKeyStringValue(EventTableInfo.Columns.ENROLLMENT, enrollmentUid)
@@ -299,6 +375,10 @@ internal class DataStatePropagatorImpl(
     }
 
     override fun refreshEventAggregatedSyncState(eventUid: String) {
+        pendingPropagation.get()?.let {
+            it.eventsToRefresh.add(eventUid)
+            return
+        }
         eventStore.selectByUid(eventUid)?.let { event ->
             val relationships = getRelationshipsByItem(RelationshipHelper.eventItem(eventUid))
             val relationshipStates = relationships.map { it.syncState()!! }
@@ -326,17 +406,44 @@ internal class DataStatePropagatorImpl(
     }
 
     override fun refreshAggregatedSyncStates(uidHolder: DataStateUidHolder) {
-        uidHolder.events.forEach {
-            refreshEventAggregatedSyncState(it)
-        }
-
-        uidHolder.enrollments.forEach {
-            refreshEnrollmentAggregatedSyncState(it)
+        pendingPropagation.get()?.let {
+            it.eventsToRefresh.addAll(uidHolder.events)
+            it.enrollmentsToRefresh.addAll(uidHolder.enrollments)
+            it.trackedEntityInstancesToRefresh.addAll(uidHolder.trackedEntities)
+            return
         }
+        bulkHelper.refreshEventAggregatedSyncStates(uidHolder.events)
+        bulkHelper.refreshEnrollmentAggregatedSyncStates(uidHolder.enrollments)
+        bulkHelper.refreshTrackedEntityInstanceAggregatedSyncStates(uidHolder.trackedEntities)
+    }
 
-        uidHolder.trackedEntities.forEach {
-            refreshTrackedEntityInstanceAggregatedSyncState(it)
-        }
+    private fun flush(pending: PendingPropagation) {
+        val eventTable = EventTableInfo.TABLE_INFO.name()
+        val enrollmentTable = EnrollmentTableInfo.TABLE_INFO.name()
+        val teiTable = TrackedEntityInstanceTableInfo.TABLE_INFO.name()
+
+        bulkHelper.setSyncStateForUpdate(eventTable, pending.eventsToUpdate)
+        bulkHelper.setSyncStateForUpdate(enrollmentTable, pending.enrollmentsToUpdate)
+        bulkHelper.setSyncStateForUpdate(teiTable, pending.trackedEntityInstancesToUpdate)
+
+        val events = pending.events + pending.eventsToUpdate
+        val enrollments = pending.enrollments + pending.enrollmentsToUpdate +
+            bulkHelper.getParentUids(eventTable, EventTableInfo.Columns.ENROLLMENT, events)
+        val trackedEntityInstances = pending.trackedEntityInstances + pending.trackedEntityInstancesToUpdate +
+            bulkHelper.getParentUids(enrollmentTable, EnrollmentTableInfo.Columns.TRACKED_ENTITY_INSTANCE, enrollments)
+
+        val now = Date()
+        bulkHelper.refreshLastUpdated(eventTable, events, now)
+        bulkHelper.refreshLastUpdated(enrollmentTable, enrollments, now)
+        bulkHelper.refreshLastUpdated(teiTable, trackedEntityInstances, now)
+
+        refreshAggregatedSyncStates(
+            DataStateUidHolder(
+                trackedEntities = (trackedEntityInstances + pending.trackedEntityInstancesToRefresh).toList(),
+                enrollments = (enrollments + pending.enrollmentsToRefresh).toList(),
+                events = (events + pending.eventsToRefresh).toList(),
+            ),
+        )
     }
 
     override fun getRelatedUids(
@@ -365,6 +472,18 @@ internal class DataStatePropagatorImpl(
         )
     }
 
+    private class PendingPropagation {
+        val trackedEntityInstances = mutableSetOf<String>()
+        val enrollments = mutableSetOf<String>()
+        val events = mutableSetOf<String>()
+        val trackedEntityInstancesToUpdate = mutableSetOf<String>()
+        val enrollmentsToUpdate = mutableSetOf<String>()
+        val eventsToUpdate = mutableSetOf<String>()
+        val trackedEntityInstancesToRefresh = mutableSetOf<String>()
+        val enrollmentsToRefresh = mutableSetOf<String>()
+        val eventsToRefresh = mutableSetOf<String>()
+    }
+
     private fun getAggregatedSyncState(states: List<State>): State {
         return when {
             states.contains(State.RELATIONSHIP) -> State.RELATIONSHIP
@@ -29,11 +29,13 @@ package org.hisp.dhis.android.core.configuration.internal
 
 import android.content.Context
 import android.util.Log
+import org.hisp.dhis.android.core.arch.api.internal.HttpCacheHelper
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.access.internal.DatabaseAdapterFactory
 import org.hisp.dhis.android.core.arch.db.access.internal.DatabaseExport
 import org.hisp.dhis.android.core.arch.helpers.FileResourceDirectoryHelper
 import org.hisp.dhis.android.core.arch.storage.internal.Credentials
+import org.hisp.dhis.android.core.period.internal.PeriodCache
 import org.koin.core.annotation.Singleton
 
 @Singleton
@@ -44,6 +46,8 @@ internal class MultiUserDatabaseManager(
     private val configurationHelper: DatabaseConfigurationHelper,
     private val databaseAdapterFactory: DatabaseAdapterFactory,
     private val databaseExport: DatabaseExport,
+    private val httpCacheHelper: HttpCacheHelper,
+    private val periodCache: PeriodCache,
 ) {
     fun loadExistingChangingEncryptionIfRequiredOtherwiseCreateNew(
         serverUrl: String,
@@ -94,6 +98,8 @@ internal class MultiUserDatabaseManager(
 
         val userConfiguration = addNewAccountInternal(serverUrl, username, encrypt)
         databaseAdapterFactory.createOrOpenDatabase(databaseAdapter, userConfiguration)
+        httpCacheHelper.onDatabaseCreated(userConfiguration)
+        periodCache.clearPersisted()
     }
 
     fun changeEncryptionIfRequired(credentials: Credentials, encrypt: Boolean) {
@@ -142,6 +148,8 @@ internal class MultiUserDatabaseManager(
                 encrypt,
             )
             databaseAdapterFactory.createOrOpenDatabase(databaseAdapter, updatedAccount)
+            httpCacheHelper.onAccountLoaded(updatedAccount)
+            periodCache.clearPersisted()
         }
         return true
     }
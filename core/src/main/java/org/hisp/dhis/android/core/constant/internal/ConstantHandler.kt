@@ -37,6 +37,9 @@ internal class ConstantHandler constructor(
     optionStore: ConstantStore,
     private val collectionCleaner: ConstantCollectionCleaner,
 ) : IdentifiableHandlerImpl<Constant>(optionStore) {
+
+    override val supportsBulkPersistence = true
+
     override fun afterCollectionHandled(oCollection: Collection<Constant>?) {
         collectionCleaner.deleteNotPresent(oCollection)
     }
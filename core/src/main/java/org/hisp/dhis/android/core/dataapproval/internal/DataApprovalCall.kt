@@ -48,8 +48,14 @@ internal class DataApprovalCall(
             ).length
     }
 
-    @Suppress("MagicNumber")
     override suspend fun download(query: DataApprovalQuery): List<DataApproval> {
+        return apiDownloader.downloadListAsCoroutine(handler) {
+            fetch(query)
+        }
+    }
+
+    @Suppress("MagicNumber")
+    suspend fun fetch(query: DataApprovalQuery): List<DataApproval> {
         val partitions = multiDimensionalPartitioner.partitionForSize(
             QUERY_WITHOUT_UIDS_LENGTH,
             query.workflowsUids,
@@ -58,16 +64,18 @@ internal class DataApprovalCall(
             query.attributeOptionCombosUids,
         )
         return partitions.flatMap { part ->
-            apiDownloader.downloadListAsCoroutine(handler) {
-                service.getDataApprovals(
-                    fields = DataApprovalFields.allFields,
-                    lastUpdated = query.lastUpdatedStr,
-                    workflow = commaSeparatedCollectionValues(part[0]),
-                    periods = commaSeparatedCollectionValues(part[1]),
-                    organisationUnit = commaSeparatedCollectionValues(part[2]),
-                    attributeOptionCombo = commaSeparatedCollectionValues(part[3]),
-                )
-            }
+            service.getDataApprovals(
+                fields = DataApprovalFields.allFields,
+                lastUpdated = query.lastUpdatedStr,
+                workflow = commaSeparatedCollectionValues(part[0]),
+                periods = commaSeparatedCollectionValues(part[1]),
+                organisationUnit = commaSeparatedCollectionValues(part[2]),
+                attributeOptionCombo = commaSeparatedCollectionValues(part[3]),
+            )
         }
     }
+
+    fun persist(dataApprovals: List<DataApproval>) {
+        handler.handleMany(dataApprovals)
+    }
 }
@@ -30,16 +30,22 @@ package org.hisp.dhis.android.core.dataelement.internal
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.ObjectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.objectWithUidChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
+import org.hisp.dhis.android.core.common.ObjectWithUid
 import org.hisp.dhis.android.core.dataelement.DataElement
 import org.hisp.dhis.android.core.legendset.DataElementLegendSetLinkTableInfo
 
 internal class DataElementLegendSetChildrenAppender private constructor(
     private val linkChildStore: ObjectWithUidChildStore<DataElement>,
-) : ChildrenAppender<DataElement>() {
-    override fun appendChildren(m: DataElement): DataElement {
+) : BatchedChildrenAppender<DataElement, ObjectWithUid>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: DataElement, children: List<ObjectWithUid>): DataElement {
         return m.toBuilder()
-            .legendSets(linkChildStore.getChildren(m))
+            .legendSets(children)
             .build()
     }
 
@@ -34,4 +34,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class DataElementOperandHandler constructor(
     store: DataElementOperandStore,
-) : IdentifiableHandlerImpl<DataElementOperand>(store)
+) : IdentifiableHandlerImpl<DataElementOperand>(store) {
+
+    override val supportsBulkPersistence = true
+}
@@ -31,16 +31,21 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.dataset.DataInputPeriod
 import org.hisp.dhis.android.core.dataset.DataSet
 
 internal class DataInputPeriodChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<DataSet, DataInputPeriod>,
-) : ChildrenAppender<DataSet>() {
-    override fun appendChildren(m: DataSet): DataSet {
+) : BatchedChildrenAppender<DataSet, DataInputPeriod>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<DataInputPeriod>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: DataSet, children: List<DataInputPeriod>): DataSet {
         val builder = m.toBuilder()
-        builder.dataInputPeriods(childStore.getChildren(m))
+        builder.dataInputPeriods(children)
         return builder.build()
     }
 
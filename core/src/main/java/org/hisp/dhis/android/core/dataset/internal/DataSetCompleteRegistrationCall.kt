@@ -48,11 +48,15 @@ internal class DataSetCompleteRegistrationCall(
     }
 
     override suspend fun download(query: DataSetCompleteRegistrationQuery): List<DataSetCompleteRegistration> {
-        return downloadInternal(query)
-            .also { processor.process(it, query) }
+        return fetch(query)
+            .also { persist(it, query) }
     }
 
-    private suspend fun downloadInternal(query: DataSetCompleteRegistrationQuery): List<DataSetCompleteRegistration> {
+    fun persist(registrations: List<DataSetCompleteRegistration>, query: DataSetCompleteRegistrationQuery) {
+        processor.process(registrations, query)
+    }
+
+    suspend fun fetch(query: DataSetCompleteRegistrationQuery): List<DataSetCompleteRegistration> {
         val partitions = multiDimensionalPartitioner.partitionForSize(
             QUERY_WITHOUT_UIDS_LENGTH,
             query.dataSetUids,
@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.dataelement.DataElementOperand
 import org.hisp.dhis.android.core.dataelement.DataElementOperandTableInfo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.dataset.DataSetCompulsoryDataElementOperandLin
 
 internal class DataSetCompulsoryDataElementOperandChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<DataSet, DataElementOperand>,
-) : ChildrenAppender<DataSet>() {
-    override fun appendChildren(m: DataSet): DataSet {
+) : BatchedChildrenAppender<DataSet, DataElementOperand>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<DataElementOperand>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: DataSet, children: List<DataElementOperand>): DataSet {
         val builder = m.toBuilder()
-        builder.compulsoryDataElementOperands(linkChildStore.getChildren(m))
+        builder.compulsoryDataElementOperands(children)
         return builder.build()
     }
 
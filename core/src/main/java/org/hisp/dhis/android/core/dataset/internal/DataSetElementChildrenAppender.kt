@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.SingleParentChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.dataset.DataSet
 import org.hisp.dhis.android.core.dataset.DataSetElement
@@ -39,10 +40,14 @@ import org.hisp.dhis.android.core.dataset.DataSetElementLinkTableInfo
 
 internal class DataSetElementChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<DataSet, DataSetElement>,
-) : ChildrenAppender<DataSet>() {
-    override fun appendChildren(m: DataSet): DataSet {
+) : BatchedChildrenAppender<DataSet, DataSetElement>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<DataSetElement>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: DataSet, children: List<DataSetElement>): DataSet {
         val builder = m.toBuilder()
-        builder.dataSetElements(childStore.getChildren(m))
+        builder.dataSetElements(children)
         return builder.build()
     }
 
@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.dataelement.DataElement
 import org.hisp.dhis.android.core.dataelement.DataElementTableInfo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.dataset.SectionDataElementLinkTableInfo
 
 internal class SectionDataElementChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<Section, DataElement>,
-) : ChildrenAppender<Section>() {
-    override fun appendChildren(m: Section): Section {
+) : BatchedChildrenAppender<Section, DataElement>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<DataElement>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: Section, children: List<DataElement>): Section {
         val builder = m.toBuilder()
-        builder.dataElements(linkChildStore.getChildren(m))
+        builder.dataElements(children)
         return builder.build()
     }
 
@@ -29,12 +29,15 @@
 package org.hisp.dhis.android.core.datastore.internal
 
 import io.reactivex.Observable
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.rx2.rxObservable
+import org.hisp.dhis.android.core.arch.api.executors.internal.APIDownloader
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
+import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
 import org.hisp.dhis.android.core.arch.call.D2Progress
 import org.hisp.dhis.android.core.arch.call.internal.D2ProgressManager
 import org.hisp.dhis.android.core.arch.helpers.Result
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.common.State
 import org.hisp.dhis.android.core.datastore.DataStoreEntry
 import org.hisp.dhis.android.core.maintenance.D2Error
@@ -48,6 +51,7 @@ internal class DataStoreDownloadCall(
     private val dataStoreEntryService: DataStoreService,
     private val dataStoreEntryHandler: DataStoreHandler,
     private val versionManager: DHISVersionManager,
+    private val apiDownloader: APIDownloader,
 ) {
     fun download(params: DataStoreDownloadParams): Observable<D2Progress> {
         return rxObservable {
@@ -81,54 +85,55 @@ internal class DataStoreDownloadCall(
         }
     }
 
-    private suspend fun downloadNamespace(namespace: String): Result<List<DataStoreEntry>, D2Error> {
-        return fetchNamespace(namespace).map { list ->
-            dataStoreEntryHandler.handleMany(namespace, list) { t -> t }
-            list
-        }
-    }
-
-    private suspend fun fetchNamespace(namespace: String): Result<List<DataStoreEntry>, D2Error> {
-        return if (versionManager.isGreaterOrEqualThan(DHISVersion.V2_38)) {
-            fetchNamespace38(namespace)
+    private suspend fun downloadNamespace(namespace: String) {
+        if (versionManager.isGreaterOrEqualThan(DHISVersion.V2_38)) {
+            downloadNamespace38(namespace)
         } else {
-            fetchNamespace37(namespace)
+            fetchNamespace37(namespace).map { list ->
+                dataStoreEntryHandler.handleMany(namespace, list) { t -> t }
+            }
         }
     }
 
-    private suspend fun fetchNamespace38(namespace: String): Result<List<DataStoreEntry>, D2Error> {
-        var pag = 1
-        var entries: Result<List<DataStoreEntry>, D2Error> = Result.Success(emptyList())
-        var lastPage: List<DataStoreEntry> = emptyList()
+    /**
+     * The pages of the namespace are persisted only once all of them have been downloaded, together with the removal
+     * of the orphan entries. A namespace failing on any page keeps its stored entries untouched instead of mixing
+     * them with the pages downloaded before the failure.
+     */
+    private suspend fun downloadNamespace38(namespace: String) {
+        val pages = try {
+            apiDownloader.downloadPagedFlow(PAGE_SIZE) { page, pageSize ->
+                fetchNamespacePage38(namespace, page, pageSize)
+            }.toList()
+        } catch (ignored: D2Error) {
+            // Namespaces failing to download are skipped, keeping the entries already stored for them
+            return
+        }
 
-        do {
-            val result = coroutineAPICallExecutor.wrap(storeError = false) {
-                dataStoreEntryService.getNamespaceValues38(namespace, pag, PAGE_SIZE)
-            }
-            result.fold(
-                onSuccess = { pagedEntry ->
-                    val pageEntries = pagedEntry.entries.map { keyValuePair ->
-                        val strValue = ObjectMapperFactory.objectMapper().writeValueAsString(keyValuePair.value)
-                        DataStoreEntry.builder()
-                            .namespace(namespace)
-                            .key(keyValuePair.key)
-                            .value(strValue)
-                            .syncState(State.SYNCED)
-                            .deleted(false)
-                            .build()
-                    }
+        val handledKeys = mutableSetOf<String>()
+        pages.forEach { pageEntries ->
+            dataStoreEntryHandler.handlePage(namespace, pageEntries)?.forEach { handledKeys.add(it.key()) }
+        }
+        dataStoreEntryHandler.cleanOrphan(namespace, handledKeys)
+    }
 
-                    entries = Result.Success((entries.getOrNull() ?: emptyList()) + pageEntries)
-                    lastPage = pageEntries
-                    pag++
-                },
-                onFailure = { t ->
-                    entries = Result.Failure(t)
-                },
-            )
-        } while (lastPage.size >= PAGE_SIZE && result.succeeded)
+    private suspend fun fetchNamespacePage38(namespace: String, page: Int, pageSize: Int): Payload<DataStoreEntry> {
+        val pagedEntry = coroutineAPICallExecutor.wrap(storeError = false) {
+            dataStoreEntryService.getNamespaceValues38(namespace, page, pageSize)
+        }.getOrThrow()
 
-        return entries
+        return Payload(
+            pagedEntry.entries.map { keyValuePair ->
+                val strValue = ObjectMapperRegistry.writer().writeValueAsString(keyValuePair.value)
+                DataStoreEntry.builder()
+                    .namespace(namespace)
+                    .key(keyValuePair.key)
+                    .value(strValue)
+                    .syncState(State.SYNCED)
+                    .deleted(false)
+                    .build()
+            },
+        )
     }
 
     private suspend fun fetchNamespace37(namespace: String): Result<List<DataStoreEntry>, D2Error> {
@@ -143,7 +148,7 @@ internal class DataStoreDownloadCall(
                 }
 
                 val value = keyResult.getOrThrow()
-                val strValue = ObjectMapperFactory.objectMapper().writeValueAsString(value)
+                val strValue = ObjectMapperRegistry.writer().writeValueAsString(value)
                 DataStoreEntry.builder()
                     .namespace(namespace)
                     .key(key)
@@ -48,9 +48,21 @@ internal class DataStoreHandler constructor(
         slaves: Collection<DataStoreEntry>?,
         transformer: (DataStoreEntry) -> DataStoreEntry,
     ) {
-        val entriesToHandle = filterUnsycnedEntries(masterUid, slaves)
+        val entriesToHandle = handlePage(masterUid, slaves)
+        cleanOrphan(masterUid, entriesToHandle?.map { it.key() })
+    }
+
+    /**
+     * Persists a page of entries of the namespace without removing the entries missing from it. Once all the pages
+     * have been handled, [cleanOrphan] must be called with the keys of all of them.
+     */
+    fun handlePage(
+        namespace: String,
+        entries: Collection<DataStoreEntry>?,
+    ): List<DataStoreEntry>? {
+        val entriesToHandle = filterUnsycnedEntries(namespace, entries)
         handleMany(entriesToHandle)
-        cleanOrphan(masterUid, entriesToHandle)
+        return entriesToHandle
     }
 
     override fun resetAllLinks() {
@@ -82,16 +94,16 @@ internal class DataStoreHandler constructor(
         }
     }
 
-    private fun cleanOrphan(
+    fun cleanOrphan(
         namespace: String,
-        slaves: Collection<DataStoreEntry>?,
+        keys: Collection<String>?,
     ) {
         val notInSlaves = WhereClauseBuilder().run {
             appendKeyStringValue(DataStoreEntryTableInfo.Columns.NAMESPACE, namespace)
             appendInKeyEnumValues(DataColumns.SYNC_STATE, listOf(State.SYNCED, State.SYNCED_VIA_SMS))
 
-            if (!slaves.isNullOrEmpty()) {
-                appendNotInKeyStringValues(DataStoreEntryTableInfo.Columns.KEY, slaves.map { it.key() })
+            if (!keys.isNullOrEmpty()) {
+                appendNotInKeyStringValues(DataStoreEntryTableInfo.Columns.KEY, keys)
             }
             build()
         }
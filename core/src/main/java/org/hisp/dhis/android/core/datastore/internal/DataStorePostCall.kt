@@ -36,7 +36,7 @@ import org.hisp.dhis.android.core.arch.call.internal.D2ProgressManager
 import org.hisp.dhis.android.core.arch.helpers.Result
 import org.hisp.dhis.android.core.arch.helpers.internal.DataStateHelper.errorIfOnline
 import org.hisp.dhis.android.core.arch.helpers.internal.DataStateHelper.forcedOrOwn
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.common.State
 import org.hisp.dhis.android.core.datastore.DataStoreEntry
 import org.hisp.dhis.android.core.imports.internal.HttpMessageResponse
@@ -139,6 +139,6 @@ internal class DataStorePostCall(
     }
 
     private fun readValue(entry: DataStoreEntry): JsonNode? {
-        return entry.value()?.let { ObjectMapperFactory.objectMapper().readTree(it) }
+        return entry.value()?.let { ObjectMapperRegistry.treeReader().readTree(it) }
     }
 }
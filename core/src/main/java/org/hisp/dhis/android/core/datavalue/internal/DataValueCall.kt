@@ -42,18 +42,26 @@ internal class DataValueCall(
 ) : QueryCall<DataValue, DataValueQuery> {
 
     override suspend fun download(query: DataValueQuery): List<DataValue> {
-        val b = query.bundle
         return apiDownloader.downloadListAsCoroutine(handler) {
-            service.getDataValues(
-                fields = DataValueFields.allFields,
-                lastUpdated = b.key.lastUpdatedStr(),
-                dataSetUids = commaSeparatedUids(b.dataSets),
-                periodIds = commaSeparatedCollectionValues(b.periodIds),
-                orgUnitUids = commaSeparatedCollectionValues(b.rootOrganisationUnitUids),
-                children = true,
-                paging = false,
-                includeDeleted = true,
-            ).dataValues
+            fetch(query)
         }
     }
+
+    suspend fun fetch(query: DataValueQuery): List<DataValue> {
+        val b = query.bundle
+        return service.getDataValues(
+            fields = DataValueFields.allFields,
+            lastUpdated = b.key.lastUpdatedStr(),
+            dataSetUids = commaSeparatedUids(b.dataSets),
+            periodIds = commaSeparatedCollectionValues(b.periodIds),
+            orgUnitUids = commaSeparatedCollectionValues(b.rootOrganisationUnitUids),
+            children = true,
+            paging = false,
+            includeDeleted = true,
+        ).dataValues
+    }
+
+    fun persist(dataValues: List<DataValue>) {
+        handler.handleMany(dataValues)
+    }
 }
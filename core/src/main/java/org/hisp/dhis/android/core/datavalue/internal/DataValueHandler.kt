@@ -27,20 +27,16 @@
  */
 package org.hisp.dhis.android.core.datavalue.internal
 
-import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
 import org.hisp.dhis.android.core.arch.handlers.internal.HandleAction
 import org.hisp.dhis.android.core.arch.handlers.internal.ObjectWithoutUidHandlerImpl
 import org.hisp.dhis.android.core.arch.helpers.CollectionsHelper
-import org.hisp.dhis.android.core.common.State
 import org.hisp.dhis.android.core.datavalue.DataValue
-import org.hisp.dhis.android.core.datavalue.DataValueTableInfo
 import org.koin.core.annotation.Singleton
-import java.util.Arrays
 
 @Singleton
 internal class DataValueHandler(
-    store: DataValueStore,
-) : ObjectWithoutUidHandlerImpl<DataValue>(store) {
+    private val dataValueStore: DataValueStore,
+) : ObjectWithoutUidHandlerImpl<DataValue>(dataValueStore) {
     override fun deleteOrPersist(o: DataValue): HandleAction {
         return if (CollectionsHelper.isDeleted(o)) {
             store.deleteWhereIfExists(o)
@@ -51,44 +47,16 @@ internal class DataValueHandler(
     }
 
     override fun beforeCollectionHandled(oCollection: Collection<DataValue>): Collection<DataValue> {
-        val dataValuesPendingToSync = dataValuesPendingToSync
-        val dataValuesToUpdate: MutableList<DataValue> = ArrayList()
-        for (dataValue in oCollection) {
-            if (!containsDataValue(dataValuesPendingToSync, dataValue)) {
-                dataValuesToUpdate.add(dataValue)
-            }
+        if (oCollection.isEmpty()) {
+            return oCollection
         }
-        return dataValuesToUpdate
-    }
 
-    @Suppress("TooGenericExceptionCaught")
-    private fun containsDataValue(dataValues: Collection<DataValue>, target: DataValue): Boolean {
-        return try {
-            for (item in dataValues) {
-                @Suppress("ComplexCondition")
-                if (item.dataElement() == target.dataElement() &&
-                    item.organisationUnit() == target.organisationUnit() &&
-                    item.period() == target.period() &&
-                    item.attributeOptionCombo() == target.attributeOptionCombo() &&
-                    item.categoryOptionCombo() == target.categoryOptionCombo()
-                ) {
-                    return true
-                }
-            }
-            false
-        } catch (e: NullPointerException) {
-            false
-        }
-    }
+        val keysPendingToSync = dataValueStore.selectPendingToSyncKeys()
 
-    private val dataValuesPendingToSync: List<DataValue>
-        get() {
-            val whereClause = WhereClauseBuilder()
-                .appendNotInKeyStringValues(
-                    DataValueTableInfo.Columns.SYNC_STATE,
-                    Arrays.asList(State.SYNCED.name, State.SYNCED_VIA_SMS.name),
-                )
-                .build()
-            return store.selectWhere(whereClause)
+        return if (keysPendingToSync.isEmpty()) {
+            oCollection
+        } else {
+            oCollection.filterNot { keysPendingToSync.contains(DataValueKey.from(it)) }
         }
+    }
 }
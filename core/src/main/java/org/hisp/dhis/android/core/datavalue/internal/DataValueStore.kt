@@ -48,4 +48,10 @@ internal interface DataValueStore : ObjectWithoutUidStore<DataValue> {
     fun isDeleted(dataValue: DataValue): Boolean
 
     fun existsInDataSet(dataValue: DataValue, dataSetUid: String): Boolean
+
+    /**
+     * Keys of the data values that have local changes not synced yet. Only the key columns are read, so the size of
+     * the data values does not matter.
+     */
+    fun selectPendingToSyncKeys(): Set<DataValueKey>
 }
@@ -105,7 +105,42 @@ internal class DataValueStoreImpl(
         return selectWhere(whereClauseBuilder.build()).isNotEmpty()
     }
 
+    override fun selectPendingToSyncKeys(): Set<DataValueKey> {
+        val whereClause = WhereClauseBuilder()
+            .appendNotInKeyStringValues(
+                DataValueTableInfo.Columns.SYNC_STATE,
+                listOf(State.SYNCED.name, State.SYNCED_VIA_SMS.name),
+            )
+            .build()
+        val query = "SELECT DISTINCT ${KEY_COLUMNS.joinToString(", ")} " +
+            "FROM ${DataValueTableInfo.TABLE_INFO.name()} WHERE $whereClause"
+
+        val keys = HashSet<DataValueKey>()
+        databaseAdapter.rawQuery(query).use { cursor ->
+            while (cursor.moveToNext()) {
+                keys.add(
+                    DataValueKey(
+                        dataElement = cursor.getString(0),
+                        period = cursor.getString(1),
+                        organisationUnit = cursor.getString(2),
+                        categoryOptionCombo = cursor.getString(3),
+                        attributeOptionCombo = cursor.getString(4),
+                    ),
+                )
+            }
+        }
+        return keys
+    }
+
     companion object {
+        private val KEY_COLUMNS = listOf(
+            DataValueTableInfo.Columns.DATA_ELEMENT,
+            DataValueTableInfo.Columns.PERIOD,
+            DataValueTableInfo.Columns.ORGANISATION_UNIT,
+            DataValueTableInfo.Columns.CATEGORY_OPTION_COMBO,
+            DataValueTableInfo.Columns.ATTRIBUTE_OPTION_COMBO,
+        )
+
         private val BINDER = StatementBinder { dataValue: DataValue, w: StatementWrapper ->
             w.bind(1, dataValue.dataElement())
             w.bind(2, dataValue.period())
@@ -27,11 +27,15 @@
  */
 package org.hisp.dhis.android.core.domain.aggregated.data.internal
 
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flow
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.call.D2ProgressSyncStatus
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
+import org.hisp.dhis.android.core.arch.helpers.Result
 import org.hisp.dhis.android.core.arch.helpers.UidsHelper.getUids
 import org.hisp.dhis.android.core.category.CategoryOptionComboTableInfo
 import org.hisp.dhis.android.core.category.internal.CategoryOptionComboStore
@@ -71,6 +75,11 @@ internal class AggregatedDataCall constructor(
         selectDataSetsAndDownload(progressManager).collect { emit(it) }
     }
 
+    /**
+     * Bundles are fetched concurrently and persisted in order, each one in its own transaction as soon as it and the
+     * previous ones have arrived. The next bundle is only requested once a previous one has been persisted, so no more
+     * than [MAX_CONCURRENT_BUNDLES] payloads are fetched or waiting to be persisted at the same time.
+     */
     private fun selectDataSetsAndDownload(
         progressManager: AggregatedD2ProgressManager,
     ): Flow<AggregatedD2Progress> {
@@ -82,52 +91,73 @@ internal class AggregatedDataCall constructor(
             progressManager.setDataSets(dataSets)
             emit(progressManager.getProgress())
 
-            for (bundle in bundles) {
-                downloadBundle(bundle)
+            coroutineScope {
+                val payloads = ArrayDeque<Deferred<Result<AggregatedDataBundlePayload, D2Error>>>()
+                bundles.take(MAX_CONCURRENT_BUNDLES).forEach { payloads.addLast(async { fetchBundle(it) }) }
 
-                bundle.dataSets.forEach {
-                    progressManager.completeDataSet(it.uid(), D2ProgressSyncStatus.SUCCESS)
-                    progressManager.increaseProgress(DataValue::class.java, false)
-                }
+                bundles.forEachIndexed { index, bundle ->
+                    payloads.removeFirst().await().getOrNull()?.let { persistBundle(bundle, it) }
+                    bundles.getOrNull(index + MAX_CONCURRENT_BUNDLES)?.let { next ->
+                        payloads.addLast(async { fetchBundle(next) })
+                    }
+
+                    bundle.dataSets.forEach {
+                        progressManager.completeDataSet(it.uid(), D2ProgressSyncStatus.SUCCESS)
+                        progressManager.increaseProgress(DataValue::class.java, false)
+                    }
 
-                emit(progressManager.getProgress())
+                    emit(progressManager.getProgress())
+                }
             }
             emit(progressManager.complete())
         }
     }
 
-    private suspend fun downloadBundle(
+    private suspend fun fetchBundle(
+        bundle: AggregatedDataCallBundle,
+    ): Result<AggregatedDataBundlePayload, D2Error> {
+        return coroutineCallExecutor.wrap(storeError = true) {
+            coroutineScope {
+                val completeRegistrationQuery = getCompleteRegistrationQuery(bundle)
+
+                val dataValues = async { dataValueCall.fetch(DataValueQuery(bundle)) }
+                val completeRegistrations = async { dsCompleteRegistrationCall.fetch(completeRegistrationQuery) }
+                val dataApprovals = async { fetchApproval(bundle) }
+
+                AggregatedDataBundlePayload(
+                    dataValues = dataValues.await(),
+                    completeRegistrationQuery = completeRegistrationQuery,
+                    completeRegistrations = completeRegistrations.await(),
+                    dataApprovals = dataApprovals.await(),
+                )
+            }
+        }
+    }
+
+    private suspend fun persistBundle(
         bundle: AggregatedDataCallBundle,
+        payload: AggregatedDataBundlePayload,
     ) {
         return try {
             coroutineCallExecutor.wrapTransactionally(cleanForeignKeyErrors = true) {
-                downloadDataValues(bundle)
-                downloadCompleteRegistration(bundle)
-                downloadApproval(bundle)
+                dataValueCall.persist(payload.dataValues)
+                dsCompleteRegistrationCall.persist(payload.completeRegistrations, payload.completeRegistrationQuery)
+                dataApprovalCall.persist(payload.dataApprovals)
                 updateAggregatedDataSync(bundle)
             }
         } catch (_: D2Error) {
         }
     }
 
-    private suspend fun downloadDataValues(
+    private fun getCompleteRegistrationQuery(
         bundle: AggregatedDataCallBundle,
-    ): List<DataValue> {
-        val dataValueQuery = DataValueQuery(bundle)
-        return dataValueCall.download(dataValueQuery)
-    }
-
-    private suspend fun downloadCompleteRegistration(
-        bundle: AggregatedDataCallBundle,
-    ): List<DataSetCompleteRegistration> {
-        val completeRegistrationQuery = DataSetCompleteRegistrationQuery(
+    ): DataSetCompleteRegistrationQuery {
+        return DataSetCompleteRegistrationQuery(
             dataSetUids = getUids(bundle.dataSets),
             periodIds = bundle.periodIds,
             rootOrgUnitUids = bundle.rootOrganisationUnitUids,
             lastUpdatedStr = bundle.key.lastUpdatedStr(),
         )
-
-        return dsCompleteRegistrationCall.download(completeRegistrationQuery)
     }
 
     private fun updateAggregatedDataSync(
@@ -148,7 +178,7 @@ internal class AggregatedDataCall constructor(
         }
     }
 
-    private suspend fun downloadApproval(
+    private suspend fun fetchApproval(
         bundle: AggregatedDataCallBundle,
     ): List<DataApproval> {
         val dataSetsWithWorkflow = bundle.dataSets.filter { it.workflow() != null }
@@ -165,7 +195,7 @@ internal class AggregatedDataCall constructor(
                 attributeOptionCombosUids = attributeOptionComboUids,
                 lastUpdatedStr = bundle.key.lastUpdatedStr(),
             )
-            dataApprovalCall.download(dataApprovalQuery)
+            dataApprovalCall.fetch(dataApprovalQuery)
         }
     }
 
@@ -180,4 +210,15 @@ internal class AggregatedDataCall constructor(
 
         return categoryOptionComboStore.selectWhere(whereClause).map { it.uid() }.toSet()
     }
+
+    private class AggregatedDataBundlePayload(
+        val dataValues: List<DataValue>,
+        val completeRegistrationQuery: DataSetCompleteRegistrationQuery,
+        val completeRegistrations: List<DataSetCompleteRegistration>,
+        val dataApprovals: List<DataApproval>,
+    )
+
+    companion object {
+        const val MAX_CONCURRENT_BUNDLES = 4
+    }
 }
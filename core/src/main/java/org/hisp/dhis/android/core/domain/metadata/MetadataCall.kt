@@ -27,10 +27,13 @@
  */
 package org.hisp.dhis.android.core.domain.metadata
 
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.channelFlow
 import kotlinx.coroutines.flow.collect
-import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.call.D2Progress
@@ -70,6 +73,7 @@ import org.hisp.dhis.android.core.user.internal.UserModuleDownloader
 import org.hisp.dhis.android.core.visualization.Visualization
 import org.hisp.dhis.android.core.visualization.internal.VisualizationModuleDownloader
 import org.koin.core.annotation.Singleton
+import java.util.concurrent.atomic.AtomicInteger
 
 @Suppress("LongParameterList")
 @Singleton
@@ -109,8 +113,8 @@ internal class MetadataCall(
         coroutineAPICallExecutor.wrapTransactionally(cleanForeignKeyErrors = true) {
             try {
                 systemInfoDownloader.downloadWithProgressManager(progressManager).also { send(it) }
-                executeIndependentCalls(progressManager).collect { send(it) }
-                executeUserCallAndChildren(progressManager).collect { send(it) }
+                databaseAdapter.delete(ForeignKeyViolationTableInfo.TABLE_INFO.name())
+                executeSteps(metadataSteps(), progressManager) { send(it) }
             } catch (e: Exception) {
                 if (e !is D2Error && e.cause is D2Error) {
                     throw e.cause!!
@@ -121,52 +125,74 @@ internal class MetadataCall(
         }
     }
 
-    private fun executeIndependentCalls(progressManager: D2ProgressManager): Flow<D2Progress> = flow {
-        databaseAdapter.delete(ForeignKeyViolationTableInfo.TABLE_INFO.name())
-
-        systemSettingDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(SystemSetting::class.java, false))
-
-        useCaseDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(StockUseCase::class.java, false))
-
-        constantModuleDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(Constant::class.java, false))
-
-        smsModule.configCase().refreshMetadataIdsCallable().blockingAwait()
-        emit(progressManager.increaseProgress(SmsModule::class.java, false))
+    /**
+     * Downloaders and the downloaders whose persisted metadata they read. Steps must be declared after their
+     * dependencies.
+     */
+    private fun metadataSteps(): List<MetadataStep> {
+        lateinit var user: User
+
+        return listOf(
+            MetadataStep(SystemSetting::class.java) { systemSettingDownloader.downloadMetadata() },
+            MetadataStep(StockUseCase::class.java) { useCaseDownloader.downloadMetadata() },
+            MetadataStep(Constant::class.java) { constantModuleDownloader.downloadMetadata() },
+            MetadataStep(SmsModule::class.java) { smsModule.configCase().refreshMetadataIdsCallable().blockingAwait() },
+            MetadataStep(User::class.java) { user = userModuleDownloader.downloadMetadata() },
+            MetadataStep(OrganisationUnit::class.java, User::class.java) {
+                organisationUnitModuleDownloader.downloadMetadata(user)
+            },
+            MetadataStep(Program::class.java, OrganisationUnit::class.java) { programDownloader.downloadMetadata() },
+            MetadataStep(DataSet::class.java, OrganisationUnit::class.java) { dataSetDownloader.downloadMetadata() },
+            MetadataStep(Category::class.java, Program::class.java, DataSet::class.java) {
+                categoryDownloader.downloadMetadata()
+            },
+            MetadataStep(Visualization::class.java, SystemSetting::class.java) {
+                visualizationDownloader.downloadMetadata()
+            },
+            MetadataStep(ProgramIndicator::class.java, Program::class.java, Visualization::class.java) {
+                programIndicatorModuleDownloader.downloadMetadata()
+            },
+            MetadataStep(Indicator::class.java, DataSet::class.java, Visualization::class.java) {
+                indicatorModuleDownloader.downloadMetadata()
+            },
+            MetadataStep(
+                LegendSet::class.java,
+                Program::class.java,
+                DataSet::class.java,
+                Indicator::class.java,
+                ProgramIndicator::class.java,
+            ) {
+                legendSetModuleDownloader.downloadMetadata()
+            },
+            MetadataStep(ExpressionDimensionItem::class.java, Visualization::class.java) {
+                expressionDimensionItemModuleDownloader.downloadMetadata()
+            },
+        )
     }
 
-    private fun executeUserCallAndChildren(progressManager: D2ProgressManager): Flow<D2Progress> = flow {
-        val user = userModuleDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(User::class.java, false))
-
-        organisationUnitModuleDownloader.downloadMetadata(user)
-        emit(progressManager.increaseProgress(OrganisationUnit::class.java, false))
-
-        programDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(Program::class.java, false))
-
-        dataSetDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(DataSet::class.java, false))
-
-        categoryDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(Category::class.java, false))
-
-        visualizationDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(Visualization::class.java, false))
-
-        programIndicatorModuleDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(ProgramIndicator::class.java, false))
-
-        indicatorModuleDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(Indicator::class.java, false))
-
-        legendSetModuleDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(LegendSet::class.java, false))
-
-        expressionDimensionItemModuleDownloader.downloadMetadata()
-        emit(progressManager.increaseProgress(ExpressionDimensionItem::class.java, true))
+    /**
+     * Launches every step as soon as its dependencies are done. The block of wrapTransactionally runs on the single
+     * database thread, so the steps only overlap while they are suspended waiting for the network and the writes
+     * keep being serialized inside the transaction.
+     */
+    private suspend fun executeSteps(
+        steps: List<MetadataStep>,
+        progressManager: D2ProgressManager,
+        emitProgress: suspend (D2Progress) -> Unit,
+    ) = coroutineScope {
+        val pendingSteps = AtomicInteger(steps.size)
+        val launchedSteps = mutableMapOf<Class<*>, Job>()
+
+        steps.forEach { step ->
+            val dependencies = step.dependencies.map { launchedSteps.getValue(it) }
+
+            launchedSteps[step.resource] = launch {
+                dependencies.joinAll()
+                step.download()
+                val isComplete = pendingSteps.decrementAndGet() == 0
+                emitProgress(progressManager.increaseProgress(step.resource, isComplete))
+            }
+        }
     }
 
     private suspend fun changeEncryptionIfRequiredCoroutines() {
@@ -185,4 +211,10 @@ internal class MetadataCall(
     fun blockingDownload() {
         runBlocking { download().collect() }
     }
+
+    private class MetadataStep(
+        val resource: Class<*>,
+        vararg val dependencies: Class<*>,
+        val download: suspend () -> Unit,
+    )
 }
@@ -56,11 +56,21 @@ internal class EnrollmentImportHandler(
     private val dataStatePropagator: DataStatePropagator,
 ) {
 
-    @Suppress("NestedBlockDepth")
     fun handleEnrollmentImportSummary(
         enrollmentImportSummaries: List<EnrollmentImportSummary?>?,
         enrollments: List<Enrollment>,
         teiState: State,
+    ): TEIWebResponseHandlerSummary {
+        return dataStatePropagator.deferPropagation {
+            handleEnrollmentImportSummaryInternal(enrollmentImportSummaries, enrollments, teiState)
+        }
+    }
+
+    @Suppress("NestedBlockDepth")
+    private fun handleEnrollmentImportSummaryInternal(
+        enrollmentImportSummaries: List<EnrollmentImportSummary?>?,
+        enrollments: List<Enrollment>,
+        teiState: State,
     ): TEIWebResponseHandlerSummary {
         val summary = TEIWebResponseHandlerSummary()
 
@@ -29,6 +29,7 @@ package org.hisp.dhis.android.core.event.internal
 
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.arch.handlers.internal.IdentifiableDataHandlerParams
 import org.hisp.dhis.android.core.arch.helpers.Result
 import org.hisp.dhis.android.core.event.Event
@@ -40,8 +41,10 @@ import org.hisp.dhis.android.core.systeminfo.internal.SystemInfoModuleDownloader
 import org.hisp.dhis.android.core.trackedentity.internal.TrackerParentCallFactory
 import org.hisp.dhis.android.core.tracker.exporter.TrackerAPIQuery
 import org.hisp.dhis.android.core.tracker.exporter.TrackerDownloadCall
+import org.hisp.dhis.android.core.tracker.exporter.TrackerDownloadCheckpointManager
 import org.hisp.dhis.android.core.user.internal.UserOrganisationUnitLinkStore
 import org.koin.core.annotation.Singleton
+import java.util.Date
 
 @Singleton
 internal class EventDownloadCall internal constructor(
@@ -52,12 +55,14 @@ internal class EventDownloadCall internal constructor(
     private val eventQueryBundleFactory: EventQueryBundleFactory,
     private val trackerParentCallFactory: TrackerParentCallFactory,
     private val persistenceCallFactory: EventPersistenceCallFactory,
+    checkpointManager: TrackerDownloadCheckpointManager,
     private val lastUpdatedManager: EventLastUpdatedManager,
 ) : TrackerDownloadCall<Event, EventQueryBundle>(
     userOrganisationUnitLinkStore,
     systemInfoModuleDownloader,
     relationshipDownloadAndPersistCallFactory,
     coroutineAPICallExecutor,
+    checkpointManager,
 ) {
 
     override fun getBundles(params: ProgramDataDownloadParams): List<EventQueryBundle> {
@@ -70,6 +75,12 @@ internal class EventDownloadCall internal constructor(
         }
     }
 
+    override suspend fun getPayloadStreamResult(query: TrackerAPIQuery): Result<PayloadStream<Event>, D2Error> {
+        return coroutineAPICallExecutor.wrap(storeError = true) {
+            trackerParentCallFactory.getEventCall().getCollectionStream(query)
+        }
+    }
+
     override suspend fun persistItems(
         items: List<Event>,
         params: IdentifiableDataHandlerParams,
@@ -78,8 +89,8 @@ internal class EventDownloadCall internal constructor(
         persistenceCallFactory.persistEvents(items, relatives)
     }
 
-    override fun updateLastUpdated(bundle: EventQueryBundle) {
-        lastUpdatedManager.update(bundle)
+    override fun updateLastUpdated(bundle: EventQueryBundle, serverDate: Date?) {
+        lastUpdatedManager.update(bundle, serverDate)
     }
 
     override suspend fun queryByUids(
@@ -108,7 +119,7 @@ internal class EventDownloadCall internal constructor(
                 program = eventQuery.commonParams.program,
             )
 
-            persistItems(items, params = persistParams, relatives)
+            persistItemsTransactionally(items, params = persistParams, relatives)
 
             result.count += items.size
         } catch (d2Error: D2Error) {
@@ -28,6 +28,7 @@
 package org.hisp.dhis.android.core.event.internal
 
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.event.Event
 import org.hisp.dhis.android.core.tracker.exporter.TrackerAPIQuery
 
@@ -35,6 +36,8 @@ internal abstract class EventEndpointCallFactory {
 
     abstract suspend fun getCollectionCall(eventQuery: TrackerAPIQuery): Payload<Event>
 
+    abstract suspend fun getCollectionStream(eventQuery: TrackerAPIQuery): PayloadStream<Event>
+
     abstract suspend fun getRelationshipEntityCall(uid: String): Payload<Event>
 
     protected fun getUidStr(query: TrackerAPIQuery): String? {
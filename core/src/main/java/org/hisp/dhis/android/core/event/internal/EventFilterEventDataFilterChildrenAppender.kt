@@ -31,17 +31,22 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.event.EventDataFilter
 import org.hisp.dhis.android.core.event.EventFilter
 
 internal class EventFilterEventDataFilterChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<EventFilter, EventDataFilter>,
-) : ChildrenAppender<EventFilter>() {
-    override fun appendChildren(m: EventFilter): EventFilter {
+) : BatchedChildrenAppender<EventFilter, EventDataFilter>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<EventDataFilter>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: EventFilter, children: List<EventDataFilter>): EventFilter {
         return if (m.eventQueryCriteria() != null) {
             val criteriaBuilder = m.eventQueryCriteria()!!.toBuilder()
-            criteriaBuilder.dataFilters(childStore.getChildren(m))
+            criteriaBuilder.dataFilters(children)
             return m.toBuilder().eventQueryCriteria(criteriaBuilder.build()).build()
         } else {
             m
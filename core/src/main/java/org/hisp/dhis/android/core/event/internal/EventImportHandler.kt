@@ -31,6 +31,7 @@ import org.hisp.dhis.android.core.arch.db.stores.internal.StoreUtils.getSyncStat
 import org.hisp.dhis.android.core.arch.handlers.internal.HandleAction
 import org.hisp.dhis.android.core.common.State
 import org.hisp.dhis.android.core.common.internal.DataStatePropagator
+import org.hisp.dhis.android.core.common.internal.DataStateUidHolder
 import org.hisp.dhis.android.core.enrollment.internal.EnrollmentStore
 import org.hisp.dhis.android.core.event.Event
 import org.hisp.dhis.android.core.event.EventTableInfo
@@ -54,10 +55,19 @@ internal class EventImportHandler constructor(
     private val dataStatePropagator: DataStatePropagator,
 ) {
 
-    @Suppress("NestedBlockDepth")
     fun handleEventImportSummaries(
         eventImportSummaries: List<EventImportSummary?>?,
         events: List<Event>,
+    ): TEIWebResponseHandlerSummary {
+        return dataStatePropagator.deferPropagation {
+            handleEventImportSummariesInternal(eventImportSummaries, events)
+        }
+    }
+
+    @Suppress("NestedBlockDepth")
+    private fun handleEventImportSummariesInternal(
+        eventImportSummaries: List<EventImportSummary?>?,
+        events: List<Event>,
     ): TEIWebResponseHandlerSummary {
         val summary = TEIWebResponseHandlerSummary()
 
@@ -96,13 +106,13 @@ internal class EventImportHandler constructor(
         val enrollmentUids = events.mapNotNull { it.enrollment() }.distinct()
         val teiUids = enrollmentUids.mapNotNull { enrollmentStore.selectByUid(it)?.trackedEntityInstance() }.distinct()
 
-        enrollmentUids.forEach {
-            dataStatePropagator.refreshEnrollmentAggregatedSyncState(it)
-        }
-
-        teiUids.forEach {
-            dataStatePropagator.refreshTrackedEntityInstanceAggregatedSyncState(it)
-        }
+        dataStatePropagator.refreshAggregatedSyncStates(
+            DataStateUidHolder(
+                trackedEntities = teiUids,
+                enrollments = enrollmentUids,
+                events = emptyList(),
+            ),
+        )
 
         return summary
     }
@@ -30,6 +30,7 @@ package org.hisp.dhis.android.core.event.internal
 import org.hisp.dhis.android.core.resource.internal.ResourceHandler
 import org.hisp.dhis.android.core.trackedentity.internal.TrackerSyncLastUpdatedManager
 import org.koin.core.annotation.Singleton
+import java.util.Date
 
 @Singleton
 internal class EventLastUpdatedManager(
@@ -37,12 +38,12 @@ internal class EventLastUpdatedManager(
     private val resourceHandler: ResourceHandler,
 ) : TrackerSyncLastUpdatedManager<EventSync>(store) {
 
-    fun update(bundle: EventQueryBundle) {
+    fun update(bundle: EventQueryBundle, serverDate: Date?) {
         val sync = EventSync.builder()
             .program(bundle.commonParams().program)
             .organisationUnitIdsHash(bundle.orgUnits().toSet().hashCode())
             .downloadLimit(bundle.commonParams().limit)
-            .lastUpdated(resourceHandler.serverDate)
+            .lastUpdated(serverDate ?: resourceHandler.serverDate)
             .build()
         super.update(sync)
     }
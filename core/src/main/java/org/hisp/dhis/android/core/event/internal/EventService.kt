@@ -30,6 +30,7 @@ package org.hisp.dhis.android.core.event.internal
 import org.hisp.dhis.android.core.arch.api.fields.internal.Fields
 import org.hisp.dhis.android.core.arch.api.filters.internal.Which
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.event.Event
 import org.hisp.dhis.android.core.imports.internal.EventWebResponse
 import retrofit2.http.*
@@ -66,6 +67,21 @@ internal interface EventService {
         @Query(EVENT) eventUid: String? = null,
     ): Payload<Event>
 
+    @GET(EVENTS)
+    suspend fun streamEvents(
+        @Query(FIELDS) @Which fields: Fields<Event>,
+        @Query(ORG_UNIT) orgUnit: String?,
+        @Query(OU_MODE) orgUnitMode: String?,
+        @Query(PROGRAM) program: String?,
+        @Query(EVENT_START_DATE) startDate: String?,
+        @Query(PAGING) paging: Boolean,
+        @Query(PAGE) page: Int,
+        @Query(PAGE_SIZE) pageSize: Int,
+        @Query(LAST_UPDATED_START_DATE) lastUpdatedStartDate: String?,
+        @Query(INCLUDE_DELETED) includeDeleted: Boolean,
+        @Query(EVENT) eventUid: String?,
+    ): PayloadStream<Event>
+
     @GET("$EVENTS/{$EVENT_UID}")
     suspend fun getEvent(
         @Path(EVENT_UID) eventUid: String,
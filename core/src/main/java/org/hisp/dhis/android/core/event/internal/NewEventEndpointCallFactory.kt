@@ -29,6 +29,7 @@ package org.hisp.dhis.android.core.event.internal
 
 import org.hisp.dhis.android.core.arch.api.payload.internal.NTIPayload
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.event.Event
 import org.hisp.dhis.android.core.event.NewTrackerImporterEvent
 import org.hisp.dhis.android.core.event.NewTrackerImporterEventTransformer
@@ -58,6 +59,22 @@ internal class NewEventEndpointCallFactory(
         ).let { mapPayload(it) }
     }
 
+    override suspend fun getCollectionStream(eventQuery: TrackerAPIQuery): PayloadStream<Event> {
+        return service.streamEvents(
+            fields = NewEventFields.allFields,
+            orgUnit = eventQuery.orgUnit,
+            orgUnitMode = eventQuery.commonParams.ouMode.name,
+            program = eventQuery.commonParams.program,
+            occurredAfter = getEventStartDate(eventQuery),
+            paging = true,
+            page = eventQuery.page,
+            pageSize = eventQuery.pageSize,
+            updatedAfter = eventQuery.lastUpdatedStr,
+            includeDeleted = true,
+            eventUid = getUidStr(eventQuery),
+        ).map { NewTrackerImporterEventTransformer.deTransform(it) }
+    }
+
     override suspend fun getRelationshipEntityCall(uid: String): Payload<Event> {
         return service.getEventSingle(
             eventUid = uid,
@@ -28,6 +28,7 @@
 package org.hisp.dhis.android.core.event.internal
 
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.event.Event
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitMode
 import org.hisp.dhis.android.core.tracker.exporter.TrackerAPIQuery
@@ -54,6 +55,22 @@ internal class OldEventEndpointCallFactory(
         )
     }
 
+    override suspend fun getCollectionStream(eventQuery: TrackerAPIQuery): PayloadStream<Event> {
+        return service.streamEvents(
+            fields = EventFields.allFields,
+            orgUnit = eventQuery.orgUnit,
+            orgUnitMode = eventQuery.commonParams.ouMode.name,
+            program = eventQuery.commonParams.program,
+            startDate = getEventStartDate(eventQuery),
+            paging = true,
+            page = eventQuery.page,
+            pageSize = eventQuery.pageSize,
+            lastUpdatedStartDate = eventQuery.lastUpdatedStr,
+            includeDeleted = true,
+            eventUid = getUidStr(eventQuery),
+        )
+    }
+
     override suspend fun getRelationshipEntityCall(uid: String): Payload<Event> {
         return service.getEventSingle(
             eventUid = uid,
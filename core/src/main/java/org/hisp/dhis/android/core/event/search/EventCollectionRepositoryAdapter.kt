@@ -35,6 +35,7 @@ import org.hisp.dhis.android.core.event.EventDataFilter
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitCollectionRepository
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitMode
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStore
 import org.hisp.dhis.android.core.user.AuthenticatedUserObjectRepository
 import org.koin.core.annotation.Singleton
 import java.util.*
@@ -44,6 +45,7 @@ import org.hisp.dhis.android.core.event.search.EventQueryScopeOrderColumn.Type a
 internal class EventCollectionRepositoryAdapter(
     private val eventCollectionRepository: EventCollectionRepository,
     private val organisationUnitCollectionRepository: OrganisationUnitCollectionRepository,
+    private val organisationUnitClosureStore: OrganisationUnitClosureStore,
     private val userRepository: AuthenticatedUserObjectRepository,
     private val datePeriodHelper: DateFilterPeriodHelper,
 ) {
@@ -142,9 +144,7 @@ internal class EventCollectionRepositoryAdapter(
                     organisationUnitCollectionRepository.byParentUid().eq(orgUnit).blockingGetUids() + orgUnit
                 }?.flatten()
             OrganisationUnitMode.DESCENDANTS ->
-                scope.orgUnits()?.map { orgUnit ->
-                    organisationUnitCollectionRepository.byPath().like(orgUnit).blockingGetUids()
-                }?.flatten()
+                scope.orgUnits()?.let { organisationUnitClosureStore.selectDescendantsOrSelfUids(it) }
             OrganisationUnitMode.SELECTED ->
                 scope.orgUnits()
         }
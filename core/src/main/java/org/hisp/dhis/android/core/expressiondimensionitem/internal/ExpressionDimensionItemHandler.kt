@@ -34,4 +34,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class ExpressionDimensionItemHandler constructor(
     store: ExpressionDimensionItemStore,
-) : IdentifiableHandlerImpl<ExpressionDimensionItem>(store)
+) : IdentifiableHandlerImpl<ExpressionDimensionItem>(store) {
+
+    override val supportsBulkPersistence = true
+}
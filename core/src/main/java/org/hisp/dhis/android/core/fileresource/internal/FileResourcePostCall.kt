@@ -35,7 +35,7 @@ import okhttp3.MultipartBody
 import okhttp3.RequestBody.Companion.asRequestBody
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory.objectMapper
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.common.State
 import org.hisp.dhis.android.core.datavalue.DataValueTableInfo
 import org.hisp.dhis.android.core.datavalue.internal.DataValueStore
@@ -126,7 +126,8 @@ internal class FileResourcePostCall(
 
     @Throws(IOException::class)
     private fun getDownloadedFileResource(responseBody: String): FileResource {
-        val fileResourceResponse = objectMapper().readValue(responseBody, FileResourceResponse::class.java)
+        val fileResourceResponse = ObjectMapperRegistry.reader(FileResourceResponse::class.java)
+            .readValue<FileResourceResponse>(responseBody)
         return fileResourceResponse.response()!!.fileResource()!!
     }
 
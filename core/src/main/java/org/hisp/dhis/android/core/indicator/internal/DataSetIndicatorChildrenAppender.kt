@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.dataset.DataSet
 import org.hisp.dhis.android.core.indicator.DataSetIndicatorLinkTableInfo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.indicator.IndicatorTableInfo.TABLE_INFO
 
 internal class DataSetIndicatorChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<DataSet, Indicator>,
-) : ChildrenAppender<DataSet>() {
-    override fun appendChildren(m: DataSet): DataSet {
+) : BatchedChildrenAppender<DataSet, Indicator>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<Indicator>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: DataSet, children: List<Indicator>): DataSet {
         val builder = m.toBuilder()
-        builder.indicators(linkChildStore.getChildren(m))
+        builder.indicators(children)
         return builder.build()
     }
 
@@ -31,17 +31,22 @@ package org.hisp.dhis.android.core.indicator.internal
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.ObjectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
+import org.hisp.dhis.android.core.common.ObjectWithUid
 import org.hisp.dhis.android.core.indicator.Indicator
 import org.hisp.dhis.android.core.indicator.IndicatorLegendSetLinkTableInfo
 
 internal class IndicatorLegendSetChildrenAppender(
     private val linkChildStore: ObjectWithUidChildStore<Indicator>,
-) : ChildrenAppender<Indicator>() {
+) : BatchedChildrenAppender<Indicator, ObjectWithUid>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
 
-    override fun appendChildren(indicator: Indicator): Indicator {
+    override fun appendChildren(indicator: Indicator, children: List<ObjectWithUid>): Indicator {
         val builder = indicator.toBuilder()
-        builder.legendSets(linkChildStore.getChildren(indicator))
+        builder.legendSets(children)
         return builder.build()
     }
 
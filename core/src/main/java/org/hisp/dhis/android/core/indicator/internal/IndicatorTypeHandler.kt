@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class IndicatorTypeHandler(
     store: IndicatorTypeStore,
-) : IdentifiableHandlerImpl<IndicatorType>(store)
+) : IdentifiableHandlerImpl<IndicatorType>(store) {
+
+    override val supportsBulkPersistence = true
+}
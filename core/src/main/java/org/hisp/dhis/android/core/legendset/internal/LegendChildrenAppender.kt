@@ -31,16 +31,21 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.legendset.Legend
 import org.hisp.dhis.android.core.legendset.LegendSet
 
 internal class LegendChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<LegendSet, Legend>,
-) : ChildrenAppender<LegendSet>() {
-    override fun appendChildren(m: LegendSet): LegendSet {
+) : BatchedChildrenAppender<LegendSet, Legend>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<Legend>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: LegendSet, children: List<Legend>): LegendSet {
         val builder = m.toBuilder()
-        builder.legends(childStore.getChildren(m))
+        builder.legends(children)
         return builder.build()
     }
 
@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class LegendHandler(
     store: LegendStore,
-) : IdentifiableHandlerImpl<Legend>(store)
+) : IdentifiableHandlerImpl<Legend>(store) {
+
+    override val supportsBulkPersistence = true
+}
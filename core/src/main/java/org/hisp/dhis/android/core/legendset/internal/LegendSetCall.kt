@@ -40,7 +40,7 @@ internal class LegendSetCall(
     private val apiDownloader: APIDownloader,
 ) : UidsCallCoroutines<LegendSet> {
     override suspend fun download(uids: Set<String>): List<LegendSet> {
-        return apiDownloader.downloadPartitioned(uids, MAX_UID_LIST_SIZE, handler) { partitionUids ->
+        return apiDownloader.downloadPartitionedIncrementally(uids, MAX_UID_LIST_SIZE, handler) { partitionUids ->
             service.getLegendSets(LegendSetFields.allFields, LegendSetFields.uid.`in`(partitionUids), false)
         }
     }
@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter;
 import org.hisp.dhis.android.core.arch.db.stores.internal.IdentifiableObjectStore;
 import org.hisp.dhis.android.core.arch.helpers.UidsHelper;
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit;
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl;
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl;
 import org.hisp.dhis.android.core.program.Program;
 import org.hisp.dhis.android.core.program.ProgramRule;
@@ -98,7 +99,7 @@ public class PerformanceHintsService {
                                                  int organisationUnitThreshold,
                                                  int programRulesPerProgramThreshold) {
         return new PerformanceHintsService(
-                new OrganisationUnitStoreImpl(databaseAdapter),
+                new OrganisationUnitStoreImpl(databaseAdapter, new OrganisationUnitClosureStoreImpl(databaseAdapter)),
                 new ProgramStoreImpl(databaseAdapter),
                 new ProgramRuleStoreImpl(databaseAdapter),
                 organisationUnitThreshold,
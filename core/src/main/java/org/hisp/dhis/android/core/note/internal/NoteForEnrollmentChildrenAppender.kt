@@ -31,16 +31,21 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.enrollment.Enrollment
 import org.hisp.dhis.android.core.note.Note
 
 internal class NoteForEnrollmentChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<Enrollment, Note>,
-) : ChildrenAppender<Enrollment>() {
-    override fun appendChildren(m: Enrollment): Enrollment {
+) : BatchedChildrenAppender<Enrollment, Note>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<Note>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: Enrollment, children: List<Note>): Enrollment {
         val builder = m.toBuilder()
-        builder.notes(childStore.getChildren(m))
+        builder.notes(children)
         return builder.build()
     }
 
@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class NoteHandler(
     store: NoteStore,
-) : IdentifiableHandlerImpl<Note>(store)
+) : IdentifiableHandlerImpl<Note>(store) {
+
+    override val supportsBulkPersistence = true
+}
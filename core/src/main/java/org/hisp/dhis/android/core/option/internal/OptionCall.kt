@@ -40,7 +40,7 @@ class OptionCall internal constructor(
     private val apiDownloader: APIDownloader,
 ) : UidsCallCoroutines<Option> {
     override suspend fun download(uids: Set<String>): List<Option> {
-        return apiDownloader.downloadPartitioned(
+        return apiDownloader.downloadPartitionedIncrementally(
             uids,
             MAX_UID_LIST_SIZE,
             handler,
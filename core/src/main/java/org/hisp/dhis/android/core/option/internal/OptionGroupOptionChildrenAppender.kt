@@ -31,17 +31,23 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.ObjectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.objectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
+import org.hisp.dhis.android.core.common.ObjectWithUid
 import org.hisp.dhis.android.core.option.OptionGroup
 import org.hisp.dhis.android.core.option.OptionGroupOptionLinkTableInfo
 import org.hisp.dhis.android.core.option.OptionTableInfo
 
 internal class OptionGroupOptionChildrenAppender private constructor(
     private val childStore: ObjectWithUidChildStore<OptionGroup>,
-) : ChildrenAppender<OptionGroup>() {
-    override fun appendChildren(m: OptionGroup): OptionGroup {
+) : BatchedChildrenAppender<OptionGroup, ObjectWithUid>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: OptionGroup, children: List<ObjectWithUid>): OptionGroup {
         val builder = m.toBuilder()
-        builder.options(childStore.getChildren(m))
+        builder.options(children)
         return builder.build()
     }
 
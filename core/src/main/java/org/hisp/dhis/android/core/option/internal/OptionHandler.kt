@@ -37,6 +37,8 @@ internal class OptionHandler constructor(
     private val optionCleaner: OptionSubCollectionCleaner,
 ) : IdentifiableHandlerImpl<Option>(optionStore) {
 
+    override val supportsBulkPersistence = true
+
     override fun afterCollectionHandled(oCollection: Collection<Option>?) {
         optionCleaner.deleteNotPresent(oCollection)
     }
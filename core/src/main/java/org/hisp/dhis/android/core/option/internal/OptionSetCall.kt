@@ -44,7 +44,11 @@ internal class OptionSetCall(
     }
 
     override suspend fun download(uids: Set<String>): List<OptionSet> {
-        return apiDownloader.downloadPartitioned(uids, MAX_UID_LIST_SIZE, handler) { partitionUids: Set<String> ->
+        return apiDownloader.downloadPartitionedIncrementally(
+            uids,
+            MAX_UID_LIST_SIZE,
+            handler,
+        ) { partitionUids: Set<String> ->
             service.optionSets(OptionSetFields.allFields, OptionSetFields.uid.`in`(partitionUids), false)
         }
     }
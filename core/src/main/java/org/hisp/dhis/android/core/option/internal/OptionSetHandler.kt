@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class OptionSetHandler(
     store: OptionSetStore,
-) : IdentifiableHandlerImpl<OptionSet>(store)
+) : IdentifiableHandlerImpl<OptionSet>(store) {
+
+    override val supportsBulkPersistence = true
+}
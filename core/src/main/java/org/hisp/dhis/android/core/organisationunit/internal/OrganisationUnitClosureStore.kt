@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.organisationunit.internal
+
+import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitClosureTableInfo
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitClosureTableInfo.Columns
+
+/**
+ * Keeps the OrganisationUnitClosure table in sync with the organisation units persisted by [OrganisationUnitStore]
+ * and builds the queries to resolve descendants through it, which can use its (ancestor, organisationUnit) index
+ * instead of matching the path of every organisation unit.
+ */
+internal interface OrganisationUnitClosureStore {
+
+    fun updateHierarchy(organisationUnits: Collection<OrganisationUnit>)
+
+    fun selectDescendantsOrSelfUids(ancestorUids: Collection<String>): List<String>
+
+    companion object {
+        private val TABLE_NAME = OrganisationUnitClosureTableInfo.TABLE_INFO.name()
+
+        /**
+         * Subquery returning the given organisation units and their descendants down to [maxDepth] levels below
+         * them, or all of them if [maxDepth] is null.
+         */
+        fun descendantsOrSelfQuery(ancestorUids: Collection<String>, maxDepth: Int? = null): String {
+            val whereClause = WhereClauseBuilder()
+                .appendInKeyStringValues(Columns.ANCESTOR, ancestorUids)
+                .apply { maxDepth?.let { appendKeyOperatorValue(Columns.DEPTH, "<=", it.toString()) } }
+                .build()
+
+            return "SELECT ${Columns.ORGANISATION_UNIT} FROM $TABLE_NAME WHERE $whereClause"
+        }
+
+        /**
+         * Subquery returning the descendants placed exactly [depth] levels below the given organisation units.
+         */
+        fun descendantsAtDepthQuery(ancestorUids: Collection<String>, depth: Int): String {
+            val whereClause = WhereClauseBuilder()
+                .appendInKeyStringValues(Columns.ANCESTOR, ancestorUids)
+                .appendKeyNumberValue(Columns.DEPTH, depth)
+                .build()
+
+            return "SELECT ${Columns.ORGANISATION_UNIT} FROM $TABLE_NAME WHERE $whereClause"
+        }
+    }
+}
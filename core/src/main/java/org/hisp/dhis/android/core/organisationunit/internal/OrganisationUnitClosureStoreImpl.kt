@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.organisationunit.internal
+
+import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
+import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitClosureTableInfo
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitClosureTableInfo.Columns
+import org.koin.core.annotation.Singleton
+
+@Singleton
+internal class OrganisationUnitClosureStoreImpl(
+    private val databaseAdapter: DatabaseAdapter,
+) : OrganisationUnitClosureStore {
+
+    override fun updateHierarchy(organisationUnits: Collection<OrganisationUnit>) {
+        if (organisationUnits.isEmpty()) {
+            return
+        }
+
+        organisationUnits.chunked(QUERY_CHUNK_SIZE).forEach { chunk ->
+            val whereClause = WhereClauseBuilder()
+                .appendInKeyStringValues(Columns.ORGANISATION_UNIT, chunk.map { it.uid() })
+                .build()
+            databaseAdapter.delete(TABLE_NAME, whereClause, null)
+        }
+
+        organisationUnits.flatMap { getClosureRows(it) }.chunked(INSERT_CHUNK_SIZE).forEach { rows ->
+            insertRows(rows)
+        }
+    }
+
+    override fun selectDescendantsOrSelfUids(ancestorUids: Collection<String>): List<String> {
+        if (ancestorUids.isEmpty()) {
+            return emptyList()
+        }
+
+        val uids = LinkedHashSet<String>()
+        ancestorUids.chunked(QUERY_CHUNK_SIZE).forEach { chunk ->
+            databaseAdapter.rawQuery(OrganisationUnitClosureStore.descendantsOrSelfQuery(chunk)).use { cursor ->
+                while (cursor.moveToNext()) {
+                    uids.add(cursor.getString(0))
+                }
+            }
+        }
+        return uids.toList()
+    }
+
+    private fun insertRows(rows: List<ClosureRow>) {
+        val values = rows.joinToString(", ") { "(?, ?, ?)" }
+        val statement = databaseAdapter.compileStatement(
+            "INSERT OR IGNORE INTO $TABLE_NAME (${Columns.ORGANISATION_UNIT}, ${Columns.ANCESTOR}, ${Columns.DEPTH}) " +
+                "VALUES $values;",
+        )
+        try {
+            rows.forEachIndexed { index, row ->
+                val offset = index * COLUMNS_PER_ROW
+                statement.bind(offset + 1, row.organisationUnit)
+                statement.bind(offset + 2, row.ancestor)
+                statement.bind(offset + 3, row.depth)
+            }
+            databaseAdapter.executeInsert(statement)
+        } finally {
+            statement.close()
+        }
+    }
+
+    private data class ClosureRow(val organisationUnit: String, val ancestor: String, val depth: Int)
+
+    companion object {
+        private val TABLE_NAME = OrganisationUnitClosureTableInfo.TABLE_INFO.name()
+        private const val QUERY_CHUNK_SIZE = 500
+        private const val COLUMNS_PER_ROW = 3
+        private const val INSERT_CHUNK_SIZE = 999 / COLUMNS_PER_ROW
+
+        private fun getClosureRows(organisationUnit: OrganisationUnit): List<ClosureRow> {
+            val uid = organisationUnit.uid()
+            val pathUids = organisationUnit.path()?.split("/")?.filter { it.isNotEmpty() } ?: emptyList()
+            val ancestors = if (pathUids.lastOrNull() == uid) pathUids else pathUids + uid
+
+            return ancestors.mapIndexed { index, ancestor ->
+                ClosureRow(uid, ancestor, ancestors.size - 1 - index)
+            }
+        }
+    }
+}
@@ -31,17 +31,23 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.ObjectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.objectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
+import org.hisp.dhis.android.core.common.ObjectWithUid
 import org.hisp.dhis.android.core.dataset.DataSetOrganisationUnitLinkTableInfo
 import org.hisp.dhis.android.core.dataset.DataSetTableInfo
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
 
 internal class OrganisationUnitDataSetChildrenAppender private constructor(
     private val childStore: ObjectWithUidChildStore<OrganisationUnit>,
-) : ChildrenAppender<OrganisationUnit>() {
-    override fun appendChildren(m: OrganisationUnit): OrganisationUnit {
+) : BatchedChildrenAppender<OrganisationUnit, ObjectWithUid>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: OrganisationUnit, children: List<ObjectWithUid>): OrganisationUnit {
         val builder = m.toBuilder()
-        builder.dataSets(childStore.getChildren(m))
+        builder.dataSets(children)
         return builder.build()
     }
 
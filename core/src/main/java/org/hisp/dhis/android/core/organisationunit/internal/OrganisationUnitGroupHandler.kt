@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class OrganisationUnitGroupHandler(
     store: OrganisationUnitGroupStore,
-) : IdentifiableHandlerImpl<OrganisationUnitGroup>(store)
+) : IdentifiableHandlerImpl<OrganisationUnitGroup>(store) {
+
+    override val supportsBulkPersistence = true
+}
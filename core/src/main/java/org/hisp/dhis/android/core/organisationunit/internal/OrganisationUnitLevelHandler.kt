@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class OrganisationUnitLevelHandler(
     store: OrganisationUnitLevelStore,
-) : IdentifiableHandlerImpl<OrganisationUnitLevel>(store)
+) : IdentifiableHandlerImpl<OrganisationUnitLevel>(store) {
+
+    override val supportsBulkPersistence = true
+}
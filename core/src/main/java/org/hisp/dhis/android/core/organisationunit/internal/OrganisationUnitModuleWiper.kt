@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.android.core.organisationunit.internal
 
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitClosureTableInfo
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitGroupTableInfo
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitLevelTableInfo
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitOrganisationUnitGroupLinkTableInfo
@@ -47,6 +48,7 @@ internal class OrganisationUnitModuleWiper(
             OrganisationUnitGroupTableInfo.TABLE_INFO,
             OrganisationUnitLevelTableInfo.TABLE_INFO,
             OrganisationUnitOrganisationUnitGroupLinkTableInfo.TABLE_INFO,
+            OrganisationUnitClosureTableInfo.TABLE_INFO,
         )
     }
 
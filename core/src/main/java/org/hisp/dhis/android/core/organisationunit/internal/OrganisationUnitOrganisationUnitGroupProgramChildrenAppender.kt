@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitGroup
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.organisationunit.OrganisationUnitOrganisationU
 
 internal class OrganisationUnitOrganisationUnitGroupProgramChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<OrganisationUnit, OrganisationUnitGroup>,
-) : ChildrenAppender<OrganisationUnit>() {
-    override fun appendChildren(m: OrganisationUnit): OrganisationUnit {
+) : BatchedChildrenAppender<OrganisationUnit, OrganisationUnitGroup>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<OrganisationUnitGroup>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: OrganisationUnit, children: List<OrganisationUnitGroup>): OrganisationUnit {
         val builder = m.toBuilder()
-        builder.organisationUnitGroups(linkChildStore.getChildren(m))
+        builder.organisationUnitGroups(children)
         return builder.build()
     }
 
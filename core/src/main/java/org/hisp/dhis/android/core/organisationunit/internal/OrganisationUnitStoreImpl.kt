@@ -42,6 +42,7 @@ import org.koin.core.annotation.Singleton
 @Suppress("MagicNumber")
 internal class OrganisationUnitStoreImpl(
     databaseAdapter: DatabaseAdapter,
+    private val closureStore: OrganisationUnitClosureStore,
 ) : OrganisationUnitStore,
     IdentifiableObjectStoreImpl<OrganisationUnit>(
         databaseAdapter,
@@ -50,6 +51,27 @@ internal class OrganisationUnitStoreImpl(
         { cursor: Cursor -> OrganisationUnit.create(cursor) },
     ) {
 
+    override fun insert(o: OrganisationUnit): Long {
+        val rowId = super.insert(o)
+        closureStore.updateHierarchy(listOf(o))
+        return rowId
+    }
+
+    override fun insert(objects: Collection<OrganisationUnit>) {
+        super.insert(objects)
+        closureStore.updateHierarchy(objects)
+    }
+
+    override fun update(o: OrganisationUnit) {
+        super.update(o)
+        closureStore.updateHierarchy(listOf(o))
+    }
+
+    override fun updateOrInsertMany(objects: Collection<OrganisationUnit>) {
+        super.updateOrInsertMany(objects)
+        closureStore.updateHierarchy(objects)
+    }
+
     companion object {
         private val BINDER = object : NameableStatementBinder<OrganisationUnit>() {
             override fun bindToStatement(o: OrganisationUnit, w: StatementWrapper) {
@@ -121,9 +121,7 @@ internal class ExpressionService(
                 ITEM_EVALUATE,
                 context.constantMap,
             )
-            val itemValueMap = context.valueMap.map { it.key.dimensionItem to it.value }.toMap()
-
-            visitor.itemValueMap = itemValueMap
+            visitor.itemValueMap = context.itemValueMap
             visitor.orgUnitCountMap = context.orgUnitCountMap
             visitor.days = context.days?.toDouble()
 
@@ -168,8 +166,7 @@ internal class ExpressionService(
                 context.constantMap,
             )
 
-            val itemValueMap = context.valueMap.map { it.key.dimensionItem to it.value }.toMap()
-            visitor.itemValueMap = itemValueMap
+            visitor.itemValueMap = context.itemValueMap
             visitor.orgUnitCountMap = context.orgUnitCountMap
             visitor.setExpressionLiteral(RegenerateLiteral())
             visitor.days = context.days?.toDouble()
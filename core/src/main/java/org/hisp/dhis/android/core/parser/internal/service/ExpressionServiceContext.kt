@@ -36,4 +36,12 @@ internal data class ExpressionServiceContext(
     val constantMap: Map<String, Constant> = emptyMap(),
     val orgUnitCountMap: Map<String, Int> = emptyMap(),
     val days: Int? = 0,
-)
+) {
+    /**
+     * Values by dimension item, as used by the expression visitors. Computed once for all the expressions evaluated
+     * with this context.
+     */
+    val itemValueMap: Map<String, Double> by lazy {
+        valueMap.mapKeys { it.key.dimensionItem }
+    }
+}
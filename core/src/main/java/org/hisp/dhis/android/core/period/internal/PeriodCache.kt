@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.period.internal
+
+import org.hisp.dhis.android.core.period.Period
+import org.hisp.dhis.android.core.period.PeriodType
+import org.koin.core.annotation.Singleton
+import java.util.Date
+import java.util.TreeMap
+
+/**
+ * Bounded in-memory cache of generated periods. Periods are kept by type and indexed by start date, so any date
+ * within a known period resolves to it without generating it again. It also remembers which periods are already
+ * stored in the current database, which must be forgotten whenever a database is opened, closed or deleted.
+ */
+@Singleton
+internal class PeriodCache(
+    private val parentPeriodGenerator: ParentPeriodGenerator,
+) {
+    private val periodsByType = mutableMapOf<PeriodType, TreeMap<Long, Period>>()
+    private val offsetPeriods = object : LinkedHashMap<OffsetKey, Period>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<OffsetKey, Period>?): Boolean {
+            return size > MAX_OFFSET_PERIODS
+        }
+    }
+    private val persistedPeriodIds = HashSet<String>()
+
+    @Synchronized
+    fun getPeriod(periodType: PeriodType, date: Date, offset: Int): Period? {
+        val period = getCachedPeriod(periodType, date) ?: generatePeriod(periodType, date, 0)
+
+        return if (offset == 0 || period == null) {
+            period
+        } else {
+            val key = OffsetKey(period.periodId()!!, offset)
+            offsetPeriods[key] ?: generatePeriod(periodType, date, offset)?.also { offsetPeriods[key] = it }
+        }
+    }
+
+    @Synchronized
+    fun isPersisted(periodId: String): Boolean {
+        return persistedPeriodIds.contains(periodId)
+    }
+
+    @Synchronized
+    fun setPersisted(periodIds: Collection<String>) {
+        if (persistedPeriodIds.size + periodIds.size > MAX_PERSISTED_PERIOD_IDS) {
+            persistedPeriodIds.clear()
+        }
+        persistedPeriodIds.addAll(periodIds)
+    }
+
+    @Synchronized
+    fun clearPersisted() {
+        persistedPeriodIds.clear()
+    }
+
+    @Synchronized
+    fun clear() {
+        periodsByType.clear()
+        offsetPeriods.clear()
+        persistedPeriodIds.clear()
+    }
+
+    private fun getCachedPeriod(periodType: PeriodType, date: Date): Period? {
+        return periodsByType[periodType]
+            ?.floorEntry(date.time)
+            ?.value
+            ?.takeIf { !date.after(it.endDate()) }
+    }
+
+    private fun generatePeriod(periodType: PeriodType, date: Date, offset: Int): Period? {
+        return parentPeriodGenerator.generatePeriod(periodType, date, offset)?.also { period ->
+            val periods = periodsByType.getOrPut(periodType) { TreeMap() }
+            periods[period.startDate()!!.time] = period
+            if (periods.size > MAX_PERIODS_PER_TYPE) {
+                periods.pollFirstEntry()
+            }
+        }
+    }
+
+    private data class OffsetKey(val periodId: String, val offset: Int)
+
+    companion object {
+        private const val MAX_PERIODS_PER_TYPE = 1000
+        private const val MAX_OFFSET_PERIODS = 1000
+        private const val MAX_PERSISTED_PERIOD_IDS = 10000
+        private const val INITIAL_CAPACITY = 16
+        private const val LOAD_FACTOR = 0.75f
+    }
+}
@@ -28,12 +28,22 @@
 
 package org.hisp.dhis.android.core.period.internal;
 
+import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter;
+import org.hisp.dhis.android.core.arch.db.access.Transaction;
+import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder;
 import org.hisp.dhis.android.core.period.Period;
+import org.hisp.dhis.android.core.period.PeriodTableInfo;
 import org.hisp.dhis.android.core.period.PeriodType;
 
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import io.reactivex.Single;
 import io.reactivex.annotations.NonNull;
@@ -42,20 +52,23 @@ public class PeriodHelper {
 
     private final PeriodStore periodStore;
     private final PeriodForDataSetManager periodForDataSetManager;
-    private final ParentPeriodGenerator parentPeriodGenerator;
     private final PeriodParser periodParser;
     private final CalendarProvider calendarProvider;
+    private final PeriodCache periodCache;
+    private final DatabaseAdapter databaseAdapter;
 
     public PeriodHelper(PeriodStore periodStore,
                         PeriodForDataSetManager periodForDataSetManager,
-                        ParentPeriodGenerator parentPeriodGenerator,
                         PeriodParser periodParser,
-                        CalendarProvider calendarProvider) {
+                        CalendarProvider calendarProvider,
+                        PeriodCache periodCache,
+                        DatabaseAdapter databaseAdapter) {
         this.periodStore = periodStore;
         this.periodForDataSetManager = periodForDataSetManager;
-        this.parentPeriodGenerator = parentPeriodGenerator;
         this.periodParser = periodParser;
         this.calendarProvider = calendarProvider;
+        this.periodCache = periodCache;
+        this.databaseAdapter = databaseAdapter;
     }
 
     public static Integer getDays(Period period) {
@@ -112,15 +125,73 @@ public class PeriodHelper {
      */
     public Period blockingGetPeriodForPeriodTypeAndDate(@NonNull PeriodType periodType, @NonNull Date date,
                                                         @NonNull int periodOffset) {
-        Period period = parentPeriodGenerator.generatePeriod(periodType, date, periodOffset);
+        Period period = periodCache.getPeriod(periodType, date, periodOffset);
 
-        if (periodStore.selectByPeriodId(period.periodId()) == null) {
-            periodStore.updateOrInsertWhere(period);
+        if (!periodCache.isPersisted(period.periodId())) {
+            if (periodStore.selectByPeriodId(period.periodId()) == null) {
+                periodStore.updateOrInsertWhere(period);
+            }
+            periodCache.setPersisted(Collections.singletonList(period.periodId()));
         }
 
         return period;
     }
 
+    /**
+     * Get the period objects of a periodType for a list of dates. The periods that do not exist in the database are
+     * inserted together.
+     *
+     * @param periodType Period type
+     * @param dates      Dates contained in the periods
+     * @return Periods by date
+     */
+    public Map<Date, Period> blockingGetPeriodsForPeriodTypeAndDates(@NonNull PeriodType periodType,
+                                                                     @NonNull Collection<Date> dates) {
+        Map<Date, Period> periods = new HashMap<>();
+        Map<String, Period> notPersisted = new HashMap<>();
+
+        for (Date date : dates) {
+            Period period = periodCache.getPeriod(periodType, date, 0);
+            periods.put(date, period);
+            if (!periodCache.isPersisted(period.periodId())) {
+                notPersisted.put(period.periodId(), period);
+            }
+        }
+
+        if (!notPersisted.isEmpty()) {
+            insertNotExisting(notPersisted);
+
+            Set<String> periodIds = new HashSet<>();
+            for (Period period : periods.values()) {
+                periodIds.add(period.periodId());
+            }
+            periodCache.setPersisted(periodIds);
+        }
+
+        return periods;
+    }
+
+    /**
+     * Checks and inserts in the same transaction, so periods inserted concurrently between the check and the insert
+     * do not make the insert fail.
+     */
+    private void insertNotExisting(Map<String, Period> periods) {
+        Transaction transaction = databaseAdapter.beginNewTransaction();
+        try {
+            String whereClause = new WhereClauseBuilder()
+                    .appendInKeyStringValues(PeriodTableInfo.Columns.PERIOD_ID, periods.keySet())
+                    .build();
+            for (String existingPeriodId : periodStore.selectStringColumnsWhereClause(
+                    PeriodTableInfo.Columns.PERIOD_ID, whereClause)) {
+                periods.remove(existingPeriodId);
+            }
+            periodStore.insert(periods.values());
+            transaction.setSuccessful();
+        } finally {
+            transaction.end();
+        }
+    }
+
     /**
      * Get a period object specifying a periodType and a date in the period.
      * If the period does not exist in the database, it is inserted.
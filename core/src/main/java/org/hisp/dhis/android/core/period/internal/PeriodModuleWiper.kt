@@ -35,9 +35,11 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class PeriodModuleWiper(
     private val tableWiper: TableWiper,
+    private val periodCache: PeriodCache,
 ) : ModuleWiper {
     override fun wipeMetadata() {
         tableWiper.wipeTables(PeriodTableInfo.TABLE_INFO)
+        periodCache.clear()
     }
 
     override fun wipeData() {
@@ -30,16 +30,22 @@ package org.hisp.dhis.android.core.program.internal
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.ObjectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.objectWithUidChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
+import org.hisp.dhis.android.core.common.ObjectWithUid
 import org.hisp.dhis.android.core.legendset.ProgramIndicatorLegendSetLinkTableInfo
 import org.hisp.dhis.android.core.program.ProgramIndicator
 
 internal class ProgramIndicatorLegendSetChildrenAppender private constructor(
     private val linkChildStore: ObjectWithUidChildStore<ProgramIndicator>,
-) : ChildrenAppender<ProgramIndicator>() {
-    override fun appendChildren(m: ProgramIndicator): ProgramIndicator {
+) : BatchedChildrenAppender<ProgramIndicator, ObjectWithUid>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: ProgramIndicator, children: List<ObjectWithUid>): ProgramIndicator {
         val builder = m.toBuilder()
-        builder.legendSets(linkChildStore.getChildren(m))
+        builder.legendSets(children)
         return builder.build()
     }
 
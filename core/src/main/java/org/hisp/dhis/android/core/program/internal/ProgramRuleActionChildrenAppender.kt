@@ -31,16 +31,21 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.program.ProgramRule
 import org.hisp.dhis.android.core.program.ProgramRuleAction
 
 internal class ProgramRuleActionChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<ProgramRule, ProgramRuleAction>,
-) : ChildrenAppender<ProgramRule>() {
-    override fun appendChildren(m: ProgramRule): ProgramRule {
+) : BatchedChildrenAppender<ProgramRule, ProgramRuleAction>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ProgramRuleAction>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: ProgramRule, children: List<ProgramRuleAction>): ProgramRule {
         val builder = m.toBuilder()
-        builder.programRuleActions(childStore.getChildren(m))
+        builder.programRuleActions(children)
         return builder.build()
     }
 
@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class ProgramRuleActionHandler(
     store: ProgramRuleActionStore,
-) : IdentifiableHandlerImpl<ProgramRuleAction>(store)
+) : IdentifiableHandlerImpl<ProgramRuleAction>(store) {
+
+    override val supportsBulkPersistence = true
+}
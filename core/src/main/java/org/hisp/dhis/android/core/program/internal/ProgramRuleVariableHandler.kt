@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class ProgramRuleVariableHandler(
     store: ProgramRuleVariableStore,
-) : IdentifiableHandlerImpl<ProgramRuleVariable>(store)
+) : IdentifiableHandlerImpl<ProgramRuleVariable>(store) {
+
+    override val supportsBulkPersistence = true
+}
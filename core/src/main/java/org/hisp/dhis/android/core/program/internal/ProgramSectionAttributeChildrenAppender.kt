@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.program.ProgramSection
 import org.hisp.dhis.android.core.program.ProgramSectionAttributeLinkTableInfo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeTableInfo
 
 internal class ProgramSectionAttributeChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<ProgramSection, TrackedEntityAttribute>,
-) : ChildrenAppender<ProgramSection>() {
-    override fun appendChildren(m: ProgramSection): ProgramSection {
+) : BatchedChildrenAppender<ProgramSection, TrackedEntityAttribute>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<TrackedEntityAttribute>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: ProgramSection, children: List<TrackedEntityAttribute>): ProgramSection {
         val builder = m.toBuilder()
-        builder.attributes(linkChildStore.getChildren(m))
+        builder.attributes(children)
         return builder.build()
     }
 
@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.LinkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.linkChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.LinkTableChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.program.ProgramIndicator
 import org.hisp.dhis.android.core.program.ProgramIndicatorTableInfo
@@ -40,10 +41,14 @@ import org.hisp.dhis.android.core.program.ProgramStageSectionProgramIndicatorLin
 
 internal class ProgramStageSectionProgramIndicatorChildrenAppender private constructor(
     private val linkChildStore: LinkChildStore<ProgramStageSection, ProgramIndicator>,
-) : ChildrenAppender<ProgramStageSection>() {
-    override fun appendChildren(m: ProgramStageSection): ProgramStageSection {
+) : BatchedChildrenAppender<ProgramStageSection, ProgramIndicator>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ProgramIndicator>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: ProgramStageSection, children: List<ProgramIndicator>): ProgramStageSection {
         val builder = m.toBuilder()
-        builder.programIndicators(linkChildStore.getChildren(m))
+        builder.programIndicators(children)
         return builder.build()
     }
 
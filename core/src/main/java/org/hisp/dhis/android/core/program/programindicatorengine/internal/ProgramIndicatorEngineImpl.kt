@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.android.core.program.programindicatorengine.internal
 
+import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
 import org.hisp.dhis.android.core.arch.helpers.UidsHelper.mapByUid
 import org.hisp.dhis.android.core.arch.repositories.scope.RepositoryScope
 import org.hisp.dhis.android.core.constant.Constant
@@ -41,6 +42,7 @@ import org.hisp.dhis.android.core.program.internal.ProgramIndicatorStore
 import org.hisp.dhis.android.core.program.internal.ProgramStageStore
 import org.hisp.dhis.android.core.program.programindicatorengine.ProgramIndicatorEngine
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeValue
+import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeValueTableInfo
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityAttributeStore
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityAttributeValueStore
 import org.koin.core.annotation.Singleton
@@ -57,7 +59,7 @@ internal class ProgramIndicatorEngineImpl(
     private val trackedEntityAttributeValueStore: TrackedEntityAttributeValueStore,
     private val constantStore: ConstantStore,
     private val programStageStore: ProgramStageStore,
-) : ProgramIndicatorEngine {
+) : ProgramIndicatorEngine, EventProgramIndicatorEvaluator {
 
     @Deprecated("Deprecated in Java")
     override fun getProgramIndicatorValue(
@@ -111,9 +113,44 @@ internal class ProgramIndicatorEngineImpl(
         return evaluateProgramIndicatorContext(programIndicatorContext)
     }
 
-    private fun evaluateProgramIndicatorContext(context: ProgramIndicatorContext): String? {
+    override fun getEventProgramIndicatorValues(
+        events: List<Event>,
+        programIndicatorUids: List<String>,
+    ): Map<String, Map<String, String?>> {
+        val programIndicators = programIndicatorStore.selectByUids(programIndicatorUids)
+        val constants = constantMap
+
+        val enrollmentUids = events.mapNotNull { it.enrollment() }.distinct()
+        val enrollments = if (programIndicators.isNotEmpty() && enrollmentUids.isNotEmpty()) {
+            mapByUid(enrollmentStore.selectByUids(enrollmentUids))
+        } else {
+            mapOf()
+        }
+        val attributeValues = getAttributeValuesByTrackedEntity(
+            enrollments.values.mapNotNull { it.trackedEntityInstance() }.distinct(),
+        )
+
+        return events.associate { event ->
+            val enrollment = event.enrollment()?.let { enrollments[it] }
+            val eventValues = programIndicators.associate { programIndicator ->
+                val programIndicatorContext = ProgramIndicatorContext(
+                    programIndicator = programIndicator,
+                    attributeValues = enrollment?.trackedEntityInstance()?.let { attributeValues[it] } ?: mapOf(),
+                    enrollment = enrollment,
+                    events = mapOf(event.programStage()!! to listOf(event)),
+                )
+                programIndicator.uid() to evaluateProgramIndicatorContext(programIndicatorContext, constants)
+            }
+            event.uid() to eventValues
+        }
+    }
+
+    private fun evaluateProgramIndicatorContext(
+        context: ProgramIndicatorContext,
+        constants: Map<String, Constant> = constantMap,
+    ): String? {
         val executor = ProgramIndicatorExecutor(
-            constantMap,
+            constants,
             context,
             dataElementStore,
             trackedEntityAttributeStore,
@@ -139,6 +176,26 @@ internal class ProgramIndicatorEngineImpl(
             .associateBy { it.trackedEntityAttribute()!! }
     }
 
+    private fun getAttributeValuesByTrackedEntity(
+        trackedEntityInstanceUids: List<String>,
+    ): Map<String, Map<String, TrackedEntityAttributeValue>> {
+        if (trackedEntityInstanceUids.isEmpty()) {
+            return mapOf()
+        }
+
+        val whereClause = WhereClauseBuilder()
+            .appendInKeyStringValues(
+                TrackedEntityAttributeValueTableInfo.Columns.TRACKED_ENTITY_INSTANCE,
+                trackedEntityInstanceUids,
+            )
+            .build()
+
+        return trackedEntityAttributeValueStore.selectWhere(whereClause)
+            .filter { it.trackedEntityInstance() != null && it.trackedEntityAttribute() != null }
+            .groupBy { it.trackedEntityInstance()!! }
+            .mapValues { (_, values) -> values.associateBy { it.trackedEntityAttribute()!! } }
+    }
+
     private fun getEnrollmentEvents(enrollment: Enrollment): Map<String, List<Event>> {
         val programStageUids = programRepository.byProgramUid().eq(enrollment.program()).blockingGetUids()
 
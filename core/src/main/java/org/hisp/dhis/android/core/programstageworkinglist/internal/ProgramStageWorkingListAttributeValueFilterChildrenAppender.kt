@@ -31,6 +31,7 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.programstageworkinglist.ProgramStageWorkingList
 import org.hisp.dhis.android.core.programstageworkinglist.ProgramStageWorkingListAttributeValueFilter
@@ -38,13 +39,22 @@ import org.hisp.dhis.android.core.programstageworkinglist.ProgramStageWorkingLis
 internal class ProgramStageWorkingListAttributeValueFilterChildrenAppender private constructor(
     private val childStore:
     SingleParentChildStore<ProgramStageWorkingList, ProgramStageWorkingListAttributeValueFilter>,
-) : ChildrenAppender<ProgramStageWorkingList>() {
+) : BatchedChildrenAppender<ProgramStageWorkingList, ProgramStageWorkingListAttributeValueFilter>() {
 
-    override fun appendChildren(m: ProgramStageWorkingList): ProgramStageWorkingList {
+    override fun getChildrenByParentUids(
+        parentUids: Collection<String>,
+    ): Map<String, List<ProgramStageWorkingListAttributeValueFilter>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(
+        m: ProgramStageWorkingList,
+        children: List<ProgramStageWorkingListAttributeValueFilter>,
+    ): ProgramStageWorkingList {
         val builder = m.toBuilder()
-        val children = childStore.getChildren(m).filter { it.attribute() != null }
+        val attributeValueFilters = children.filter { it.attribute() != null }
         val queryCriteria = m.programStageQueryCriteria()?.toBuilder()
-            ?.attributeValueFilters(children)
+            ?.attributeValueFilters(attributeValueFilters)
             ?.build()
         return builder.programStageQueryCriteria(queryCriteria).build()
     }
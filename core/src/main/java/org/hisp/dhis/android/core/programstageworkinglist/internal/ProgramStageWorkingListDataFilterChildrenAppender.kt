@@ -31,18 +31,27 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.programstageworkinglist.ProgramStageWorkingList
 import org.hisp.dhis.android.core.programstageworkinglist.ProgramStageWorkingListEventDataFilter
 
 internal class ProgramStageWorkingListDataFilterChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<ProgramStageWorkingList, ProgramStageWorkingListEventDataFilter>,
-) : ChildrenAppender<ProgramStageWorkingList>() {
+) : BatchedChildrenAppender<ProgramStageWorkingList, ProgramStageWorkingListEventDataFilter>() {
+    override fun getChildrenByParentUids(
+        parentUids: Collection<String>,
+    ): Map<String, List<ProgramStageWorkingListEventDataFilter>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
 
-    override fun appendChildren(m: ProgramStageWorkingList): ProgramStageWorkingList {
+    override fun appendChildren(
+        m: ProgramStageWorkingList,
+        children: List<ProgramStageWorkingListEventDataFilter>,
+    ): ProgramStageWorkingList {
         val builder = m.toBuilder()
-        val children = childStore.getChildren(m).filter { it.dataItem() != null }
-        val queryCriteria = m.programStageQueryCriteria()?.toBuilder()?.dataFilters(children)?.build()
+        val dataFilters = children.filter { it.dataItem() != null }
+        val queryCriteria = m.programStageQueryCriteria()?.toBuilder()?.dataFilters(dataFilters)?.build()
         return builder.programStageQueryCriteria(queryCriteria).build()
     }
 
@@ -47,72 +47,84 @@ internal class RelationshipDownloadAndPersistCallFactory(
     private val eventPersistenceCallFactory: EventPersistenceCallFactory,
     private val coroutineAPICallExecutor: CoroutineAPICallExecutor,
 ) {
-    suspend fun downloadAndPersist(relatives: RelationshipItemRelatives) {
-        downloadRelativeEvents(relatives)
-        downloadRelativeEnrolments(relatives)
-        downloadRelativeTEIs(relatives)
+    /**
+     * Relatives are fetched outside any transaction, one request each, and then persisted in a single transaction
+     * that cleans the foreign key errors, so the database is not locked during the requests and the relatives can
+     * reference each other. [beforePersist] runs first in that transaction, so the relationships it writes are cleaned
+     * as well if their relatives could not be downloaded.
+     */
+    suspend fun downloadAndPersist(relatives: RelationshipItemRelatives, beforePersist: () -> Unit) {
+        val events = downloadRelativeEvents(relatives)
+        val enrollments = downloadRelativeEnrolments(relatives)
+        val teis = downloadRelativeTEIs(relatives)
+
+        coroutineAPICallExecutor.wrapTransactionally(cleanForeignKeyErrors = true) {
+            beforePersist()
+
+            eventPersistenceCallFactory.persistAsRelationships(events.items)
+            cleanFailedRelationships(events.failedUids, RelationshipItemTableInfo.Columns.EVENT)
+
+            enrollmentPersistenceCallFactory.persistAsRelationships(enrollments.items).blockingAwait()
+            cleanFailedRelationships(enrollments.failedUids, RelationshipItemTableInfo.Columns.ENROLLMENT)
+
+            teiPersistenceCallFactory.persistRelationships(teis.items)
+            cleanFailedRelationships(teis.failedUids, RelationshipItemTableInfo.Columns.TRACKED_ENTITY_INSTANCE)
+        }
     }
 
-    private suspend fun downloadRelativeEvents(relatives: RelationshipItemRelatives) {
-        val events: MutableList<Event> = mutableListOf()
-        val failedEvents: MutableList<String> = mutableListOf()
+    private suspend fun downloadRelativeEvents(relatives: RelationshipItemRelatives): RelativesResult<Event> {
+        val result = RelativesResult<Event>()
 
         for (uid in relatives.relativeEventUids) {
             coroutineAPICallExecutor.wrap(storeError = true) {
                 trackerParentCallFactory.getEventCall().getRelationshipEntityCall(uid)
             }.fold(
-                onSuccess = { eventPayload -> events.addAll(eventPayload.items()) },
-                onFailure = { failedEvents.add(uid) },
+                onSuccess = { eventPayload -> result.items.addAll(eventPayload.items()) },
+                onFailure = { result.failedUids.add(uid) },
             )
         }
 
-        eventPersistenceCallFactory.persistAsRelationships(events)
-
-        events
+        result.items
             .mapNotNull { it.enrollment() }
             .forEach { relatives.addEnrollment(it) }
 
-        cleanFailedRelationships(failedEvents, RelationshipItemTableInfo.Columns.EVENT)
+        return result
     }
 
-    private suspend fun downloadRelativeEnrolments(relatives: RelationshipItemRelatives) {
-        val enrollments: MutableList<Enrollment> = mutableListOf()
-        val failedEnrollments: MutableList<String> = mutableListOf()
+    private suspend fun downloadRelativeEnrolments(relatives: RelationshipItemRelatives): RelativesResult<Enrollment> {
+        val result = RelativesResult<Enrollment>()
 
         for (uid in relatives.relativeEnrollmentUids) {
             coroutineAPICallExecutor.wrap(storeError = true) {
                 trackerParentCallFactory.getEnrollmentCall().getRelationshipEntityCall(uid)
             }.fold(
-                onSuccess = { enrollment -> enrollments.add(enrollment) },
-                onFailure = { failedEnrollments.add(uid) },
+                onSuccess = { enrollment -> result.items.add(enrollment) },
+                onFailure = { result.failedUids.add(uid) },
             )
         }
 
-        enrollmentPersistenceCallFactory.persistAsRelationships(enrollments).blockingAwait()
-
-        enrollments
+        result.items
             .mapNotNull { it.trackedEntityInstance() }
             .forEach { relatives.addTrackedEntityInstance(it) }
 
-        cleanFailedRelationships(failedEnrollments, RelationshipItemTableInfo.Columns.ENROLLMENT)
+        return result
     }
 
-    private suspend fun downloadRelativeTEIs(relatives: RelationshipItemRelatives) {
-        val teis: MutableList<TrackedEntityInstance> = mutableListOf()
-        val failedTeis: MutableList<String> = mutableListOf()
+    private suspend fun downloadRelativeTEIs(
+        relatives: RelationshipItemRelatives,
+    ): RelativesResult<TrackedEntityInstance> {
+        val result = RelativesResult<TrackedEntityInstance>()
 
         for (uid in relatives.relativeTrackedEntityInstanceUids) {
             coroutineAPICallExecutor.wrap(storeError = true) {
                 trackerParentCallFactory.getTrackedEntityCall().getRelationshipEntityCall(uid)
             }.fold(
-                onSuccess = { teiPayload -> teis.addAll(teiPayload.items()) },
-                onFailure = { failedTeis.add(uid) },
+                onSuccess = { teiPayload -> result.items.addAll(teiPayload.items()) },
+                onFailure = { result.failedUids.add(uid) },
             )
         }
 
-        teiPersistenceCallFactory.persistRelationships(teis)
-
-        cleanFailedRelationships(failedTeis, RelationshipItemTableInfo.Columns.TRACKED_ENTITY_INSTANCE)
+        return result
     }
 
     private fun cleanFailedRelationships(failedTeis: List<String>, elementType: String) {
@@ -141,4 +153,9 @@ internal class RelationshipDownloadAndPersistCallFactory(
             relationshipStore.deleteById(r)
         }
     }
+
+    private class RelativesResult<T> {
+        val items: MutableList<T> = mutableListOf()
+        val failedUids: MutableList<String> = mutableListOf()
+    }
 }
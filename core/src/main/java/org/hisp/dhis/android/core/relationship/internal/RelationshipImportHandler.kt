@@ -46,6 +46,15 @@ internal class RelationshipImportHandler internal constructor(
     fun handleRelationshipImportSummaries(
         importSummaries: List<RelationshipImportSummary?>?,
         relationships: List<Relationship>,
+    ) {
+        dataStatePropagator.deferPropagation {
+            handleRelationshipImportSummariesInternal(importSummaries, relationships)
+        }
+    }
+
+    private fun handleRelationshipImportSummariesInternal(
+        importSummaries: List<RelationshipImportSummary?>?,
+        relationships: List<Relationship>,
     ) {
         importSummaries?.filterNotNull()?.forEach { importSummary ->
             importSummary.reference()?.let { relationshipUid ->
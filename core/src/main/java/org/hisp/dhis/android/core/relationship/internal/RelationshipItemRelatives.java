@@ -36,11 +36,13 @@ public class RelationshipItemRelatives {
     private final Set<String> relativeTrackedEntityInstanceUids;
     private final Set<String> relativeEnrollmentUids;
     private final Set<String> relativeEventUids;
+    private final Set<String> relationshipUids;
 
     public RelationshipItemRelatives() {
         this.relativeTrackedEntityInstanceUids = new HashSet<>();
         this.relativeEnrollmentUids = new HashSet<>();
         this.relativeEventUids = new HashSet<>();
+        this.relationshipUids = new HashSet<>();
     }
 
     public void addTrackedEntityInstance(String uid) {
@@ -55,6 +57,10 @@ public class RelationshipItemRelatives {
         this.relativeEventUids.add(uid);
     }
 
+    public void addRelationship(String uid) {
+        this.relationshipUids.add(uid);
+    }
+
     public Set<String> getRelativeTrackedEntityInstanceUids() {
         return relativeTrackedEntityInstanceUids;
     }
@@ -66,4 +72,8 @@ public class RelationshipItemRelatives {
     public Set<String> getRelativeEventUids() {
         return relativeEventUids;
     }
+
+    public Set<String> getRelationshipUids() {
+        return relationshipUids;
+    }
 }
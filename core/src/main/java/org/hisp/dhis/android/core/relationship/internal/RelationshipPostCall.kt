@@ -113,7 +113,9 @@ internal class RelationshipPostCall internal constructor(
                 emit(progressManager.increaseProgress(Relationship::class.java, false))
             } catch (e: Exception) {
                 trackerStateManager.restorePayloadStates(relationships = relationships)
-                relationships.forEach { dataStatePropagator.propagateRelationshipUpdate(it) }
+                dataStatePropagator.deferPropagation {
+                    relationships.forEach { dataStatePropagator.propagateRelationshipUpdate(it) }
+                }
                 throw e
             }
         }
@@ -31,7 +31,7 @@ import io.reactivex.Completable
 import io.reactivex.Observable
 import io.reactivex.Single
 import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory.objectMapper
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.common.State
 import org.hisp.dhis.android.core.common.State.Companion.uploadableStatesIncludingError
 import org.hisp.dhis.android.core.common.internal.DataStatePropagator
@@ -190,14 +190,16 @@ internal class LocalDbRepositoryImpl(
         return Completable.fromAction {
             val enrollment = TrackedEntityInstanceInternalAccessor.accessEnrollments(tei)[0]
             val events = EnrollmentInternalAccessor.accessEvents(enrollment)
-            events?.forEach { event ->
-                eventStore.setSyncState(event.uid(), state)
-                dataStatePropagator.propagateEventUpdate(event)
+            dataStatePropagator.deferPropagation {
+                events?.forEach { event ->
+                    eventStore.setSyncState(event.uid(), state)
+                    dataStatePropagator.propagateEventUpdate(event)
+                }
+                enrollmentStore.setSyncState(enrollment.uid(), state)
+                dataStatePropagator.propagateEnrollmentUpdate(enrollment)
+                trackedEntityInstanceStore.setSyncState(enrollment.trackedEntityInstance()!!, state)
+                dataStatePropagator.propagateTrackedEntityInstanceUpdate(tei)
             }
-            enrollmentStore.setSyncState(enrollment.uid(), state)
-            dataStatePropagator.propagateEnrollmentUpdate(enrollment)
-            trackedEntityInstanceStore.setSyncState(enrollment.trackedEntityInstance()!!, state)
-            dataStatePropagator.propagateTrackedEntityInstanceUpdate(tei)
         }
     }
 
@@ -223,7 +225,7 @@ internal class LocalDbRepositoryImpl(
 
     override fun setMetadataDownloadConfig(config: GetMetadataIdsConfig): Completable {
         return Completable.fromAction {
-            val value = objectMapper().writeValueAsString(config)
+            val value = ObjectMapperRegistry.writer().writeValueAsString(config)
             smsConfigStore.set(SMSConfigKey.METADATA_CONFIG, value)
         }
     }
@@ -231,8 +233,8 @@ internal class LocalDbRepositoryImpl(
     override fun getMetadataDownloadConfig(): Single<GetMetadataIdsConfig> {
         return Single.fromCallable {
             val stringVal = smsConfigStore.get(SMSConfigKey.METADATA_CONFIG)
-            objectMapper()
-                .readValue(stringVal, GetMetadataIdsConfig::class.java)
+            ObjectMapperRegistry.reader(GetMetadataIdsConfig::class.java)
+                .readValue<GetMetadataIdsConfig>(stringVal)
         }
     }
 
@@ -30,6 +30,7 @@ package org.hisp.dhis.android.core.trackedentity.internal
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.api.payload.internal.NTIPayload
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.event.NewTrackerImporterEvent
 import org.hisp.dhis.android.core.event.internal.NewEventFields
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitMode
@@ -73,6 +74,25 @@ internal class NewTrackedEntityEndpointCallFactory(
         ).let { mapPayload(it) }
     }
 
+    override suspend fun getCollectionStream(query: TrackerAPIQuery): PayloadStream<TrackedEntityInstance> {
+        return trackedExporterService.streamTrackedEntityInstances(
+            fields = NewTrackedEntityInstanceFields.allFields,
+            trackedEntityInstances = getUidStr(query),
+            orgUnits = query.orgUnit,
+            orgUnitMode = query.commonParams.ouMode.name,
+            program = query.commonParams.program,
+            programStatus = getProgramStatus(query),
+            programStartDate = getProgramStartDate(query),
+            order = DEFAULT_TRACKER_ORDER.toAPIString(TrackerExporterVersion.V2),
+            paging = true,
+            page = query.page,
+            pageSize = query.pageSize,
+            lastUpdatedStartDate = query.lastUpdatedStr,
+            includeAllAttributes = true,
+            includeDeleted = true,
+        ).map { NewTrackerImporterTrackedEntityTransformer.deTransform(it) }
+    }
+
     override suspend fun getEntityCall(uid: String, query: TrackerAPIQuery): TrackedEntityInstance {
         return trackedExporterService.getSingleTrackedEntityInstance(
             fields = NewTrackedEntityInstanceFields.allFields,
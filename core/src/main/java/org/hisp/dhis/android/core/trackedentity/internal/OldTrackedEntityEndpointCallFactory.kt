@@ -28,6 +28,7 @@
 package org.hisp.dhis.android.core.trackedentity.internal
 
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitMode
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstance
 import org.hisp.dhis.android.core.trackedentity.search.TrackedEntityInstanceQueryCallFactory
@@ -63,6 +64,25 @@ internal class OldTrackedEntityEndpointCallFactory(
         )
     }
 
+    override suspend fun getCollectionStream(query: TrackerAPIQuery): PayloadStream<TrackedEntityInstance> {
+        return trackedEntityInstanceService.streamTrackedEntityInstances(
+            fields = TrackedEntityInstanceFields.allFields,
+            trackedEntityInstances = getUidStr(query),
+            orgUnits = query.orgUnit,
+            orgUnitMode = query.commonParams.ouMode.name,
+            program = query.commonParams.program,
+            programStatus = getProgramStatus(query),
+            programStartDate = getProgramStartDate(query),
+            order = DEFAULT_TRACKER_ORDER.toAPIString(TrackerExporterVersion.V1),
+            paging = true,
+            page = query.page,
+            pageSize = query.pageSize,
+            lastUpdatedStartDate = query.lastUpdatedStr,
+            includeAllAttributes = true,
+            includeDeleted = true,
+        )
+    }
+
     override suspend fun getEntityCall(uid: String, query: TrackerAPIQuery): TrackedEntityInstance {
         return trackedEntityInstanceService.getSingleTrackedEntityInstance(
             fields = TrackedEntityInstanceFields.allFields,
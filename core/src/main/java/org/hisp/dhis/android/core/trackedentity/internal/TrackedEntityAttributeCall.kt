@@ -39,7 +39,7 @@ internal class TrackedEntityAttributeCall(
     private val apiDownloader: APIDownloader,
 ) : UidsCallCoroutines<TrackedEntityAttribute> {
     override suspend fun download(uids: Set<String>): List<TrackedEntityAttribute> {
-        return apiDownloader.downloadPartitioned(
+        return apiDownloader.downloadPartitionedIncrementally(
             uids,
             MAX_UID_LIST_SIZE,
             handler,
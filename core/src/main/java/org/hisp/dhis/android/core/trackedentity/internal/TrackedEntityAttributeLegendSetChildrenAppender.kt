@@ -31,17 +31,22 @@ package org.hisp.dhis.android.core.trackedentity.internal
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.ObjectWithUidChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
+import org.hisp.dhis.android.core.common.ObjectWithUid
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttribute
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeLegendSetLinkTableInfo
 
 internal class TrackedEntityAttributeLegendSetChildrenAppender(
     private val linkChildStore: ObjectWithUidChildStore<TrackedEntityAttribute>,
-) : ChildrenAppender<TrackedEntityAttribute>() {
+) : BatchedChildrenAppender<TrackedEntityAttribute, ObjectWithUid>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<ObjectWithUid>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
 
-    override fun appendChildren(m: TrackedEntityAttribute): TrackedEntityAttribute {
+    override fun appendChildren(m: TrackedEntityAttribute, children: List<ObjectWithUid>): TrackedEntityAttribute {
         val builder = m.toBuilder()
-        builder.legendSets(linkChildStore.getChildren(m))
+        builder.legendSets(children)
         return builder.build()
     }
 
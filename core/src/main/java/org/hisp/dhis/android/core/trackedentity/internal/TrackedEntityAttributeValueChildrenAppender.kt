@@ -31,16 +31,26 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeValue
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstance
 
 internal class TrackedEntityAttributeValueChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<TrackedEntityInstance, TrackedEntityAttributeValue>,
-) : ChildrenAppender<TrackedEntityInstance>() {
-    override fun appendChildren(m: TrackedEntityInstance): TrackedEntityInstance {
+) : BatchedChildrenAppender<TrackedEntityInstance, TrackedEntityAttributeValue>() {
+    override fun getChildrenByParentUids(
+        parentUids: Collection<String>,
+    ): Map<String, List<TrackedEntityAttributeValue>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(
+        m: TrackedEntityInstance,
+        children: List<TrackedEntityAttributeValue>,
+    ): TrackedEntityInstance {
         val builder = m.toBuilder()
-        builder.trackedEntityAttributeValues(childStore.getChildren(m))
+        builder.trackedEntityAttributeValues(children)
         return builder.build()
     }
 
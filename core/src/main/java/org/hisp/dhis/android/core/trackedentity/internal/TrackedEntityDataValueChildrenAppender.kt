@@ -31,16 +31,21 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.event.Event
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityDataValue
 
 internal class TrackedEntityDataValueChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<Event, TrackedEntityDataValue>,
-) : ChildrenAppender<Event>() {
-    override fun appendChildren(m: Event): Event {
+) : BatchedChildrenAppender<Event, TrackedEntityDataValue>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<TrackedEntityDataValue>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: Event, children: List<TrackedEntityDataValue>): Event {
         val builder = m.toBuilder()
-        builder.trackedEntityDataValues(childStore.getChildren(m))
+        builder.trackedEntityDataValues(children)
         return builder.build()
     }
 
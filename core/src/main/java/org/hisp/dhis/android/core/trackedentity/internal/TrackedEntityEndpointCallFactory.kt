@@ -28,6 +28,7 @@
 package org.hisp.dhis.android.core.trackedentity.internal
 
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.arch.helpers.CollectionsHelper
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstance
 import org.hisp.dhis.android.core.trackedentity.search.TrackedEntityInstanceQueryOnline
@@ -38,6 +39,8 @@ internal abstract class TrackedEntityEndpointCallFactory {
 
     abstract suspend fun getCollectionCall(query: TrackerAPIQuery): Payload<TrackedEntityInstance>
 
+    abstract suspend fun getCollectionStream(query: TrackerAPIQuery): PayloadStream<TrackedEntityInstance>
+
     abstract suspend fun getEntityCall(uid: String, query: TrackerAPIQuery): TrackedEntityInstance
 
     abstract suspend fun getRelationshipEntityCall(uid: String): Payload<TrackedEntityInstance>
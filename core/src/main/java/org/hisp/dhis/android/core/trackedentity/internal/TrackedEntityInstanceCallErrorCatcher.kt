@@ -28,7 +28,7 @@
 package org.hisp.dhis.android.core.trackedentity.internal
 
 import org.hisp.dhis.android.core.arch.api.executors.internal.APICallErrorCatcher
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory.objectMapper
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.imports.internal.HttpMessageResponse
 import org.hisp.dhis.android.core.maintenance.D2ErrorCode
 import retrofit2.Response
@@ -42,7 +42,8 @@ internal class TrackedEntityInstanceCallErrorCatcher : APICallErrorCatcher {
 
     @Throws(IOException::class)
     override fun catchError(response: Response<*>, errorBody: String): D2ErrorCode? {
-        val parsed = objectMapper().readValue(errorBody, HttpMessageResponse::class.java)
+        val parsed = ObjectMapperRegistry.reader(HttpMessageResponse::class.java)
+            .readValue<HttpMessageResponse>(errorBody)
 
         @Suppress("MagicNumber")
         return if (parsed.httpStatusCode() == 401) {
@@ -29,6 +29,7 @@ package org.hisp.dhis.android.core.trackedentity.internal
 
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.arch.handlers.internal.IdentifiableDataHandlerParams
 import org.hisp.dhis.android.core.arch.helpers.Result
 import org.hisp.dhis.android.core.maintenance.D2Error
@@ -39,8 +40,10 @@ import org.hisp.dhis.android.core.systeminfo.internal.SystemInfoModuleDownloader
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstance
 import org.hisp.dhis.android.core.tracker.exporter.TrackerAPIQuery
 import org.hisp.dhis.android.core.tracker.exporter.TrackerDownloadCall
+import org.hisp.dhis.android.core.tracker.exporter.TrackerDownloadCheckpointManager
 import org.hisp.dhis.android.core.user.internal.UserOrganisationUnitLinkStore
 import org.koin.core.annotation.Singleton
+import java.util.Date
 
 @Singleton
 internal class TrackedEntityInstanceDownloadCall(
@@ -51,12 +54,14 @@ internal class TrackedEntityInstanceDownloadCall(
     private val queryFactory: TrackerQueryBundleFactory,
     private val trackerCallFactory: TrackerParentCallFactory,
     private val persistenceCallFactory: TrackedEntityInstancePersistenceCallFactory,
+    checkpointManager: TrackerDownloadCheckpointManager,
     private val lastUpdatedManager: TrackedEntityInstanceLastUpdatedManager,
 ) : TrackerDownloadCall<TrackedEntityInstance, TrackerQueryBundle>(
     userOrganisationUnitLinkStore,
     systemInfoModuleDownloader,
     relationshipDownloadAndPersistCallFactory,
     coroutineCallExecutor,
+    checkpointManager,
 ) {
     override fun getBundles(params: ProgramDataDownloadParams): List<TrackerQueryBundle> {
         return queryFactory.getQueries(params)
@@ -68,6 +73,14 @@ internal class TrackedEntityInstanceDownloadCall(
         }
     }
 
+    override suspend fun getPayloadStreamResult(
+        query: TrackerAPIQuery,
+    ): Result<PayloadStream<TrackedEntityInstance>, D2Error> {
+        return coroutineCallExecutor.wrap(storeError = true) {
+            trackerCallFactory.getTrackedEntityCall().getCollectionStream(query)
+        }
+    }
+
     override suspend fun persistItems(
         items: List<TrackedEntityInstance>,
         params: IdentifiableDataHandlerParams,
@@ -76,8 +89,8 @@ internal class TrackedEntityInstanceDownloadCall(
         persistenceCallFactory.persistTEIs(items, params, relatives)
     }
 
-    override fun updateLastUpdated(bundle: TrackerQueryBundle) {
-        lastUpdatedManager.update(bundle)
+    override fun updateLastUpdated(bundle: TrackerQueryBundle, serverDate: Date?) {
+        lastUpdatedManager.update(bundle, serverDate)
     }
 
     override suspend fun queryByUids(
@@ -106,7 +119,7 @@ internal class TrackedEntityInstanceDownloadCall(
                         program = teiQuery.commonParams.program,
                     )
 
-                    persistItems(listOf(tei), persistParams, relatives)
+                    persistItemsTransactionally(listOf(tei), persistParams, relatives)
 
                     result.count++
                 }
@@ -30,16 +30,23 @@ package org.hisp.dhis.android.core.trackedentity.internal
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.trackedentity.AttributeValueFilter
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceFilter
 
 internal class TrackedEntityInstanceFilterAttributeValueFilterChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<TrackedEntityInstanceFilter, AttributeValueFilter>,
-) : ChildrenAppender<TrackedEntityInstanceFilter>() {
+) : BatchedChildrenAppender<TrackedEntityInstanceFilter, AttributeValueFilter>() {
+    override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<AttributeValueFilter>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
 
-    override fun appendChildren(m: TrackedEntityInstanceFilter): TrackedEntityInstanceFilter {
-        val criteria = m.entityQueryCriteria().toBuilder().attributeValueFilters(childStore.getChildren(m)).build()
+    override fun appendChildren(
+        m: TrackedEntityInstanceFilter,
+        children: List<AttributeValueFilter>,
+    ): TrackedEntityInstanceFilter {
+        val criteria = m.entityQueryCriteria().toBuilder().attributeValueFilters(children).build()
         return m.toBuilder().entityQueryCriteria(criteria).build()
     }
 
@@ -31,17 +31,26 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceEventFilter
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceFilter
 
 internal class TrackedEntityInstanceFilterEvenFilterChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<TrackedEntityInstanceFilter, TrackedEntityInstanceEventFilter>,
-) : ChildrenAppender<TrackedEntityInstanceFilter>() {
+) : BatchedChildrenAppender<TrackedEntityInstanceFilter, TrackedEntityInstanceEventFilter>() {
+    override fun getChildrenByParentUids(
+        parentUids: Collection<String>,
+    ): Map<String, List<TrackedEntityInstanceEventFilter>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
 
-    override fun appendChildren(m: TrackedEntityInstanceFilter): TrackedEntityInstanceFilter {
+    override fun appendChildren(
+        m: TrackedEntityInstanceFilter,
+        children: List<TrackedEntityInstanceEventFilter>,
+    ): TrackedEntityInstanceFilter {
         val builder = m.toBuilder()
-        return builder.eventFilters(childStore.getChildren(m)).build()
+        return builder.eventFilters(children).build()
     }
 
     companion object {
@@ -64,10 +64,19 @@ internal class TrackedEntityInstanceImportHandler internal constructor(
     private val alreadyDeletedInServerRegex =
         Regex("Tracked entity instance (\\w{11}) cannot be deleted as it is not present in the system")
 
-    @Suppress("NestedBlockDepth")
     fun handleTrackedEntityInstanceImportSummaries(
         teiImportSummaries: List<TEIImportSummary?>?,
         instances: List<TrackedEntityInstance>,
+    ): TEIWebResponseHandlerSummary {
+        return dataStatePropagator.deferPropagation {
+            handleTrackedEntityInstanceImportSummariesInternal(teiImportSummaries, instances)
+        }
+    }
+
+    @Suppress("NestedBlockDepth")
+    private fun handleTrackedEntityInstanceImportSummariesInternal(
+        teiImportSummaries: List<TEIImportSummary?>?,
+        instances: List<TrackedEntityInstance>,
     ): TEIWebResponseHandlerSummary {
         val summary = TEIWebResponseHandlerSummary()
         val processedTeis = mutableListOf<String>()
@@ -29,6 +29,7 @@ package org.hisp.dhis.android.core.trackedentity.internal
 
 import org.hisp.dhis.android.core.resource.internal.ResourceHandler
 import org.koin.core.annotation.Singleton
+import java.util.Date
 
 @Singleton
 internal class TrackedEntityInstanceLastUpdatedManager(
@@ -36,12 +37,12 @@ internal class TrackedEntityInstanceLastUpdatedManager(
     private val resourceHandler: ResourceHandler,
 ) : TrackerSyncLastUpdatedManager<TrackedEntityInstanceSync>(store) {
 
-    fun update(trackerQuery: TrackerQueryBundle) {
+    fun update(trackerQuery: TrackerQueryBundle, serverDate: Date?) {
         val sync = TrackedEntityInstanceSync.builder()
             .program(trackerQuery.commonParams().program)
             .organisationUnitIdsHash(trackerQuery.orgUnits().toSet().hashCode())
             .downloadLimit(trackerQuery.commonParams().limit)
-            .lastUpdated(resourceHandler.serverDate)
+            .lastUpdated(serverDate ?: resourceHandler.serverDate)
             .build()
         super.update(sync)
     }
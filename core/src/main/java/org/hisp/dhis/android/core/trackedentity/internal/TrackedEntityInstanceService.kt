@@ -30,6 +30,7 @@ package org.hisp.dhis.android.core.trackedentity.internal
 import org.hisp.dhis.android.core.arch.api.fields.internal.Fields
 import org.hisp.dhis.android.core.arch.api.filters.internal.Which
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.imports.internal.TEIWebResponse
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstance
 import org.hisp.dhis.android.core.trackedentity.search.SearchGrid
@@ -82,6 +83,24 @@ internal interface TrackedEntityInstanceService {
         @Query(INCLUDE_DELETED) includeDeleted: Boolean,
     ): Payload<TrackedEntityInstance>
 
+    @GET(TRACKED_ENTITY_INSTANCES)
+    suspend fun streamTrackedEntityInstances(
+        @Query(TRACKED_ENTITY_INSTACE) trackedEntityInstances: String?,
+        @Query(OU) orgUnits: String?,
+        @Query(OU_MODE) orgUnitMode: String?,
+        @Query(PROGRAM) program: String?,
+        @Query(PROGRAM_STATUS) programStatus: String?,
+        @Query(PROGRAM_START_DATE) programStartDate: String?,
+        @Query(FIELDS) @Which fields: Fields<TrackedEntityInstance>,
+        @Query(ORDER) order: String?,
+        @Query(PAGING) paging: Boolean,
+        @Query(PAGE) page: Int,
+        @Query(PAGE_SIZE) pageSize: Int,
+        @Query(LAST_UPDATED_START_DATE) lastUpdatedStartDate: String?,
+        @Query(INCLUDE_ALL_ATTRIBUTES) includeAllAttributes: Boolean,
+        @Query(INCLUDE_DELETED) includeDeleted: Boolean,
+    ): PayloadStream<TrackedEntityInstance>
+
     @GET("$TRACKED_ENTITY_INSTANCES/query")
     suspend fun query(
         @Query(TRACKED_ENTITY_INSTACE) trackedEntityInstance: String?,
@@ -31,16 +31,23 @@ import android.database.Cursor
 import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityType
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityTypeAttribute
 
 internal class TrackedEntityTypeAttributeChildrenAppender private constructor(
     private val childStore: SingleParentChildStore<TrackedEntityType, TrackedEntityTypeAttribute>,
-) : ChildrenAppender<TrackedEntityType>() {
-    override fun appendChildren(m: TrackedEntityType): TrackedEntityType {
+) : BatchedChildrenAppender<TrackedEntityType, TrackedEntityTypeAttribute>() {
+    override fun getChildrenByParentUids(
+        parentUids: Collection<String>,
+    ): Map<String, List<TrackedEntityTypeAttribute>> {
+        return childStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(m: TrackedEntityType, children: List<TrackedEntityTypeAttribute>): TrackedEntityType {
         val builder = m.toBuilder()
-        builder.trackedEntityTypeAttributes(childStore.getChildren(m))
+        builder.trackedEntityTypeAttributes(children)
         return builder.build()
     }
 
@@ -41,6 +41,7 @@ import org.hisp.dhis.android.core.event.EventTableInfo
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitMode
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitTableInfo
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStore
 import org.hisp.dhis.android.core.program.AccessLevel
 import org.hisp.dhis.android.core.program.ProgramTableInfo
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityAttributeValueTableInfo
@@ -82,6 +83,29 @@ internal class TrackedEntityInstanceLocalQueryHelper(
         return getSqlQuery(scope, excludeList, limit, teiAll)
     }
 
+    /**
+     * Returns the query for the page that follows the row identified by the keyset, so the cost of the query does
+     * not depend on how many rows have been already returned.
+     */
+    fun getSqlQuery(
+        scope: TrackedEntityInstanceQueryRepositoryScope,
+        excludeList: Set<String>?,
+        limit: Int,
+        keyset: TrackedEntityInstanceQueryKeyset?,
+    ): String {
+        return getSqlQuery(scope, excludeList, limit, teiAll, keyset)
+    }
+
+    /**
+     * Returns a query that selects the sort key values of the given instance, in the same order used in the
+     * ORDER BY clause. The result is used to build the [TrackedEntityInstanceQueryKeyset] of the next page.
+     */
+    fun getSortKeysQuery(scope: TrackedEntityInstanceQueryRepositoryScope, uid: String): String {
+        val sortKeyColumns = sortKeys(scope).joinToString(", ") { it.first }
+        val uidScope = scope.toBuilder().uids(listOf(uid)).build()
+        return getSqlQuery(uidScope, null, 1, sortKeyColumns)
+    }
+
     fun getUidsWhereClause(
         scope: TrackedEntityInstanceQueryRepositoryScope,
         excludeList: Set<String>?,
@@ -99,6 +123,7 @@ internal class TrackedEntityInstanceLocalQueryHelper(
         excludeList: Set<String>?,
         limit: Int,
         columns: String,
+        keyset: TrackedEntityInstanceQueryKeyset? = null,
     ): String {
         var queryStr = "SELECT DISTINCT $columns FROM ${TrackedEntityInstanceTableInfo.TABLE_INFO.name()} $teiAlias"
 
@@ -181,6 +206,7 @@ internal class TrackedEntityInstanceLocalQueryHelper(
         appendQueryWhere(where, scope)
         appendFiltersWhere(where, scope)
         appendExcludeList(where, excludeList)
+        appendKeyset(where, scope, keyset)
 
         if (!where.isEmpty) {
             queryStr += " WHERE " + where.build()
@@ -294,20 +320,21 @@ internal class TrackedEntityInstanceLocalQueryHelper(
         val ouMode = scope.orgUnitMode() ?: OrganisationUnitMode.SELECTED
         val inner = WhereClauseBuilder()
         when (ouMode) {
-            OrganisationUnitMode.DESCENDANTS -> scope.orgUnits().forEach { orgUnit ->
-                inner.appendOrKeyLikeStringValue(
-                    dot(orgunitAlias, OrganisationUnitTableInfo.Columns.PATH),
-                    "%" + escapeQuotes(orgUnit) + "%",
+            OrganisationUnitMode.DESCENDANTS -> if (scope.orgUnits().isNotEmpty()) {
+                inner.appendInSubQuery(
+                    dot(orgunitAlias, IdentifiableColumns.UID),
+                    OrganisationUnitClosureStore.descendantsOrSelfQuery(scope.orgUnits().map { escapeQuotes(it) }),
                 )
             }
-            OrganisationUnitMode.CHILDREN -> scope.orgUnits().forEach { orgUnit ->
-                inner.appendOrKeyStringValue(
-                    dot(orgunitAlias, OrganisationUnitTableInfo.Columns.PARENT),
-                    escapeQuotes(orgUnit),
-                )
-
+            OrganisationUnitMode.CHILDREN -> if (scope.orgUnits().isNotEmpty()) {
                 // TODO Include orgunit?
-                inner.appendOrKeyStringValue(dot(orgunitAlias, IdentifiableColumns.UID), escapeQuotes(orgUnit))
+                inner.appendInSubQuery(
+                    dot(orgunitAlias, IdentifiableColumns.UID),
+                    OrganisationUnitClosureStore.descendantsOrSelfQuery(
+                        scope.orgUnits().map { escapeQuotes(it) },
+                        maxDepth = 1,
+                    ),
+                )
             }
             OrganisationUnitMode.CAPTURE ->
                 inner.appendComplexQuery(
@@ -380,6 +407,25 @@ internal class TrackedEntityInstanceLocalQueryHelper(
         }
     }
 
+    private fun appendKeyset(
+        where: WhereClauseBuilder,
+        scope: TrackedEntityInstanceQueryRepositoryScope,
+        keyset: TrackedEntityInstanceQueryKeyset?,
+    ) {
+        if (keyset != null) {
+            val sortKeys = sortKeys(scope)
+            val keysetClauses = sortKeys.indices.map { i ->
+                val previousKeysEqual = (0 until i).map { j ->
+                    "${sortKeys[j].first} = '${escapeQuotes(keyset.sortKeyValues[j])}'"
+                }
+                val comparator = if (sortKeys[i].second == OrderByDirection.ASC) ">" else "<"
+                val keyAfter = "${sortKeys[i].first} $comparator '${escapeQuotes(keyset.sortKeyValues[i])}'"
+                (previousKeysEqual + keyAfter).joinToString(" AND ", "(", ")")
+            }
+            where.appendComplexQuery(keysetClauses.joinToString(" OR "))
+        }
+    }
+
     private fun appendEventWhere(where: WhereClauseBuilder, scope: TrackedEntityInstanceQueryRepositoryScope) {
         scope.assignedUserMode()?.let { appendAssignedUserMode(where, it) }
         scope.programStage()?.let { programStage ->
@@ -582,79 +628,85 @@ internal class TrackedEntityInstanceLocalQueryHelper(
     }
 
     private fun orderByClause(scope: TrackedEntityInstanceQueryRepositoryScope): String {
-        val orderClauses = scope.order().mapNotNull { item ->
-            when (item.column().type()) {
+        val orderClauses = sortKeys(scope).map { (key, direction) -> "$key ${direction.name}" }
+
+        return " ORDER BY ${orderClauses.joinToString(", ")}"
+    }
+
+    /**
+     * Sort keys of the query. They are never null, so they can be compared in keyset paging, and they always end
+     * with the instance uid to break ties.
+     */
+    private fun sortKeys(scope: TrackedEntityInstanceQueryRepositoryScope): List<Pair<String, OrderByDirection>> {
+        val orderKeys = scope.order().mapNotNull { item ->
+            val key = when (item.column().type()) {
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.CREATED ->
                     if (hasProgram(scope)) {
-                        orderByEnrollmentField(scope.program(), IdentifiableColumns.CREATED, item.direction())
+                        orderByEnrollmentField(scope.program(), IdentifiableColumns.CREATED)
                     } else {
-                        dot(teiAlias, IdentifiableColumns.CREATED) + " " + item.direction().name
+                        dot(teiAlias, IdentifiableColumns.CREATED)
                     }
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.LAST_UPDATED ->
                     if (hasProgram(scope)) {
-                        orderByEnrollmentField(scope.program(), IdentifiableColumns.LAST_UPDATED, item.direction())
+                        orderByEnrollmentField(scope.program(), IdentifiableColumns.LAST_UPDATED)
                     } else {
-                        dot(teiAlias, IdentifiableColumns.LAST_UPDATED) + " " + item.direction().name
+                        dot(teiAlias, IdentifiableColumns.LAST_UPDATED)
                     }
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.ORGUNIT_NAME ->
-                    dot(orgunitAlias, IdentifiableColumns.NAME) + " " + item.direction().name
+                    dot(orgunitAlias, IdentifiableColumns.NAME)
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.ATTRIBUTE ->
                     orderByAttribute(item)
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.ENROLLMENT_DATE ->
-                    orderByEnrollmentField(scope.program(), enrollmentDate, item.direction())
+                    orderByEnrollmentField(scope.program(), enrollmentDate)
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.INCIDENT_DATE ->
-                    orderByEnrollmentField(
-                        scope.program(),
-                        EnrollmentTableInfo.Columns.INCIDENT_DATE,
-                        item.direction(),
-                    )
+                    orderByEnrollmentField(scope.program(), EnrollmentTableInfo.Columns.INCIDENT_DATE)
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.ENROLLMENT_STATUS ->
-                    orderByEnrollmentField(scope.program(), EnrollmentTableInfo.Columns.STATUS, item.direction())
+                    orderByEnrollmentField(scope.program(), EnrollmentTableInfo.Columns.STATUS)
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.EVENT_DATE -> {
                     val eventField = "IFNULL(${EventTableInfo.Columns.EVENT_DATE},${EventTableInfo.Columns.DUE_DATE})"
-                    orderByEventField(scope.program(), eventField, item.direction())
+                    orderByEventField(scope.program(), eventField)
                 }
 
                 TrackedEntityInstanceQueryScopeOrderColumn.Type.COMPLETION_DATE ->
-                    orderByEventField(scope.program(), EventTableInfo.Columns.COMPLETE_DATE, item.direction())
+                    orderByEventField(scope.program(), EventTableInfo.Columns.COMPLETE_DATE)
 
                 else -> null
             }
-        } + orderByLastUpdated
+            key?.let { "IFNULL($it, '')" to item.direction() }
+        }
 
-        return " ORDER BY ${orderClauses.joinToString(", ")}"
+        return orderKeys + orderByLastUpdated + (teiUid to OrderByDirection.ASC)
     }
 
     // TODO In case a program uid is provided, the server orders by enrollmentStatus.
-    private val orderByLastUpdated: String
-        get() = "$teiLastUpdated DESC "
+    private val orderByLastUpdated: Pair<String, OrderByDirection>
+        get() = "IFNULL($teiLastUpdated, '')" to OrderByDirection.DESC
 
-    private fun orderByEnrollmentField(program: String?, field: String, dir: OrderByDirection): String {
+    private fun orderByEnrollmentField(program: String?, field: String): String {
         val programClause = if (program == null) "" else "AND ${EnrollmentTableInfo.Columns.PROGRAM} = '$program'"
         return String.format(
-            "IFNULL((SELECT %s FROM %s WHERE %s = %s %s ORDER BY %s DESC LIMIT 1), 'zzzzz') %s",
+            "IFNULL((SELECT %s FROM %s WHERE %s = %s %s ORDER BY %s DESC LIMIT 1), 'zzzzz')",
             field,
             EnrollmentTableInfo.TABLE_INFO.name(),
             EnrollmentTableInfo.Columns.TRACKED_ENTITY_INSTANCE,
             dot(teiAlias, IdentifiableColumns.UID),
             programClause,
             EnrollmentTableInfo.Columns.ENROLLMENT_DATE,
-            dir.name,
         )
     }
 
-    private fun orderByEventField(program: String?, field: String, dir: OrderByDirection): String {
+    private fun orderByEventField(program: String?, field: String): String {
         val programClause = if (program == null) "" else "AND ${EnrollmentTableInfo.Columns.PROGRAM} = '$program'"
         return String.format(
             "(SELECT %s FROM %s WHERE %s IN (SELECT %s FROM %s WHERE %s = %s %s) " +
-                "ORDER BY IFNULL(%s, %s) DESC LIMIT 1) %s",
+                "ORDER BY IFNULL(%s, %s) DESC LIMIT 1)",
             field,
             EventTableInfo.TABLE_INFO.name(),
             EventTableInfo.Columns.ENROLLMENT,
@@ -664,13 +716,12 @@ internal class TrackedEntityInstanceLocalQueryHelper(
             dot(teiAlias, IdentifiableColumns.UID),
             programClause,
             EventTableInfo.Columns.EVENT_DATE, EventTableInfo.Columns.DUE_DATE,
-            dir.name,
         )
     }
 
     private fun orderByAttribute(item: TrackedEntityInstanceQueryScopeOrderByItem): String {
         // Trick to put null values at the end of the list
-        val attOrder = String.format(
+        return String.format(
             "IFNULL((SELECT %s FROM %s WHERE %s = %s AND %s = %s), 'zzzzzzzz')",
             TrackedEntityAttributeValueTableInfo.Columns.VALUE,
             TrackedEntityAttributeValueTableInfo.TABLE_INFO.name(),
@@ -679,7 +730,6 @@ internal class TrackedEntityInstanceLocalQueryHelper(
             TrackedEntityAttributeValueTableInfo.Columns.TRACKED_ENTITY_INSTANCE,
             dot(teiAlias, IdentifiableColumns.UID),
         )
-        return "$attOrder ${item.direction().name}"
     }
 
     private fun dot(item1: String, item2: String): String {
@@ -55,9 +55,10 @@ internal class TrackedEntityInstanceQueryDataFetcher constructor(
     private val baseOnlineQueries: List<TrackedEntityInstanceQueryOnline> = onlineHelper.fromScope(scope)
     private val onlineQueryStatusMap: MutableMap<TrackedEntityInstanceQueryOnline, OnlineQueryStatus> = HashMap()
 
-    private var returnedUidsOffline: MutableSet<String> = scope.excludedUids() ?: HashSet()
+    private var returnedUidsOffline: MutableSet<String> = HashSet(scope.excludedUids().orEmpty())
     private var returnedUidsOnline: MutableSet<String> = HashSet()
     private var returnedErrorCodes: MutableSet<D2ErrorCode> = HashSet()
+    private var lastReturnedUidOffline: String? = null
     private var isExhaustedOffline = false
 
     init {
@@ -67,7 +68,8 @@ internal class TrackedEntityInstanceQueryDataFetcher constructor(
     }
 
     fun refresh() {
-        returnedUidsOffline = scope.excludedUids() ?: HashSet()
+        returnedUidsOffline = HashSet(scope.excludedUids().orEmpty())
+        lastReturnedUidOffline = null
         returnedUidsOnline = HashSet()
         returnedErrorCodes = HashSet()
     }
@@ -110,19 +112,35 @@ internal class TrackedEntityInstanceQueryDataFetcher constructor(
     }
 
     private fun queryOffline(requestedLoadSize: Int): List<Result<TrackedEntityInstance, D2Error>> {
-        val sqlQuery = localQueryHelper.getSqlQuery(
-            scope,
-            returnedUidsOffline,
-            requestedLoadSize,
-        )
+        val lastUid = lastReturnedUidOffline
+        val keyset = lastUid?.let { getKeyset(it) }
+
+        val sqlQuery = if (lastUid != null && keyset == null) {
+            // The last returned instance no longer matches the query, so its position cannot be used as reference.
+            localQueryHelper.getSqlQuery(scope, returnedUidsOffline, requestedLoadSize)
+        } else {
+            localQueryHelper.getSqlQuery(scope, scope.excludedUids(), requestedLoadSize, keyset)
+        }
         val instances = store.selectRawQuery(sqlQuery)
         returnedUidsOffline.addAll(instances.map { it.uid() })
+        instances.lastOrNull()?.let { lastReturnedUidOffline = it.uid() }
 
         return appendAttributes(instances).map {
             Result.Success(it)
         }
     }
 
+    private fun getKeyset(uid: String): TrackedEntityInstanceQueryKeyset? {
+        val sortKeysQuery = localQueryHelper.getSortKeysQuery(scope, uid)
+        return databaseAdapter.rawQuery(sortKeysQuery).use { cursor ->
+            if (cursor.moveToFirst()) {
+                TrackedEntityInstanceQueryKeyset((0 until cursor.columnCount).map { cursor.getString(it) })
+            } else {
+                null
+            }
+        }
+    }
+
     @Suppress("ComplexCondition")
     private fun queryOnline(requestLoadSize: Int): List<Result<TrackedEntityInstance, D2Error>> {
         val result: MutableList<Result<TrackedEntityInstance, D2Error>> = ArrayList()
@@ -30,7 +30,7 @@ package org.hisp.dhis.android.core.trackedentity.search
 import com.fasterxml.jackson.core.JsonProcessingException
 import com.fasterxml.jackson.databind.JsonMappingException
 import org.hisp.dhis.android.core.arch.api.executors.internal.APICallErrorCatcher
-import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory.objectMapper
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
 import org.hisp.dhis.android.core.imports.internal.HttpMessageResponse
 import org.hisp.dhis.android.core.maintenance.D2ErrorCode
 import retrofit2.Response
@@ -58,7 +58,8 @@ internal class TrackedEntityInstanceQueryErrorCatcher : APICallErrorCatcher {
 
     private fun parseErrorMessage(errorBody: String): D2ErrorCode {
         return try {
-            val parsed = objectMapper().readValue(errorBody, HttpMessageResponse::class.java)
+            val parsed = ObjectMapperRegistry.reader(HttpMessageResponse::class.java)
+                .readValue<HttpMessageResponse>(errorBody)
             if (parsed.httpStatusCode() == HttpsURLConnection.HTTP_CONFLICT) {
                 when {
                     parsed.message() == "maxteicountreached" -> D2ErrorCode.MAX_TEI_COUNT_REACHED
@@ -27,13 +27,16 @@
  */
 package org.hisp.dhis.android.core.tracker.exporter
 
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.channelFlow
 import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.withContext
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.api.paging.internal.ApiPagingEngine
 import org.hisp.dhis.android.core.arch.api.paging.internal.Paging
 import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.arch.call.D2ProgressSyncStatus
 import org.hisp.dhis.android.core.arch.handlers.internal.IdentifiableDataHandlerParams
 import org.hisp.dhis.android.core.arch.helpers.Result
@@ -44,6 +47,7 @@ import org.hisp.dhis.android.core.relationship.internal.RelationshipItemRelative
 import org.hisp.dhis.android.core.systeminfo.internal.SystemInfoModuleDownloader
 import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstance
 import org.hisp.dhis.android.core.user.internal.UserOrganisationUnitLinkStore
+import java.util.Date
 import kotlin.math.ceil
 import kotlin.math.max
 import kotlin.math.min
@@ -55,6 +59,7 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
     private val systemInfoModuleDownloader: SystemInfoModuleDownloader,
     private val relationshipDownloadAndPersistCallFactory: RelationshipDownloadAndPersistCallFactory,
     private val coroutineAPICallExecutor: CoroutineAPICallExecutor,
+    private val checkpointManager: TrackerDownloadCheckpointManager,
 ) {
 
     fun download(params: ProgramDataDownloadParams): Flow<TrackerD2Progress> = channelFlow {
@@ -63,13 +68,11 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
             progressManager.setTotalCalls(1)
             send(progressManager.increaseProgress(TrackedEntityInstance::class.java, true))
         } else {
-            val relatives = RelationshipItemRelatives()
+            val relatives = checkpointManager.getPendingRelatives(downloader)
             systemInfoModuleDownloader.downloadWithProgressManager(progressManager)
-            coroutineAPICallExecutor.wrapTransactionally(cleanForeignKeyErrors = true) {
-                downloadInternal(params, progressManager, relatives).collect { v -> send(v) }
-                downloadRelationships(progressManager, relatives).collect { v -> send(v) }
-                send(progressManager.complete())
-            }
+            downloadInternal(params, progressManager, relatives).collect { v -> send(v) }
+            downloadRelationships(progressManager, relatives).collect { v -> send(v) }
+            send(progressManager.complete())
         }
     }
 
@@ -93,26 +96,22 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
                     throw it
                 }
             } else {
-                val orgunitPrograms = bundle.orgUnits()
-                    .associateWith {
-                        bundle.commonParams().programs
-                            .map { ItemsByProgramCount(it, 0) }
-                            .toMutableList()
-                    }.toMutableMap()
-
-                val bundleResult = BundleResult(0, orgunitPrograms, bundle.orgUnits().toMutableList())
+                val bundleKey = getBundleKey(bundle)
+                val lastUpdated = getQuery(bundle, null, null, bundle.commonParams().limit).lastUpdatedStr
+                val bundleResult = getBundleResult(bundle, bundleKey, lastUpdated)
 
                 var iterationCount = 0
                 var successfulSync = true
 
                 do {
-                    val result = iterateBundle(bundle, params, bundleResult, relatives, progressManager)
+                    val result = iterateBundle(bundle, params, bundleResult, relatives, progressManager, lastUpdated)
                     successfulSync = successfulSync && result.successfulSync
                     iterationCount++
                 } while (iterationNotFinished(bundle, params, bundleResult, iterationCount))
 
                 if (successfulSync) {
-                    updateLastUpdated(bundle)
+                    updateLastUpdated(bundle, bundleResult.serverDate)
+                    checkpointManager.clear(bundleKey)
                 }
             }
             emit(progressManager.getProgress())
@@ -123,6 +122,41 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
         }
     }
 
+    /**
+     * Identifies the bundle among the checkpoints, so an interrupted download of the same bundle resumes from the
+     * orgunit/program combinations that were already committed.
+     */
+    private fun getBundleKey(bundle: Q): String {
+        val commonParams = bundle.commonParams()
+        return listOf(
+            downloader,
+            commonParams.program,
+            commonParams.programs.joinToString(","),
+            bundle.orgUnits().toSet().hashCode(),
+            commonParams.limit,
+        ).joinToString("|")
+    }
+
+    private fun getBundleResult(bundle: Q, bundleKey: String, lastUpdated: String?): BundleResult {
+        val checkpoints = checkpointManager.getCheckpoints(bundleKey, lastUpdated)
+            .associateBy { it.organisationUnit() to it.program() }
+
+        val orgunitPrograms = bundle.orgUnits()
+            .associateWith { orgUnit ->
+                bundle.commonParams().programs
+                    .filter { program -> checkpoints[orgUnit to program]?.completed() != true }
+                    .map { program ->
+                        ItemsByProgramCount(program, checkpoints[orgUnit to program]?.downloadedCount() ?: 0)
+                    }
+                    .toMutableList()
+            }.toMutableMap()
+
+        val bundleCount = checkpoints.values.sumOf { it.downloadedCount() }
+        val serverDate = checkpointManager.getServerDate(checkpoints.values)
+
+        return BundleResult(bundleCount, orgunitPrograms, bundle.orgUnits().toMutableList(), serverDate)
+    }
+
     private fun iterationNotFinished(
         bundle: Q,
         params: ProgramDataDownloadParams,
@@ -142,6 +176,7 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
         bundleResult: BundleResult,
         relatives: RelationshipItemRelatives,
         progressManager: TrackerD2ProgressManager,
+        lastUpdated: String?,
     ): IterationResult {
         val iterationResult = IterationResult()
         val limitPerCombo = getBundleLimit(bundle, params, bundleResult)
@@ -163,6 +198,7 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
                 bundleLimit,
                 relatives,
                 progressManager,
+                lastUpdated,
             )
             iterationResult.successfulSync = iterationResult.successfulSync && result.successfulSync
         }
@@ -179,6 +215,7 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
         limit: Int,
         relatives: RelationshipItemRelatives,
         progressManager: TrackerD2ProgressManager,
+        lastUpdated: String?,
     ): IterationResult {
         val iterationResult = IterationResult()
 
@@ -186,9 +223,17 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
             for (bundleProgram in bundlePrograms) {
                 if (bundleResult.bundleCount < bundle.commonParams().limit) {
                     val trackerQuery = getQuery(bundle, bundleProgram.program, orgUnitUid, limit)
+                    val position = TrackerDownloadPosition(
+                        bundle = getBundleKey(bundle),
+                        lastUpdated = lastUpdated,
+                        organisationUnit = orgUnitUid,
+                        program = bundleProgram.program,
+                        serverDate = bundleResult.serverDate,
+                    )
 
                     val result = getItemsForOrgUnitProgramCombination(
                         trackerQuery,
+                        position,
                         limit,
                         bundleProgram.itemCount,
                         params.overwrite(),
@@ -250,24 +295,28 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
         }
     }
 
+    @Suppress("LongParameterList")
     private suspend fun getItemsForOrgUnitProgramCombination(
         trackerQueryBuilder: TrackerAPIQuery,
+        position: TrackerDownloadPosition,
         combinationLimit: Int,
         downloadedCount: Int,
         overwrite: Boolean,
         relatives: RelationshipItemRelatives,
     ): ItemsWithPagingResult {
         return try {
-            getItemsWithPaging(trackerQueryBuilder, combinationLimit, downloadedCount, overwrite, relatives)
+            getItemsWithPaging(trackerQueryBuilder, position, combinationLimit, downloadedCount, overwrite, relatives)
         } catch (ignored: D2Error) {
             // TODO Build result
             ItemsWithPagingResult(0, false, null, false)
         }
     }
 
+    @Suppress("LongParameterList")
     @Throws(D2Error::class)
     private suspend fun getItemsWithPaging(
         query: TrackerAPIQuery,
+        position: TrackerDownloadPosition,
         combinationLimit: Int,
         downloadedCount: Int,
         overwrite: Boolean,
@@ -284,10 +333,6 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
                 page = paging.page(),
             )
 
-            val items = getItems(pageQuery)
-
-            val itemsToPersist = getItemsToPersist(paging, items)
-
             val persistParams = IdentifiableDataHandlerParams(
                 hasAllAttributes = true,
                 overwrite = overwrite,
@@ -295,11 +340,17 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
                 program = pageQuery.commonParams.program,
             )
 
-            persistItems(itemsToPersist, persistParams, relatives)
+            val pageResult = streamPage(pageQuery, paging, persistParams, relatives) { persistedCount, completed ->
+                checkpointManager.save(
+                    position,
+                    downloadedCount = downloadedCount + downloadedItemsForCombination + persistedCount,
+                    completed = completed,
+                )
+            }
 
-            downloadedItemsForCombination += itemsToPersist.size
+            downloadedItemsForCombination += pageResult.persistedCount
 
-            if (items.size < paging.pageSize()) {
+            if (pageResult.itemCount < paging.pageSize()) {
                 emptyProgram = true
                 break
             }
@@ -308,26 +359,141 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
         return ItemsWithPagingResult(downloadedItemsForCombination, true, null, emptyProgram)
     }
 
-    private fun getItemsToPersist(paging: Paging, pageItems: List<T>): List<T> {
-        return if (paging.isFullPage && pageItems.size > paging.previousItemsToSkipCount()) {
-            val toIndex = min(
-                pageItems.size,
-                paging.pageSize() - paging.posteriorItemsToSkipCount(),
-            )
-            pageItems.subList(paging.previousItemsToSkipCount(), toIndex)
-        } else {
-            pageItems
+    /**
+     * Decodes the page in batches of [STREAM_BATCH_SIZE] items and persists each batch in its own transaction, committed
+     * together with the checkpoint, so only one batch of decoded items is held at a time. Items are decoded before
+     * opening the transaction, so the database is never locked while reading from the network, and an interrupted
+     * download keeps the committed batches.
+     *
+     * Items skipped by the paging are not persisted, unless the page turns out to have no other items. They are kept
+     * until the page goes past them, so a resumed page may hold up to [Paging.previousItemsToSkipCount] extra items.
+     */
+    @Throws(D2Error::class)
+    private suspend fun streamPage(
+        query: TrackerAPIQuery,
+        paging: Paging,
+        params: IdentifiableDataHandlerParams,
+        relatives: RelationshipItemRelatives,
+        saveCheckpoint: (persistedCount: Int, completed: Boolean) -> Unit,
+    ): StreamedPageResult {
+        val result = StreamedPageResult()
+        val skippedItems = mutableListOf<T>()
+        val toIndex = paging.pageSize() - paging.posteriorItemsToSkipCount()
+
+        getPayloadStream(query).use { stream ->
+            do {
+                val items = readItems(stream)
+                val batch = items.filterIndexed { index, item ->
+                    val pageIndex = result.itemCount + index
+                    val skipped = paging.isFullPage && pageIndex < paging.previousItemsToSkipCount()
+                    if (skipped) {
+                        skippedItems.add(item)
+                    }
+                    !skipped && (!paging.isFullPage || pageIndex < toIndex)
+                }
+                result.itemCount += items.size
+
+                if (result.itemCount > paging.previousItemsToSkipCount()) {
+                    skippedItems.clear()
+                }
+
+                if (batch.isNotEmpty()) {
+                    result.persistedCount += batch.size
+                    persistBatch(batch, params, relatives) {
+                        saveCheckpoint(result.persistedCount, false)
+                    }
+                }
+            } while (items.isNotEmpty())
         }
+
+        result.persistedCount += skippedItems.size
+        persistBatch(skippedItems, params, relatives) {
+            saveCheckpoint(result.persistedCount, result.itemCount < paging.pageSize())
+        }
+
+        return result
+    }
+
+    /**
+     * Persists the items in a transaction together with the relatives found in them, which are added to [relatives]
+     * once committed. Only the relatives not in [relatives] yet are saved as pending. The items of the relationships
+     * written by the batch whose target is not persisted yet are staged until the relatives are downloaded, so the
+     * foreign key errors cleaned before the commit are only the actual ones.
+     */
+    private suspend fun persistBatch(
+        items: List<T>,
+        params: IdentifiableDataHandlerParams,
+        relatives: RelationshipItemRelatives,
+        onPersisted: () -> Unit = {},
+    ) {
+        val newRelatives = coroutineAPICallExecutor.wrapTransactionally(cleanForeignKeyErrors = items.isNotEmpty()) {
+            val batchRelatives = RelationshipItemRelatives()
+            if (items.isNotEmpty()) {
+                persistItems(items, params, batchRelatives)
+                checkpointManager.stagePendingRelationshipItems(downloader, batchRelatives)
+            }
+            val newRelatives = getNewRelatives(batchRelatives, relatives)
+            checkpointManager.savePendingRelatives(downloader, newRelatives)
+            onPersisted()
+            newRelatives
+        }
+
+        newRelatives.relativeTrackedEntityInstanceUids.forEach { relatives.addTrackedEntityInstance(it) }
+        newRelatives.relativeEnrollmentUids.forEach { relatives.addEnrollment(it) }
+        newRelatives.relativeEventUids.forEach { relatives.addEvent(it) }
+    }
+
+    private fun getNewRelatives(
+        batchRelatives: RelationshipItemRelatives,
+        relatives: RelationshipItemRelatives,
+    ): RelationshipItemRelatives {
+        val newRelatives = RelationshipItemRelatives()
+        (batchRelatives.relativeTrackedEntityInstanceUids - relatives.relativeTrackedEntityInstanceUids)
+            .forEach { newRelatives.addTrackedEntityInstance(it) }
+        (batchRelatives.relativeEnrollmentUids - relatives.relativeEnrollmentUids)
+            .forEach { newRelatives.addEnrollment(it) }
+        (batchRelatives.relativeEventUids - relatives.relativeEventUids)
+            .forEach { newRelatives.addEvent(it) }
+        return newRelatives
+    }
+
+    @Throws(D2Error::class)
+    private suspend fun getPayloadStream(query: TrackerAPIQuery): PayloadStream<T> {
+        return getPayloadStreamResult(query).getOrThrow()
+    }
+
+    /**
+     * Reads the next batch from the response body on the IO dispatcher, as the caller may be running on the database
+     * thread after committing the previous batch and a slow network would block every other transaction.
+     */
+    @Throws(D2Error::class)
+    private suspend fun readItems(stream: PayloadStream<T>): List<T> {
+        return coroutineAPICallExecutor.wrap(storeError = true) {
+            withContext(Dispatchers.IO) {
+                stream.nextItems(STREAM_BATCH_SIZE)
+            }
+        }.getOrThrow()
     }
 
     private fun downloadRelationships(
         progressManager: TrackerD2ProgressManager,
         relatives: RelationshipItemRelatives,
     ): Flow<TrackerD2Progress> = flow {
-        relationshipDownloadAndPersistCallFactory.downloadAndPersist(relatives)
+        relationshipDownloadAndPersistCallFactory.downloadAndPersist(relatives) {
+            checkpointManager.restorePendingRelationshipItems(downloader)
+            checkpointManager.clearPendingRelatives(downloader)
+        }
         emit(progressManager.increaseProgress(TrackedEntityInstance::class.java, false))
     }
 
+    protected suspend fun persistItemsTransactionally(
+        items: List<T>,
+        params: IdentifiableDataHandlerParams,
+        relatives: RelationshipItemRelatives,
+    ) {
+        persistBatch(items, params, relatives)
+    }
+
     @Suppress("TooGenericExceptionCaught")
     protected suspend fun getItems(query: TrackerAPIQuery): List<T> {
         return try {
@@ -354,28 +520,40 @@ internal abstract class TrackerDownloadCall<T, Q : BaseTrackerQueryBundle>(
         var bundleCount: Int,
         var bundleOrgUnitPrograms: MutableMap<String, MutableList<ItemsByProgramCount>>,
         var bundleOrgUnitsToDownload: MutableList<String?>,
+        val serverDate: Date?,
     )
 
     protected class IterationResult(
         var successfulSync: Boolean = true,
     )
 
+    private class StreamedPageResult(
+        var itemCount: Int = 0,
+        var persistedCount: Int = 0,
+    )
+
+    private val downloader: String
+        get() = javaClass.simpleName
+
     companion object {
         const val BUNDLE_ITERATION_LIMIT = 1000
         const val BUNDLE_SECURITY_FACTOR = 2
+        const val STREAM_BATCH_SIZE = 10
     }
 
     protected abstract fun getBundles(params: ProgramDataDownloadParams): List<Q>
 
     protected abstract suspend fun getPayloadResult(query: TrackerAPIQuery): Result<Payload<T>, D2Error>
 
+    protected abstract suspend fun getPayloadStreamResult(query: TrackerAPIQuery): Result<PayloadStream<T>, D2Error>
+
     protected abstract suspend fun persistItems(
         items: List<T>,
         params: IdentifiableDataHandlerParams,
         relatives: RelationshipItemRelatives,
     )
 
-    protected abstract fun updateLastUpdated(bundle: Q)
+    protected abstract fun updateLastUpdated(bundle: Q, serverDate: Date?)
 
     protected abstract suspend fun queryByUids(
         bundle: Q,
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.hisp.dhis.android.core.tracker.exporter;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gabrielittner.auto.value.cursor.ColumnAdapter;
+import com.google.auto.value.AutoValue;
+
+import org.hisp.dhis.android.core.arch.db.adapters.custom.internal.DbDateColumnAdapter;
+import org.hisp.dhis.android.core.common.BaseObject;
+
+import java.util.Date;
+
+/**
+ * Progress of a tracker download bundle for an organisation unit and program, committed together with the items of
+ * every page so an interrupted download can continue from the last committed page. The server date is the one of the
+ * run that started the bundle, as the items created after it may be skipped by the resumed pages.
+ */
+@AutoValue
+abstract class TrackerDownloadCheckpoint extends BaseObject {
+
+    @NonNull
+    abstract String bundle();
+
+    @Nullable
+    abstract String lastUpdated();
+
+    @NonNull
+    abstract String organisationUnit();
+
+    @NonNull
+    abstract String program();
+
+    @NonNull
+    abstract Integer downloadedCount();
+
+    @NonNull
+    abstract Boolean completed();
+
+    @Nullable
+    @ColumnAdapter(DbDateColumnAdapter.class)
+    abstract Date serverDate();
+
+    @NonNull
+    static TrackerDownloadCheckpoint create(Cursor cursor) {
+        return AutoValue_TrackerDownloadCheckpoint.createFromCursor(cursor);
+    }
+
+    static Builder builder() {
+        return new AutoValue_TrackerDownloadCheckpoint.Builder();
+    }
+
+    abstract Builder toBuilder();
+
+    @AutoValue.Builder
+    static abstract class Builder extends BaseObject.Builder<Builder> {
+
+        abstract Builder bundle(String bundle);
+
+        abstract Builder lastUpdated(String lastUpdated);
+
+        abstract Builder organisationUnit(String organisationUnit);
+
+        abstract Builder program(String program);
+
+        abstract Builder downloadedCount(Integer downloadedCount);
+
+        abstract Builder completed(Boolean completed);
+
+        abstract Builder serverDate(Date serverDate);
+
+        abstract TrackerDownloadCheckpoint build();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.tracker.exporter
+
+import org.hisp.dhis.android.core.arch.db.querybuilders.internal.WhereClauseBuilder
+import org.hisp.dhis.android.core.relationship.RelationshipItemTableInfo
+import org.hisp.dhis.android.core.relationship.internal.RelationshipItemRelatives
+import org.hisp.dhis.android.core.resource.internal.ResourceHandler
+import org.hisp.dhis.android.core.tracker.exporter.TrackerDownloadCheckpointTableInfo.Columns
+import org.koin.core.annotation.Singleton
+import java.util.Date
+
+/**
+ * Resume cursor of the tracker downloads. Checkpoints belong to a bundle and to the lastUpdated date it was
+ * downloaded from: they are discarded as soon as the bundle is downloaded from a different date, as it happens once
+ * the bundle completes and its lastUpdated is moved forward.
+ *
+ * Resumed pages are found by offset, so the items created in the server after the first run can be skipped. The
+ * bundle keeps the server date of the first run, which is used as its next lastUpdated once it completes.
+ *
+ * The relatives found in the committed pages are kept as well until their relationships are downloaded, as the
+ * resumed download does not go through those pages again, together with the relationship items pointing to them.
+ */
+@Singleton
+internal class TrackerDownloadCheckpointManager(
+    private val store: TrackerDownloadCheckpointStore,
+    private val relativeStore: TrackerDownloadRelativeStore,
+    private val relationshipItemStore: TrackerDownloadRelationshipItemStore,
+    private val resourceHandler: ResourceHandler,
+) {
+
+    fun getCheckpoints(bundle: String, lastUpdated: String?): List<TrackerDownloadCheckpoint> {
+        val checkpoints = store.selectWhere(bundleWhereClause(bundle))
+
+        return if (checkpoints.any { it.lastUpdated() != lastUpdated }) {
+            clear(bundle)
+            emptyList()
+        } else {
+            checkpoints
+        }
+    }
+
+    fun getServerDate(checkpoints: Collection<TrackerDownloadCheckpoint>): Date? {
+        return checkpoints.mapNotNull { it.serverDate() }.minOrNull() ?: resourceHandler.serverDate
+    }
+
+    fun save(position: TrackerDownloadPosition, downloadedCount: Int, completed: Boolean) {
+        store.updateOrInsertWhere(
+            TrackerDownloadCheckpoint.builder()
+                .bundle(position.bundle)
+                .lastUpdated(position.lastUpdated)
+                .organisationUnit(position.organisationUnit)
+                .program(position.program)
+                .downloadedCount(downloadedCount)
+                .completed(completed)
+                .serverDate(position.serverDate)
+                .build(),
+        )
+    }
+
+    fun clear(bundle: String) {
+        store.deleteWhere(bundleWhereClause(bundle))
+    }
+
+    fun getPendingRelatives(downloader: String): RelationshipItemRelatives {
+        val relatives = RelationshipItemRelatives()
+
+        relativeStore.selectWhere(downloaderWhereClause(downloader)).forEach {
+            when (it.elementType()) {
+                RelationshipItemTableInfo.Columns.TRACKED_ENTITY_INSTANCE ->
+                    relatives.addTrackedEntityInstance(it.elementUid())
+                RelationshipItemTableInfo.Columns.ENROLLMENT -> relatives.addEnrollment(it.elementUid())
+                RelationshipItemTableInfo.Columns.EVENT -> relatives.addEvent(it.elementUid())
+            }
+        }
+
+        return relatives
+    }
+
+    fun savePendingRelatives(downloader: String, relatives: RelationshipItemRelatives) {
+        val elements = relatives.relativeTrackedEntityInstanceUids
+            .map { RelationshipItemTableInfo.Columns.TRACKED_ENTITY_INSTANCE to it } +
+            relatives.relativeEnrollmentUids.map { RelationshipItemTableInfo.Columns.ENROLLMENT to it } +
+            relatives.relativeEventUids.map { RelationshipItemTableInfo.Columns.EVENT to it }
+
+        elements.forEach { (elementType, elementUid) ->
+            relativeStore.updateOrInsertWhere(
+                TrackerDownloadRelative.builder()
+                    .downloader(downloader)
+                    .elementType(elementType)
+                    .elementUid(elementUid)
+                    .build(),
+            )
+        }
+    }
+
+    fun clearPendingRelatives(downloader: String) {
+        relativeStore.deleteWhere(downloaderWhereClause(downloader))
+    }
+
+    fun stagePendingRelationshipItems(downloader: String, relatives: RelationshipItemRelatives) {
+        if (relatives.relationshipUids.isNotEmpty()) {
+            relationshipItemStore.stageItemsWithMissingTarget(downloader, relatives.relationshipUids)
+        }
+    }
+
+    fun restorePendingRelationshipItems(downloader: String) {
+        relationshipItemStore.restoreItems(downloader)
+    }
+
+    private fun downloaderWhereClause(downloader: String): String {
+        return WhereClauseBuilder()
+            .appendKeyStringValue(TrackerDownloadRelativeTableInfo.Columns.DOWNLOADER, downloader)
+            .build()
+    }
+
+    private fun bundleWhereClause(bundle: String): String {
+        return WhereClauseBuilder()
+            .appendKeyStringValue(Columns.BUNDLE, bundle)
+            .build()
+    }
+}
+
+internal data class TrackerDownloadPosition(
+    val bundle: String,
+    val lastUpdated: String?,
+    val organisationUnit: String,
+    val program: String,
+    val serverDate: Date?,
+)
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.tracker.exporter
+
+import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
+import org.hisp.dhis.android.core.common.IdentifiableColumns
+import org.hisp.dhis.android.core.enrollment.EnrollmentTableInfo
+import org.hisp.dhis.android.core.event.EventTableInfo
+import org.hisp.dhis.android.core.relationship.RelationshipItemTableInfo
+import org.hisp.dhis.android.core.trackedentity.TrackedEntityInstanceTableInfo
+import org.hisp.dhis.android.core.tracker.exporter.TrackerDownloadRelationshipItemTableInfo.Columns
+import org.koin.core.annotation.Singleton
+
+/**
+ * Keeps aside the relationship items of a tracker download whose target is not persisted yet, like the relationships
+ * to items of later pages or to relatives, so every batch can be committed with the foreign keys enforced. Only the
+ * relationships written by the batch are looked at. The items are restored once the relatives are downloaded, and
+ * those still missing a target are then cleaned as foreign key errors.
+ *
+ * If the download is interrupted, the staged relationships keep only the item pointing to the downloaded object until
+ * the next download of the same kind restores them. The staged rows are wiped together with the checkpoints.
+ */
+@Singleton
+internal class TrackerDownloadRelationshipItemStore(private val databaseAdapter: DatabaseAdapter) {
+
+    fun stageItemsWithMissingTarget(downloader: String, relationshipUids: Collection<String>) {
+        relationshipUids.chunked(QUERY_CHUNK_SIZE).forEach { chunk ->
+            val whereClause = "${Columns.RELATIONSHIP} IN (${chunk.joinToString(", ") { "?" }}) " +
+                "AND ($MISSING_TARGET_CLAUSE)"
+
+            execute(
+                "INSERT OR REPLACE INTO $TABLE_NAME (${Columns.DOWNLOADER}, $ITEM_COLUMNS) " +
+                    "SELECT ?, $ITEM_COLUMNS FROM $ITEM_TABLE_NAME WHERE $whereClause;",
+                downloader,
+                *chunk.toTypedArray(),
+            )
+            execute("DELETE FROM $ITEM_TABLE_NAME WHERE $whereClause;", *chunk.toTypedArray())
+        }
+    }
+
+    fun restoreItems(downloader: String) {
+        execute(
+            "INSERT INTO $ITEM_TABLE_NAME ($ITEM_COLUMNS) " +
+                "SELECT $ITEM_COLUMNS FROM $TABLE_NAME s WHERE s.${Columns.DOWNLOADER} = ? AND NOT EXISTS (" +
+                "SELECT 1 FROM $ITEM_TABLE_NAME i " +
+                "WHERE i.${Columns.RELATIONSHIP} = s.${Columns.RELATIONSHIP} " +
+                "AND i.${Columns.RELATIONSHIP_ITEM_TYPE} = s.${Columns.RELATIONSHIP_ITEM_TYPE});",
+            downloader,
+        )
+        execute("DELETE FROM $TABLE_NAME WHERE ${Columns.DOWNLOADER} = ?;", downloader)
+    }
+
+    private fun execute(sql: String, vararg args: String) {
+        val statement = databaseAdapter.compileStatement(sql)
+        try {
+            args.forEachIndexed { index, arg -> statement.bind(index + 1, arg) }
+            databaseAdapter.executeUpdateDelete(statement)
+        } finally {
+            statement.close()
+        }
+    }
+
+    companion object {
+        private const val QUERY_CHUNK_SIZE = 500
+
+        private val TABLE_NAME = TrackerDownloadRelationshipItemTableInfo.TABLE_INFO.name()
+        private val ITEM_TABLE_NAME = RelationshipItemTableInfo.TABLE_INFO.name()
+
+        private val ITEM_COLUMNS = listOf(
+            Columns.RELATIONSHIP,
+            Columns.RELATIONSHIP_ITEM_TYPE,
+            Columns.TRACKED_ENTITY_INSTANCE,
+            Columns.ENROLLMENT,
+            Columns.EVENT,
+        ).joinToString(", ")
+
+        private val MISSING_TARGET_CLAUSE = listOf(
+            Columns.TRACKED_ENTITY_INSTANCE to TrackedEntityInstanceTableInfo.TABLE_INFO.name(),
+            Columns.ENROLLMENT to EnrollmentTableInfo.TABLE_INFO.name(),
+            Columns.EVENT to EventTableInfo.TABLE_INFO.name(),
+        ).joinToString(" OR ") { (column, targetTable) ->
+            "($column IS NOT NULL AND NOT EXISTS " +
+                "(SELECT 1 FROM $targetTable t WHERE t.${IdentifiableColumns.UID} = $column))"
+        }
+    }
+}
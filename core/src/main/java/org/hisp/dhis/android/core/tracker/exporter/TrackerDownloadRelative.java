@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.hisp.dhis.android.core.tracker.exporter;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+
+import com.google.auto.value.AutoValue;
+
+import org.hisp.dhis.android.core.common.BaseObject;
+
+/**
+ * Relationship item found in a committed page whose relationships are still pending to download, so they are not
+ * lost if the download is interrupted before the relationships are downloaded.
+ */
+@AutoValue
+abstract class TrackerDownloadRelative extends BaseObject {
+
+    @NonNull
+    abstract String downloader();
+
+    @NonNull
+    abstract String elementType();
+
+    @NonNull
+    abstract String elementUid();
+
+    @NonNull
+    static TrackerDownloadRelative create(Cursor cursor) {
+        return AutoValue_TrackerDownloadRelative.createFromCursor(cursor);
+    }
+
+    static Builder builder() {
+        return new AutoValue_TrackerDownloadRelative.Builder();
+    }
+
+    abstract Builder toBuilder();
+
+    @AutoValue.Builder
+    static abstract class Builder extends BaseObject.Builder<Builder> {
+
+        abstract Builder downloader(String downloader);
+
+        abstract Builder elementType(String elementType);
+
+        abstract Builder elementUid(String elementUid);
+
+        abstract TrackerDownloadRelative build();
+    }
+}
@@ -30,6 +30,7 @@ package org.hisp.dhis.android.core.tracker.exporter
 import org.hisp.dhis.android.core.arch.api.fields.internal.Fields
 import org.hisp.dhis.android.core.arch.api.filters.internal.Which
 import org.hisp.dhis.android.core.arch.api.payload.internal.NTIPayload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
 import org.hisp.dhis.android.core.enrollment.NewTrackerImporterEnrollment
 import org.hisp.dhis.android.core.event.NewTrackerImporterEvent
 import org.hisp.dhis.android.core.trackedentity.NewTrackerImporterTrackedEntity
@@ -89,6 +90,24 @@ internal interface TrackerExporterService {
         @Query(INCLUDE_DELETED) includeDeleted: Boolean = false,
     ): NTIPayload<NewTrackerImporterTrackedEntity>
 
+    @GET(TRACKED_ENTITY_INSTANCES)
+    suspend fun streamTrackedEntityInstances(
+        @Query(FIELDS) @Which fields: Fields<NewTrackerImporterTrackedEntity>,
+        @Query(TRACKED_ENTITY_INSTACE) trackedEntityInstances: String?,
+        @Query(OU) orgUnits: String?,
+        @Query(OU_MODE) orgUnitMode: String?,
+        @Query(PROGRAM) program: String?,
+        @Query(ENROLLMENT_ENROLLED_AFTER) programStartDate: String?,
+        @Query(PROGRAM_STATUS) programStatus: String?,
+        @Query(UPDATED_AFTER) lastUpdatedStartDate: String?,
+        @Query(ORDER) order: String?,
+        @Query(PAGING) paging: Boolean,
+        @Query(PAGE) page: Int,
+        @Query(PAGE_SIZE) pageSize: Int,
+        @Query(INCLUDE_ALL_ATTRIBUTES) includeAllAttributes: Boolean,
+        @Query(INCLUDE_DELETED) includeDeleted: Boolean,
+    ): PayloadStream<NewTrackerImporterTrackedEntity>
+
     @GET("$ENROLLMENTS/{$ENROLLMENT}")
     suspend fun getEnrollmentSingle(
         @Path(ENROLLMENT) enrollmentUid: String,
@@ -126,6 +145,21 @@ internal interface TrackerExporterService {
         @Query(EVENT) eventUid: String? = null,
     ): NTIPayload<NewTrackerImporterEvent>
 
+    @GET(EVENTS)
+    suspend fun streamEvents(
+        @Query(FIELDS) @Which fields: Fields<NewTrackerImporterEvent>,
+        @Query(OU) orgUnit: String?,
+        @Query(OU_MODE) orgUnitMode: String?,
+        @Query(PROGRAM) program: String?,
+        @Query(OCCURRED_AFTER) occurredAfter: String?,
+        @Query(PAGING) paging: Boolean,
+        @Query(PAGE) page: Int,
+        @Query(PAGE_SIZE) pageSize: Int,
+        @Query(UPDATED_AFTER) updatedAfter: String?,
+        @Query(INCLUDE_DELETED) includeDeleted: Boolean,
+        @Query(EVENT) eventUid: String?,
+    ): PayloadStream<NewTrackerImporterEvent>
+
     @GET(EVENTS)
     suspend fun getEventSingle(
         @Query(FIELDS) @Which fields: Fields<NewTrackerImporterEvent>,
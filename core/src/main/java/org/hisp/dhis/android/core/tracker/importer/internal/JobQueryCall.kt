@@ -44,10 +44,11 @@ import org.hisp.dhis.android.core.trackedentity.internal.NewTrackerImporterTrack
 import org.koin.core.annotation.Singleton
 import kotlin.time.Duration.Companion.seconds
 
-internal const val ATTEMPTS_AFTER_UPLOAD = 90
+internal const val ATTEMPTS_AFTER_UPLOAD = 30
 internal const val ATTEMPTS_WHEN_QUERYING = 1
 internal val ATTEMPTS_INITIAL_DELAY = 1.seconds
-internal val ATTEMPTS_INTERVAL = 2.seconds
+internal const val ATTEMPTS_BACKOFF_FACTOR = 1.5
+internal val ATTEMPTS_MAX_INTERVAL = 8.seconds
 
 @Singleton
 internal class JobQueryCall internal constructor(
@@ -90,7 +91,8 @@ internal class JobQueryCall internal constructor(
     ): Flow<D2Progress> = flow {
         val progressManager = D2ProgressManager(null)
 
-        delay(ATTEMPTS_INITIAL_DELAY)
+        var interval = ATTEMPTS_INITIAL_DELAY
+        delay(interval)
 
         @Suppress("TooGenericExceptionCaught", "UnusedPrivateMember")
         for (i in 0..attempts) {
@@ -112,7 +114,9 @@ internal class JobQueryCall internal constructor(
                 break
             }
 
-            delay(ATTEMPTS_INTERVAL)
+            // Small jobs are usually ready within a few seconds, large ones are not worth polling so often
+            interval = minOf(interval * ATTEMPTS_BACKOFF_FACTOR, ATTEMPTS_MAX_INTERVAL)
+            delay(interval)
         }
 
         updateFileResourceStates(jobObjects)
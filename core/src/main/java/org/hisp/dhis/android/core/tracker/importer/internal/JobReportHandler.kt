@@ -42,6 +42,12 @@ internal class JobReportHandler internal constructor(
 ) {
 
     fun handle(o: JobReport, jobObjects: List<TrackerJobObject>) {
+        dataStatePropagator.deferPropagation {
+            handleInternal(o, jobObjects)
+        }
+    }
+
+    private fun handleInternal(o: JobReport, jobObjects: List<TrackerJobObject>) {
         val jobObjectsMap = jobObjects.associateBy { jo -> Pair(jo.trackerType(), jo.objectUid()) }
         val relatedUids = getRelatedUids(jobObjects)
 
@@ -0,0 +1,195 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.tracker.importer.internal
+
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
+import org.hisp.dhis.android.core.enrollment.NewTrackerImporterEnrollment
+import org.hisp.dhis.android.core.event.NewTrackerImporterEvent
+import org.hisp.dhis.android.core.relationship.NewTrackerImporterRelationship
+import org.hisp.dhis.android.core.trackedentity.NewTrackerImporterTrackedEntity
+import org.hisp.dhis.android.core.trackedentity.internal.NewTrackerImporterPayload
+import org.koin.core.annotation.Singleton
+import java.io.OutputStream
+
+/**
+ * Splits a tracker importer payload in chunks bounded by number of objects and serialized size.
+ *
+ * Tracked entities are kept in the same chunk as their enrollments and events, and enrollments as their events, so
+ * every chunk can be imported independently of the others. Relationships may point to objects in any chunk, so they
+ * go in chunks of their own which must wait for the rest: after them when creating and updating, before them when
+ * deleting.
+ */
+@Singleton
+internal class TrackerImporterPayloadSplitter {
+
+    private val writer = ObjectMapperRegistry.writer()
+
+    fun split(
+        payload: NewTrackerImporterPayload,
+        importStrategy: String,
+        maxObjects: Int = MAX_OBJECTS_PER_CHUNK,
+        maxBytes: Long = MAX_BYTES_PER_CHUNK,
+    ): List<TrackerImporterPayloadChunk> {
+        val dataChunks = pack(getDataGroups(payload), maxObjects, maxBytes, payload.fileResourcesMap)
+        val relationshipChunks = pack(
+            payload.relationships.map { relationship ->
+                ObjectGroup(relationships = listOf(relationship)).also { it.bytes = serializedSize(relationship) }
+            },
+            maxObjects,
+            maxBytes,
+            payload.fileResourcesMap,
+        )
+
+        val orderedChunks = if (importStrategy == IMPORT_STRATEGY_DELETE) {
+            listOf(relationshipChunks, dataChunks)
+        } else {
+            listOf(dataChunks, relationshipChunks)
+        }.filter { it.isNotEmpty() }
+
+        return orderedChunks.flatMapIndexed { index, chunks ->
+            chunks.mapIndexed { chunkIndex, chunk ->
+                TrackerImporterPayloadChunk(chunk, waitForPrevious = index > 0 && chunkIndex == 0)
+            }
+        }
+    }
+
+    private fun getDataGroups(payload: NewTrackerImporterPayload): List<ObjectGroup> {
+        val eventsByEnrollment = payload.events.groupBy { it.enrollment() }
+        val enrollmentsByTrackedEntity = payload.enrollments.groupBy { it.trackedEntity() }
+        val trackedEntityUids = payload.trackedEntities.map { it.uid() }.toSet()
+        val enrollmentUids = payload.enrollments.map { it.uid() }.toSet()
+
+        val trackedEntityGroups = payload.trackedEntities.map { trackedEntity ->
+            val enrollments = enrollmentsByTrackedEntity[trackedEntity.uid()] ?: emptyList()
+            ObjectGroup(
+                trackedEntities = listOf(trackedEntity),
+                enrollments = enrollments,
+                events = getEvents(enrollments, eventsByEnrollment),
+            ).also { group ->
+                group.bytes = serializedSize(trackedEntity) + sumSerializedSize(group.enrollments + group.events)
+            }
+        }
+
+        val enrollmentGroups = payload.enrollments
+            .filterNot { trackedEntityUids.contains(it.trackedEntity()) }
+            .map { enrollment ->
+                ObjectGroup(
+                    enrollments = listOf(enrollment),
+                    events = getEvents(listOf(enrollment), eventsByEnrollment),
+                ).also { group -> group.bytes = sumSerializedSize(group.enrollments + group.events) }
+            }
+
+        val eventGroups = payload.events
+            .filterNot { enrollmentUids.contains(it.enrollment()) }
+            .map { event -> ObjectGroup(events = listOf(event)).also { it.bytes = serializedSize(event) } }
+
+        return trackedEntityGroups + enrollmentGroups + eventGroups
+    }
+
+    private fun getEvents(
+        enrollments: List<NewTrackerImporterEnrollment>,
+        eventsByEnrollment: Map<String?, List<NewTrackerImporterEvent>>,
+    ): List<NewTrackerImporterEvent> {
+        return enrollments.flatMap { eventsByEnrollment[it.uid()] ?: emptyList() }
+    }
+
+    private fun pack(
+        groups: List<ObjectGroup>,
+        maxObjects: Int,
+        maxBytes: Long,
+        fileResourcesMap: Map<String, List<String>>,
+    ): List<NewTrackerImporterPayload> {
+        val chunks = mutableListOf<NewTrackerImporterPayload>()
+        var current = NewTrackerImporterPayload(fileResourcesMap = fileResourcesMap)
+        var currentObjects = 0
+        var currentBytes = 0L
+
+        groups.forEach { group ->
+            val exceedsLimits = currentObjects + group.size > maxObjects || currentBytes + group.bytes > maxBytes
+            if (currentObjects > 0 && exceedsLimits) {
+                chunks.add(current)
+                current = NewTrackerImporterPayload(fileResourcesMap = fileResourcesMap)
+                currentObjects = 0
+                currentBytes = 0L
+            }
+            current.trackedEntities.addAll(group.trackedEntities)
+            current.enrollments.addAll(group.enrollments)
+            current.events.addAll(group.events)
+            current.relationships.addAll(group.relationships)
+            currentObjects += group.size
+            currentBytes += group.bytes
+        }
+
+        if (!current.isEmpty()) {
+            chunks.add(current)
+        }
+        return chunks
+    }
+
+    private fun sumSerializedSize(objects: List<Any>): Long {
+        return objects.sumOf { serializedSize(it) }
+    }
+
+    private fun serializedSize(value: Any): Long {
+        val counter = CountingOutputStream()
+        writer.writeValue(counter, value)
+        return counter.count
+    }
+
+    private class ObjectGroup(
+        val trackedEntities: List<NewTrackerImporterTrackedEntity> = emptyList(),
+        val enrollments: List<NewTrackerImporterEnrollment> = emptyList(),
+        val events: List<NewTrackerImporterEvent> = emptyList(),
+        val relationships: List<NewTrackerImporterRelationship> = emptyList(),
+    ) {
+        var bytes: Long = 0L
+        val size: Int get() = trackedEntities.size + enrollments.size + events.size + relationships.size
+    }
+
+    private class CountingOutputStream : OutputStream() {
+        var count = 0L
+
+        override fun write(b: Int) {
+            count++
+        }
+
+        override fun write(b: ByteArray, off: Int, len: Int) {
+            count += len
+        }
+    }
+
+    companion object {
+        const val MAX_OBJECTS_PER_CHUNK = 500
+        const val MAX_BYTES_PER_CHUNK = 2_000_000L
+    }
+}
+
+internal data class TrackerImporterPayloadChunk(
+    val payload: NewTrackerImporterPayload,
+    val waitForPrevious: Boolean,
+)
@@ -27,9 +27,15 @@
  */
 package org.hisp.dhis.android.core.tracker.importer.internal
 
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.ProducerScope
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
 import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
 import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutor
 import org.hisp.dhis.android.core.arch.call.D2Progress
 import org.hisp.dhis.android.core.arch.call.internal.D2ProgressManager
@@ -61,6 +67,7 @@ internal class TrackerImporterPostCall internal constructor(
     private val jobQueryCall: JobQueryCall,
     private val jobObjectHandler: TrackerJobObjectHandler,
     private val breakTheGlassHelper: TrackerImporterBreakTheGlassHelper,
+    private val payloadSplitter: TrackerImporterPayloadSplitter,
 ) {
     fun uploadTrackedEntityInstances(
         filteredTrackedEntityInstances: List<TrackedEntityInstance>,
@@ -87,36 +94,71 @@ internal class TrackerImporterPostCall internal constructor(
     private fun doPostCall(
         payload: NewTrackerImporterPayload,
         importStrategy: String,
-    ): Flow<D2Progress> = flow {
+    ): Flow<D2Progress> = channelFlow {
         if (payload.isEmpty()) {
-            emit(D2ProgressManager(null).increaseProgress(NewTrackerImporterPayload::class.java, true))
+            send(D2ProgressManager(null).increaseProgress(NewTrackerImporterPayload::class.java, true))
         } else {
-            emitAll(doPost(payload, importStrategy))
+            val jobSlots = Semaphore(MAX_JOBS_IN_FLIGHT)
+            val jobQueries = mutableListOf<Job>()
+
+            try {
+                payloadSplitter.split(payload, importStrategy).forEach { chunk ->
+                    if (chunk.waitForPrevious) {
+                        jobQueries.joinAll()
+                    }
 
-            val glassErrors = breakTheGlassHelper.getGlassErrors(payload)
+                    jobSlots.acquire()
+                    val jobId = try {
+                        doPost(chunk.payload, importStrategy)
+                    } catch (e: D2Error) {
+                        jobSlots.release()
+                        throw e
+                    }
 
-            if (!glassErrors.isEmpty()) {
-                breakTheGlassHelper.fakeBreakGlass(glassErrors)
-                emitAll(doPost(payload, importStrategy))
+                    jobQueries += launch {
+                        try {
+                            queryJobAndRetryGlassErrors(jobId, chunk.payload, importStrategy)
+                        } finally {
+                            jobSlots.release()
+                        }
+                    }
+                }
+            } catch (e: D2Error) {
+                // Let the chunks already posted settle their states before surfacing the error
+                jobQueries.joinAll()
+                throw e
             }
         }
     }
 
-    private fun doPost(
+    private suspend fun ProducerScope<D2Progress>.queryJobAndRetryGlassErrors(
+        jobId: String,
         payload: NewTrackerImporterPayload,
         importStrategy: String,
-    ): Flow<D2Progress> = flow {
+    ) {
+        jobQueryCall.queryJob(jobId).collect { send(it) }
+
+        val glassErrors = breakTheGlassHelper.getGlassErrors(payload)
+
+        if (!glassErrors.isEmpty()) {
+            breakTheGlassHelper.fakeBreakGlass(glassErrors)
+            val retryJobId = doPost(payload, importStrategy)
+            jobQueryCall.queryJob(retryJobId).collect { send(it) }
+        }
+    }
+
+    private suspend fun doPost(
+        payload: NewTrackerImporterPayload,
+        importStrategy: String,
+    ): String {
         stateManager.setStates(payload, State.UPLOADING)
 
-        doPostCallInternal(payload, importStrategy).fold(
-            onSuccess = { jobId ->
-                emitAll(jobQueryCall.queryJob(jobId))
-            },
-            onFailure = {
-                stateManager.restoreStates(payload)
-                throw it
-            },
-        )
+        val result = doPostCallInternal(payload, importStrategy)
+
+        if (result is Result.Failure) {
+            stateManager.restoreStates(payload)
+        }
+        return result.getOrThrow()
     }
 
     private suspend fun doPostCallInternal(
@@ -164,4 +206,8 @@ internal class TrackerImporterPostCall internal constructor(
                 .build()
         }
     }
+
+    companion object {
+        const val MAX_JOBS_IN_FLIGHT = 3
+    }
 }
@@ -31,6 +31,7 @@ package org.hisp.dhis.android.core.user.internal
 import android.content.Context
 import io.reactivex.Observable
 import io.reactivex.subjects.PublishSubject
+import org.hisp.dhis.android.core.arch.api.internal.HttpCacheHelper
 import org.hisp.dhis.android.core.arch.db.access.internal.DatabaseAdapterFactory
 import org.hisp.dhis.android.core.arch.helpers.FileResourceDirectoryHelper
 import org.hisp.dhis.android.core.arch.storage.internal.Credentials
@@ -55,6 +56,7 @@ internal class AccountManagerImpl constructor(
     private val credentialsSecureStore: CredentialsSecureStore,
     private val logOutCall: LogOutCall,
     private val context: Context,
+    private val httpCacheHelper: HttpCacheHelper,
 ) : AccountManager {
     private val accountDeletionSubject = PublishSubject.create<AccountDeletionReason>()
 
@@ -125,6 +127,7 @@ internal class AccountManagerImpl constructor(
 
         FileResourceDirectoryHelper.deleteFileResourceDirectories(context, loggedAccount)
         databaseAdapterFactory.deleteDatabase(loggedAccount)
+        httpCacheHelper.onAccountDeleted()
     }
 
     private fun updateSyncState(account: DatabaseAccount): DatabaseAccount {
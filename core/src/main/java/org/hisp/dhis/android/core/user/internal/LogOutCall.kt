@@ -35,6 +35,7 @@ import org.hisp.dhis.android.core.arch.storage.internal.UserIdInMemoryStore
 import org.hisp.dhis.android.core.maintenance.D2Error
 import org.hisp.dhis.android.core.maintenance.D2ErrorCode
 import org.hisp.dhis.android.core.maintenance.D2ErrorComponent
+import org.hisp.dhis.android.core.period.internal.PeriodCache
 import org.koin.core.annotation.Singleton
 
 @Singleton
@@ -43,6 +44,7 @@ class LogOutCall internal constructor(
     private val databaseAdapterFactory: DatabaseAdapterFactory,
     private val credentialsSecureStore: CredentialsSecureStore,
     private val userIdStore: UserIdInMemoryStore,
+    private val periodCache: PeriodCache,
 ) {
 
     fun logOut(): Completable {
@@ -56,6 +58,7 @@ class LogOutCall internal constructor(
             }
 
             databaseAdapterFactory.removeDatabaseAdapter(databaseAdapter)
+            periodCache.clearPersisted()
             credentialsSecureStore.remove()
             userIdStore.remove()
         }
@@ -35,4 +35,7 @@ import org.koin.core.annotation.Singleton
 @Singleton
 internal class UserRoleHandler(
     store: UserRoleStore,
-) : IdentifiableHandlerImpl<UserRole>(store)
+) : IdentifiableHandlerImpl<UserRole>(store) {
+
+    override val supportsBulkPersistence = true
+}
@@ -65,4 +65,24 @@ interface ValidationEngine {
         orgUnitUid: String,
         attributeOptionComboUid: String,
     ): ValidationResult
+
+    /**
+     * Run the validation for many combinations of dataSet, period, organisation unit and attribute option combo.
+     * Validation rules, constants, organisation unit group counts and data values are loaded once for all of them,
+     * and the combinations are evaluated in parallel.
+     *
+     * @param targets Combinations to validate
+     * @return Validation result by combination
+     */
+    fun validate(targets: List<ValidationTarget>): Single<Map<ValidationTarget, ValidationResult>>
+
+    /**
+     * Run the validation for many combinations of dataSet, period, organisation unit and attribute option combo.
+     * Important: this is a blocking method and it should not be executed in the main thread. Consider the
+     * asynchronous version [.validate].
+     *
+     * @param targets Combinations to validate
+     * @return Validation result by combination
+     */
+    fun blockingValidate(targets: List<ValidationTarget>): Map<ValidationTarget, ValidationResult>
 }
@@ -28,6 +28,11 @@
 package org.hisp.dhis.android.core.validation.engine.internal
 
 import io.reactivex.Single
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.runBlocking
 import org.hisp.dhis.android.core.arch.helpers.UidsHelper.mapByUid
 import org.hisp.dhis.android.core.constant.Constant
 import org.hisp.dhis.android.core.constant.ConstantCollectionRepository
@@ -46,6 +51,7 @@ import org.hisp.dhis.android.core.validation.ValidationRuleCollectionRepository
 import org.hisp.dhis.android.core.validation.engine.ValidationEngine
 import org.hisp.dhis.android.core.validation.engine.ValidationResult
 import org.hisp.dhis.android.core.validation.engine.ValidationResult.ValidationResultStatus
+import org.hisp.dhis.android.core.validation.engine.ValidationTarget
 import org.koin.core.annotation.Singleton
 
 @Singleton
@@ -73,34 +79,72 @@ internal class ValidationEngineImpl(
         orgUnitUid: String,
         attributeOptionComboUid: String,
     ): ValidationResult {
-        val rules = getValidationRulesForDataSetValidation(dataSetUid)
+        val target = ValidationTarget(dataSetUid, periodId, orgUnitUid, attributeOptionComboUid)
+        return blockingValidate(listOf(target)).getValue(target)
+    }
+
+    override fun validate(targets: List<ValidationTarget>): Single<Map<ValidationTarget, ValidationResult>> {
+        return Single.fromCallable { blockingValidate(targets) }
+    }
+
+    /**
+     * Targets are evaluated in parallel on a bounded dispatcher. A single target is evaluated on the caller's thread.
+     */
+    override fun blockingValidate(targets: List<ValidationTarget>): Map<ValidationTarget, ValidationResult> {
+        val rulesByDataSet = targets.map { it.dataSetUid }.distinct().associateWith {
+            getValidationRulesForDataSetValidation(it)
+        }
 
-        val violations = if (rules.isNotEmpty()) {
+        val targetsWithRules = targets.filter { rulesByDataSet.getValue(it.dataSetUid).isNotEmpty() }
+
+        val violationsByTarget = if (targetsWithRules.isNotEmpty()) {
             val constantMap = constantMap
-            val valueMap = getValueMap(
-                dataSetUid,
-                attributeOptionComboUid,
-                orgUnitUid,
-                periodId,
-            )
             val orgunitGroupMap = orgunitGroupMap
-            val organisationUnit = getOrganisationUnit(orgUnitUid)
-            val period = getPeriod(periodId)
-            val context = ExpressionServiceContext(valueMap, constantMap, orgunitGroupMap, PeriodHelper.getDays(period))
+            val valueMaps = getValueMaps(targetsWithRules)
+            val organisationUnits = getOrganisationUnits(targetsWithRules.map { it.orgUnitUid }.distinct())
+            val periods = targetsWithRules.map { it.periodId }.distinct().associateWith { getPeriod(it) }
+
+            val evaluateTarget = { target: ValidationTarget ->
+                val period = periods.getValue(target.periodId)
+                val context = ExpressionServiceContext(
+                    valueMaps[target] ?: emptyMap(),
+                    constantMap,
+                    orgunitGroupMap,
+                    PeriodHelper.getDays(period),
+                )
 
-            rules.mapNotNull {
-                validationExecutor.evaluateRule(it, organisationUnit, context, period, attributeOptionComboUid)
+                target to rulesByDataSet.getValue(target.dataSetUid).mapNotNull {
+                    validationExecutor.evaluateRule(
+                        it,
+                        organisationUnits[target.orgUnitUid],
+                        context,
+                        period,
+                        target.attributeOptionComboUid,
+                    )
+                }
+            }
+
+            val distinctTargets = targetsWithRules.distinct()
+            if (distinctTargets.size == 1) {
+                distinctTargets.associate(evaluateTarget)
+            } else {
+                runBlocking(validationDispatcher) {
+                    distinctTargets.map { async { evaluateTarget(it) } }.awaitAll().toMap()
+                }
             }
         } else {
-            emptyList()
+            emptyMap()
         }
 
-        val status = if (violations.isEmpty()) ValidationResultStatus.OK else ValidationResultStatus.ERROR
+        return targets.associateWith { target ->
+            val violations = violationsByTarget[target] ?: emptyList()
+            val status = if (violations.isEmpty()) ValidationResultStatus.OK else ValidationResultStatus.ERROR
 
-        return ValidationResult.builder()
-            .status(status)
-            .violations(violations)
-            .build()
+            ValidationResult.builder()
+                .status(status)
+                .violations(violations)
+                .build()
+        }
     }
 
     private fun getValidationRulesForDataSetValidation(datasetUid: String): List<ValidationRule> {
@@ -110,20 +154,26 @@ internal class ValidationEngineImpl(
             .blockingGet()
     }
 
-    private fun getValueMap(
-        dataSetUid: String,
-        attributeOptionComboUid: String,
-        orgUnitUid: String,
-        periodId: String,
-    ): Map<DimensionalItemObject, Double> {
-        val dataValues = dataValueRepository
-            .byDataSetUid(dataSetUid)
-            .byAttributeOptionComboUid().eq(attributeOptionComboUid)
-            .byOrganisationUnitUid().eq(orgUnitUid)
-            .byPeriod().eq(periodId)
-            .byDeleted().isFalse
-            .blockingGet()
-        return getValueMap(dataValues)
+    /**
+     * Loads the data values of all the targets of each dataSet with a single query and splits them by target.
+     */
+    private fun getValueMaps(
+        targets: List<ValidationTarget>,
+    ): Map<ValidationTarget, Map<DimensionalItemObject, Double>> {
+        return targets.groupBy { it.dataSetUid }.flatMap { (dataSetUid, dataSetTargets) ->
+            val dataValues = dataValueRepository
+                .byDataSetUid(dataSetUid)
+                .byAttributeOptionComboUid().`in`(dataSetTargets.map { it.attributeOptionComboUid }.distinct())
+                .byOrganisationUnitUid().`in`(dataSetTargets.map { it.orgUnitUid }.distinct())
+                .byPeriod().`in`(dataSetTargets.map { it.periodId }.distinct())
+                .byDeleted().isFalse
+                .blockingGet()
+                .groupBy {
+                    ValidationTarget(dataSetUid, it.period()!!, it.organisationUnit()!!, it.attributeOptionCombo()!!)
+                }
+
+            dataSetTargets.map { target -> target to getValueMap(dataValues[target] ?: emptyList()) }
+        }.toMap()
     }
 
     private val constantMap: Map<String, Constant>
@@ -132,8 +182,8 @@ internal class ValidationEngineImpl(
             return mapByUid(constants)
         }
 
-    private fun getOrganisationUnit(orgunitId: String): OrganisationUnit? {
-        return organisationUnitRepository.uid(orgunitId).blockingGet()
+    private fun getOrganisationUnits(orgunitIds: List<String>): Map<String, OrganisationUnit> {
+        return mapByUid(organisationUnitRepository.byUid().`in`(orgunitIds).blockingGet())
     }
 
     private val orgunitGroupMap: Map<String, Int>
@@ -144,4 +194,11 @@ internal class ValidationEngineImpl(
     private fun getPeriod(periodId: String): Period {
         return periodHelper.blockingGetPeriodForPeriodId(periodId)
     }
+
+    private companion object {
+        const val MAX_PARALLEL_VALIDATIONS = 4
+
+        @OptIn(ExperimentalCoroutinesApi::class)
+        val validationDispatcher = Dispatchers.Default.limitedParallelism(MAX_PARALLEL_VALIDATIONS)
+    }
 }
@@ -36,6 +36,9 @@ internal class ValidationRuleHandler(
     store: ValidationRuleStore,
     private val collectionCleaner: ValidationRuleCollectionCleaner,
 ) : IdentifiableHandlerImpl<ValidationRule>(store) {
+
+    override val supportsBulkPersistence = true
+
     override fun afterCollectionHandled(oCollection: Collection<ValidationRule>?) {
         collectionCleaner.deleteNotPresent(oCollection)
     }
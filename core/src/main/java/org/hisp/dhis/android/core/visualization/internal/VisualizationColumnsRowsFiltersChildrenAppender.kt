@@ -32,6 +32,7 @@ import org.hisp.dhis.android.core.arch.db.access.DatabaseAdapter
 import org.hisp.dhis.android.core.arch.db.stores.internal.SingleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.internal.StoreFactory.singleParentChildStore
 import org.hisp.dhis.android.core.arch.db.stores.projections.internal.SingleParentChildProjection
+import org.hisp.dhis.android.core.arch.repositories.children.internal.BatchedChildrenAppender
 import org.hisp.dhis.android.core.arch.repositories.children.internal.ChildrenAppender
 import org.hisp.dhis.android.core.visualization.LayoutPosition
 import org.hisp.dhis.android.core.visualization.Visualization
@@ -41,10 +42,18 @@ import org.hisp.dhis.android.core.visualization.VisualizationDimensionItemTableI
 
 internal class VisualizationColumnsRowsFiltersChildrenAppender private constructor(
     private val linkChildStore: SingleParentChildStore<Visualization, VisualizationDimensionItem>,
-) : ChildrenAppender<Visualization>() {
-    override fun appendChildren(visualization: Visualization): Visualization {
-        val items = linkChildStore.getChildren(visualization)
-        val groupedByPosition = items
+) : BatchedChildrenAppender<Visualization, VisualizationDimensionItem>() {
+    override fun getChildrenByParentUids(
+        parentUids: Collection<String>,
+    ): Map<String, List<VisualizationDimensionItem>> {
+        return linkChildStore.getChildrenByParentUids(parentUids)
+    }
+
+    override fun appendChildren(
+        visualization: Visualization,
+        children: List<VisualizationDimensionItem>,
+    ): Visualization {
+        val groupedByPosition = children
             .groupBy { it.position() }
             .mapValues { (_, items) ->
                 items
@@ -55,6 +55,7 @@ import org.hisp.dhis.android.core.settings.internal.SettingModuleWiper
 import org.hisp.dhis.android.core.sms.internal.SMSModuleWiper
 import org.hisp.dhis.android.core.systeminfo.internal.SystemInfoModuleWiper
 import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityModuleWiper
+import org.hisp.dhis.android.core.tracker.exporter.TrackerDownloadCheckpointModuleWiper
 import org.hisp.dhis.android.core.tracker.importer.internal.TrackerJobModuleWiper
 import org.hisp.dhis.android.core.usecase.internal.UseCaseModuleWiper
 import org.hisp.dhis.android.core.user.internal.UserModuleWiper
@@ -94,6 +95,7 @@ internal class D2ModuleWipers(
     systemInfo: SystemInfoModuleWiper,
     systemSetting: SettingModuleWiper,
     trackedEntity: TrackedEntityModuleWiper,
+    trackerDownloadCheckpoint: TrackerDownloadCheckpointModuleWiper,
     trackerJob: TrackerJobModuleWiper,
     user: UserModuleWiper,
     validation: ValidationModuleWiper,
@@ -132,6 +134,7 @@ internal class D2ModuleWipers(
             systemInfo,
             systemSetting,
             trackedEntity,
+            trackerDownloadCheckpoint,
             trackerJob,
             user,
             validation,
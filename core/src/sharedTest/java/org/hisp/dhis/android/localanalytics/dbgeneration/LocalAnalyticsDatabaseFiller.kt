@@ -39,6 +39,7 @@ import org.hisp.dhis.android.core.datavalue.internal.DataValueStoreImpl
 import org.hisp.dhis.android.core.enrollment.internal.EnrollmentStoreImpl
 import org.hisp.dhis.android.core.event.internal.EventStoreImpl
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStoreImpl
 import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitStoreImpl
 import org.hisp.dhis.android.core.period.Period
 import org.hisp.dhis.android.core.period.PeriodType
@@ -78,7 +79,7 @@ internal class LocalAnalyticsDatabaseFiller(private val d2: D2) {
         val generator = LocalAnalyticsMetadataGenerator(metadataParams)
 
         val organisationUnits = generator.getOrganisationUnits()
-        OrganisationUnitStoreImpl(da).insert(organisationUnits)
+        OrganisationUnitStoreImpl(da, OrganisationUnitClosureStoreImpl(da)).insert(organisationUnits)
 
         val categoryCombos = generator.getCategoryCombos()
         CategoryComboStoreImpl(da).insert(categoryCombos)
@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.executors.internal
+
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.inOrder
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.verify
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.test.runTest
+import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.handlers.internal.Handler
+import org.hisp.dhis.android.core.maintenance.D2Error
+import org.hisp.dhis.android.core.maintenance.D2ErrorCode
+import org.hisp.dhis.android.core.resource.internal.ResourceHandler
+import org.junit.Assert.fail
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@RunWith(JUnit4::class)
+class APIDownloaderImplShould {
+
+    private val resourceHandler: ResourceHandler = mock()
+    private val handler: Handler<String> = mock()
+
+    private val apiDownloader = APIDownloaderImpl(resourceHandler)
+
+    private val uids = (1..10).map { "uid$it" }.toSet()
+
+    @Test
+    fun keep_partition_order_when_partitions_arrive_out_of_order() = runTest {
+        val partitions = mutableListOf<Set<String>>()
+
+        val result = apiDownloader.downloadPartitionedIncrementally(uids, 3, handler) { partition ->
+            partitions.add(partition)
+            delay(100L - partitions.size * 10L)
+            Payload(partition.toList())
+        }
+
+        assertThat(partitions).hasSize(4)
+        assertThat(result).isEqualTo(partitions.flatten())
+
+        inOrder(handler) {
+            partitions.forEach { verify(handler).handleMany(it.toList()) }
+        }
+    }
+
+    @Test
+    fun limit_concurrent_partitions() = runTest {
+        var inFlight = 0
+        var maxInFlight = 0
+
+        apiDownloader.downloadPartitionedIncrementally(uids, 1, handler, maxConcurrentPartitions = 2) { partition ->
+            inFlight++
+            maxInFlight = maxOf(maxInFlight, inFlight)
+            delay(10)
+            inFlight--
+            Payload(partition.toList())
+        }
+
+        assertThat(maxInFlight).isEqualTo(2)
+    }
+
+    @Test
+    fun fail_fast_when_a_partition_fails() = runTest {
+        val error = D2Error.builder()
+            .errorCode(D2ErrorCode.API_RESPONSE_PROCESS_ERROR)
+            .errorDescription("Partition failed")
+            .build()
+
+        try {
+            apiDownloader.downloadPartitioned(uids, 3) { partition ->
+                if (partition.contains("uid1")) {
+                    throw error
+                }
+                delay(1000)
+                Payload(partition.toList())
+            }
+            fail("It should throw exception")
+        } catch (e: D2Error) {
+            assertThat(e.errorCode()).isEqualTo(D2ErrorCode.API_RESPONSE_PROCESS_ERROR)
+        }
+    }
+
+    @Test
+    fun request_next_page_only_after_previous_one_is_collected() = runTest {
+        val events = mutableListOf<String>()
+
+        apiDownloader.downloadPagedFlow(2) { page, pageSize ->
+            events.add("download $page")
+            Payload((1..pageSize).map { "item$it" }.take(if (page < 3) pageSize else 1))
+        }.collect { items ->
+            events.add("handle ${items.size}")
+        }
+
+        assertThat(events).containsExactly(
+            "download 1",
+            "handle 2",
+            "download 2",
+            "handle 2",
+            "download 3",
+            "handle 1",
+        ).inOrder()
+    }
+
+    @Test
+    fun aggregate_all_pages_in_paged_payload() = runTest {
+        val payload = apiDownloader.downloadPagedPayload(2) { page, _ ->
+            when (page) {
+                1 -> Payload(listOf("a", "b"))
+                2 -> Payload(listOf("c", "d"))
+                else -> Payload.emptyPayload()
+            }
+        }
+
+        assertThat(payload.items()).containsExactly("a", "b", "c", "d").inOrder()
+    }
+
+    @Test
+    fun handle_all_partitions_at_once() = runTest {
+        val result = apiDownloader.downloadPartitioned(uids, 3, handler) { partition ->
+            Payload(partition.toList())
+        }
+
+        assertThat(result).hasSize(uids.size)
+        verify(handler).handleMany(result)
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.internal
+
+import android.content.Context
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.hisp.dhis.android.core.D2Configuration
+import org.hisp.dhis.android.core.configuration.internal.DatabasesConfigurationUtil.buildUserConfiguration
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class HttpCacheHelperShould {
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val mockWebServer = MockWebServer()
+    private val account = buildUserConfiguration("user", "2023-01-01T00:00:00.000")
+
+    private lateinit var httpCacheHelper: HttpCacheHelper
+    private lateinit var client: OkHttpClient
+
+    @Before
+    fun setUp() {
+        val context: Context = mock {
+            on { cacheDir } doReturn temporaryFolder.root
+        }
+        val d2Configuration: D2Configuration = mock {
+            on { context() } doReturn context
+            on { httpCacheSizeInBytes() } doReturn CACHE_SIZE
+        }
+
+        httpCacheHelper = HttpCacheHelper(d2Configuration)
+        client = OkHttpClient.Builder().cache(httpCacheHelper.cache).build()
+        mockWebServer.start()
+    }
+
+    @After
+    fun tearDown() {
+        mockWebServer.shutdown()
+    }
+
+    @Test
+    fun keep_cached_responses_when_the_same_account_is_loaded_again() {
+        httpCacheHelper.onAccountLoaded(account)
+        cacheResponse()
+
+        httpCacheHelper.onAccountLoaded(account)
+
+        assertThat(cachedUrls()).isNotEmpty()
+    }
+
+    @Test
+    fun evict_cached_responses_when_the_account_is_deleted_and_logs_in_again() {
+        httpCacheHelper.onAccountLoaded(account)
+        cacheResponse()
+
+        httpCacheHelper.onAccountDeleted()
+        assertThat(cachedUrls()).isEmpty()
+
+        cacheResponse()
+        httpCacheHelper.onDatabaseCreated(account)
+        assertThat(cachedUrls()).isEmpty()
+
+        cacheResponse()
+        httpCacheHelper.onAccountLoaded(account)
+        assertThat(cachedUrls()).isNotEmpty()
+    }
+
+    private fun cacheResponse() {
+        mockWebServer.enqueue(
+            MockResponse()
+                .setBody("{}")
+                .addHeader("Cache-Control", "max-age=60"),
+        )
+        val request = Request.Builder().url(mockWebServer.url("/api/metadata")).build()
+        client.newCall(request).execute().use { it.body?.string() }
+    }
+
+    private fun cachedUrls(): List<String> {
+        return httpCacheHelper.cache!!.urls().asSequence().toList()
+    }
+
+    private companion object {
+        const val CACHE_SIZE = 1024L * 1024L
+    }
+}
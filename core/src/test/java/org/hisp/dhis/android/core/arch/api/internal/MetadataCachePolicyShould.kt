@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.internal
+
+import com.google.common.truth.Truth.assertThat
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4::class)
+class MetadataCachePolicyShould {
+
+    @Test
+    fun cache_metadata_get_requests() {
+        assertThat(MetadataCachePolicy.isCacheable(get("https://server.org/api/programs?fields=id"))).isTrue()
+        assertThat(MetadataCachePolicy.isCacheable(get("https://server.org/api/40/optionSets"))).isTrue()
+        assertThat(MetadataCachePolicy.isCacheable(get("https://server.org/dhis/api/dataSets"))).isTrue()
+    }
+
+    @Test
+    fun not_cache_data_requests() {
+        assertThat(MetadataCachePolicy.isCacheable(get("https://server.org/api/tracker/trackedEntities"))).isFalse()
+        assertThat(MetadataCachePolicy.isCacheable(get("https://server.org/api/dataValueSets"))).isFalse()
+        assertThat(MetadataCachePolicy.isCacheable(get("https://server.org/programs"))).isFalse()
+    }
+
+    @Test
+    fun not_cache_non_get_requests() {
+        val request = Request.Builder()
+            .url("https://server.org/api/programs")
+            .post("{}".toRequestBody())
+            .build()
+
+        assertThat(MetadataCachePolicy.isCacheable(request)).isFalse()
+    }
+
+    private fun get(url: String): Request {
+        return Request.Builder().url(url).build()
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.api.payload.internal
+
+import com.google.common.truth.Truth.assertThat
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.common.ObjectWithUid
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4::class)
+class JsonPayloadStreamShould {
+
+    private val reader = ObjectMapperFactory.objectMapper().readerFor(ObjectWithUid::class.java)
+
+    @Test
+    fun read_items_of_legacy_payload_in_batches() {
+        val json = """{"pager": {"page": 1, "pageSize": 3}, "events": [{"id": "a"}, {"id": "b"}, {"id": "c"}]}"""
+
+        JsonPayloadStream<ObjectWithUid>(json.toResponseBody(), reader).use { stream ->
+            assertThat(stream.nextItems(2).map { it.uid() }).containsExactly("a", "b").inOrder()
+            assertThat(stream.nextItems(2).map { it.uid() }).containsExactly("c")
+            assertThat(stream.nextItems(2)).isEmpty()
+        }
+    }
+
+    @Test
+    fun skip_properties_before_items_of_new_tracker_payload() {
+        val json = """{"page": 1, "pageSize": 50, "pager": {"nested": [1, 2]}, "instances": [{"id": "a"}]}"""
+
+        JsonPayloadStream<ObjectWithUid>(json.toResponseBody(), reader).use { stream ->
+            assertThat(stream.nextItems(10).map { it.uid() }).containsExactly("a")
+            assertThat(stream.nextItems(10)).isEmpty()
+        }
+    }
+
+    @Test
+    fun return_no_items_for_payload_without_items() {
+        val json = """{"pager": {"page": 1}}"""
+
+        JsonPayloadStream<ObjectWithUid>(json.toResponseBody(), reader).use { stream ->
+            assertThat(stream.nextItems(10)).isEmpty()
+        }
+    }
+
+    @Test
+    fun map_decoded_items() {
+        val json = """{"instances": [{"id": "a"}, {"id": "b"}]}"""
+
+        JsonPayloadStream<ObjectWithUid>(json.toResponseBody(), reader).map { it.uid() }.use { stream ->
+            assertThat(stream.nextItems(10)).containsExactly("a", "b").inOrder()
+        }
+    }
+}
@@ -33,6 +33,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hisp.dhis.android.core.arch.api.fields.internal.FieldsConverterFactory;
 import org.hisp.dhis.android.core.arch.api.filters.internal.FilterConverterFactory;
 import org.hisp.dhis.android.core.arch.api.internal.PreventURLDecodeInterceptor;
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStreamConverterFactory;
 import org.hisp.dhis.android.core.mockwebserver.Dhis2MockServer;
 
 import okhttp3.OkHttpClient;
@@ -57,9 +58,12 @@ public class RetrofitFactory {
     }
 
     public static Retrofit fromServerUrl(String serverUrl) {
+        ObjectMapper objectMapper = new ObjectMapper();
+
         return new Retrofit.Builder()
                 .baseUrl(serverUrl)
-                .addConverterFactory(JacksonConverterFactory.create(new ObjectMapper()))
+                .addConverterFactory(PayloadStreamConverterFactory.create(objectMapper))
+                .addConverterFactory(JacksonConverterFactory.create(objectMapper))
                 .addConverterFactory(FilterConverterFactory.create())
                 .addConverterFactory(FieldsConverterFactory.create())
                 .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.dateformat.internal
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+import java.util.TimeZone
+
+@RunWith(JUnit4::class)
+class IsoDateCodecShould {
+
+    private val isoFormat = SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS", Locale.US)
+
+    @Test
+    fun parse_supported_layouts_as_simple_date_format() {
+        listOf(
+            "2020-12-01T12:34:56.123" to "2020-12-01T12:34:56.123",
+            "2020-12-01T12:34:56.123Z" to "2020-12-01T12:34:56.123",
+            "2020-12-01T12:34:56.123+0100" to "2020-12-01T12:34:56.123",
+            "2020-12-01T12:34:56.12" to "2020-12-01T12:34:56.012",
+            "2020-12-01T12:34:56.1" to "2020-12-01T12:34:56.001",
+            "2020-12-01T12:34:56" to "2020-12-01T12:34:56.000",
+            "2020-12-01T12:34:56+01:00" to "2020-12-01T12:34:56.000",
+            "2020-12-01T12:34" to "2020-12-01T12:34:00.000",
+            "2020-12-01" to "2020-12-01T00:00:00.000",
+            "2021-02-29" to "2021-03-01T00:00:00.000",
+        ).forEach { (source, expected) ->
+            assertThat(IsoDateCodec.parse(source)).isEqualTo(isoFormat.parse(expected))
+        }
+    }
+
+    @Test
+    fun parse_from_char_array_slice() {
+        val chars = "\"2020-12-01T12:34:56.123\"".toCharArray()
+
+        assertThat(IsoDateCodec.parse(chars, 1, chars.size - 2)).isEqualTo(isoFormat.parse("2020-12-01T12:34:56.123"))
+    }
+
+    @Test
+    fun return_null_for_unsupported_layouts() {
+        listOf(
+            "",
+            "2020/12/01",
+            "2020-12-01 12:34:56",
+            "2020-12-01T12",
+            "2020-12-01T12:34:56.",
+            "2020-13-01",
+            "2020-12-01T25:00",
+            "2020-12-01T12:34:56.123 GMT",
+            "1500-01-01",
+        ).forEach { source ->
+            assertThat(IsoDateCodec.parse(source)).isNull()
+        }
+    }
+
+    @Test
+    fun format_as_simple_date_format() {
+        listOf(0L, 1_606_826_096_123L, -86_400_001L, 253_402_214_400_000L).forEach { time ->
+            assertThat(IsoDateCodec.format(Date(time))).isEqualTo(isoFormat.format(Date(time)))
+        }
+    }
+
+    @Test
+    fun resolve_offset_transitions_as_simple_date_format() {
+        val defaultZone = TimeZone.getDefault()
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"))
+            val format = SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS", Locale.US)
+
+            listOf("2021-03-14T02:30:00.000", "2021-11-07T01:30:00.000", "2021-07-01T12:00:00.000").forEach { source ->
+                val date = IsoDateCodec.parse(source)
+
+                assertThat(date).isEqualTo(format.parse(source))
+                assertThat(IsoDateCodec.format(date!!)).isEqualTo(format.format(date))
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone)
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import static com.google.common.truth.Truth.assertThat;
 
@@ -66,6 +67,23 @@ public class SQLStatementBuilderShould {
         );
     }
 
+    @Test
+    public void generate_insert_many_statement() {
+        assertThat(builder.insertMany(2)).isEqualTo(
+                "INSERT INTO Test_Table (Test_Column_Name1, Test_Column_Name2) VALUES (?, ?), (?, ?);"
+        );
+    }
+
+    @Test
+    public void generate_upsert_many_statement() {
+        String[] columnsWithUid = new String[]{"uid", COL_1};
+        SQLStatementBuilderImpl uidBuilder = new SQLStatementBuilderImpl(TABLE_NAME, columnsWithUid, columnsWithUid);
+        assertThat(uidBuilder.upsertMany(2)).isEqualTo(
+                "INSERT INTO Test_Table (uid, Test_Column_Name1) VALUES (?, ?), (?, ?) " +
+                        "ON CONFLICT(uid) DO UPDATE SET Test_Column_Name1=excluded.Test_Column_Name1;"
+        );
+    }
+
     @Test
     public void generate_update_statement() {
         assertThat(builder.update()).isEqualTo(
@@ -136,4 +154,12 @@ public class SQLStatementBuilderShould {
                 "SELECT c.* FROM Test_Table AS l, Category AS c WHERE l." + COL_2 + "=c.uid AND l." + COL_1 + "='UID' ORDER BY sortOrder;"
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void generate_select_children_with_link_table_for_parents() {
+        assertThat(builder.selectChildrenWithLinkTableForParents(CHILD_PROJECTION, Arrays.asList("UID1", "UID2")))
+                .isEqualTo("SELECT l." + COL_1 + " AS parentUid, c.* FROM Test_Table AS l, Category AS c WHERE l." +
+                        COL_2 + "=c.uid AND l." + COL_1 + " IN ('UID1', 'UID2');"
+        );
+    }
+}
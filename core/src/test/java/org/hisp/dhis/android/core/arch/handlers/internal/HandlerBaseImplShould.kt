@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.handlers.internal
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4::class)
+class HandlerBaseImplShould {
+
+    private val persistedObjects = mutableListOf<String>()
+    private val handledObjects = mutableListOf<Pair<String, HandleAction>>()
+
+    private val handler = object : HandlerBaseImpl<String>() {
+        override fun deleteOrPersist(o: String): HandleAction {
+            persistedObjects.add(o)
+            return HandleAction.Insert
+        }
+
+        override val supportsBulkPersistence = true
+
+        override fun afterObjectHandled(o: String, action: HandleAction) {
+            handledObjects.add(o to action)
+        }
+    }
+
+    @Test
+    fun persist_one_by_one_if_bulk_persistence_is_not_implemented() {
+        handler.handleMany(listOf("a", "b"))
+
+        assertThat(persistedObjects).containsExactly("a", "b").inOrder()
+        assertThat(handledObjects).containsExactly("a" to HandleAction.Insert, "b" to HandleAction.Insert).inOrder()
+    }
+
+    @Test
+    fun persist_transformed_objects_if_bulk_persistence_is_not_implemented() {
+        handler.handleMany(listOf("a", "b")) { it.uppercase() }
+
+        assertThat(persistedObjects).containsExactly("A", "B").inOrder()
+    }
+}
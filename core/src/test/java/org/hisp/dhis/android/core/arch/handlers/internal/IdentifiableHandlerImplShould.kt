@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.handlers.internal
+
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import org.hisp.dhis.android.core.arch.db.stores.internal.IdentifiableObjectStore
+import org.hisp.dhis.android.core.constant.Constant
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4::class)
+class IdentifiableHandlerImplShould {
+    private val store: IdentifiableObjectStore<Constant> = mock()
+
+    private val constant: Constant = mock()
+    private val deletedConstant: Constant = mock()
+
+    @Before
+    fun setUp() {
+        whenever(constant.uid()).doReturn("constant")
+        whenever(deletedConstant.uid()).doReturn("deleted_constant")
+        whenever(deletedConstant.deleted()).doReturn(true)
+        whenever(store.updateOrInsert(any())).doReturn(HandleAction.Insert)
+    }
+
+    @Test
+    fun persist_in_bulk_if_the_handler_opts_in() {
+        val handler = object : IdentifiableHandlerImpl<Constant>(store) {
+            override val supportsBulkPersistence = true
+        }
+
+        handler.handleMany(listOf(constant, deletedConstant))
+
+        verify(store).updateOrInsertMany(listOf(constant))
+        verify(store).deleteIfExists("deleted_constant")
+        verify(store, never()).updateOrInsert(any())
+    }
+
+    @Test
+    fun persist_one_by_one_by_default() {
+        val handledObjects = mutableListOf<Constant>()
+        val handler = object : IdentifiableHandlerImpl<Constant>(store) {
+            override fun afterObjectHandled(o: Constant, action: HandleAction) {
+                handledObjects.add(o)
+            }
+        }
+
+        handler.handleMany(listOf(constant))
+
+        verify(store).updateOrInsert(constant)
+        verify(store, never()).updateOrInsertMany(any())
+        assertThat(handledObjects).containsExactly(constant)
+    }
+}
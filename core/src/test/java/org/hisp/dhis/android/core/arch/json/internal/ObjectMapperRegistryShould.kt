@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.json.internal
+
+import com.fasterxml.jackson.core.type.TypeReference
+import com.google.common.truth.Truth.assertThat
+import org.hisp.dhis.android.core.common.BaseIdentifiableObject
+import org.junit.Test
+import java.util.*
+
+class ObjectMapperRegistryShould {
+
+    @Test
+    fun reuse_readers_for_the_same_type() {
+        val listType = object : TypeReference<List<String>>() {}
+
+        assertThat(ObjectMapperRegistry.reader(Date::class.java))
+            .isSameInstanceAs(ObjectMapperRegistry.reader(Date::class.java))
+        assertThat(ObjectMapperRegistry.reader(listType))
+            .isSameInstanceAs(ObjectMapperRegistry.reader(object : TypeReference<List<String>>() {}))
+        assertThat(ObjectMapperRegistry.writer()).isSameInstanceAs(ObjectMapperRegistry.writer())
+    }
+
+    @Test
+    fun use_the_object_mapper_factory_date_format() {
+        val dateStr = "2020-12-01T12:34:56.123"
+        val date = BaseIdentifiableObject.DATE_FORMAT.parse(dateStr)
+
+        val serialized = ObjectMapperRegistry.writer().writeValueAsString(date)
+        val deserializedDate = ObjectMapperRegistry.reader(Date::class.java).readValue<Date>("\"2020-12-01T12:34:56Z\"")
+
+        assertThat(serialized).isEqualTo("\"$dateStr\"")
+        assertThat(deserializedDate).isEqualTo(BaseIdentifiableObject.parseDate("2020-12-01T12:34:56.000"))
+    }
+
+    @Test
+    fun read_generic_collections() {
+        val parsed = ObjectMapperRegistry.reader(object : TypeReference<List<Int>>() {}).readValue<List<Int>>("[1,2,3]")
+
+        assertThat(parsed).containsExactly(1, 2, 3).inOrder()
+    }
+}
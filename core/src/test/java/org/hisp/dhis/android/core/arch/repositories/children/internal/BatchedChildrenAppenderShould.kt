@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.arch.repositories.children.internal
+
+import com.google.common.truth.Truth.assertThat
+import org.hisp.dhis.android.core.common.ObjectWithUid
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4::class)
+class BatchedChildrenAppenderShould {
+
+    private class TestAppender(
+        private val children: Map<String, List<String>>,
+    ) : BatchedChildrenAppender<ObjectWithUid, String>() {
+        val queriedParents = mutableListOf<Collection<String>>()
+
+        override fun getChildrenByParentUids(parentUids: Collection<String>): Map<String, List<String>> {
+            queriedParents.add(parentUids)
+            return children.filterKeys { parentUids.contains(it) }
+        }
+
+        override fun appendChildren(m: ObjectWithUid, children: List<String>): ObjectWithUid {
+            return ObjectWithUid.create(m.uid() + children.joinToString(prefix = ":", separator = ","))
+        }
+    }
+
+    @Test
+    fun query_children_once_per_chunk() {
+        val parents = (1..BatchedChildrenAppender.QUERY_CHUNK_SIZE + 1).map { ObjectWithUid.create("p$it") }
+        val appender = TestAppender(mapOf("p1" to listOf("c1", "c2")))
+
+        appender.prepareChildren(parents)
+
+        assertThat(appender.queriedParents.size).isEqualTo(2)
+        assertThat(appender.queriedParents.flatten()).containsExactlyElementsIn(parents.map { it.uid() })
+    }
+
+    @Test
+    fun append_grouped_children_without_querying_again() {
+        val appender = TestAppender(mapOf("p1" to listOf("c1", "c2")))
+        val parents = listOf(ObjectWithUid.create("p1"), ObjectWithUid.create("p2"))
+
+        appender.prepareChildren(parents)
+        val result = parents.map { appender.appendChildren(it) }
+
+        assertThat(result.map { it.uid() }).containsExactly("p1:c1,c2", "p2:").inOrder()
+        assertThat(appender.queriedParents.size).isEqualTo(1)
+    }
+
+    @Test
+    fun query_single_parent_if_not_prepared() {
+        val appender = TestAppender(mapOf("p1" to listOf("c1")))
+
+        val result = appender.appendChildren(ObjectWithUid.create("p1"))
+
+        assertThat(result.uid()).isEqualTo("p1:c1")
+        assertThat(appender.queriedParents).containsExactly(setOf("p1"))
+    }
+}
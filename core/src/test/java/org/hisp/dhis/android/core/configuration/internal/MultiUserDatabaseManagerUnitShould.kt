@@ -29,10 +29,12 @@ package org.hisp.dhis.android.core.configuration.internal
 
 import android.content.Context
 import com.nhaarman.mockitokotlin2.*
+import org.hisp.dhis.android.core.arch.api.internal.HttpCacheHelper
 import org.hisp.dhis.android.core.arch.db.access.internal.DatabaseAdapterFactory
 import org.hisp.dhis.android.core.arch.db.access.internal.DatabaseExport
 import org.hisp.dhis.android.core.common.BaseCallShould
 import org.hisp.dhis.android.core.configuration.internal.DatabasesConfigurationUtil.buildUserConfiguration
+import org.hisp.dhis.android.core.period.internal.PeriodCache
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -46,6 +48,8 @@ class MultiUserDatabaseManagerUnitShould : BaseCallShould() {
     private val configurationHelper: DatabaseConfigurationHelper = mock()
     private val databaseExport: DatabaseExport = mock()
     private val databaseAdapterFactory: DatabaseAdapterFactory = mock()
+    private val httpCacheHelper: HttpCacheHelper = mock()
+    private val periodCache: PeriodCache = mock()
 
     private val username = "username"
     private val serverUrl = "https://dhis2.org"
@@ -90,6 +94,8 @@ class MultiUserDatabaseManagerUnitShould : BaseCallShould() {
             configurationHelper,
             databaseAdapterFactory,
             databaseExport,
+            httpCacheHelper,
+            periodCache,
         )
     }
 
@@ -102,6 +108,8 @@ class MultiUserDatabaseManagerUnitShould : BaseCallShould() {
         manager.loadExistingChangingEncryptionIfRequiredOtherwiseCreateNew(serverUrl, username, encrypt)
 
         verify(databaseAdapterFactory).createOrOpenDatabase(databaseAdapter, userConfigurationUnencrypted)
+        verify(httpCacheHelper).onDatabaseCreated(userConfigurationUnencrypted)
+        verify(periodCache).clearPersisted()
     }
 
     @Test
@@ -133,6 +141,9 @@ class MultiUserDatabaseManagerUnitShould : BaseCallShould() {
         manager.loadExistingKeepingEncryption(serverUrl, username)
 
         verify(databaseAdapterFactory).createOrOpenDatabase(databaseAdapter, userConfigurationUnencrypted)
+        verify(httpCacheHelper).onAccountLoaded(userConfigurationUnencrypted)
+        verify(httpCacheHelper, never()).onDatabaseCreated(any())
+        verify(periodCache).clearPersisted()
     }
 
     @Test
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.datavalue.internal
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import org.hisp.dhis.android.core.arch.handlers.internal.HandleAction
+import org.hisp.dhis.android.core.datavalue.DataValue
+import org.junit.Before
+import org.junit.Test
+
+class DataValueHandlerShould {
+
+    private val dataValueStore: DataValueStore = mock()
+
+    private lateinit var dataValueHandler: DataValueHandler
+
+    @Before
+    fun setUp() {
+        dataValueHandler = DataValueHandler(dataValueStore)
+
+        whenever(dataValueStore.updateOrInsertWhere(any())).doReturn(HandleAction.Insert)
+    }
+
+    @Test
+    fun filter_out_data_values_pending_to_sync() {
+        val pending = dataValue("de1", "coc1")
+        val synced = dataValue("de1", "coc2")
+        val otherSynced = dataValue("de2", "coc1")
+        whenever(dataValueStore.selectPendingToSyncKeys()).doReturn(setOf(DataValueKey.from(pending)))
+
+        dataValueHandler.handleMany(listOf(pending, synced, otherSynced))
+
+        verify(dataValueStore, never()).updateOrInsertWhere(pending)
+        verify(dataValueStore).updateOrInsertWhere(synced)
+        verify(dataValueStore).updateOrInsertWhere(otherSynced)
+    }
+
+    @Test
+    fun keep_all_data_values_if_none_pending_to_sync() {
+        val dataValues = listOf(dataValue("de1", "coc1"), dataValue("de2", "coc2"))
+        whenever(dataValueStore.selectPendingToSyncKeys()).doReturn(emptySet())
+
+        dataValueHandler.handleMany(dataValues)
+
+        dataValues.forEach { verify(dataValueStore).updateOrInsertWhere(it) }
+    }
+
+    @Test
+    fun not_query_pending_data_values_for_empty_collections() {
+        dataValueHandler.handleMany(emptyList())
+
+        verify(dataValueStore, never()).selectPendingToSyncKeys()
+    }
+
+    private fun dataValue(dataElement: String, categoryOptionCombo: String): DataValue {
+        return DataValue.builder()
+            .dataElement(dataElement)
+            .period("202301")
+            .organisationUnit("orgUnit")
+            .categoryOptionCombo(categoryOptionCombo)
+            .attributeOptionCombo("aoc")
+            .value("1")
+            .build()
+    }
+}
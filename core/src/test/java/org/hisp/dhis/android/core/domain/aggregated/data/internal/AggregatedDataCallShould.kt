@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.domain.aggregated.data.internal
+
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.doSuspendableAnswer
+import com.nhaarman.mockitokotlin2.mock
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutorMock
+import org.hisp.dhis.android.core.dataset.internal.DataSetCompleteRegistrationCall
+import org.hisp.dhis.android.core.datavalue.DataValue
+import org.hisp.dhis.android.core.datavalue.internal.DataValueCall
+import org.hisp.dhis.android.core.datavalue.internal.DataValueQuery
+import org.hisp.dhis.android.core.period.PeriodType
+import org.hisp.dhis.android.core.resource.internal.ResourceHandler
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+import java.util.Date
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@RunWith(JUnit4::class)
+class AggregatedDataCallShould {
+
+    private val dataSetUids = (1..6).map { "dataSet$it" }
+    private val fetches = dataSetUids.associateWith { CompletableDeferred<List<DataValue>>() }
+    private val startedFetches = mutableListOf<String>()
+    private val persistedDataSets = mutableListOf<String>()
+
+    private val dataValueCall: DataValueCall = mock {
+        onBlocking { fetch(any()) } doSuspendableAnswer {
+            val dataSetUid = it.getArgument<DataValueQuery>(0).bundle.dataSets.first().uid()
+            startedFetches.add(dataSetUid)
+            fetches.getValue(dataSetUid).await()
+        }
+    }
+    private val completeRegistrationCall: DataSetCompleteRegistrationCall = mock {
+        onBlocking { fetch(any()) } doReturn emptyList()
+    }
+    private val aggregatedDataSyncStore: AggregatedDataSyncStore = mock {
+        on { updateOrInsertWhere(any()) } doAnswer {
+            persistedDataSets.add(it.getArgument<AggregatedDataSync>(0).dataSet())
+            null
+        }
+    }
+    private val bundleFactory: AggregatedDataCallBundleFactory = mock {
+        on { bundles } doReturn dataSetUids.map { bundle(it) }
+    }
+    private val resourceHandler: ResourceHandler = mock {
+        on { serverDate } doReturn Date()
+    }
+
+    private val aggregatedDataCall = AggregatedDataCall(
+        systemInfoModuleDownloader = mock(),
+        dataValueCall = dataValueCall,
+        dsCompleteRegistrationCall = completeRegistrationCall,
+        dataApprovalCall = mock(),
+        categoryOptionComboStore = mock(),
+        coroutineCallExecutor = CoroutineAPICallExecutorMock(),
+        aggregatedDataSyncStore = aggregatedDataSyncStore,
+        aggregatedDataCallBundleFactory = bundleFactory,
+        resourceHandler = resourceHandler,
+        hashHelper = mock(),
+    )
+
+    @Test
+    fun persist_bundles_in_order_when_fetches_finish_out_of_order() = runTest {
+        val download = async { aggregatedDataCall.download().toList() }
+        runCurrent()
+
+        dataSetUids.reversed().forEach {
+            fetches.getValue(it).complete(emptyList())
+            runCurrent()
+        }
+        download.await()
+
+        assertThat(persistedDataSets).containsExactlyElementsIn(dataSetUids).inOrder()
+    }
+
+    @Test
+    fun keep_persisting_the_other_bundles_when_one_fails() = runTest {
+        val download = async { aggregatedDataCall.download().toList() }
+        runCurrent()
+
+        dataSetUids.forEach {
+            if (it == "dataSet2") {
+                fetches.getValue(it).completeExceptionally(RuntimeException("Fetch error"))
+            } else {
+                fetches.getValue(it).complete(emptyList())
+            }
+            runCurrent()
+        }
+        download.await()
+
+        assertThat(persistedDataSets).containsExactlyElementsIn(dataSetUids - "dataSet2").inOrder()
+    }
+
+    @Test
+    fun not_fetch_more_bundles_than_the_ones_waiting_to_be_persisted() = runTest {
+        val download = async { aggregatedDataCall.download().toList() }
+        runCurrent()
+
+        assertThat(startedFetches).hasSize(AggregatedDataCall.MAX_CONCURRENT_BUNDLES)
+
+        fetches.getValue("dataSet2").complete(emptyList())
+        runCurrent()
+        assertThat(startedFetches).hasSize(AggregatedDataCall.MAX_CONCURRENT_BUNDLES)
+
+        fetches.getValue("dataSet1").complete(emptyList())
+        runCurrent()
+        assertThat(startedFetches).hasSize(AggregatedDataCall.MAX_CONCURRENT_BUNDLES + 2)
+
+        fetches.values.forEach { it.complete(emptyList()) }
+        download.await()
+    }
+
+    @Test
+    fun emit_progress_for_each_persisted_bundle() = runTest {
+        fetches.values.forEach { it.complete(emptyList()) }
+
+        val progress = aggregatedDataCall.download().toList()
+
+        assertThat(progress).hasSize(dataSetUids.size + 2)
+        dataSetUids.forEachIndexed { index, _ ->
+            val completedDataSets = progress[index + 1].dataSets().filterValues { it.isComplete }.keys
+            assertThat(completedDataSets).containsExactlyElementsIn(dataSetUids.take(index + 1))
+        }
+        assertThat(progress.last().isComplete()).isTrue()
+    }
+
+    private fun bundle(dataSetUid: String): AggregatedDataCallBundle {
+        return AggregatedDataCallBundle(
+            key = AggregatedDataCallBundleKey(PeriodType.Monthly, 1, 0, null),
+            dataSets = listOf(DataSetSamples.dataSet.toBuilder().uid(dataSetUid).build()),
+            periodIds = listOf("202301"),
+            rootOrganisationUnitUids = listOf("orgUnit"),
+            allOrganisationUnitUidsSet = setOf("orgUnit"),
+        )
+    }
+}
@@ -79,6 +79,10 @@ class EnrollmentImportHandlerShould {
     @Before
     @Throws(Exception::class)
     fun setUp() {
+        whenever(dataStatePropagator.deferPropagation<Any?>(any())).doAnswer {
+            it.getArgument<() -> Any?>(0).invoke()
+        }
+
         enrollmentImportHandler = EnrollmentImportHandler(
             enrollmentStore,
             eventImportHandler,
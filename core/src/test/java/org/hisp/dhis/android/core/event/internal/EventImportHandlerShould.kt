@@ -69,6 +69,10 @@ class EventImportHandlerShould {
     @Before
     @Throws(Exception::class)
     fun setUp() {
+        whenever(dataStatePropagator.deferPropagation<Any?>(any())).doAnswer {
+            it.getArgument<() -> Any?>(0).invoke()
+        }
+
         whenever(importSummary.status()).thenReturn(ImportStatus.SUCCESS)
 
         eventImportHandler = EventImportHandler(
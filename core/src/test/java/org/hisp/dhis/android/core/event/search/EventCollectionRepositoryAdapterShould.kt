@@ -35,6 +35,7 @@ import org.hisp.dhis.android.core.common.DateFilterPeriodHelper
 import org.hisp.dhis.android.core.event.EventCollectionRepository
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitCollectionRepository
 import org.hisp.dhis.android.core.organisationunit.OrganisationUnitMode
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitClosureStore
 import org.hisp.dhis.android.core.user.AuthenticatedUserObjectRepository
 import org.junit.Before
 import org.junit.Test
@@ -44,6 +45,7 @@ class EventCollectionRepositoryAdapterShould {
 
     private val eventRepository: EventCollectionRepository = mock(defaultAnswer = Mockito.RETURNS_DEEP_STUBS)
     private val ouRepository: OrganisationUnitCollectionRepository = mock(defaultAnswer = Mockito.RETURNS_DEEP_STUBS)
+    private val closureStore: OrganisationUnitClosureStore = mock()
     private val userRepository: AuthenticatedUserObjectRepository = mock(defaultAnswer = Mockito.RETURNS_DEEP_STUBS)
     private val dateFilterPeriodHelper: DateFilterPeriodHelper = mock(defaultAnswer = Mockito.RETURNS_DEEP_STUBS)
 
@@ -58,12 +60,13 @@ class EventCollectionRepositoryAdapterShould {
         adapter = EventCollectionRepositoryAdapter(
             eventRepository,
             ouRepository,
+            closureStore,
             userRepository,
             dateFilterPeriodHelper,
         )
 
         whenever(ouRepository.blockingGetUids()) doReturn orgunitDescendants
-        whenever(ouRepository.byPath().like(orgunit).blockingGetUids()) doReturn orgunitDescendants
+        whenever(closureStore.selectDescendantsOrSelfUids(listOf(orgunit))) doReturn orgunitDescendants
         whenever(ouRepository.byParentUid().like(orgunit).blockingGetUids()) doReturn orgunitChildren
     }
 
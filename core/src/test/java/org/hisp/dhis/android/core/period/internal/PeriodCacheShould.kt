@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.period.internal
+
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.spy
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import org.hisp.dhis.android.core.arch.helpers.DateUtils
+import org.hisp.dhis.android.core.period.PeriodType
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4::class)
+class PeriodCacheShould {
+
+    private val generator = spy(ParentPeriodGeneratorImpl.create(CalendarProviderFactory.createFixed()))
+
+    private val periodCache = PeriodCache(generator)
+
+    @Test
+    fun generate_a_period_only_once_for_all_its_dates() {
+        val firstDate = DateUtils.DATE_FORMAT.parse("2019-03-02T10:00:00.000")
+        val lastDate = DateUtils.DATE_FORMAT.parse("2019-03-31T23:00:00.000")
+
+        val first = periodCache.getPeriod(PeriodType.Monthly, firstDate, 0)
+        val second = periodCache.getPeriod(PeriodType.Monthly, lastDate, 0)
+
+        assertThat(first!!.periodId()).isEqualTo("201903")
+        assertThat(second).isEqualTo(first)
+        verify(generator, times(1)).generatePeriod(any(), any(), any())
+    }
+
+    @Test
+    fun generate_a_new_period_for_dates_outside_known_periods() {
+        periodCache.getPeriod(PeriodType.Monthly, DateUtils.DATE_FORMAT.parse("2019-03-02T10:00:00.000"), 0)
+        val april = periodCache.getPeriod(PeriodType.Monthly, DateUtils.DATE_FORMAT.parse("2019-04-01T00:00:00.000"), 0)
+        val week = periodCache.getPeriod(PeriodType.Weekly, DateUtils.DATE_FORMAT.parse("2019-03-02T10:00:00.000"), 0)
+
+        assertThat(april!!.periodId()).isEqualTo("201904")
+        assertThat(week!!.periodType()).isEqualTo(PeriodType.Weekly)
+    }
+
+    @Test
+    fun apply_period_offsets() {
+        val date = DateUtils.DATE_FORMAT.parse("2019-03-02T10:00:00.000")
+
+        val previous = periodCache.getPeriod(PeriodType.Monthly, date, -1)
+        val next = periodCache.getPeriod(PeriodType.Monthly, date, 1)
+
+        assertThat(previous!!.periodId()).isEqualTo("201902")
+        assertThat(next!!.periodId()).isEqualTo("201904")
+        assertThat(periodCache.getPeriod(PeriodType.Monthly, date, 1)).isEqualTo(next)
+    }
+
+    @Test
+    fun forget_persisted_periods_but_keep_generated_ones_when_cleared() {
+        val date = DateUtils.DATE_FORMAT.parse("2019-03-02T10:00:00.000")
+        periodCache.getPeriod(PeriodType.Monthly, date, 0)
+        periodCache.setPersisted(listOf("201903"))
+        assertThat(periodCache.isPersisted("201903")).isTrue()
+
+        periodCache.clearPersisted()
+
+        assertThat(periodCache.isPersisted("201903")).isFalse()
+        periodCache.getPeriod(PeriodType.Monthly, date, 0)
+        verify(generator, times(1)).generatePeriod(any(), any(), any())
+    }
+}
@@ -65,6 +65,10 @@ class RelationshipImportHandlerShould {
     @Before
     @Throws(Exception::class)
     fun setUp() {
+        whenever(dataStatePropagator.deferPropagation<Any?>(any())).doAnswer {
+            it.getArgument<() -> Any?>(0).invoke()
+        }
+
         relationshipImportHandler =
             RelationshipImportHandler(relationshipStore, dataStatePropagator, relationshipCollectionRepository)
 
@@ -84,6 +84,10 @@ class TrackedEntityInstanceImportHandlerShould {
 
     @Before
     fun setUp() {
+        whenever(dataStatePropagator.deferPropagation<Any?>(any())).doAnswer {
+            it.getArgument<() -> Any?>(0).invoke()
+        }
+
         trackedEntityInstanceImportHandler = TrackedEntityInstanceImportHandler(
             trackedEntityInstanceStore, enrollmentImportHandler, trackerImportConflictStore,
             trackerImportConflictParser, relationshipStore, dataStatePropagator, relationshipDHISVersionManager,
@@ -228,4 +228,43 @@ class TrackedEntityInstanceLocalQueryHelperShould {
 
         assertThat(sqlQuery).contains("value IN ('element1','element2')")
     }
+
+    @Test
+    fun build_sql_query_with_uid_as_last_sort_key() {
+        val scope = queryBuilder
+            .program(programUid)
+            .build()
+
+        val sqlQuery = localQueryHelper.getSqlQuery(scope, emptySet(), 50)
+
+        assertThat(sqlQuery).contains("ORDER BY IFNULL(tei.lastUpdated, '') DESC, tei.uid ASC LIMIT 50")
+    }
+
+    @Test
+    fun build_sql_query_with_keyset() {
+        val scope = queryBuilder
+            .program(programUid)
+            .build()
+        val keyset = TrackedEntityInstanceQueryKeyset(listOf("2023-01-01T00:00:00.000", "teiUid"))
+
+        val sqlQuery = localQueryHelper.getSqlQuery(scope, emptySet(), 50, keyset)
+
+        assertThat(sqlQuery).contains(
+            "((IFNULL(tei.lastUpdated, '') < '2023-01-01T00:00:00.000') OR " +
+                "(IFNULL(tei.lastUpdated, '') = '2023-01-01T00:00:00.000' AND tei.uid > 'teiUid'))",
+        )
+        assertThat(sqlQuery).doesNotContain("NOT IN")
+    }
+
+    @Test
+    fun build_sort_keys_query_for_uid() {
+        val scope = queryBuilder
+            .program(programUid)
+            .build()
+
+        val sqlQuery = localQueryHelper.getSortKeysQuery(scope, "teiUid")
+
+        assertThat(sqlQuery).startsWith("SELECT DISTINCT IFNULL(tei.lastUpdated, ''), tei.uid FROM")
+        assertThat(sqlQuery).contains("tei.uid IN ('teiUid')")
+    }
 }
@@ -0,0 +1,288 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.tracker.exporter
+
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argumentCaptor
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import kotlinx.coroutines.flow.collect
+import kotlinx.coroutines.test.runTest
+import org.hisp.dhis.android.core.arch.api.executors.internal.CoroutineAPICallExecutorMock
+import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.api.payload.internal.PayloadStream
+import org.hisp.dhis.android.core.arch.handlers.internal.HandleAction
+import org.hisp.dhis.android.core.arch.handlers.internal.IdentifiableDataHandlerParams
+import org.hisp.dhis.android.core.arch.helpers.Result
+import org.hisp.dhis.android.core.maintenance.D2Error
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitMode
+import org.hisp.dhis.android.core.program.internal.ProgramDataDownloadParams
+import org.hisp.dhis.android.core.relationship.internal.RelationshipDownloadAndPersistCallFactory
+import org.hisp.dhis.android.core.relationship.internal.RelationshipItemRelatives
+import org.hisp.dhis.android.core.resource.internal.ResourceHandler
+import org.hisp.dhis.android.core.systeminfo.internal.SystemInfoModuleDownloader
+import org.hisp.dhis.android.core.trackedentity.internal.TrackerQueryCommonParams
+import org.hisp.dhis.android.core.user.internal.UserOrganisationUnitLinkStore
+import org.junit.Before
+import org.junit.Test
+import java.util.Date
+
+class TrackerDownloadCallShould {
+
+    private val userOrganisationUnitLinkStore: UserOrganisationUnitLinkStore = mock()
+    private val systemInfoModuleDownloader: SystemInfoModuleDownloader = mock()
+    private val relationshipCallFactory: RelationshipDownloadAndPersistCallFactory = mock()
+    private val checkpointStore: TrackerDownloadCheckpointStore = mock()
+    private val relativeStore: TrackerDownloadRelativeStore = mock()
+    private val relationshipItemStore: TrackerDownloadRelationshipItemStore = mock()
+    private val resourceHandler: ResourceHandler = mock()
+
+    private val checkpoints = mutableListOf<TrackerDownloadCheckpoint>()
+    private val relatives = mutableListOf<TrackerDownloadRelative>()
+    private val persistedItems = mutableListOf<String>()
+
+    private lateinit var checkpointManager: TrackerDownloadCheckpointManager
+
+    @Before
+    fun setUp() {
+        checkpointManager = TrackerDownloadCheckpointManager(
+            checkpointStore,
+            relativeStore,
+            relationshipItemStore,
+            resourceHandler,
+        )
+
+        whenever(userOrganisationUnitLinkStore.count()).doReturn(1)
+
+        whenever(checkpointStore.selectWhere(any())).doAnswer { checkpoints.toList() }
+        whenever(checkpointStore.updateOrInsertWhere(any())).doAnswer { invocation ->
+            val checkpoint = invocation.getArgument<TrackerDownloadCheckpoint>(0)
+            checkpoints.removeAll {
+                it.organisationUnit() == checkpoint.organisationUnit() && it.program() == checkpoint.program()
+            }
+            checkpoints.add(checkpoint)
+            HandleAction.Update
+        }
+        whenever(checkpointStore.deleteWhere(any<String>())).doAnswer {
+            checkpoints.clear()
+            true
+        }
+
+        whenever(relativeStore.selectWhere(any())).doAnswer { relatives.toList() }
+        whenever(relativeStore.updateOrInsertWhere(any())).doAnswer { invocation ->
+            val relative = invocation.getArgument<TrackerDownloadRelative>(0)
+            relatives.remove(relative)
+            relatives.add(relative)
+            HandleAction.Update
+        }
+        whenever(relativeStore.deleteWhere(any<String>())).doAnswer {
+            relatives.clear()
+            true
+        }
+    }
+
+    @Test
+    fun resume_interrupted_download_from_the_committed_items() = runTest {
+        val interruptedCall = TestTrackerDownloadCall(interruptAt = "item15")
+        val interruption = runCatching { interruptedCall.download(params).collect() }.exceptionOrNull()
+
+        assertThat(interruption).hasMessageThat().isEqualTo(INTERRUPTION)
+        assertThat(persistedItems).containsExactlyElementsIn(items.take(PAGE_SIZE))
+        assertThat(checkpoints.single().downloadedCount()).isEqualTo(PAGE_SIZE)
+        verify(relationshipCallFactory, never()).downloadAndPersist(any(), any())
+
+        val resumedCall = TestTrackerDownloadCall(interruptAt = null)
+        resumedCall.download(params).collect()
+
+        assertThat(resumedCall.requestedPages.first()).isEqualTo(2)
+        assertThat(persistedItems).containsExactlyElementsIn(items).inOrder()
+        assertThat(checkpoints).isEmpty()
+        assertThat(resumedCall.lastUpdatedUpdated).isTrue()
+    }
+
+    @Test
+    fun complete_resumed_download_with_the_server_date_of_the_first_run() = runTest {
+        whenever(resourceHandler.serverDate).doReturn(Date(FIRST_SERVER_TIME))
+        runCatching { TestTrackerDownloadCall(interruptAt = "item15").download(params).collect() }
+
+        whenever(resourceHandler.serverDate).doReturn(Date(RESUMED_SERVER_TIME))
+        val resumedCall = TestTrackerDownloadCall(interruptAt = null)
+        resumedCall.download(params).collect()
+
+        assertThat(resumedCall.lastUpdatedServerDate).isEqualTo(Date(FIRST_SERVER_TIME))
+    }
+
+    @Test
+    fun download_relationships_of_the_items_committed_before_the_interruption() = runTest {
+        val interruptedCall = TestTrackerDownloadCall(interruptAt = "item15")
+        runCatching { interruptedCall.download(params).collect() }
+
+        TestTrackerDownloadCall(interruptAt = null).download(params).collect()
+
+        val captor = argumentCaptor<RelationshipItemRelatives>()
+        verify(relationshipCallFactory).downloadAndPersist(captor.capture(), any())
+        assertThat(captor.firstValue.relativeTrackedEntityInstanceUids)
+            .containsExactly("relative3", "relative13", "relative23")
+        assertThat(relatives).isEmpty()
+    }
+
+    @Test
+    fun restore_staged_relationship_items_before_persisting_the_relatives() = runTest {
+        whenever(relationshipCallFactory.downloadAndPersist(any(), any())).doAnswer { invocation ->
+            verify(relationshipItemStore, never()).restoreItems(any())
+            invocation.getArgument<() -> Unit>(1).invoke()
+        }
+
+        TestTrackerDownloadCall(interruptAt = null).download(params).collect()
+
+        verify(relationshipItemStore).stageItemsWithMissingTarget(DOWNLOADER, setOf("relationship3"))
+        verify(relationshipItemStore).stageItemsWithMissingTarget(DOWNLOADER, setOf("relationship13"))
+        verify(relationshipItemStore).stageItemsWithMissingTarget(DOWNLOADER, setOf("relationship23"))
+        verify(relationshipItemStore).restoreItems(DOWNLOADER)
+        assertThat(relatives).isEmpty()
+    }
+
+    private inner class TestTrackerDownloadCall(
+        private val interruptAt: String?,
+    ) : TrackerDownloadCall<String, TestQueryBundle>(
+        userOrganisationUnitLinkStore,
+        systemInfoModuleDownloader,
+        relationshipCallFactory,
+        CoroutineAPICallExecutorMock(),
+        checkpointManager,
+    ) {
+        val requestedPages = mutableListOf<Int>()
+        var lastUpdatedUpdated = false
+        var lastUpdatedServerDate: Date? = null
+
+        override fun getBundles(params: ProgramDataDownloadParams): List<TestQueryBundle> {
+            return listOf(TestQueryBundle(commonParams, listOf(ORG_UNIT)))
+        }
+
+        override suspend fun getPayloadResult(query: TrackerAPIQuery): Result<Payload<String>, D2Error> {
+            return Result.Success(Payload(getPage(query)))
+        }
+
+        override suspend fun getPayloadStreamResult(query: TrackerAPIQuery): Result<PayloadStream<String>, D2Error> {
+            requestedPages.add(query.page)
+            val pageItems = getPage(query).iterator()
+
+            return Result.Success(
+                object : PayloadStream<String> {
+                    override fun nextItems(maxCount: Int): List<String> {
+                        return generateSequence { if (pageItems.hasNext()) pageItems.next() else null }
+                            .take(maxCount)
+                            .toList()
+                    }
+
+                    override fun close() {
+                        // Nothing to release
+                    }
+                },
+            )
+        }
+
+        override suspend fun persistItems(
+            items: List<String>,
+            params: IdentifiableDataHandlerParams,
+            relatives: RelationshipItemRelatives,
+        ) {
+            if (items.contains(interruptAt)) {
+                throw IllegalStateException(INTERRUPTION)
+            }
+            persistedItems.addAll(items)
+            items.filter { it.endsWith("3") }.forEach {
+                relatives.addTrackedEntityInstance(it.replace("item", "relative"))
+                relatives.addRelationship(it.replace("item", "relationship"))
+            }
+        }
+
+        override fun updateLastUpdated(bundle: TestQueryBundle, serverDate: Date?) {
+            lastUpdatedUpdated = true
+            lastUpdatedServerDate = serverDate
+        }
+
+        override suspend fun queryByUids(
+            bundle: TestQueryBundle,
+            overwrite: Boolean,
+            relatives: RelationshipItemRelatives,
+        ): ItemsWithPagingResult {
+            return ItemsWithPagingResult(0, true, null, false)
+        }
+
+        override fun getQuery(bundle: TestQueryBundle, program: String?, orgunitUid: String?, limit: Int) =
+            TrackerAPIQuery(
+                commonParams = bundle.commonParams().copy(program = program, limit = limit),
+                orgUnit = orgunitUid,
+                lastUpdatedStr = LAST_UPDATED,
+                pageSize = PAGE_SIZE,
+            )
+
+        private fun getPage(query: TrackerAPIQuery): List<String> {
+            return items.drop((query.page - 1) * query.pageSize).take(query.pageSize)
+        }
+    }
+
+    private class TestQueryBundle(
+        private val commonParams: TrackerQueryCommonParams,
+        private val orgUnits: List<String>,
+    ) : BaseTrackerQueryBundle() {
+        override fun commonParams(): TrackerQueryCommonParams = commonParams
+
+        override fun orgUnits(): List<String> = orgUnits
+    }
+
+    private companion object {
+        const val PAGE_SIZE = 10
+        const val ORG_UNIT = "orgUnit"
+        const val LAST_UPDATED = "2023-01-01T00:00:00.000"
+        const val INTERRUPTION = "Interrupted download"
+        const val DOWNLOADER = "TestTrackerDownloadCall"
+        const val FIRST_SERVER_TIME = 1_000L
+        const val RESUMED_SERVER_TIME = 2_000L
+
+        val items = (0 until 3 * PAGE_SIZE).map { "item$it" }
+        val params: ProgramDataDownloadParams = ProgramDataDownloadParams.builder().build()
+
+        val commonParams = TrackerQueryCommonParams(
+            uids = emptyList(),
+            programs = listOf("program"),
+            program = null,
+            startDate = null,
+            hasLimitByOrgUnit = false,
+            ouMode = OrganisationUnitMode.SELECTED,
+            orgUnitsBeforeDivision = listOf(ORG_UNIT),
+            limit = 100,
+        )
+    }
+}
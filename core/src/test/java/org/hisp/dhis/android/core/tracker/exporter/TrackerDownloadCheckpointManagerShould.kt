@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.tracker.exporter
+
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import org.hisp.dhis.android.core.resource.internal.ResourceHandler
+import org.junit.Before
+import org.junit.Test
+import java.util.Date
+
+class TrackerDownloadCheckpointManagerShould {
+
+    private val store: TrackerDownloadCheckpointStore = mock()
+    private val relativeStore: TrackerDownloadRelativeStore = mock()
+    private val relationshipItemStore: TrackerDownloadRelationshipItemStore = mock()
+    private val resourceHandler: ResourceHandler = mock()
+
+    private lateinit var manager: TrackerDownloadCheckpointManager
+
+    @Before
+    fun setUp() {
+        manager = TrackerDownloadCheckpointManager(store, relativeStore, relationshipItemStore, resourceHandler)
+    }
+
+    @Test
+    fun return_checkpoints_downloaded_from_the_same_last_updated() {
+        val checkpoints = listOf(checkpoint("ou1", "2023-01-01"), checkpoint("ou2", "2023-01-01"))
+        whenever(store.selectWhere(any())).doReturn(checkpoints)
+
+        assertThat(manager.getCheckpoints(BUNDLE, "2023-01-01")).isEqualTo(checkpoints)
+        verify(store, never()).deleteWhere(any<String>())
+    }
+
+    @Test
+    fun discard_checkpoints_downloaded_from_other_last_updated() {
+        val checkpoints = listOf(checkpoint("ou1", "2023-01-01"), checkpoint("ou2", null))
+        whenever(store.selectWhere(any())).doReturn(checkpoints)
+
+        assertThat(manager.getCheckpoints(BUNDLE, "2023-01-01")).isEmpty()
+        verify(store).deleteWhere(any<String>())
+    }
+
+    @Test
+    fun return_the_server_date_of_the_first_run_while_resuming() {
+        whenever(resourceHandler.serverDate).doReturn(Date(CURRENT_SERVER_TIME))
+        val checkpoints = listOf(
+            checkpoint("ou1", "2023-01-01", Date(FIRST_SERVER_TIME)),
+            checkpoint("ou2", "2023-01-01", Date(CURRENT_SERVER_TIME)),
+        )
+
+        assertThat(manager.getServerDate(checkpoints)).isEqualTo(Date(FIRST_SERVER_TIME))
+        assertThat(manager.getServerDate(emptyList())).isEqualTo(Date(CURRENT_SERVER_TIME))
+    }
+
+    private fun checkpoint(orgUnit: String, lastUpdated: String?, serverDate: Date? = null): TrackerDownloadCheckpoint {
+        return TrackerDownloadCheckpoint.builder()
+            .bundle(BUNDLE)
+            .lastUpdated(lastUpdated)
+            .organisationUnit(orgUnit)
+            .program("program")
+            .downloadedCount(50)
+            .completed(false)
+            .serverDate(serverDate)
+            .build()
+    }
+
+    private companion object {
+        const val BUNDLE = "bundle"
+        const val FIRST_SERVER_TIME = 1_000L
+        const val CURRENT_SERVER_TIME = 2_000L
+    }
+}
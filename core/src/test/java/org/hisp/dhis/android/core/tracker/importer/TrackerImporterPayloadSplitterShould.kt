@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.tracker.importer
+
+import com.google.common.truth.Truth.assertThat
+import org.hisp.dhis.android.core.enrollment.NewTrackerImporterEnrollment
+import org.hisp.dhis.android.core.event.NewTrackerImporterEvent
+import org.hisp.dhis.android.core.relationship.NewTrackerImporterRelationship
+import org.hisp.dhis.android.core.trackedentity.NewTrackerImporterTrackedEntity
+import org.hisp.dhis.android.core.trackedentity.internal.NewTrackerImporterPayload
+import org.hisp.dhis.android.core.tracker.importer.internal.IMPORT_STRATEGY_CREATE_AND_UPDATE
+import org.hisp.dhis.android.core.tracker.importer.internal.IMPORT_STRATEGY_DELETE
+import org.hisp.dhis.android.core.tracker.importer.internal.TrackerImporterPayloadSplitter
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+@RunWith(JUnit4::class)
+class TrackerImporterPayloadSplitterShould {
+
+    private val splitter = TrackerImporterPayloadSplitter()
+
+    @Test
+    fun return_a_single_chunk_for_small_payloads() {
+        val payload = payload(teiCount = 3, relationshipCount = 0)
+
+        val chunks = splitter.split(payload, IMPORT_STRATEGY_CREATE_AND_UPDATE)
+
+        assertThat(chunks.size).isEqualTo(1)
+        assertThat(chunks[0].waitForPrevious).isFalse()
+        assertThat(chunks[0].payload.trackedEntities.size).isEqualTo(3)
+        assertThat(chunks[0].payload.enrollments.size).isEqualTo(3)
+        assertThat(chunks[0].payload.events.size).isEqualTo(6)
+    }
+
+    @Test
+    fun keep_enrollments_and_events_with_their_tracked_entity() {
+        val payload = payload(teiCount = 5, relationshipCount = 0)
+
+        val chunks = splitter.split(payload, IMPORT_STRATEGY_CREATE_AND_UPDATE, maxObjects = 8)
+
+        assertThat(chunks.size).isEqualTo(3)
+        chunks.forEach { chunk ->
+            val teiUids = chunk.payload.trackedEntities.map { it.uid() }
+            val enrollmentUids = chunk.payload.enrollments.map { it.uid() }
+
+            assertThat(chunk.payload.enrollments.all { teiUids.contains(it.trackedEntity()) }).isTrue()
+            assertThat(chunk.payload.events.all { enrollmentUids.contains(it.enrollment()) }).isTrue()
+        }
+        assertThat(chunks.sumOf { it.payload.events.size }).isEqualTo(10)
+    }
+
+    @Test
+    fun split_by_serialized_size() {
+        val payload = payload(teiCount = 4, relationshipCount = 0)
+
+        val chunks = splitter.split(payload, IMPORT_STRATEGY_CREATE_AND_UPDATE, maxBytes = 1)
+
+        assertThat(chunks.size).isEqualTo(4)
+        chunks.forEach { assertThat(it.payload.trackedEntities.size).isEqualTo(1) }
+    }
+
+    @Test
+    fun send_relationships_after_data_when_updating() {
+        val payload = payload(teiCount = 2, relationshipCount = 3)
+
+        val chunks = splitter.split(payload, IMPORT_STRATEGY_CREATE_AND_UPDATE, maxObjects = 4)
+
+        assertThat(chunks.map { it.payload.trackedEntities.size }).isEqualTo(listOf(1, 1, 0))
+        assertThat(chunks.map { it.payload.relationships.size }).isEqualTo(listOf(0, 0, 3))
+        assertThat(chunks.map { it.waitForPrevious }).isEqualTo(listOf(false, false, true))
+    }
+
+    @Test
+    fun send_relationships_before_data_when_deleting() {
+        val payload = payload(teiCount = 2, relationshipCount = 3)
+
+        val chunks = splitter.split(payload, IMPORT_STRATEGY_DELETE)
+
+        assertThat(chunks.map { it.payload.relationships.size }).isEqualTo(listOf(3, 0))
+        assertThat(chunks.map { it.waitForPrevious }).isEqualTo(listOf(false, true))
+    }
+
+    @Test
+    fun keep_file_resources_map_in_every_chunk() {
+        val fileResources = mapOf("tei_0" to listOf("file_resource"))
+        val payload = payload(teiCount = 2, relationshipCount = 0).copy(fileResourcesMap = fileResources)
+
+        val chunks = splitter.split(payload, IMPORT_STRATEGY_CREATE_AND_UPDATE, maxObjects = 1)
+
+        assertThat(chunks.size).isEqualTo(2)
+        chunks.forEach { assertThat(it.payload.fileResourcesMap).isEqualTo(fileResources) }
+    }
+
+    @Test
+    fun keep_orphan_enrollments_and_events() {
+        val payload = NewTrackerImporterPayload(
+            enrollments = mutableListOf(enrollment("enrollment", "tei")),
+            events = mutableListOf(event("event_1", "enrollment"), event("event_2", "other_enrollment")),
+        )
+
+        val chunks = splitter.split(payload, IMPORT_STRATEGY_CREATE_AND_UPDATE, maxObjects = 2)
+
+        assertThat(chunks.size).isEqualTo(2)
+        assertThat(chunks[0].payload.events.map { it.uid() }).isEqualTo(listOf("event_1"))
+        assertThat(chunks[1].payload.events.map { it.uid() }).isEqualTo(listOf("event_2"))
+    }
+
+    private fun payload(teiCount: Int, relationshipCount: Int): NewTrackerImporterPayload {
+        val payload = NewTrackerImporterPayload()
+        (0 until teiCount).forEach { i ->
+            payload.trackedEntities.add(NewTrackerImporterTrackedEntity.builder().uid("tei_$i").build())
+            payload.enrollments.add(enrollment("enrollment_$i", "tei_$i"))
+            payload.events.add(event("event_${i}_a", "enrollment_$i"))
+            payload.events.add(event("event_${i}_b", "enrollment_$i"))
+        }
+        (0 until relationshipCount).forEach { i ->
+            payload.relationships.add(NewTrackerImporterRelationship.builder().uid("relationship_$i").build())
+        }
+        return payload
+    }
+
+    private fun enrollment(uid: String, trackedEntity: String): NewTrackerImporterEnrollment {
+        return NewTrackerImporterEnrollment.builder().uid(uid).trackedEntity(trackedEntity).build()
+    }
+
+    private fun event(uid: String, enrollment: String): NewTrackerImporterEvent {
+        return NewTrackerImporterEvent.builder().uid(uid).enrollment(enrollment).build()
+    }
+}
@@ -39,6 +39,7 @@ import org.hisp.dhis.android.core.arch.storage.internal.CredentialsSecureStore
 import org.hisp.dhis.android.core.arch.storage.internal.UserIdInMemoryStore
 import org.hisp.dhis.android.core.maintenance.D2Error
 import org.hisp.dhis.android.core.maintenance.D2ErrorCode
+import org.hisp.dhis.android.core.period.internal.PeriodCache
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -51,6 +52,7 @@ class LogOutCallShould {
     private val credentials: Credentials = mock()
     private val databaseAdapter: DatabaseAdapter = mock()
     private val databaseAdapterFactory: DatabaseAdapterFactory = mock()
+    private val periodCache: PeriodCache = mock()
 
     private lateinit var logOutCall: LogOutCall
 
@@ -58,7 +60,13 @@ class LogOutCallShould {
     fun setUp() {
         whenever(credentials.username).thenReturn("user")
         whenever(credentials.password).thenReturn("password")
-        logOutCall = LogOutCall(databaseAdapter, databaseAdapterFactory, credentialsSecureStore, userIdStore)
+        logOutCall = LogOutCall(
+            databaseAdapter,
+            databaseAdapterFactory,
+            credentialsSecureStore,
+            userIdStore,
+            periodCache,
+        )
     }
 
     @Test
@@ -69,6 +77,14 @@ class LogOutCallShould {
         verify(credentialsSecureStore, times(1)).remove()
     }
 
+    @Test
+    fun forget_the_persisted_periods_of_the_closed_database() {
+        whenever(credentialsSecureStore.get()).thenReturn(credentials)
+        logOutCall.logOut().blockingAwait()
+        verify(databaseAdapterFactory).removeDatabaseAdapter(databaseAdapter)
+        verify(periodCache).clearPersisted()
+    }
+
     @Test
     fun throw_d2_exception_if_no_authenticated_user() {
         val testObserver = logOutCall.logOut().test()
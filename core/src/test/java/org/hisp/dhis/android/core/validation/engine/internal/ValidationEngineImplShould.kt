@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.core.validation.engine.internal
+
+import com.google.common.truth.Truth.assertThat
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.anyOrNull
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.whenever
+import org.hisp.dhis.android.core.constant.ConstantCollectionRepository
+import org.hisp.dhis.android.core.datavalue.DataValueCollectionRepository
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnit
+import org.hisp.dhis.android.core.organisationunit.OrganisationUnitCollectionRepository
+import org.hisp.dhis.android.core.organisationunit.internal.OrganisationUnitOrganisationUnitGroupLinkStore
+import org.hisp.dhis.android.core.period.Period
+import org.hisp.dhis.android.core.period.PeriodType
+import org.hisp.dhis.android.core.period.internal.PeriodHelper
+import org.hisp.dhis.android.core.validation.ValidationRule
+import org.hisp.dhis.android.core.validation.ValidationRuleCollectionRepository
+import org.hisp.dhis.android.core.validation.engine.ValidationResultViolation
+import org.hisp.dhis.android.core.validation.engine.ValidationTarget
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+import org.mockito.Answers
+import java.util.Collections
+import java.util.Date
+
+@RunWith(JUnit4::class)
+class ValidationEngineImplShould {
+
+    private val rules = listOf(rule("rule1"), rule("rule2"))
+    private val organisationUnits = listOf(organisationUnit("orgUnit1"), organisationUnit("orgUnit2"))
+    private val violations = mutableMapOf<String, ValidationResultViolation>()
+    private val evaluationThreads = Collections.synchronizedSet(mutableSetOf<Thread>())
+
+    private val validationExecutor: ValidationExecutor = mock()
+    private val validationRuleRepository: ValidationRuleCollectionRepository =
+        mock(defaultAnswer = Answers.RETURNS_DEEP_STUBS)
+    private val dataValueRepository: DataValueCollectionRepository = mock(defaultAnswer = Answers.RETURNS_DEEP_STUBS)
+    private val constantRepository: ConstantCollectionRepository = mock {
+        on { blockingGet() } doReturn emptyList()
+    }
+    private val organisationUnitRepository: OrganisationUnitCollectionRepository =
+        mock(defaultAnswer = Answers.RETURNS_DEEP_STUBS)
+    private val periodHelper: PeriodHelper = mock {
+        on { blockingGetPeriodForPeriodId(any()) } doAnswer { period(it.getArgument(0)) }
+    }
+    private val orgunitGroupLinkStore: OrganisationUnitOrganisationUnitGroupLinkStore = mock {
+        on { groupAndGetCountBy(any()) } doReturn emptyMap()
+    }
+
+    private val validationEngine = ValidationEngineImpl(
+        validationExecutor,
+        validationRuleRepository,
+        dataValueRepository,
+        constantRepository,
+        organisationUnitRepository,
+        periodHelper,
+        orgunitGroupLinkStore,
+    )
+
+    private val targets = listOf("202301", "202302").flatMap { periodId ->
+        listOf("orgUnit1", "orgUnit2").flatMap { orgUnitUid ->
+            listOf("aoc1", "aoc2").map { aoc -> ValidationTarget("dataSet", periodId, orgUnitUid, aoc) }
+        }
+    }
+
+    @Before
+    fun setUp() {
+        whenever(
+            validationRuleRepository.byDataSetUids(any()).bySkipFormValidation().isFalse.blockingGet(),
+        ).doReturn(rules)
+        whenever(
+            dataValueRepository.byDataSetUid(any())
+                .byAttributeOptionComboUid().`in`(any<Collection<String>>())
+                .byOrganisationUnitUid().`in`(any<Collection<String>>())
+                .byPeriod().`in`(any<Collection<String>>())
+                .byDeleted().isFalse
+                .blockingGet(),
+        ).doReturn(emptyList())
+        whenever(
+            organisationUnitRepository.byUid().`in`(any<Collection<String>>()).blockingGet(),
+        ).doReturn(organisationUnits)
+
+        whenever(validationExecutor.evaluateRule(any(), anyOrNull(), any(), any(), anyOrNull())).doAnswer {
+            evaluationThreads.add(Thread.currentThread())
+            val rule = it.getArgument<ValidationRule>(0)
+            val organisationUnit = it.getArgument<OrganisationUnit>(1)
+            val period = it.getArgument<Period>(3)
+            val attributeOptionCombo = it.getArgument<String>(4)
+
+            if (rule.uid() == "rule1" && attributeOptionCombo == "aoc1" || organisationUnit.uid() == "orgUnit2") {
+                violation("${rule.uid()}-${organisationUnit.uid()}-${period.periodId()}-$attributeOptionCombo")
+            } else {
+                null
+            }
+        }
+    }
+
+    @Test
+    fun return_the_same_results_in_batch_as_validating_each_target() {
+        val batchResults = validationEngine.blockingValidate(targets)
+
+        val singleResults = targets.associateWith {
+            validationEngine.blockingValidate(it.dataSetUid, it.periodId, it.orgUnitUid, it.attributeOptionComboUid)
+        }
+
+        assertThat(batchResults).isEqualTo(singleResults)
+        assertThat(batchResults.values.flatMap { it.violations() }).hasSize(10)
+    }
+
+    @Test
+    fun return_a_result_for_each_target_including_repeated_ones() {
+        val results = validationEngine.blockingValidate(targets + targets.first())
+
+        assertThat(results.keys).containsExactlyElementsIn(targets)
+    }
+
+    @Test
+    fun validate_a_single_target_in_the_caller_thread() {
+        val target = targets.first()
+
+        validationEngine.blockingValidate(
+            target.dataSetUid,
+            target.periodId,
+            target.orgUnitUid,
+            target.attributeOptionComboUid,
+        )
+
+        assertThat(evaluationThreads).containsExactly(Thread.currentThread())
+    }
+
+    private fun rule(ruleUid: String): ValidationRule {
+        return mock {
+            on { uid() } doReturn ruleUid
+        }
+    }
+
+    private fun organisationUnit(orgUnitUid: String): OrganisationUnit {
+        return mock {
+            on { uid() } doReturn orgUnitUid
+        }
+    }
+
+    private fun period(periodId: String): Period {
+        return Period.builder()
+            .periodId(periodId)
+            .periodType(PeriodType.Monthly)
+            .startDate(Date(0))
+            .endDate(Date(DAY_IN_MILLIS * 30))
+            .build()
+    }
+
+    @Synchronized
+    private fun violation(key: String): ValidationResultViolation {
+        return violations.getOrPut(key) { mock() }
+    }
+
+    private companion object {
+        const val DAY_IN_MILLIS = 24L * 60 * 60 * 1000
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.localanalytics.benchmark
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import org.hisp.dhis.android.core.D2
+import org.hisp.dhis.android.core.D2Configuration
+import org.hisp.dhis.android.core.D2Manager
+import org.hisp.dhis.android.core.arch.api.internal.ServerURLWrapper
+import org.hisp.dhis.android.core.arch.storage.internal.InMemorySecureStore
+import org.hisp.dhis.android.core.arch.storage.internal.InMemoryUnsecureStore
+import org.hisp.dhis.android.core.period.internal.CalendarProviderFactory
+import org.koin.core.context.stopKoin
+
+/**
+ * Builds a [D2] instance on the Robolectric runtime backed by an unencrypted SQLite database, so the SDK can be
+ * exercised from a plain JVM without a logged user or a device.
+ */
+internal object BenchmarkD2Factory {
+
+    private const val SERVER_URL = "https://benchmark.dhis2.org/"
+    private const val DATABASE_NAME = "benchmark.db"
+    private const val USERNAME = "benchmark"
+
+    fun create(): D2 {
+        val context = ApplicationProvider.getApplicationContext<Context>()
+
+        CalendarProviderFactory.setFixed()
+        D2Manager.isTestMode = true
+        D2Manager.setTestingSecureStore(InMemorySecureStore())
+        D2Manager.setTestingInsecureStore(InMemoryUnsecureStore())
+
+        val d2 = D2Manager.blockingInstantiateD2(
+            D2Configuration.builder()
+                .appVersion("1.0.0")
+                .context(context)
+                .build(),
+        )!!
+
+        ServerURLWrapper.setServerUrl(SERVER_URL)
+        d2.d2DIComponent.multiUserDatabaseManagerForD2Manager.loadDbForTesting(
+            SERVER_URL,
+            DATABASE_NAME,
+            false,
+            USERNAME,
+        )
+        return d2
+    }
+
+    fun tearDown() {
+        D2Manager.clear()
+        stopKoin()
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.localanalytics.benchmark
+
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import java.io.File
+
+internal data class BenchmarkResult(
+    val name: String,
+    val sizeFactor: Int,
+    val iterations: Int,
+    val minMillis: Double,
+    val medianMillis: Double,
+    val meanMillis: Double,
+    val maxMillis: Double,
+)
+
+internal class BenchmarkRecorder(
+    private val sizeFactor: Int,
+    private val warmupIterations: Int = 2,
+    private val iterations: Int = 5,
+) {
+    private val results = mutableListOf<BenchmarkResult>()
+
+    fun measure(name: String, block: () -> Any?) {
+        repeat(warmupIterations) { block() }
+        record(name, iterations, block)
+    }
+
+    fun measureOnce(name: String, block: () -> Any?) {
+        record(name, 1, block)
+    }
+
+    private fun record(name: String, iterations: Int, block: () -> Any?) {
+        val timesMillis = (1..iterations).map {
+            val start = System.nanoTime()
+            block()
+            (System.nanoTime() - start) / NANOS_PER_MILLI
+        }.sorted()
+
+        results.add(
+            BenchmarkResult(
+                name = name,
+                sizeFactor = sizeFactor,
+                iterations = iterations,
+                minMillis = timesMillis.first(),
+                medianMillis = timesMillis[timesMillis.size / 2],
+                meanMillis = timesMillis.average(),
+                maxMillis = timesMillis.last(),
+            ),
+        )
+    }
+
+    fun results(): List<BenchmarkResult> = results.toList()
+
+    /**
+     * Writes the results to [fileName] in the directory given by the "benchmark.outputDir" system property, which the
+     * -Pbenchmark build sets to core/build/benchmark.
+     */
+    fun writeTo(fileName: String): File {
+        val outputDir = File(System.getProperty(OUTPUT_DIR_PROPERTY) ?: DEFAULT_OUTPUT_DIR)
+        outputDir.mkdirs()
+        val file = File(outputDir, fileName)
+        ObjectMapperFactory.objectMapper()
+            .writerWithDefaultPrettyPrinter()
+            .writeValue(file, results)
+        return file
+    }
+
+    private companion object {
+        const val NANOS_PER_MILLI = 1_000_000.0
+        const val OUTPUT_DIR_PROPERTY = "benchmark.outputDir"
+        const val DEFAULT_OUTPUT_DIR = "build/benchmark"
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.localanalytics.benchmark
+
+import com.google.common.truth.Truth.assertThat
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperRegistry
+import org.hisp.dhis.android.core.common.DateFilterPeriod
+import org.hisp.dhis.android.core.common.DatePeriodType
+import org.hisp.dhis.android.core.common.RelativePeriod
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+
+/**
+ * Compares the per-row cost of decoding JSON columns, such as the ones of program stage working lists or data store
+ * entries, building a mapper per row against reusing the readers of [ObjectMapperRegistry].
+ */
+@RunWith(JUnit4::class)
+internal class JsonColumnDecodeBenchmark {
+
+    private val rows = 10_000
+    private val recorder = BenchmarkRecorder(sizeFactor = 1)
+
+    @Test
+    fun run_benchmarks() {
+        val dateFilterRow = ObjectMapperRegistry.writer().writeValueAsString(
+            DateFilterPeriod.builder()
+                .type(DatePeriodType.RELATIVE)
+                .period(RelativePeriod.LAST_30_DAYS)
+                .build(),
+        )
+        val stringListRow = ObjectMapperRegistry.writer().writeValueAsString(listOf("uid1", "uid2", "uid3"))
+
+        recorder.measure("date_filter_period_new_mapper_per_row") {
+            repeat(rows) { ObjectMapperFactory.objectMapper().readValue(dateFilterRow, DateFilterPeriod::class.java) }
+        }
+        recorder.measure("date_filter_period_registry_reader") {
+            repeat(rows) { ObjectMapperRegistry.reader(DateFilterPeriod::class.java).readValue<Any>(dateFilterRow) }
+        }
+        recorder.measure("string_list_new_mapper_per_row") {
+            repeat(rows) { ObjectMapperFactory.objectMapper().readValue(stringListRow, ArrayList::class.java) }
+        }
+        recorder.measure("string_list_registry_reader") {
+            repeat(rows) { ObjectMapperRegistry.reader(ArrayList::class.java).readValue<Any>(stringListRow) }
+        }
+
+        val file = recorder.writeTo("json-column-decode-benchmark.json")
+        assertThat(file.exists()).isTrue()
+    }
+}
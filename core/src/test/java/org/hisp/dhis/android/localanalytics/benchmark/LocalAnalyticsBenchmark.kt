@@ -0,0 +1,283 @@
+/*
+ *  Copyright (c) 2004-2023, University of Oslo
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ *  Neither the name of the HISP project nor the names of its contributors may
+ *  be used to endorse or promote products derived from this software without
+ *  specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.android.localanalytics.benchmark
+
+import com.fasterxml.jackson.core.type.TypeReference
+import com.google.common.truth.Truth.assertThat
+import org.hisp.dhis.android.core.D2
+import org.hisp.dhis.android.core.analytics.aggregated.DimensionItem
+import org.hisp.dhis.android.core.arch.api.payload.internal.Payload
+import org.hisp.dhis.android.core.arch.call.executors.internal.D2CallExecutor
+import org.hisp.dhis.android.core.arch.dateformat.internal.IsoDateCodec
+import org.hisp.dhis.android.core.arch.json.internal.ObjectMapperFactory
+import org.hisp.dhis.android.core.common.RelativePeriod
+import org.hisp.dhis.android.core.common.State
+import org.hisp.dhis.android.core.datavalue.internal.DataValueHandler
+import org.hisp.dhis.android.core.arch.handlers.internal.IdentifiableDataHandlerParams
+import org.hisp.dhis.android.core.event.Event
+import org.hisp.dhis.android.core.event.internal.EventHandler
+import org.hisp.dhis.android.core.program.ProgramType
+import org.hisp.dhis.android.core.trackedentity.internal.TrackedEntityInstanceHandler
+import org.hisp.dhis.android.localanalytics.dbgeneration.LocalAnalyticsDataParams
+import org.hisp.dhis.android.localanalytics.dbgeneration.LocalAnalyticsDatabaseFiller
+import org.hisp.dhis.android.localanalytics.dbgeneration.LocalAnalyticsMetadataParams
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.koin.core.context.GlobalContext
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.SQLiteMode
+import java.text.SimpleDateFormat
+import java.util.Locale
+
+/**
+ * Times the hot paths of the SDK against the database generated by [LocalAnalyticsDatabaseFiller], running on the
+ * JVM through Robolectric's native SQLite. It is excluded from the regular unit tests; run it with
+ * `./gradlew :core:testDebugUnitTest -Pbenchmark [-PbenchmarkSizeFactor=3]`. Results are written as JSON to
+ * `core/build/benchmark`.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+internal class LocalAnalyticsBenchmark {
+
+    private lateinit var d2: D2
+    private lateinit var recorder: BenchmarkRecorder
+
+    private val sizeFactor = System.getProperty("benchmark.sizeFactor")?.toInt()
+        ?: LocalAnalyticsDataParams.DefaultFactor
+
+    @Before
+    fun setUp() {
+        d2 = BenchmarkD2Factory.create()
+        recorder = BenchmarkRecorder(sizeFactor)
+
+        recorder.measureOnce("fill_database") {
+            LocalAnalyticsDatabaseFiller(d2).fillDatabase(
+                LocalAnalyticsMetadataParams.Default,
+                LocalAnalyticsDataParams.get(sizeFactor),
+            )
+        }
+    }
+
+    @After
+    fun tearDown() {
+        BenchmarkD2Factory.tearDown()
+    }
+
+    @Test
+    fun run_benchmarks() {
+        benchmarkAnalytics()
+        benchmarkTrackedEntitySearch()
+        benchmarkRepositoryReadsWithChildren()
+        benchmarkHandlerPersistence()
+        benchmarkJsonParsing()
+        benchmarkDateCodec()
+        benchmarkSecondaryIndexes()
+
+        val file = recorder.writeTo("local-analytics-benchmark-x$sizeFactor.json")
+        assertThat(file.exists()).isTrue()
+        assertThat(recorder.results()).isNotEmpty()
+    }
+
+    private fun benchmarkAnalytics() {
+        val dataElement = d2.dataValueModule().dataValues().one().blockingGet()!!.dataElement()!!
+        val rootOrgUnit = d2.organisationUnitModule().organisationUnits().byLevel().eq(1).one().blockingGet()!!
+
+        recorder.measure("analytics_aggregated_data_element") {
+            d2.analyticsModule().analytics()
+                .withDimension(DimensionItem.DataItem.DataElementItem(dataElement))
+                .withDimension(DimensionItem.OrganisationUnitItem.Absolute(rootOrgUnit.uid()))
+                .withDimension(DimensionItem.PeriodItem.Relative(RelativePeriod.LAST_30_DAYS))
+                .blockingEvaluate()
+                .getOrThrow()
+        }
+
+        val program = d2.programModule().programs()
+            .byProgramType().eq(ProgramType.WITHOUT_REGISTRATION)
+            .one().blockingGet()!!
+        val eventDataElement = d2.eventModule().events()
+            .byProgramUid().eq(program.uid())
+            .withTrackedEntityDataValues()
+            .one().blockingGet()!!
+            .trackedEntityDataValues()!!.first().dataElement()!!
+
+        recorder.measure("analytics_event_data_element") {
+            d2.analyticsModule().analytics()
+                .withDimension(DimensionItem.DataItem.EventDataItem.DataElement(program.uid(), eventDataElement))
+                .withDimension(DimensionItem.OrganisationUnitItem.Absolute(rootOrgUnit.uid()))
+                .withDimension(DimensionItem.PeriodItem.Relative(RelativePeriod.LAST_30_DAYS))
+                .blockingEvaluate()
+                .getOrThrow()
+        }
+    }
+
+    private fun benchmarkTrackedEntitySearch() {
+        val program = d2.programModule().programs()
+            .byProgramType().eq(ProgramType.WITH_REGISTRATION)
+            .one().blockingGet()!!
+
+        recorder.measure("tracked_entity_search_by_program") {
+            d2.trackedEntityModule().trackedEntitySearch()
+                .offlineOnly()
+                .byProgram().eq(program.uid())
+                .blockingGet()
+        }
+    }
+
+    private fun benchmarkRepositoryReadsWithChildren() {
+        recorder.measure("events_with_data_values") {
+            d2.eventModule().events()
+                .withTrackedEntityDataValues()
+                .blockingGet()
+        }
+
+        recorder.measure("tracked_entity_instances_with_attribute_values") {
+            d2.trackedEntityModule().trackedEntityInstances()
+                .withTrackedEntityAttributeValues()
+                .blockingGet()
+        }
+    }
+
+    private fun benchmarkHandlerPersistence() {
+        val handler = GlobalContext.get().get<DataValueHandler>()
+        val executor = D2CallExecutor.create(d2.databaseAdapter())
+        val dataValues = d2.dataValueModule().dataValues().blockingGet()
+            .map { it.toBuilder().syncState(State.SYNCED).build() }
+
+        recorder.measure("data_value_handler_handle_many") {
+            executor.executeD2CallTransactionally {
+                handler.handleMany(dataValues)
+            }
+        }
+    }
+
+    private fun benchmarkJsonParsing() {
+        val objectMapper = ObjectMapperFactory.objectMapper()
+        val events = d2.eventModule().events().withTrackedEntityDataValues().blockingGet()
+        val json = objectMapper.writeValueAsString(mapOf("events" to events))
+
+        recorder.measure("json_parse_events") {
+            objectMapper.readValue(json, object : TypeReference<Payload<Event>>() {})
+        }
+    }
+
+    private fun benchmarkDateCodec() {
+        val dates = d2.eventModule().events().blockingGet()
+            .flatMap { listOfNotNull(it.created(), it.lastUpdated(), it.eventDate()) }
+        val dateStrings = dates.map { IsoDateCodec.format(it)!! }
+        val simpleDateFormat = SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS", Locale.US)
+
+        recorder.measure("date_parse_simple_date_format") {
+            dateStrings.forEach { simpleDateFormat.parse(it) }
+        }
+        recorder.measure("date_parse_iso_date_codec") {
+            dateStrings.forEach { IsoDateCodec.parse(it) }
+        }
+        recorder.measure("date_format_simple_date_format") {
+            dates.forEach { simpleDateFormat.format(it) }
+        }
+        recorder.measure("date_format_iso_date_codec") {
+            dates.forEach { IsoDateCodec.format(it) }
+        }
+    }
+
+    /**
+     * Runs the lookups and the tracker handlers with and without the secondary indexes of migration 154, including
+     * the ones dropped again by migration 158, to weigh the read gain of each index against its write cost.
+     */
+    private fun benchmarkSecondaryIndexes() {
+        val databaseAdapter = d2.databaseAdapter()
+        val executor = D2CallExecutor.create(databaseAdapter)
+        val eventHandler = GlobalContext.get().get<EventHandler>()
+        val trackedEntityInstanceHandler = GlobalContext.get().get<TrackedEntityInstanceHandler>()
+        val params = IdentifiableDataHandlerParams(hasAllAttributes = false, overwrite = true, asRelationship = false)
+
+        val events = d2.eventModule().events().withTrackedEntityDataValues().blockingGet()
+        val trackedEntityInstances = d2.trackedEntityModule().trackedEntityInstances()
+            .withTrackedEntityAttributeValues()
+            .blockingGet()
+        val event = events.first { it.enrollment() != null }
+        val attributeValue = trackedEntityInstances.flatMap { it.trackedEntityAttributeValues().orEmpty() }.first()
+
+        val readQueries = mapOf(
+            "event_by_enrollment" to "SELECT * FROM Event WHERE enrollment = '${event.enrollment()}'",
+            "event_by_program_stage" to "SELECT * FROM Event WHERE programStage = '${event.programStage()}' " +
+                "AND organisationUnit = '${event.organisationUnit()}'",
+            "event_by_aggregated_sync_state" to
+                "SELECT uid FROM Event WHERE aggregatedSyncState IN ('TO_POST', 'TO_UPDATE')",
+            "tracked_entity_data_value_by_data_element" to "SELECT event FROM TrackedEntityDataValue " +
+                "WHERE dataElement = '${event.trackedEntityDataValues()!!.first().dataElement()}'",
+            "tracked_entity_attribute_value_by_value" to "SELECT trackedEntityInstance " +
+                "FROM TrackedEntityAttributeValue " +
+                "WHERE trackedEntityAttribute = '${attributeValue.trackedEntityAttribute()}' " +
+                "AND value = '${attributeValue.value()?.replace("'", "''")}'",
+        )
+
+        listOf(false, true).forEach { withIndexes ->
+            SECONDARY_INDEXES.forEach { (name, definition) ->
+                if (withIndexes) {
+                    databaseAdapter.execSQL("CREATE INDEX IF NOT EXISTS $name ON $definition")
+                } else {
+                    databaseAdapter.execSQL("DROP INDEX IF EXISTS $name")
+                }
+            }
+            val suffix = if (withIndexes) "with_indexes" else "without_indexes"
+
+            readQueries.forEach { (name, query) ->
+                recorder.measure("read_${name}_$suffix") {
+                    databaseAdapter.rawQuery(query).use { cursor -> cursor.count }
+                }
+            }
+            recorder.measure("event_handler_handle_many_$suffix") {
+                executor.executeD2CallTransactionally {
+                    eventHandler.handleMany(events, params, null)
+                }
+            }
+            recorder.measure("tracked_entity_instance_handler_handle_many_$suffix") {
+                executor.executeD2CallTransactionally {
+                    trackedEntityInstanceHandler.handleMany(trackedEntityInstances, params, null)
+                }
+            }
+        }
+    }
+
+    private companion object {
+        val SECONDARY_INDEXES = mapOf(
+            "event_enrollment" to "Event(enrollment)",
+            "event_program_stage" to "Event(programStage, organisationUnit)",
+            "event_aggregated_sync_state" to "Event(aggregatedSyncState)",
+            "enrollment_aggregated_sync_state" to "Enrollment(aggregatedSyncState)",
+            "tracked_entity_instance_aggregated_sync_state" to "TrackedEntityInstance(aggregatedSyncState)",
+            "tracked_entity_data_value_data_element" to "TrackedEntityDataValue(dataElement, event)",
+            "tracked_entity_attribute_value_attribute" to "TrackedEntityAttributeValue(trackedEntityAttribute, value)",
+        )
+    }
+}